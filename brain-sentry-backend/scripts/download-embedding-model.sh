@@ -0,0 +1,39 @@
+#!/usr/bin/env sh
+# Download the all-MiniLM-L6-v2 sentence-transformers ONNX export used by the
+# local embedding engine (brain-sentry.embedding.provider=onnx).
+#
+# Usage: scripts/download-embedding-model.sh [target-dir]
+#   target-dir defaults to models/all-MiniLM-L6-v2 (the default model-path)
+#
+# EMBEDDING_MODEL_URL overrides the source, e.g. another revision or a mirror;
+# the default is the revision the Docker image is built from.
+# EMBEDDING_MODEL_SHA256 and EMBEDDING_VOCAB_SHA256, when set, are checked
+# against the files. The checksums are printed either way; they are the
+# values the Docker build expects.
+set -eu
+
+TARGET_DIR="${1:-models/all-MiniLM-L6-v2}"
+BASE_URL="${EMBEDDING_MODEL_URL:-https://huggingface.co/sentence-transformers/all-MiniLM-L6-v2/resolve/c9745ed1d9f207416be6d2e6f8de32d1f16199bf}"
+
+mkdir -p "$TARGET_DIR"
+
+fetch() {
+    if [ -s "$TARGET_DIR/$2" ]; then
+        echo "$TARGET_DIR/$2 already present"
+    else
+        echo "Downloading $1 -> $TARGET_DIR/$2"
+        curl -fL --retry 3 -o "$TARGET_DIR/$2.part" "$BASE_URL/$1"
+        mv "$TARGET_DIR/$2.part" "$TARGET_DIR/$2"
+    fi
+    actual=$(sha256sum "$TARGET_DIR/$2" | cut -d' ' -f1)
+    if [ -n "$3" ] && [ "$3" != "$actual" ]; then
+        echo "Checksum mismatch for $TARGET_DIR/$2: expected $3, got $actual" >&2
+        exit 1
+    fi
+    echo "sha256 $actual  $2"
+}
+
+fetch onnx/model.onnx model.onnx "${EMBEDDING_MODEL_SHA256:-}"
+fetch vocab.txt vocab.txt "${EMBEDDING_VOCAB_SHA256:-}"
+
+echo "Embedding model ready in $TARGET_DIR"
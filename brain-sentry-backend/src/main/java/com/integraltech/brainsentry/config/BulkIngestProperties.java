@@ -0,0 +1,33 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Bulk memory ingestion configuration.
+ *
+ * Uploads are processed in fixed-size batches so memory use stays bounded
+ * by {@code batchSize * maxLineChars} regardless of the upload size.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.bulk-ingest")
+public class BulkIngestProperties {
+
+    private int batchSize = 100;               // items per embed / insert / graph batch
+    private int maxLineChars = 65_536;         // longer NDJSON lines are rejected
+    private Enrichment enrichment = new Enrichment();
+
+    /**
+     * Background LLM enrichment (classification, entity extraction,
+     * relationship detection) deferred out of the ingest path.
+     */
+    @Data
+    public static class Enrichment {
+        private boolean enabled = true;
+        private int queueCapacity = 10_000;
+        private int workers = 2;
+        private Duration offerTimeout = Duration.ofSeconds(2);   // then the caller enriches inline
+    }
+}
@@ -28,8 +28,7 @@ public class CacheConfig {
 
     private static final Logger log = LoggerFactory.getLogger(CacheConfig.class);
 
-    // Cache names
-    public static final String EMBEDDINGS_CACHE = "embeddings";
+    // Cache names (embeddings are cached by CachedEmbeddingService in binary form)
     public static final String MEMORY_CACHE = "memories";
     public static final String STATS_CACHE = "stats";
 
@@ -46,16 +45,6 @@ public class CacheConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
                         new GenericJackson2JsonRedisSerializer()));
 
-        // Embeddings cache - longer TTL (24h)
-        RedisCacheConfiguration embeddingsCache = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(24))
-                .disableCachingNullValues()
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        new StringRedisSerializer())
-                )
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                        new GenericJackson2JsonRedisSerializer()));
-
         // Memory cache - medium TTL (1h)
         RedisCacheConfiguration memoryCache = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofHours(1))
@@ -78,7 +67,6 @@ public class CacheConfig {
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
-                .withCacheConfiguration(EMBEDDINGS_CACHE, embeddingsCache)
                 .withCacheConfiguration(MEMORY_CACHE, memoryCache)
                 .withCacheConfiguration(STATS_CACHE, statsCache)
                 .transactionAware()
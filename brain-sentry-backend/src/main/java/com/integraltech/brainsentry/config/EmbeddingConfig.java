@@ -0,0 +1,50 @@
+package com.integraltech.brainsentry.config;
+
+import com.integraltech.brainsentry.service.embedding.EmbeddingEngine;
+import com.integraltech.brainsentry.service.embedding.HashEmbeddingEngine;
+import com.integraltech.brainsentry.service.embedding.OnnxEmbeddingEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Embedding engine configuration.
+ *
+ * Selects the embedding backend from {@code brain-sentry.embedding.provider}.
+ * The ONNX engine is loaded (and warmed up) at startup; startup fails if its
+ * model files are missing or do not load, since hash embeddings make semantic
+ * search meaningless. The hash placeholder is only used when explicitly
+ * configured with {@code provider: hash}.
+ */
+@Slf4j
+@Configuration
+public class EmbeddingConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddingEngine embeddingEngine(EmbeddingProperties properties) {
+        String provider = properties.getProvider() != null ? properties.getProvider().toLowerCase() : "";
+
+        if (provider.equals("hash")) {
+            log.warn("Using hash embeddings (brain-sentry.embedding.provider=hash); semantic search is not meaningful");
+            return new HashEmbeddingEngine(properties.getDimensions());
+        }
+        if (!provider.equals("onnx") && !provider.equals("djl")) {
+            throw new IllegalStateException("Unknown embedding provider '" + properties.getProvider()
+                + "', expected 'onnx' or 'hash'");
+        }
+
+        Path modelDir = Path.of(properties.getModelPath()).toAbsolutePath();
+        if (!Files.isRegularFile(modelDir.resolve("model.onnx")) || !Files.isRegularFile(modelDir.resolve("vocab.txt"))) {
+            throw new IllegalStateException("ONNX embedding model files (model.onnx, vocab.txt) not found in "
+                + modelDir + "; run scripts/download-embedding-model.sh or set brain-sentry.embedding.provider=hash");
+        }
+        try {
+            return new OnnxEmbeddingEngine(properties);
+        } catch (Exception | UnsatisfiedLinkError e) {
+            throw new IllegalStateException("Failed to load ONNX embedding model from " + modelDir, e);
+        }
+    }
+}
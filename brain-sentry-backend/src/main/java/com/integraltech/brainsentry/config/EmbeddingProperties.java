@@ -0,0 +1,52 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Embedding model configuration.
+ *
+ * The ONNX provider expects an exported sentence-transformers model
+ * directory containing {@code model.onnx} and the WordPiece {@code vocab.txt}
+ * (see {@code scripts/download-embedding-model.sh}); startup fails without
+ * them. The hash provider is a non-semantic placeholder for tests.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.embedding")
+public class EmbeddingProperties {
+
+    private String model = "all-MiniLM-L6-v2";
+    private int dimensions = 384;
+    private String provider = "onnx";          // onnx | hash
+    private String modelPath = "models/all-MiniLM-L6-v2";
+    private int maxSequenceLength = 256;
+    private int batchSize = 32;                // max sentences per forward pass
+    private int inferenceThreads = 2;          // concurrent forward passes
+    private int intraOpThreads = 0;            // ONNX threads per pass, 0 = cores / inferenceThreads
+    private boolean warmUp = true;
+    private Coalescer coalescer = new Coalescer();
+    private Cache cache = new Cache();
+
+    /**
+     * Micro-batching of concurrent single-text embed() calls.
+     */
+    @Data
+    public static class Coalescer {
+        private boolean enabled = true;
+        private int maxBatchSize = 32;
+        private long maxWaitMicros = 2000;
+        private Duration timeout = Duration.ofSeconds(30);   // max wait of embed() for its batch
+    }
+
+    /**
+     * Two-tier embedding cache: on-heap L1 in front of Redis L2.
+     */
+    @Data
+    public static class Cache {
+        private long l1MaxBytes = 64L * 1024 * 1024;
+        private Duration l2Ttl = Duration.ofHours(24);
+        private String keyPrefix = "emb:";
+    }
+}
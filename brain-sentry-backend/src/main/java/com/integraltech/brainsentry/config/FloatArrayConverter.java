@@ -16,6 +16,19 @@ public class FloatArrayConverter implements AttributeConverter<float[], byte[]>
 
     @Override
     public byte[] convertToDatabaseColumn(float[] attribute) {
+        return toBytes(attribute);
+    }
+
+    @Override
+    public float[] convertToEntityAttribute(byte[] dbData) {
+        return fromBytes(dbData);
+    }
+
+    /**
+     * Encode floats as little-endian IEEE 754 bytes (4 bytes per value).
+     * Shared with other binary stores (e.g. the Redis embedding cache).
+     */
+    public static byte[] toBytes(float[] attribute) {
         if (attribute == null) {
             return null;
         }
@@ -27,8 +40,10 @@ public class FloatArrayConverter implements AttributeConverter<float[], byte[]>
         return buffer.array();
     }
 
-    @Override
-    public float[] convertToEntityAttribute(byte[] dbData) {
+    /**
+     * Decode little-endian IEEE 754 bytes; returns null for malformed input.
+     */
+    public static float[] fromBytes(byte[] dbData) {
         if (dbData == null || dbData.length % 4 != 0) {
             return null;
         }
@@ -0,0 +1,86 @@
+package com.integraltech.brainsentry.config;
+
+import com.integraltech.brainsentry.service.keyword.KeywordClass;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prompt interception configuration.
+ *
+ * Relevance analysis, embedding, memory search and note retrieval run
+ * concurrently; when the deadline expires, the response is built from
+ * whatever stages have finished and the rest are cancelled.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.interception")
+public class InterceptionProperties {
+
+    private Duration deadline = Duration.ofMillis(2000);  // per-request latency budget
+    private int maxContextTokens = 500;       // budget of the injected context; requests may ask for less
+    private String tokenizer = "cl100k_base";  // BPE encoding used to count context tokens
+    private Keywords keywords = new Keywords();
+    private RelevanceCache relevanceCache = new RelevanceCache();
+    private Classifier classifier = new Classifier();
+
+    /**
+     * Keywords added to the built-in dictionary of each {@link KeywordClass}.
+     */
+    @Data
+    public static class Keywords {
+        private Map<KeywordClass, List<String>> extra = new HashMap<>();                 // all tenants
+        private Map<String, Map<KeywordClass, List<String>>> tenants = new HashMap<>();  // by tenant ID
+    }
+
+    /**
+     * Cache of LLM relevance verdicts, per tenant.
+     */
+    @Data
+    public static class RelevanceCache {
+        private boolean enabled = true;
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+        private Semantic semantic = new Semantic();
+    }
+
+    /**
+     * Reuse a verdict for a different prompt whose embedding is close enough.
+     */
+    @Data
+    public static class Semantic {
+        private boolean enabled = false;
+        private float threshold = 0.97f;      // minimum cosine similarity
+        private int maxEntriesPerTenant = 256;  // recent prompts scanned per lookup
+    }
+
+    /**
+     * Local relevance classifier used as the primary gate; the LLM is only
+     * asked when the predicted probability falls inside the uncertainty band.
+     */
+    @Data
+    public static class Classifier {
+        private boolean enabled = true;
+        private double lowerBound = 0.2;   // below: no context needed
+        private double upperBound = 0.8;   // above: context needed
+        private Duration modelRefresh = Duration.ofMinutes(5);  // reload of the active model version
+        private Training training = new Training();
+    }
+
+    /**
+     * Offline training from the interception audit history.
+     */
+    @Data
+    public static class Training {
+        private int minSamples = 200;
+        private int epochs = 20;
+        private double learningRate = 0.05;
+        private double l2 = 1e-4;
+        private double holdoutFraction = 0.2;
+        private double minAccuracy = 0.9;  // on confident holdout predictions; below it the version is kept inactive
+        private long seed = 42;
+    }
+}
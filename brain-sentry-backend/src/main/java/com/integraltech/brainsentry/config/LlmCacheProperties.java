@@ -0,0 +1,29 @@
+package com.integraltech.brainsentry.config;
+
+import com.integraltech.brainsentry.service.llm.LlmOperation;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Durable cache of LLM responses, in PostgreSQL.
+ *
+ * Only operations with a TTL are cached, and only while the configured
+ * temperature is low enough for answers to be repeatable. Relevance verdicts
+ * have their own in-memory cache, see {@link InterceptionProperties}.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.llm.cache")
+public class LlmCacheProperties {
+
+    private boolean enabled = true;
+    private double maxTemperature = 0.3;      // no caching above this brain-sentry.llm.temperature
+    private Duration cleanupInterval = Duration.ofHours(1);
+    private Map<LlmOperation, Duration> ttls = new EnumMap<>(Map.of(
+        LlmOperation.IMPORTANCE, Duration.ofDays(7),
+        LlmOperation.RELATIONSHIP, Duration.ofDays(7),
+        LlmOperation.ENTITY_EXTRACTION, Duration.ofDays(7)));
+}
@@ -0,0 +1,66 @@
+package com.integraltech.brainsentry.config;
+
+import com.integraltech.brainsentry.service.llm.LlmOperation;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Resilience settings for LLM calls.
+ *
+ * Each {@link LlmOperation} gets its own circuit breaker and its own
+ * concurrency limit, built from these settings. The number of retries is
+ * {@code brain-sentry.llm.max-retries}.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.llm.resilience")
+public class LlmResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Limiter limiter = new Limiter();
+    private Retry retry = new Retry();
+    private Map<LlmOperation, Duration> timeouts = new EnumMap<>(Map.of(  // request timeout; brain-sentry.llm.timeout if absent
+        LlmOperation.RELEVANCE, Duration.ofSeconds(5),
+        LlmOperation.IMPORTANCE, Duration.ofSeconds(20),
+        LlmOperation.RELATIONSHIP, Duration.ofSeconds(20),
+        LlmOperation.ENTITY_EXTRACTION, Duration.ofSeconds(30)));
+
+    /**
+     * Opens after too many failed calls in a sliding window; calls then fail
+     * fast until a few trial calls succeed after the open duration.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private int windowSize = 20;                 // last calls considered
+        private int minimumCalls = 10;               // calls needed before the failure rate counts
+        private double failureRateThreshold = 0.5;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenCalls = 2;               // trial calls that must all succeed to close
+    }
+
+    /**
+     * AIMD concurrency limit: grows by one while calls succeed near the
+     * limit, shrinks by the backoff ratio on 429, 5xx and timeouts. Calls
+     * over the limit are rejected instead of queued.
+     */
+    @Data
+    public static class Limiter {
+        private int initialLimit = 8;
+        private int minLimit = 1;
+        private int maxConcurrent = 32;              // bulkhead: the limit never grows past this
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * Backoff before retrying a 429, a 5xx or a failed connection:
+     * a random delay up to base * 2^attempt, capped at max.
+     */
+    @Data
+    public static class Retry {
+        private Duration baseBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+    }
+}
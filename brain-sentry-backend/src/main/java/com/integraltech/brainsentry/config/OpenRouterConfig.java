@@ -2,9 +2,7 @@ package com.integraltech.brainsentry.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
 
 /**
  * OpenRouter / Grok API configuration.
@@ -48,10 +46,26 @@ public class OpenRouterConfig {
     private Integer maxTokens = 500;
 
     /**
-     * Request timeout in milliseconds
+     * Request timeout in milliseconds, from sending the request to the end of the response
      */
     private Integer timeout = 30000;
 
+    /**
+     * Connection establishment timeout in milliseconds
+     */
+    private Integer connectTimeout = 5000;
+
+    /**
+     * Retries of a call answered with 429 or 5xx, or whose connection failed
+     */
+    private Integer maxRetries = 3;
+
+    /**
+     * Stream relevance analyses and stop the generation once the verdict and its
+     * confidence have arrived; the reasoning that follows them is not waited for
+     */
+    private Boolean streamRelevance = true;
+
     // Getters
     public String getProvider() {
         return provider;
@@ -81,6 +95,18 @@ public class OpenRouterConfig {
         return timeout;
     }
 
+    public Integer getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Integer getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Boolean getStreamRelevance() {
+        return streamRelevance;
+    }
+
     public void setProvider(String provider) {
         this.provider = provider;
     }
@@ -109,15 +135,15 @@ public class OpenRouterConfig {
         this.timeout = timeout;
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate restTemplate = new RestTemplate();
-        restTemplate.getInterceptors().add((request, body, execution) -> {
-            request.getHeaders().add("HTTP-Referer", "https://brainsentry.io");
-            request.getHeaders().add("X-Title", "Brain Sentry");
-            request.getHeaders().add("User-Agent", "Brain-Sentry/1.0");
-            return execution.execute(request, body);
-        });
-        return restTemplate;
+    public void setConnectTimeout(Integer connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public void setMaxRetries(Integer maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public void setStreamRelevance(Boolean streamRelevance) {
+        this.streamRelevance = streamRelevance;
     }
 }
@@ -0,0 +1,33 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * pgvector configuration.
+ *
+ * When enabled, vector search runs as a tenant-filtered k-NN query over the
+ * {@code memory_embeddings} table in PostgreSQL instead of FalkorDB, which
+ * still stores the graph. Embeddings already stored as bytea are copied over
+ * by a backfill job on startup.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.pgvector")
+public class PgVectorProperties {
+
+    private boolean enabled = false;
+    private int dimensions = 384;             // fixed when the table is created
+    private IndexType indexType = IndexType.HNSW;
+    private int m = 16;                       // HNSW: max neighbours per node
+    private int efConstruction = 64;          // HNSW: beam width while building
+    private int efSearch = 100;               // HNSW: beam width while querying
+    private int lists = 100;                  // IVFFlat: number of clusters
+    private int probes = 10;                  // IVFFlat: clusters visited per query
+    private String iterativeScan = "";        // pgvector 0.8+: e.g. relaxed_order, so tenant filtering cannot starve k
+    private boolean backfillOnStartup = true;
+    private int backfillBatchSize = 500;
+
+    public enum IndexType {
+        HNSW, IVFFLAT
+    }
+}
@@ -0,0 +1,20 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Automatic relationship detection configuration.
+ *
+ * The nearest memories of a new memory are filtered by cosine similarity,
+ * then classified against it in one LLM call; relationships are created for
+ * the answers at or above the confidence threshold.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.relationships")
+public class RelationshipProperties {
+
+    private int maxCandidates = 10;              // nearest memories fetched by vector search
+    private double minSimilarity = 0.5;          // cosine below which a candidate is not sent to the LLM
+    private double confidenceThreshold = 0.7;    // minimum LLM confidence to create a relationship
+}
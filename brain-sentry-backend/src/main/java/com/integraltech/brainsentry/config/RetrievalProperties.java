@@ -0,0 +1,75 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hybrid memory retrieval configuration.
+ *
+ * The vector, full-text and graph retrievers run concurrently, each with its
+ * own timeout, and their rankings are fused with weighted reciprocal rank
+ * fusion: {@code score = sum(weight / (rrfK + rank))}, then boosted by
+ * importance and recency.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.retrieval")
+public class RetrievalProperties {
+
+    private int rrfK = 60;                 // damps the lead of top ranks; 60 is the usual choice
+    private int candidateMultiplier = 3;   // each retriever returns limit * multiplier candidates
+    private Retriever vector = new Retriever(1.0, Duration.ofMillis(800));
+    private Lexical lexical = new Lexical();
+    private Graph graph = new Graph();
+    private double importanceBoost = 0.25;  // per level above MINOR
+    private double recencyBoost = 0.2;      // for a memory used just now, halving every half-life
+    private Duration recencyHalfLife = Duration.ofDays(30);
+
+    /**
+     * Weight and timeout of one retriever. A weight of 0 disables it.
+     */
+    @Data
+    public static class Retriever {
+        private double weight;
+        private Duration timeout;
+
+        public Retriever() {
+        }
+
+        public Retriever(double weight, Duration timeout) {
+            this.weight = weight;
+            this.timeout = timeout;
+        }
+    }
+
+    /**
+     * PostgreSQL full-text search. The language is the text search
+     * configuration used to stem summaries, contents and queries.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Lexical extends Retriever {
+        private String language = "english";
+
+        public Lexical() {
+            super(1.0, Duration.ofMillis(500));
+        }
+    }
+
+    /**
+     * Graph neighbourhood of the top vector hits. The timeout includes the
+     * wait for the vector hits used as seeds.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Graph extends Retriever {
+        private int seeds = 3;
+        private int depth = 1;
+
+        public Graph() {
+            super(0.5, Duration.ofMillis(1000));
+        }
+    }
+}
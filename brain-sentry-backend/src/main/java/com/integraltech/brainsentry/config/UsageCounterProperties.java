@@ -0,0 +1,21 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Usage counter aggregation configuration.
+ *
+ * Access and injection counts are accumulated in memory and written in
+ * batches every {@code flushInterval}; counts from the last interval are
+ * not yet visible in storage.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.usage-counters")
+public class UsageCounterProperties {
+
+    private Duration flushInterval = Duration.ofSeconds(5);
+    private int batchSize = 500;  // rows per JDBC batch / graph statement
+}
@@ -0,0 +1,26 @@
+package com.integraltech.brainsentry.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * In-process vector index configuration.
+ *
+ * When enabled, semantic search is answered by a per-tenant HNSW index
+ * held in memory, while FalkorDB remains the system of record. Writes made
+ * by other instances become visible once the tenant index is rebuilt,
+ * at most {@code refreshInterval} after its last build.
+ */
+@Data
+@ConfigurationProperties(prefix = "brain-sentry.vector-index")
+public class VectorIndexProperties {
+
+    private boolean enabled = false;
+    private int dimensions = 384;
+    private int m = 16;                  // max neighbours per node on upper layers
+    private int efConstruction = 200;    // beam width while building
+    private int efSearch = 64;           // beam width while querying
+    private Duration refreshInterval = Duration.ofMinutes(5);  // zero disables rebuilds
+}
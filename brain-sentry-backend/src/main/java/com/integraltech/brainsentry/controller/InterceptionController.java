@@ -1,14 +1,26 @@
 package com.integraltech.brainsentry.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integraltech.brainsentry.dto.request.InterceptRequest;
 import com.integraltech.brainsentry.dto.response.InterceptResponse;
+import com.integraltech.brainsentry.dto.response.InterceptStreamEvent;
+import com.integraltech.brainsentry.service.InterceptionListener;
 import com.integraltech.brainsentry.service.InterceptionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * REST controller for prompt interception.
  *
@@ -23,6 +35,7 @@ import org.springframework.web.bind.annotation.*;
 public class InterceptionController {
 
     private final InterceptionService interceptionService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Intercept and enhance a prompt.
@@ -48,4 +61,78 @@ public class InterceptionController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Intercept and enhance a prompt, streaming results as Server-Sent Events.
+     * POST /api/v1/intercept/stream
+     *
+     * Emits quickCheck, then memories and notes as soon as they are retrieved
+     * (before the relevance verdict), then relevance, and finally result with
+     * the same body as POST /v1/intercept. Memories and notes are candidates:
+     * only result.enhanced says whether they were injected. Runs on the request
+     * thread so the tenant from X-Tenant-ID applies throughout.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void interceptStream(
+        @Valid @RequestBody InterceptRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        log.info("POST /v1/intercept/stream - sessionId: {}, promptLength: {}",
+            request.getSessionId(),
+            request.getPrompt() != null ? request.getPrompt().length() : 0);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");  // keep reverse proxies from buffering the stream
+        PrintWriter writer = response.getWriter();
+
+        InterceptionListener listener = new InterceptionListener() {
+            @Override
+            public void onQuickCheck(boolean passed) {
+                send(writer, InterceptStreamEvent.builder().type(InterceptStreamEvent.QUICK_CHECK).passed(passed).build());
+            }
+
+            @Override
+            public void onMemories(List<InterceptResponse.MemoryReference> memories) {
+                send(writer, InterceptStreamEvent.builder().type(InterceptStreamEvent.MEMORIES).memories(memories).build());
+            }
+
+            @Override
+            public void onNotes(List<InterceptResponse.NoteReference> notes) {
+                send(writer, InterceptStreamEvent.builder().type(InterceptStreamEvent.NOTES).notes(notes).build());
+            }
+
+            @Override
+            public void onRelevance(boolean needsContext, Double confidence, String reasoning) {
+                send(writer, InterceptStreamEvent.builder().type(InterceptStreamEvent.RELEVANCE)
+                    .needsContext(needsContext).confidence(confidence).reasoning(reasoning).build());
+            }
+        };
+
+        try {
+            InterceptResponse result = interceptionService.interceptAndEnhance(request, listener);
+            send(writer, InterceptStreamEvent.builder().type(InterceptStreamEvent.RESULT).result(result).build());
+        } catch (UncheckedIOException e) {
+            log.debug("Client closed the interception stream: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // The status is already committed, so the error goes into the stream
+            log.error("Streaming interception failed", e);
+            send(writer, InterceptStreamEvent.builder().type(InterceptStreamEvent.ERROR).error(e.getMessage()).build());
+        }
+    }
+
+    private void send(PrintWriter writer, InterceptStreamEvent event) {
+        try {
+            writer.write("event: " + event.getType() + "\n");
+            writer.write("data: " + objectMapper.writeValueAsString(event) + "\n\n");
+            writer.flush();
+            if (writer.checkError()) {
+                throw new IOException("client disconnected");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
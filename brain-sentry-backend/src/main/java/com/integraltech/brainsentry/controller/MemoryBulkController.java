@@ -0,0 +1,65 @@
+package com.integraltech.brainsentry.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.dto.response.BulkIngestEvent;
+import com.integraltech.brainsentry.service.MemoryBulkIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST controller for bulk memory ingestion.
+ *
+ * Streams both ways: the request body is read line by line and the
+ * response is written as NDJSON events (progress per batch, one error
+ * per rejected line, then a final summary), flushed as they happen.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/memories")
+@RequiredArgsConstructor
+public class MemoryBulkController {
+
+    private final MemoryBulkIngestService bulkIngestService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Bulk-create memories from NDJSON.
+     * POST /api/v1/memories/bulk
+     *
+     * Each line is a CreateMemoryRequest. Runs on the request thread so the
+     * tenant from X-Tenant-ID applies to every row.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public void bulkCreate(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("POST /v1/memories/bulk - tenant: {}", TenantContext.getTenantId());
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+
+        bulkIngestService.ingest(request.getReader(), event -> write(writer, event));
+    }
+
+    private void write(PrintWriter writer, BulkIngestEvent event) {
+        try {
+            writer.write(objectMapper.writeValueAsString(event));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.integraltech.brainsentry.controller;
+
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.dto.response.RelevanceModelResponse;
+import com.integraltech.brainsentry.mapper.RelevanceModelMapper;
+import com.integraltech.brainsentry.service.relevance.RelevanceModelTrainer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for the per-tenant relevance classifier.
+ *
+ * Training runs on the request thread against the current tenant's
+ * audit history; it needs no LLM or network access.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/relevance-model")
+@RequiredArgsConstructor
+@Tag(name = "Relevance Model", description = "Classificador local de relevância por tenant")
+public class RelevanceModelController {
+
+    private final RelevanceModelTrainer trainer;
+
+    /**
+     * Train a new model version.
+     *
+     * POST /v1/relevance-model/train
+     */
+    @PostMapping("/train")
+    @Operation(summary = "Treinar modelo", description = "Treina uma nova versão a partir do histórico de auditoria")
+    public ResponseEntity<RelevanceModelResponse> train() {
+        log.info("POST /v1/relevance-model/train - tenant: {}", TenantContext.getTenantId());
+        return ResponseEntity.ok(RelevanceModelMapper.toResponse(trainer.train()));
+    }
+
+    /**
+     * List model versions, newest first.
+     *
+     * GET /v1/relevance-model/versions
+     */
+    @GetMapping("/versions")
+    @Operation(summary = "Listar versões", description = "Retorna as versões do modelo do tenant atual")
+    public ResponseEntity<List<RelevanceModelResponse>> versions() {
+        log.info("GET /v1/relevance-model/versions - tenant: {}", TenantContext.getTenantId());
+        return ResponseEntity.ok(RelevanceModelMapper.toResponseList(trainer.versions()));
+    }
+
+    /**
+     * Activate a model version, e.g. to roll back.
+     *
+     * POST /v1/relevance-model/versions/{version}/activate
+     */
+    @PostMapping("/versions/{version}/activate")
+    @Operation(summary = "Ativar versão", description = "Define a versão usada pela interceptação")
+    public ResponseEntity<RelevanceModelResponse> activate(
+            @Parameter(description = "Número da versão")
+            @PathVariable int version) {
+        log.info("POST /v1/relevance-model/versions/{}/activate - tenant: {}", version, TenantContext.getTenantId());
+        return ResponseEntity.ok(RelevanceModelMapper.toResponse(trainer.activate(version)));
+    }
+}
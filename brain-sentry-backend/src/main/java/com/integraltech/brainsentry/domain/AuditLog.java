@@ -43,8 +43,8 @@ public class AuditLog {
 
     /**
      * Type of event that occurred.
-     * Values: "context_injection", "memory_created", "memory_updated",
-     *         "memory_deleted", "relationship_created", etc.
+     * Values: "context_injection", "relevance_verdict", "memory_created",
+     *         "memory_updated", "memory_deleted", "relationship_created", etc.
      */
     @Column(length = 100)
     private String eventType;
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.TenantId;
 
 import java.time.Instant;
@@ -17,12 +18,17 @@ import java.util.UUID;
  * Inspired by Confucius Code Agent's hindsight notes system.
  * These notes capture what went wrong, how it was fixed, and what was learned
  * to prevent similar errors in the future.
+ *
+ * Reference and access counters are written only by UsageCounterService's
+ * batched {@code count = count + ?} updates, so they are excluded from
+ * entity updates, and updates only write the columns that changed.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "hindsight_notes", indexes = {
         @Index(name = "idx_hindsight_tenant", columnList = "tenantId"),
         @Index(name = "idx_hindsight_session", columnList = "sessionId"),
@@ -80,12 +86,14 @@ public class HindsightNote {
     /**
      * When this note was last accessed or suggested.
      */
+    @Column(updatable = false)
     private Instant lastAccessedAt;
 
     /**
      * How many times this note has been accessed.
      */
     @Builder.Default
+    @Column(updatable = false)
     private Integer accessCount = 0;
 
     // ==================== Error Information ====================
@@ -189,6 +197,7 @@ public class HindsightNote {
      * How many times this hindsight note has been referenced/suggested.
      */
     @Builder.Default
+    @Column(updatable = false)
     private Integer referenceCount = 0;
 
     /**
@@ -265,16 +274,6 @@ public class HindsightNote {
         this.lastOccurrenceAt = Instant.now();
     }
 
-    /**
-     * Increment reference count when this note is suggested.
-     * Also updates lastAccessedAt and accessCount.
-     */
-    public void recordReference() {
-        this.referenceCount++;
-        this.lastAccessedAt = Instant.now();
-        this.accessCount++;
-    }
-
     /**
      * Record successful prevention.
      */
@@ -0,0 +1,51 @@
+package com.integraltech.brainsentry.domain;
+
+import com.integraltech.brainsentry.service.llm.LlmOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A cached LLM response.
+ *
+ * Keyed by a digest of everything that determines the answer (operation,
+ * model, temperature, token limit and prompts), so it is shared by every
+ * caller that sends the same request. Only deterministic analyses are
+ * cached, until {@code expiresAt}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "llm_response_cache", indexes = {
+    @Index(name = "idx_llm_response_cache_expires", columnList = "expiresAt")
+})
+public class LlmCachedResponse {
+
+    /**
+     * SHA-256 of the request, hex encoded.
+     */
+    @Id
+    @Column(length = 64)
+    private String cacheKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40, nullable = false)
+    private LlmOperation operation;
+
+    @Column(length = 200)
+    private String model;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String response;
+
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
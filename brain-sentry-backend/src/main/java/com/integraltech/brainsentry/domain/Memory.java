@@ -3,6 +3,7 @@ package com.integraltech.brainsentry.domain;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
 import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.domain.enums.PendingEnrichment;
 import com.integraltech.brainsentry.config.FloatArrayConverter;
 import com.integraltech.brainsentry.domain.enums.ValidationStatus;
 import jakarta.persistence.*;
@@ -10,6 +11,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.TenantId;
 
 import java.time.Instant;
@@ -24,12 +26,17 @@ import java.util.Map;
  * with vector embeddings for semantic search.
  *
  * Multi-tenancy is handled automatically by Hibernate 6 using @TenantId.
+ *
+ * Usage counters are written only by UsageCounterService's batched
+ * {@code count = count + ?} updates, so they are excluded from entity
+ * updates, and updates only write the columns that changed.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@DynamicUpdate
 @Table(name = "memories", indexes = {
     @Index(name = "idx_memory_tenant", columnList = "tenantId"),
     @Index(name = "idx_memory_category", columnList = "category"),
@@ -114,6 +121,7 @@ public class Memory {
 
     private Instant updatedAt;
 
+    @Column(updatable = false)
     private Instant lastAccessedAt;
 
     // ==================== Version Control ====================
@@ -123,9 +131,11 @@ public class Memory {
     // ==================== Usage Tracking ====================
 
     @Builder.Default
+    @Column(updatable = false)
     private Integer accessCount = 0;
 
     @Builder.Default
+    @Column(updatable = false)
     private Integer injectionCount = 0;
 
     @Builder.Default
@@ -142,6 +152,17 @@ public class Memory {
     @Column(length = 50)
     private String programmingLanguage;
 
+    // ==================== Enrichment ====================
+
+    /**
+     * LLM enrichment still owed to a bulk-ingested memory; cleared once
+     * MemoryEnrichmentQueue has processed it, so pending work survives restarts.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    @JsonIgnore
+    private PendingEnrichment pendingEnrichment;
+
     // ==================== Computed Fields ====================
 
     /**
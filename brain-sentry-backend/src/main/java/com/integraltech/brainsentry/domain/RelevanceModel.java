@@ -0,0 +1,94 @@
+package com.integraltech.brainsentry.domain;
+
+import com.integraltech.brainsentry.config.FloatArrayConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A trained version of a tenant's relevance classifier.
+ *
+ * Logistic regression over the prompt embedding plus keyword features,
+ * trained offline from the interception audit history. Versions are kept
+ * so a tenant can roll back; only the active one is used for scoring.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "relevance_models", indexes = {
+    @Index(name = "idx_relevance_model_tenant", columnList = "tenantId")
+})
+public class RelevanceModel {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    /**
+     * Version number per tenant (starts at 1, increments on each training run).
+     */
+    private Integer version;
+
+    /**
+     * Whether this version is used by the interception gate.
+     */
+    private Boolean active;
+
+    // ==================== Parameters ====================
+
+    /**
+     * Feature weights, see {@code RelevanceFeatures} for the layout.
+     */
+    @Convert(converter = FloatArrayConverter.class)
+    @Column(columnDefinition = "bytea")
+    private float[] weights;
+
+    private Double bias;
+
+    /**
+     * Embedding model the weights were trained against; other models are not scored.
+     */
+    @Column(length = 200)
+    private String embeddingModel;
+
+    private Integer embeddingDimension;
+
+    // ==================== Training Metrics ====================
+
+    /**
+     * Labeled prompts used (training + holdout).
+     */
+    private Integer sampleCount;
+
+    /**
+     * Labeled prompts that needed context.
+     */
+    private Integer positiveCount;
+
+    /**
+     * Accuracy on holdout prompts scored outside the uncertainty band.
+     */
+    private Double holdoutAccuracy;
+
+    /**
+     * Fraction of holdout prompts inside the uncertainty band (sent to the LLM).
+     */
+    private Double escalationRate;
+
+    private Instant createdAt;
+
+    // ==================== Tenant Support ====================
+
+    /**
+     * Tenant ID for multi-tenancy support.
+     */
+    @org.hibernate.annotations.TenantId
+    @Column(length = 100, nullable = false)
+    private String tenantId;
+}
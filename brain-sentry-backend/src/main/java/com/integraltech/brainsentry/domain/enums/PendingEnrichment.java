@@ -0,0 +1,53 @@
+package com.integraltech.brainsentry.domain.enums;
+
+/**
+ * LLM enrichment a bulk-ingested memory is still waiting for.
+ *
+ * Entity extraction and relationship detection are always part of it;
+ * the value says which classification fields were defaulted at ingest
+ * time and should come from LLM analysis.
+ */
+public enum PendingEnrichment {
+    /**
+     * Only entity extraction and relationship detection.
+     */
+    LINKS(false, false),
+
+    /**
+     * The category was defaulted.
+     */
+    CATEGORY(true, false),
+
+    /**
+     * The importance was defaulted.
+     */
+    IMPORTANCE(false, true),
+
+    /**
+     * Both category and importance were defaulted.
+     */
+    CATEGORY_AND_IMPORTANCE(true, true);
+
+    private final boolean classifyCategory;
+    private final boolean classifyImportance;
+
+    PendingEnrichment(boolean classifyCategory, boolean classifyImportance) {
+        this.classifyCategory = classifyCategory;
+        this.classifyImportance = classifyImportance;
+    }
+
+    public boolean classifyCategory() {
+        return classifyCategory;
+    }
+
+    public boolean classifyImportance() {
+        return classifyImportance;
+    }
+
+    public static PendingEnrichment of(boolean classifyCategory, boolean classifyImportance) {
+        if (classifyCategory) {
+            return classifyImportance ? CATEGORY_AND_IMPORTANCE : CATEGORY;
+        }
+        return classifyImportance ? IMPORTANCE : LINKS;
+    }
+}
@@ -0,0 +1,67 @@
+package com.integraltech.brainsentry.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of the NDJSON bulk ingestion response stream.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkIngestEvent {
+
+    public static final String PROGRESS = "progress";
+    public static final String ERROR = "error";
+    public static final String COMPLETE = "complete";
+
+    /**
+     * Event type: progress, error or complete.
+     */
+    private String type;
+
+    /**
+     * Input line number (1-based) the error refers to.
+     */
+    private Long line;
+
+    /**
+     * Error message for this line.
+     */
+    private String error;
+
+    /**
+     * IDs of the memories created by the batch just committed.
+     */
+    private List<String> memoryIds;
+
+    /**
+     * Lines read so far (blank lines excluded).
+     */
+    private Long processed;
+
+    /**
+     * Memories created so far.
+     */
+    private Long succeeded;
+
+    /**
+     * Lines rejected so far.
+     */
+    private Long failed;
+
+    /**
+     * Memories queued for background LLM enrichment so far.
+     */
+    private Long enrichmentQueued;
+
+    /**
+     * Elapsed time since the upload started.
+     */
+    private Long elapsedMs;
+}
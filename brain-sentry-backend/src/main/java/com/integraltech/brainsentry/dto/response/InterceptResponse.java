@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Response from prompt interception.
@@ -71,6 +72,17 @@ public class InterceptResponse {
      */
     private Integer llmCalls;
 
+    /**
+     * Wall-clock time per pipeline stage in milliseconds.
+     * Stages that did not finish before the deadline are absent.
+     */
+    private Map<String, Long> stageTimingsMs;
+
+    /**
+     * Whether the latency budget expired before all stages finished.
+     */
+    private Boolean deadlineExceeded;
+
     /**
      * Reference to a memory used in context.
      */
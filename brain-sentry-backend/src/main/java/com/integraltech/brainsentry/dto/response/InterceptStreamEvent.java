@@ -0,0 +1,70 @@
+package com.integraltech.brainsentry.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One Server-Sent Event of the streaming interception response.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterceptStreamEvent {
+
+    public static final String QUICK_CHECK = "quickCheck";
+    public static final String MEMORIES = "memories";
+    public static final String NOTES = "notes";
+    public static final String RELEVANCE = "relevance";
+    public static final String RESULT = "result";
+    public static final String ERROR = "error";
+
+    /**
+     * Event type, also sent as the SSE event name.
+     */
+    private String type;
+
+    /**
+     * Whether the prompt passed the keyword quick check.
+     */
+    private Boolean passed;
+
+    /**
+     * Memories retrieved for the prompt (candidates until the result).
+     */
+    private List<InterceptResponse.MemoryReference> memories;
+
+    /**
+     * Notes retrieved for the prompt (candidates until the result).
+     */
+    private List<InterceptResponse.NoteReference> notes;
+
+    /**
+     * Relevance verdict: whether the prompt needs context.
+     */
+    private Boolean needsContext;
+
+    /**
+     * Confidence of the relevance verdict.
+     */
+    private Double confidence;
+
+    /**
+     * Reasoning of the relevance verdict.
+     */
+    private String reasoning;
+
+    /**
+     * The final response, same as POST /v1/intercept.
+     */
+    private InterceptResponse result;
+
+    /**
+     * Error message if the interception failed.
+     */
+    private String error;
+}
@@ -45,4 +45,9 @@ public class MemoryResponse {
     private Double relevanceScore;
     private String codeExample;
     private String programmingLanguage;
+
+    /**
+     * Search results only: content fragments matching the query, terms in {@code <mark>} tags.
+     */
+    private String highlight;
 }
@@ -0,0 +1,27 @@
+package com.integraltech.brainsentry.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response describing a relevance classifier version (without its weights).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelevanceModelResponse {
+
+    private Integer version;
+    private Boolean active;
+    private String embeddingModel;
+    private Integer sampleCount;
+    private Integer positiveCount;
+    private Double holdoutAccuracy;
+    private Double escalationRate;
+    private Instant createdAt;
+}
@@ -0,0 +1,39 @@
+package com.integraltech.brainsentry.mapper;
+
+import com.integraltech.brainsentry.domain.RelevanceModel;
+import com.integraltech.brainsentry.dto.response.RelevanceModelResponse;
+
+import java.util.List;
+
+/**
+ * Mapper for RelevanceModel entity and DTOs.
+ */
+public class RelevanceModelMapper {
+
+    /**
+     * Convert RelevanceModel entity to RelevanceModelResponse DTO.
+     */
+    public static RelevanceModelResponse toResponse(RelevanceModel model) {
+        if (model == null) {
+            return null;
+        }
+
+        return RelevanceModelResponse.builder()
+                .version(model.getVersion())
+                .active(model.getActive())
+                .embeddingModel(model.getEmbeddingModel())
+                .sampleCount(model.getSampleCount())
+                .positiveCount(model.getPositiveCount())
+                .holdoutAccuracy(model.getHoldoutAccuracy())
+                .escalationRate(model.getEscalationRate())
+                .createdAt(model.getCreatedAt())
+                .build();
+    }
+
+    /**
+     * Convert a list of RelevanceModel entities to DTOs.
+     */
+    public static List<RelevanceModelResponse> toResponseList(List<RelevanceModel> models) {
+        return models.stream().map(RelevanceModelMapper::toResponse).toList();
+    }
+}
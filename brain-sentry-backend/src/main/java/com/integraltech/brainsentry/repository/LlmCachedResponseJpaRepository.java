@@ -0,0 +1,29 @@
+package com.integraltech.brainsentry.repository;
+
+import com.integraltech.brainsentry.domain.LlmCachedResponse;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * JPA repository for cached LLM responses. Not tenant-scoped: entries are
+ * keyed by request digest.
+ */
+@Repository
+public interface LlmCachedResponseJpaRepository extends JpaRepository<LlmCachedResponse, String> {
+
+    /**
+     * Delete the entries that expired before the given instant.
+     *
+     * @return number of entries deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LlmCachedResponse r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
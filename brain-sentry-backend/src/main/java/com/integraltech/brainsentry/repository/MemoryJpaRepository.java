@@ -3,13 +3,17 @@ package com.integraltech.brainsentry.repository;
 import com.integraltech.brainsentry.domain.Memory;
 import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
 import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -96,14 +100,36 @@ public interface MemoryJpaRepository extends JpaRepository<Memory, String>, JpaS
     long countByCreatedBy(String createdBy);
 
     /**
-     * Full-text search on memory content and summary.
-     * Uses PostgreSQL's native full-text search with tsvector.
+     * Find memories by ID with their tags, for results used off the calling transaction.
+     * Full-text search itself is in {@link com.integraltech.brainsentry.repository.impl.MemoryFullTextIndex}.
      */
-    @Query("""
-        SELECT m FROM Memory m WHERE
-        LOWER(m.content) LIKE LOWER(CONCAT('%', :query, '%'))
-        OR LOWER(m.summary) LIKE LOWER(CONCAT('%', :query, '%'))
-        ORDER BY m.importance DESC, m.createdAt DESC
-        """)
-    List<Memory> fullTextSearch(@Param("query") String query);
+    @EntityGraph(attributePaths = "tags")
+    List<Memory> findWithTagsByIdIn(Collection<String> ids);
+
+    /**
+     * A memory that still waits for LLM enrichment.
+     */
+    interface PendingEnrichmentRow {
+        String getId();
+
+        String getTenantId();
+
+        String getPendingEnrichment();
+    }
+
+    /**
+     * Memories of all tenants that still wait for LLM enrichment.
+     * Native, so it is not restricted to the current tenant.
+     */
+    @Query(value = "SELECT id AS id, tenant_id AS tenantId, pending_enrichment AS pendingEnrichment " +
+        "FROM memories WHERE pending_enrichment IS NOT NULL", nativeQuery = true)
+    List<PendingEnrichmentRow> findPendingEnrichments();
+
+    /**
+     * Mark a memory's LLM enrichment as done.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Memory m SET m.pendingEnrichment = null WHERE m.id = :id")
+    int clearPendingEnrichment(@Param("id") String id);
 }
@@ -2,6 +2,8 @@ package com.integraltech.brainsentry.repository;
 
 import com.integraltech.brainsentry.domain.Memory;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +23,14 @@ public interface MemoryRepository {
      */
     Memory save(Memory memory);
 
+    /**
+     * Save a batch of memories with one KV transaction and one graph statement.
+     *
+     * @param memories the memories to save
+     * @return the saved memories
+     */
+    List<Memory> saveAll(List<Memory> memories);
+
     /**
      * Find a memory by its ID.
      *
@@ -29,6 +39,15 @@ public interface MemoryRepository {
      */
     Optional<Memory> findById(String id);
 
+    /**
+     * Find several memories by ID in bulk.
+     * Missing IDs are skipped; results keep the order of the given IDs.
+     *
+     * @param ids the memory IDs
+     * @return list of found memories
+     */
+    List<Memory> findAllByIds(Collection<String> ids);
+
     /**
      * Find all memories for a given tenant.
      *
@@ -132,4 +151,18 @@ public interface MemoryRepository {
      * @param tenantId the tenant ID
      */
     void createAllRelationships(String tenantId);
+
+    /**
+     * Add usage counter deltas to memory nodes, in one statement, and to
+     * their KV usage counters. Saves never lower these counters.
+     *
+     * @param deltas increments per memory
+     */
+    void incrementUsage(List<UsageDelta> deltas);
+
+    /**
+     * Usage counter increments for one memory.
+     */
+    record UsageDelta(String id, long accessCount, long injectionCount, Instant lastAccessedAt) {
+    }
 }
@@ -0,0 +1,31 @@
+package com.integraltech.brainsentry.repository;
+
+import com.integraltech.brainsentry.domain.RelevanceModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JPA repository for RelevanceModel entity.
+ * Multi-tenancy is handled automatically by Hibernate 6 @TenantId.
+ */
+@Repository
+public interface RelevanceModelJpaRepository extends JpaRepository<RelevanceModel, String> {
+
+    /**
+     * Find the active model version of a tenant.
+     */
+    Optional<RelevanceModel> findFirstByTenantIdAndActiveTrueOrderByVersionDesc(String tenantId);
+
+    /**
+     * Find all model versions of a tenant, newest first.
+     */
+    List<RelevanceModel> findByTenantIdOrderByVersionDesc(String tenantId);
+
+    /**
+     * Find a specific model version of a tenant.
+     */
+    Optional<RelevanceModel> findByTenantIdAndVersion(String tenantId, Integer version);
+}
@@ -0,0 +1,155 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.integraltech.brainsentry.config.RetrievalProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL full-text search over memories.
+ *
+ * A generated {@code tsvector} column, {@code memories.search_vector}, holds
+ * the summary (weight A) and content (weight B) parsed with the configured
+ * text search language, plus the code example (weight C) parsed with the
+ * {@code simple} configuration so identifiers are not stemmed. A GIN index on
+ * it serves {@code websearch_to_tsquery} searches ranked by {@code ts_rank_cd},
+ * with the limit applied in SQL and a highlighted snippet for each hit.
+ *
+ * Hibernate does not map the column: it is created on startup, after the
+ * Hibernate schema update, and recreated when
+ * {@code brain-sentry.retrieval.lexical.language} changes.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class MemoryFullTextIndex {
+
+    private static final Pattern LANGUAGE = Pattern.compile("[a-z_]+");
+
+    // The column comment records the language the vectors were built with
+    static final String COLUMN_LANGUAGE_SQL = """
+        SELECT coalesce(col_description(a.attrelid, a.attnum), '')
+        FROM pg_attribute a
+        WHERE a.attrelid = 'memories'::regclass AND a.attname = 'search_vector' AND NOT a.attisdropped
+        """;
+
+    static final String DROP_COLUMN_SQL = "ALTER TABLE memories DROP COLUMN IF EXISTS search_vector";
+
+    static final String ADD_COLUMN_SQL = """
+        ALTER TABLE memories ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+            setweight(to_tsvector('%1$s'::regconfig, coalesce(summary, '')), 'A')
+            || setweight(to_tsvector('%1$s'::regconfig, coalesce(content, '')), 'B')
+            || setweight(to_tsvector('simple'::regconfig, coalesce(code_example, '')), 'C')
+        ) STORED
+        """;
+
+    static final String COMMENT_COLUMN_SQL = "COMMENT ON COLUMN memories.search_vector IS '%s'";
+
+    static final String CREATE_INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_memory_search_vector ON memories USING gin (search_vector)";
+
+    // Snippets are only built for the rows that survive the limit
+    static final String SEARCH_SQL = """
+        SELECT hit.id, hit.rank,
+               ts_headline(CAST(? AS regconfig), hit.content, hit.query,
+                           'MaxFragments=2, MinWords=5, MaxWords=20, StartSel=<mark>, StopSel=</mark>') AS snippet
+        FROM (
+            SELECT m.id, m.content, q.query, ts_rank_cd(m.search_vector, q.query, 1) AS rank
+            FROM memories m,
+                 (SELECT websearch_to_tsquery(CAST(? AS regconfig), ?)
+                         || websearch_to_tsquery('simple'::regconfig, ?) AS query) q
+            WHERE m.tenant_id = ? AND m.search_vector @@ q.query
+            ORDER BY rank DESC
+            LIMIT ?
+        ) hit
+        ORDER BY hit.rank DESC
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MemoryJpaRepository memoryJpaRepo;
+    private final String language;
+
+    /**
+     * A memory matching a full-text query.
+     *
+     * @param rank ts_rank_cd of the match, normalized by document length
+     * @param snippet content fragments with the matched terms in {@code <mark>} tags
+     */
+    public record Match(Memory memory, double rank, String snippet) {
+    }
+
+    /**
+     * A ranked row, before the memory is loaded.
+     */
+    private record Hit(String id, double rank, String snippet) {
+    }
+
+    public MemoryFullTextIndex(JdbcTemplate jdbcTemplate, MemoryJpaRepository memoryJpaRepo,
+                               RetrievalProperties properties) {
+        String configured = properties.getLexical().getLanguage();
+        if (configured == null || !LANGUAGE.matcher(configured).matches()) {
+            throw new IllegalArgumentException("Invalid text search language: " + configured);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.memoryJpaRepo = memoryJpaRepo;
+        this.language = configured;
+    }
+
+    /**
+     * Create the search column and its index, or rebuild them for a new language.
+     */
+    @PostConstruct
+    public void ensureIndex() {
+        try {
+            List<String> current = jdbcTemplate.queryForList(COLUMN_LANGUAGE_SQL, String.class);
+            if (!current.isEmpty() && !current.get(0).equals(language)) {
+                log.info("Rebuilding memory full-text index: language changed from '{}' to '{}'",
+                    current.get(0), language);
+                jdbcTemplate.execute(DROP_COLUMN_SQL);
+            }
+            if (current.isEmpty() || !current.get(0).equals(language)) {
+                jdbcTemplate.execute(ADD_COLUMN_SQL.formatted(language));
+                jdbcTemplate.execute(COMMENT_COLUMN_SQL.formatted(language));
+            }
+            jdbcTemplate.execute(CREATE_INDEX_SQL);
+            log.info("Memory full-text index ready (language: {})", language);
+        } catch (Exception e) {
+            log.error("Failed to create the memory full-text index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Search memories of a tenant.
+     *
+     * @param query web-search style query: quoted phrases, OR, -excluded words
+     * @param tenantId the tenant ID
+     * @param limit maximum number of results
+     * @return matches by descending rank
+     */
+    public List<Match> search(String query, String tenantId, int limit) {
+        List<Hit> hits = jdbcTemplate.query(SEARCH_SQL,
+            (rs, rowNum) -> new Hit(rs.getString("id"), rs.getDouble("rank"), rs.getString("snippet")),
+            language, language, query, query, tenantId, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Memory> memories = memoryJpaRepo.findWithTagsByIdIn(hits.stream().map(Hit::id).toList())
+            .stream()
+            .collect(Collectors.toMap(Memory::getId, Function.identity()));
+        return hits.stream()
+            .filter(hit -> memories.containsKey(hit.id()))
+            .map(hit -> new Match(memories.get(hit.id()), hit.rank(), hit.snippet()))
+            .toList();
+    }
+}
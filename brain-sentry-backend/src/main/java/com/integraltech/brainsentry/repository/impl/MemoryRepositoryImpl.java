@@ -1,6 +1,8 @@
 package com.integraltech.brainsentry.repository.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.falkordb.Driver;
 import com.falkordb.FalkorDB;
 import com.falkordb.Graph;
@@ -10,11 +12,24 @@ import com.falkordb.graph_entities.Node;
 import com.falkordb.graph_entities.Property;
 import com.integraltech.brainsentry.domain.Memory;
 import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.repository.vector.EmbeddingMatrix;
+import com.integraltech.brainsentry.repository.vector.HnswIndex;
+import com.integraltech.brainsentry.repository.vector.MemoryVectorIndex;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
+import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 import java.time.Instant;
 import java.util.*;
@@ -37,41 +52,96 @@ public class MemoryRepositoryImpl implements MemoryRepository {
 
     private final JedisPool jedisPool;
     private final ObjectMapper objectMapper;
+    private final ObjectReader memoryReader;
     private final Graph graph;
     private final String graphName;
+    private final int embeddingDimensions;
+    private final MemoryVectorIndex vectorIndex;
 
     private static final String MEMORY_PREFIX = "memory:";
+    /** Usage counters of a memory, kept out of its JSON record so saves never overwrite them. */
+    private static final String MEMORY_USAGE = "memory_usage:";
+    private static final String ACCESS_COUNT = "accessCount";
+    private static final String INJECTION_COUNT = "injectionCount";
+    private static final String LAST_ACCESSED_AT = "lastAccessedAt";
+    private static final String[] USAGE_FIELDS = {ACCESS_COUNT, INJECTION_COUNT, LAST_ACCESSED_AT};
     private static final String TAG_INDEX = "tag_idx:";
     private static final String TENANT_MEMORIES = "tenant_memories:";
+    private static final String GRAPH_PENDING = "graph_pending:";
+    /** Ids deleted from the KV store whose graph node still has to go; the delete needs no tenant. */
+    private static final String GRAPH_PENDING_DELETE = "graph_pending_delete";
 
+    /** Keys per MGET / ids per graph IN-list, keeps single replies bounded. */
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    @Autowired
     public MemoryRepositoryImpl(JedisPool jedisPool, ObjectMapper objectMapper,
                                 @Value("${brain-sentry.graph.name:brainsentry}") String graphName,
                                 @Value("${brain-sentry.redis.host:localhost}") String host,
                                 @Value("${brain-sentry.redis.port:6379}") int port,
-                                @Value("${brain-sentry.redis.password:}") String password) {
+                                @Value("${brain-sentry.redis.password:}") String password,
+                                @Value("${brain-sentry.embedding.dimensions:384}") int embeddingDimensions,
+                                @Autowired(required = false) MemoryVectorIndex vectorIndex) {
+        this(jedisPool, objectMapper, graphName, connect(host, port, password).graph(graphName),
+            embeddingDimensions, vectorIndex);
+        log.info("FalkorDB graph '{}' initialized with connection to {}:{}", graphName, host, port);
+    }
+
+    MemoryRepositoryImpl(JedisPool jedisPool, ObjectMapper objectMapper, String graphName, Graph graph,
+                         int embeddingDimensions, MemoryVectorIndex vectorIndex) {
         this.jedisPool = jedisPool;
         this.objectMapper = objectMapper;
+        this.memoryReader = objectMapper.readerFor(Memory.class);
         this.graphName = graphName;
+        this.graph = graph;
+        this.embeddingDimensions = embeddingDimensions;
+        this.vectorIndex = vectorIndex;
+    }
 
-        // Create FalkorDB connection
-        // API: FalkorDB.driver(host, port) or FalkorDB.driver(host, port, password, username)
-        Driver driver;
+    // Create FalkorDB connection
+    // API: FalkorDB.driver(host, port) or FalkorDB.driver(host, port, password, username)
+    private static Driver connect(String host, int port, String password) {
         if (password != null && !password.isEmpty()) {
             // With password: driver(host, port, password, username)
             // Note: For FalkorDB with ACL enabled, try null username first
             try {
-                driver = FalkorDB.driver(host, port, password, null);
+                return FalkorDB.driver(host, port, password, null);
             } catch (Exception e) {
                 log.warn("Failed to connect with null username, trying 'default': {}", e.getMessage());
-                driver = FalkorDB.driver(host, port, password, "default");
+                return FalkorDB.driver(host, port, password, "default");
             }
-        } else {
-            // Without password
-            driver = FalkorDB.driver(host, port);
         }
-        this.graph = driver.graph(graphName);
+        // Without password
+        return FalkorDB.driver(host, port);
+    }
 
-        log.info("FalkorDB graph '{}' initialized with connection to {}:{}", graphName, host, port);
+    /**
+     * Create the vector index behind {@link #vectorSearch} if it does not
+     * exist yet. Only when it is newly created are embeddings stored as plain
+     * lists converted so it covers them; later startups skip that full scan.
+     * Failures are logged; vector search then falls back to an exact scan.
+     */
+    @PostConstruct
+    public void ensureVectorIndex() {
+        try {
+            graph.query(String.format(MemoryStatements.CREATE_VECTOR_INDEX_TEMPLATE, embeddingDimensions));
+            log.info("Created FalkorDB vector index on Memory.embedding ({} dimensions)", embeddingDimensions);
+        } catch (Exception e) {
+            // Also raised when the index already exists
+            log.debug("Vector index not created: {}", e.getMessage());
+            return;
+        }
+        try {
+            ResultSet resultSet = graph.query(MemoryStatements.CONVERT_LIST_EMBEDDINGS);
+            for (Record record : resultSet) {
+                Object converted = record.getValue("converted");
+                if (converted instanceof Number count && count.longValue() > 0) {
+                    log.info("Converted {} stored embeddings to vectors", count);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not convert stored embeddings to vectors: {}", e.getMessage());
+        }
     }
 
     @Override
@@ -88,28 +158,24 @@ public class MemoryRepositoryImpl implements MemoryRepository {
             }
             memory.setUpdatedAt(Instant.now());
 
-            // Store in Redis KV for fast access
-            try (var jedis = jedisPool.getResource()) {
-                String key = MEMORY_PREFIX + memory.getId();
-                String json = objectMapper.writeValueAsString(memory);
-                jedis.set(key, json);
-
-                // Add to tenant index
-                jedis.sadd(TENANT_MEMORIES + memory.getTenantId(), memory.getId());
+            String tenantId = memory.getTenantId() != null ? memory.getTenantId() : "default";
 
-                // Index tags
-                if (memory.getTags() != null) {
-                    for (String tag : memory.getTags()) {
-                        jedis.sadd(TAG_INDEX + tag, memory.getId());
-                    }
-                }
+            // KV record and its indexes go in one MULTI/EXEC: a single round trip,
+            // and either all of them are written or none are
+            try (var jedis = jedisPool.getResource()) {
+                writeRecords(jedis, List.of(memory));
             }
 
-            // Store in FalkorDB graph
-            saveToGraph(memory);
+            // Node, category edge and shared-tag edges in one graph statement.
+            // If the graph is unavailable, remember the id so it can be replayed.
+            if (!saveToGraph(memory)) {
+                markGraphPending(tenantId, memory.getId());
+            }
 
-            // Create relationships
-            createRelationships(memory);
+            // Keep in-process vector index in sync
+            if (vectorIndex != null) {
+                vectorIndex.index(memory);
+            }
 
             log.debug("Saved memory: {}", memory.getId());
             return memory;
@@ -119,121 +185,231 @@ public class MemoryRepositoryImpl implements MemoryRepository {
         }
     }
 
-    /**
-     * Save memory as a node in FalkorDB graph with embeddings.
-     */
-    private void saveToGraph(Memory memory) {
+    @Override
+    public List<Memory> saveAll(List<Memory> memories) {
+        if (memories.isEmpty()) {
+            return memories;
+        }
         try {
-            // Convert embedding to array format
-            String embeddingStr = "[]";
-            if (memory.getEmbedding() != null && memory.getEmbedding().length > 0) {
-                StringBuilder sb = new StringBuilder("[");
-                for (int i = 0; i < memory.getEmbedding().length; i++) {
-                    if (i > 0) sb.append(",");
-                    sb.append(memory.getEmbedding()[i]);
+            Instant now = Instant.now();
+            for (Memory memory : memories) {
+                if (memory.getId() == null) {
+                    memory.setId(generateId());
                 }
-                sb.append("]");
-                embeddingStr = sb.toString();
+                if (memory.getCreatedAt() == null) {
+                    memory.setCreatedAt(now);
+                }
+                memory.setUpdatedAt(now);
             }
 
-            // Escape strings for Cypher
-            String id = escapeCypherString(memory.getId());
-            String content = escapeCypherString(memory.getContent());
-            String summary = memory.getSummary() != null ? escapeCypherString(memory.getSummary()) : "";
-            String category = memory.getCategory() != null ? memory.getCategory().name() : "PATTERN";
-            String importance = memory.getImportance() != null ? memory.getImportance().name() : "MINOR";
-            String tenantId = memory.getTenantId() != null ? memory.getTenantId() : "default";
+            // All records and index entries of the batch in one MULTI/EXEC
+            try (var jedis = jedisPool.getResource()) {
+                writeRecords(jedis, memories);
+            }
 
-            // Build tag list as Cypher array
-            String tagList = "[]";
-            if (memory.getTags() != null && !memory.getTags().isEmpty()) {
-                tagList = memory.getTags().stream()
-                    .map(t -> "'" + escapeCypherString(t) + "'")
-                    .collect(Collectors.joining(",", "[", "]"));
-            }
-
-            String query = String.format(
-                "MERGE (m:Memory {id: '%s'}) " +
-                "SET m.content = '%s', " +
-                "m.summary = '%s', " +
-                "m.category = '%s', " +
-                "m.importance = '%s', " +
-                "m.tenantId = '%s', " +
-                "m.tags = %s, " +
-                "m.embedding = %s, " +
-                "m.createdAt = %d, " +
-                "m.updatedAt = %d, " +
-                "m.accessCount = %d, " +
-                "m.version = %d",
-                id, content, summary, category, importance, tenantId, tagList, embeddingStr,
-                memory.getCreatedAt().toEpochMilli(),
-                memory.getUpdatedAt() != null ? memory.getUpdatedAt().toEpochMilli() : Instant.now().toEpochMilli(),
-                memory.getAccessCount() != null ? memory.getAccessCount() : 0,
-                memory.getVersion() != null ? memory.getVersion() : 1
-            );
+            // One UNWIND statement for the whole batch
+            if (!saveAllToGraph(memories)) {
+                memories.stream()
+                    .collect(Collectors.groupingBy(
+                        m -> m.getTenantId() != null ? m.getTenantId() : "default",
+                        Collectors.mapping(Memory::getId, Collectors.toList())))
+                    .forEach((tenantId, ids) -> markGraphPending(tenantId, ids.toArray(String[]::new)));
+            }
+
+            if (vectorIndex != null) {
+                memories.forEach(vectorIndex::index);
+            }
+
+            log.debug("Saved batch of {} memories", memories.size());
+            return memories;
+        } catch (Exception e) {
+            log.error("Error saving batch of {} memories", memories.size(), e);
+            throw new RuntimeException("Failed to save memories", e);
+        }
+    }
+
+    /**
+     * Save memory as a node in FalkorDB graph with embeddings,
+     * together with its category and shared-tag relationships.
+     *
+     * @return true if the graph statement succeeded
+     */
+    private boolean saveToGraph(Memory memory) {
+        try {
+            Map<String, Object> params = graphParams(memory);
+            params.put("now", Instant.now().toEpochMilli());
 
-            graph.query(query);
+            graph.query(MemoryStatements.SAVE_MEMORY, params);
             log.debug("Saved to graph: {}", memory.getId());
+            return true;
         } catch (Exception e) {
             log.warn("Could not save to graph: {}", e.getMessage());
+            return false;
         }
     }
 
     /**
-     * Create relationships with similar memories based on tags.
+     * Save a batch as graph nodes; each parameter becomes a per-row list.
+     *
+     * @return true if the graph statement succeeded
      */
-    private void createRelationships(Memory memory) {
+    private boolean saveAllToGraph(List<Memory> memories) {
         try {
-            String memoryId = escapeCypherString(memory.getId());
-            String tenantId = memory.getTenantId() != null ? memory.getTenantId() : "default";
+            Map<String, List<Object>> columns = new HashMap<>();
+            for (Memory memory : memories) {
+                graphParams(memory).forEach((key, value) ->
+                    columns.computeIfAbsent(key, k -> new ArrayList<>(memories.size())).add(value));
+            }
+            Map<String, Object> params = new HashMap<>(columns);
+            params.put("now", Instant.now().toEpochMilli());
+
+            graph.query(MemoryStatements.SAVE_MEMORIES, params);
+            log.debug("Saved batch of {} to graph", memories.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not save batch to graph: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private Map<String, Object> graphParams(Memory memory) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", memory.getId());
+        params.put("content", memory.getContent() != null ? memory.getContent() : "");
+        params.put("summary", memory.getSummary() != null ? memory.getSummary() : "");
+        params.put("category", memory.getCategory() != null ? memory.getCategory().name() : "PATTERN");
+        params.put("importance", memory.getImportance() != null ? memory.getImportance().name() : "MINOR");
+        params.put("tenantId", memory.getTenantId() != null ? memory.getTenantId() : "default");
+        params.put("tags", memory.getTags() != null ? memory.getTags() : List.of());
+        params.put("embedding", MemoryStatements.embeddingParam(memory.getEmbedding()));
+        params.put("createdAt", memory.getCreatedAt().toEpochMilli());
+        params.put("updatedAt", memory.getUpdatedAt() != null
+            ? memory.getUpdatedAt().toEpochMilli() : Instant.now().toEpochMilli());
+        params.put("version", memory.getVersion() != null ? memory.getVersion() : 1);
+        return params;
+    }
+
+    /**
+     * Write the KV records and index entries of the given memories in one MULTI/EXEC.
+     *
+     * The usage counters in the records are not authoritative: they live in
+     * the {@code memory_usage:<id>} hashes, which only {@link #incrementUsage}
+     * writes and which override the record on hydration. A save is therefore
+     * a blind write and cannot roll back a flush.
+     */
+    private void writeRecords(Jedis jedis, List<Memory> memories) throws JsonProcessingException {
+        Transaction tx = jedis.multi();
+        for (Memory memory : memories) {
+            tx.set(MEMORY_PREFIX + memory.getId(), objectMapper.writeValueAsString(memory));
+
+            // Add to tenant index
+            tx.sadd(TENANT_MEMORIES + memory.getTenantId(), memory.getId());
 
-            // Create relationships with memories that share tags
-            if (memory.getTags() != null && !memory.getTags().isEmpty()) {
+            // Index tags
+            if (memory.getTags() != null) {
                 for (String tag : memory.getTags()) {
-                    String escapedTag = escapeCypherString(tag);
-                    String query = String.format(
-                        "MATCH (m1:Memory {id: '%s'}), (m2:Memory) " +
-                        "WHERE m2.tenantId = '%s' AND '%s' IN m2.tags AND m1.id <> m2.id " +
-                        "MERGE (m1)-[r:RELATED_TO]->(m2) " +
-                        "SET r.strength = coalesce(r.strength, 0) + 1, " +
-                        "r.type = 'shared_tag', " +
-                        "r.tag = '%s', " +
-                        "r.updatedAt = %d",
-                        memoryId, tenantId, escapedTag, escapedTag, Instant.now().toEpochMilli()
-                    );
-                    graph.query(query);
+                    tx.sadd(TAG_INDEX + tag, memory.getId());
                 }
             }
+        }
+        execChecked(tx);
+    }
 
-            // Create category relationship
-            String category = memory.getCategory() != null ? memory.getCategory().name() : "PATTERN";
-            String escapedCategory = escapeCypherString(category);
-            String categoryQuery = String.format(
-                "MERGE (c:Category {name: '%s'}) " +
-                "WITH c " +
-                "MATCH (m:Memory {id: '%s'}) " +
-                "MERGE (m)-[r:BELONGS_TO]->(c) " +
-                "ON CREATE SET r.createdAt = %d",
-                escapedCategory, memoryId, Instant.now().toEpochMilli()
-            );
-            graph.query(categoryQuery);
+    /**
+     * Overlay the counters of a {@code memory_usage:<id>} hash (HMGET of
+     * {@link #USAGE_FIELDS}) on a memory decoded from its record. Records
+     * without a hash keep the counters they were stored with.
+     */
+    private static void applyUsage(Memory memory, List<String> usage) {
+        if (usage == null || usage.size() < USAGE_FIELDS.length) {
+            return;
+        }
+        if (usage.get(0) != null) {
+            memory.setAccessCount(Integer.parseInt(usage.get(0)));
+        }
+        if (usage.get(1) != null) {
+            memory.setInjectionCount(Integer.parseInt(usage.get(1)));
+        }
+        if (usage.get(2) != null) {
+            memory.setLastAccessedAt(Instant.ofEpochMilli(Long.parseLong(usage.get(2))));
+        }
+    }
+
+    private static int count(Integer value) {
+        return value != null ? value : 0;
+    }
 
-            log.debug("Created relationships for memory: {}", memory.getId());
+    /**
+     * Run a MULTI/EXEC and fail if it was aborted or any queued command failed.
+     * Jedis reports per-command errors as result elements instead of throwing.
+     */
+    private static List<Object> execChecked(Transaction tx) {
+        List<Object> results = tx.exec();
+        if (results == null) {
+            throw new IllegalStateException("Redis transaction was aborted");
+        }
+        for (Object result : results) {
+            if (result instanceof JedisDataException e) {
+                throw e;
+            }
+        }
+        return results;
+    }
+
+    private void markGraphPending(String tenantId, String... memoryIds) {
+        try (var jedis = jedisPool.getResource()) {
+            jedis.sadd(GRAPH_PENDING + tenantId, memoryIds);
         } catch (Exception e) {
-            log.warn("Could not create relationships: {}", e.getMessage());
+            log.warn("Could not mark {} memories for graph resync: {}", memoryIds.length, e.getMessage());
+        }
+    }
+
+    /**
+     * Replay graph writes that failed during save, using the KV copy.
+     *
+     * @return number of memories written to the graph
+     */
+    private int resyncPendingGraphWrites(String tenantId) {
+        Set<String> pending;
+        try (var jedis = jedisPool.getResource()) {
+            pending = jedis.smembers(GRAPH_PENDING + tenantId);
+        }
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+
+        List<String> synced = new ArrayList<>();
+        for (Memory memory : findAllByIds(pending)) {
+            if (saveToGraph(memory)) {
+                synced.add(memory.getId());
+            }
+        }
+        if (!synced.isEmpty()) {
+            try (var jedis = jedisPool.getResource()) {
+                jedis.srem(GRAPH_PENDING + tenantId, synced.toArray(String[]::new));
+            }
         }
+        log.info("Resynced {}/{} pending graph writes for tenant: {}", synced.size(), pending.size(), tenantId);
+        return synced.size();
     }
 
     @Override
     public Optional<Memory> findById(String id) {
         try (var jedis = jedisPool.getResource()) {
-            String key = MEMORY_PREFIX + id;
-            String json = jedis.get(key);
-
-            if (json != null) {
-                Memory memory = objectMapper.readValue(json, Memory.class);
+            // Record and usage counters in one round trip
+            Pipeline pipeline = jedis.pipelined();
+            Response<String> json = pipeline.get(MEMORY_PREFIX + id);
+            Response<List<String>> usage = pipeline.hmget(MEMORY_USAGE + id, USAGE_FIELDS);
+            pipeline.sync();
+
+            if (json.get() != null) {
+                Memory memory = objectMapper.readValue(json.get(), Memory.class);
+                applyUsage(memory, usage.get());
                 return Optional.of(memory);
             }
+            if (jedis.sismember(GRAPH_PENDING_DELETE, id)) {
+                return Optional.empty();
+            }
         } catch (Exception e) {
             log.trace("KV lookup failed for {}: {}", id, e.getMessage());
         }
@@ -244,13 +420,7 @@ public class MemoryRepositoryImpl implements MemoryRepository {
 
     private Optional<Memory> findByIdFromGraph(String id) {
         try {
-            String escapedId = escapeCypherString(id);
-            String query = String.format(
-                "MATCH (m:Memory {id: '%s'}) RETURN m",
-                escapedId
-            );
-
-            ResultSet resultSet = graph.query(query);
+            ResultSet resultSet = graph.query(MemoryStatements.FIND_BY_ID, Map.of("id", id));
             for (Record record : resultSet) {
                 Node node = record.getValue("m");
                 return Optional.of(nodeToMemory(node));
@@ -264,16 +434,114 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     }
 
     @Override
-    public List<Memory> findByTenantId(String tenantId) {
+    public List<Memory> findAllByIds(Collection<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, Memory> found = new HashMap<>(distinctIds.size() * 2);
+
+        // One MGET per chunk instead of one GET per id, pipelined with the
+        // usage counter reads of the chunk
         try (var jedis = jedisPool.getResource()) {
-            Set<String> memoryIds = jedis.smembers(TENANT_MEMORIES + tenantId);
-            List<Memory> memories = new ArrayList<>();
+            for (int from = 0; from < distinctIds.size(); from += BULK_CHUNK_SIZE) {
+                List<String> chunk = distinctIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinctIds.size()));
+                String[] keys = new String[chunk.size()];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = MEMORY_PREFIX + chunk.get(i);
+                }
 
-            for (String id : memoryIds) {
-                findById(id).ifPresent(memories::add);
+                Pipeline pipeline = jedis.pipelined();
+                Response<List<String>> records = pipeline.mget(keys);
+                List<Response<List<String>>> usage = new ArrayList<>(chunk.size());
+                for (String id : chunk) {
+                    usage.add(pipeline.hmget(MEMORY_USAGE + id, USAGE_FIELDS));
+                }
+                pipeline.sync();
+
+                List<String> values = records.get();
+                for (int i = 0; i < chunk.size() && values != null && i < values.size(); i++) {
+                    String json = values.get(i);
+                    if (json == null) {
+                        continue;
+                    }
+                    try {
+                        Memory memory = memoryReader.readValue(json);
+                        applyUsage(memory, usage.get(i).get());
+                        found.put(chunk.get(i), memory);
+                    } catch (Exception e) {
+                        log.trace("KV decode failed for {}: {}", chunk.get(i), e.getMessage());
+                    }
+                }
             }
+        } catch (Exception e) {
+            log.trace("KV bulk lookup failed: {}", e.getMessage());
+        }
 
-            return memories;
+        // Resolve whatever the KV store did not have with one graph query per chunk,
+        // skipping deleted memories whose graph node is still pending removal
+        List<String> missing = distinctIds.stream()
+            .filter(id -> !found.containsKey(id))
+            .toList();
+        if (!missing.isEmpty()) {
+            missing = withoutPendingDeletes(missing);
+        }
+        if (!missing.isEmpty()) {
+            findAllByIdsFromGraph(missing).forEach(memory -> found.putIfAbsent(memory.getId(), memory));
+        }
+
+        List<Memory> memories = new ArrayList<>(found.size());
+        for (String id : distinctIds) {
+            Memory memory = found.get(id);
+            if (memory != null) {
+                memories.add(memory);
+            }
+        }
+        return memories;
+    }
+
+    private List<String> withoutPendingDeletes(List<String> ids) {
+        try (var jedis = jedisPool.getResource()) {
+            List<Boolean> pending = jedis.smismember(GRAPH_PENDING_DELETE, ids.toArray(String[]::new));
+            List<String> remaining = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                if (pending == null || i >= pending.size() || !Boolean.TRUE.equals(pending.get(i))) {
+                    remaining.add(ids.get(i));
+                }
+            }
+            return remaining;
+        } catch (Exception e) {
+            log.trace("Pending delete lookup failed: {}", e.getMessage());
+            return ids;
+        }
+    }
+
+    private List<Memory> findAllByIdsFromGraph(List<String> ids) {
+        List<Memory> memories = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            try {
+                ResultSet resultSet = graph.query(MemoryStatements.FIND_BY_IDS, Map.of("ids", chunk));
+                for (Record record : resultSet) {
+                    Node node = record.getValue("m");
+                    if (node != null) {
+                        memories.add(nodeToMemory(node));
+                    }
+                }
+            } catch (Exception e) {
+                log.trace("Graph bulk lookup failed for {} ids: {}", chunk.size(), e.getMessage());
+                return memories;
+            }
+        }
+        return memories;
+    }
+
+    @Override
+    public List<Memory> findByTenantId(String tenantId) {
+        try (var jedis = jedisPool.getResource()) {
+            Set<String> memoryIds = jedis.smembers(TENANT_MEMORIES + tenantId);
+            return findAllByIds(memoryIds);
         } catch (Exception e) {
             log.error("Error finding memories by tenant: {}", tenantId, e);
             return List.of();
@@ -283,15 +551,10 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     @Override
     public List<Memory> findByCategory(String category, String tenantId) {
         try {
-            String query = String.format(
-                "MATCH (m:Memory) " +
-                "WHERE m.tenantId = '%s' AND m.category = '%s' " +
-                "RETURN m " +
-                "ORDER BY m.createdAt DESC",
-                tenantId, category
-            );
-
-            List<Memory> result = queryMemories(query);
+            List<Memory> result = queryMemories(MemoryStatements.FIND_BY_CATEGORY, Map.of(
+                "tenantId", tenantId,
+                "category", category
+            ));
             if (!result.isEmpty()) {
                 return result;
             }
@@ -318,15 +581,10 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     @Override
     public List<Memory> findByImportance(String importance, String tenantId) {
         try {
-            String query = String.format(
-                "MATCH (m:Memory) " +
-                "WHERE m.tenantId = '%s' AND m.importance = '%s' " +
-                "RETURN m " +
-                "ORDER BY m.accessCount DESC",
-                tenantId, importance
-            );
-
-            List<Memory> result = queryMemories(query);
+            List<Memory> result = queryMemories(MemoryStatements.FIND_BY_IMPORTANCE, Map.of(
+                "tenantId", tenantId,
+                "importance", importance
+            ));
             if (!result.isEmpty()) {
                 return result;
             }
@@ -368,16 +626,9 @@ public class MemoryRepositoryImpl implements MemoryRepository {
                 return List.of();
             }
 
-            List<Memory> memories = new ArrayList<>();
-            for (String id : memoryIds) {
-                findById(id).ifPresent(mem -> {
-                    if (tenantId.equals(mem.getTenantId())) {
-                        memories.add(mem);
-                    }
-                });
-            }
-
-            return memories;
+            return findAllByIds(memoryIds).stream()
+                .filter(mem -> tenantId.equals(mem.getTenantId()))
+                .collect(Collectors.toList());
         } catch (Exception e) {
             log.error("Error finding memories by tags: {}", tags, e);
             return List.of();
@@ -386,93 +637,114 @@ public class MemoryRepositoryImpl implements MemoryRepository {
 
     @Override
     public List<Memory> vectorSearch(float[] embedding, int limit, String tenantId) {
-        try {
-            // Convert embedding to string format
-            StringBuilder sb = new StringBuilder("[");
-            for (int i = 0; i < embedding.length; i++) {
-                if (i > 0) sb.append(",");
-                sb.append(embedding[i]);
-            }
-            sb.append("]");
-            String embeddingStr = sb.toString();
-
-            // Use FalkorDB's vector.similarity function
-            String query = String.format(
-                "CALL vector.similarity(" +
-                "  $embeddings, " +
-                "  '%s', " +
-                "  3, " +
-                "  {tenantId: '%s'}" +
-                ") YIELD node, score " +
-                "RETURN node.id as id, score " +
-                "ORDER BY score DESC " +
-                "LIMIT %d",
-                embeddingStr, tenantId, limit
-            );
+        if (vectorIndex != null && embedding != null && embedding.length == vectorIndex.getDimensions()) {
+            return indexedVectorSearch(embedding, limit, tenantId);
+        }
 
-            ResultSet resultSet = graph.query(query);
-            List<Memory> memories = new ArrayList<>();
+        try {
+            // Use FalkorDB's vector index
+            ResultSet resultSet = graph.query(MemoryStatements.VECTOR_SEARCH, Map.of(
+                "k", limit * 4,
+                "embedding", MemoryStatements.embeddingParam(embedding),
+                "tenantId", tenantId,
+                "limit", limit
+            ));
+            List<String> ids = new ArrayList<>();
 
             for (Record record : resultSet) {
                 String id = record.getValue("id");
                 if (id != null) {
-                    findById(id).ifPresent(memories::add);
+                    ids.add(id);
                 }
             }
 
+            List<Memory> memories = findAllByIds(ids);
             if (!memories.isEmpty()) {
                 log.debug("Vector search returned {} results", memories.size());
                 return memories;
             }
 
-            // Fallback: return most accessed memories
-            return findByTenantId(tenantId).stream()
-                .sorted((a, b) -> Integer.compare(
-                    b.getAccessCount() != null ? b.getAccessCount() : 0,
-                    a.getAccessCount() != null ? a.getAccessCount() : 0
-                ))
-                .limit(limit)
-                .toList();
+            // Fallback: exact scan over tenant memories
+            return bruteForceVectorSearch(embedding, limit, tenantId);
         } catch (Exception e) {
             log.debug("Vector search failed: {}", e.getMessage());
 
             // Fallback
-            return findByTenantId(tenantId).stream()
+            return bruteForceVectorSearch(embedding, limit, tenantId);
+        }
+    }
+
+    /**
+     * Exact cosine ranking over all tenant memories using a contiguous
+     * embedding matrix. Memories without a comparable embedding are ranked
+     * after the scored ones by access count.
+     */
+    private List<Memory> bruteForceVectorSearch(float[] embedding, int limit, String tenantId) {
+        List<Memory> candidates = findByTenantId(tenantId);
+        EmbeddingMatrix matrix = new EmbeddingMatrix(embedding.length, candidates.size());
+        List<Memory> scored = new ArrayList<>(candidates.size());
+        List<Memory> unscored = new ArrayList<>();
+
+        for (Memory memory : candidates) {
+            float[] candidate = memory.getEmbedding();
+            if (candidate != null && candidate.length == embedding.length) {
+                matrix.add(candidate);
+                scored.add(memory);
+            } else {
+                unscored.add(memory);
+            }
+        }
+
+        List<Memory> results = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int row : matrix.topK(embedding, limit)) {
+            results.add(scored.get(row));
+        }
+        if (results.size() < limit) {
+            unscored.stream()
                 .sorted((a, b) -> Integer.compare(
                     b.getAccessCount() != null ? b.getAccessCount() : 0,
                     a.getAccessCount() != null ? a.getAccessCount() : 0
                 ))
-                .limit(limit)
-                .toList();
+                .limit(limit - results.size())
+                .forEach(results::add);
         }
+        return results;
+    }
+
+    /**
+     * Answer vector search from the in-process HNSW index.
+     * The index returns IDs only; memories are hydrated from the KV store
+     * in one bulk read, keeping the ranking order.
+     */
+    private List<Memory> indexedVectorSearch(float[] embedding, int limit, String tenantId) {
+        List<HnswIndex.SearchResult> hits = vectorIndex.search(
+            embedding, limit, tenantId, () -> findByTenantId(tenantId));
+
+        List<Memory> memories = findAllByIds(hits.stream().map(HnswIndex.SearchResult::id).toList());
+
+        log.debug("Indexed vector search returned {} results", memories.size());
+        return memories;
     }
 
     @Override
     public List<Memory> findRelated(String memoryId, int depth, String tenantId) {
         try {
-            String id = escapeCypherString(memoryId);
-
             // Query for related memories through graph relationships
-            String query = String.format(
-                "MATCH (m:Memory {id: '%s'})-[r:RELATED_TO*1..%d]-(related:Memory) " +
-                "WHERE related.tenantId = '%s' " +
-                "RETURN DISTINCT related.id as id, " +
-                "count(r) as relationshipCount " +
-                "ORDER BY relationshipCount DESC " +
-                "LIMIT %d",
-                id, depth, tenantId, depth * 5
+            ResultSet resultSet = graph.query(
+                String.format(MemoryStatements.FIND_RELATED_TEMPLATE, depth),
+                Map.of("id", memoryId, "tenantId", tenantId, "limit", depth * 5)
             );
-
-            ResultSet resultSet = graph.query(query);
-            List<Memory> memories = new ArrayList<>();
+            List<String> relatedIds = new ArrayList<>();
 
             for (Record record : resultSet) {
                 String relatedId = record.getValue("id");
                 if (relatedId != null) {
-                    findById(relatedId).ifPresent(memories::add);
+                    relatedIds.add(relatedId);
                 }
             }
 
+            List<Memory> memories = findAllByIds(relatedIds);
+
             if (!memories.isEmpty()) {
                 log.debug("Found {} related memories", memories.size());
                 return memories;
@@ -514,34 +786,35 @@ public class MemoryRepositoryImpl implements MemoryRepository {
             Memory memory = memoryOpt.get();
 
             // Remove from graph
-            try {
-                String escapedId = escapeCypherString(id);
-                String graphDelete = String.format(
-                    "MATCH (m:Memory {id: '%s'}) DETACH DELETE m",
-                    escapedId
-                );
-                graph.query(graphDelete);
-            } catch (Exception e) {
-                log.trace("Graph delete: {}", e.getMessage());
-            }
+            boolean graphDeleted = deleteFromGraph(id);
 
-            // Remove from KV store
+            // Remove from KV store, record and indexes in one MULTI/EXEC
             try (var jedis = jedisPool.getResource()) {
-                String key = MEMORY_PREFIX + id;
-                jedis.del(key);
+                Transaction tx = jedis.multi();
+                tx.del(MEMORY_PREFIX + id, MEMORY_USAGE + id);
+                if (!graphDeleted) {
+                    // Keeps the orphan node out of lookups until reconcileGraph() removes it
+                    tx.sadd(GRAPH_PENDING_DELETE, id);
+                }
 
                 // Remove from tenant index
                 String tenantId = memory.getTenantId();
                 if (tenantId != null) {
-                    jedis.srem(TENANT_MEMORIES + tenantId, id);
+                    tx.srem(TENANT_MEMORIES + tenantId, id);
+                    tx.srem(GRAPH_PENDING + tenantId, id);
                 }
 
                 // Remove tag indexes
                 if (memory.getTags() != null) {
                     for (String tag : memory.getTags()) {
-                        jedis.srem(TAG_INDEX + tag, id);
+                        tx.srem(TAG_INDEX + tag, id);
                     }
                 }
+                execChecked(tx);
+            }
+
+            if (vectorIndex != null) {
+                vectorIndex.remove(id, memory.getTenantId());
             }
 
             log.debug("Deleted memory: {}", id);
@@ -552,6 +825,67 @@ public class MemoryRepositoryImpl implements MemoryRepository {
         }
     }
 
+    private boolean deleteFromGraph(String id) {
+        try {
+            graph.query(MemoryStatements.DELETE_MEMORY, Map.of("id", id));
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not delete {} from graph, will retry: {}", id, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Retry graph deletes that failed during deleteById.
+     *
+     * @return number of nodes deleted
+     */
+    private int retryPendingGraphDeletes() {
+        Set<String> pending;
+        try (var jedis = jedisPool.getResource()) {
+            pending = jedis.smembers(GRAPH_PENDING_DELETE);
+        }
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+
+        List<String> deleted = pending.stream().filter(this::deleteFromGraph).toList();
+        if (!deleted.isEmpty()) {
+            try (var jedis = jedisPool.getResource()) {
+                jedis.srem(GRAPH_PENDING_DELETE, deleted.toArray(String[]::new));
+            }
+        }
+        log.info("Retried {}/{} pending graph deletes", deleted.size(), pending.size());
+        return deleted.size();
+    }
+
+    /**
+     * Bring the graph back in line with the KV store: replay failed graph
+     * writes of every tenant and retry failed graph deletes.
+     */
+    @Scheduled(fixedDelayString = "${brain-sentry.graph.reconcile-interval:1m}")
+    public void reconcileGraph() {
+        try {
+            retryPendingGraphDeletes();
+
+            List<String> pendingKeys = new ArrayList<>();
+            try (var jedis = jedisPool.getResource()) {
+                ScanParams params = new ScanParams().match(GRAPH_PENDING + "*").count(100);
+                String cursor = ScanParams.SCAN_POINTER_START;
+                do {
+                    ScanResult<String> page = jedis.scan(cursor, params);
+                    pendingKeys.addAll(page.getResult());
+                    cursor = page.getCursor();
+                } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+            }
+            for (String key : pendingKeys) {
+                resyncPendingGraphWrites(key.substring(GRAPH_PENDING.length()));
+            }
+        } catch (Exception e) {
+            log.warn("Graph reconciliation failed: {}", e.getMessage());
+        }
+    }
+
     @Override
     public long countByTenantId(String tenantId) {
         try (var jedis = jedisPool.getResource()) {
@@ -576,6 +910,107 @@ public class MemoryRepositoryImpl implements MemoryRepository {
             .orElse(List.of());
     }
 
+    @Override
+    public void incrementUsage(List<UsageDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object> ids = new ArrayList<>(deltas.size());
+        List<Object> accessCounts = new ArrayList<>(deltas.size());
+        List<Object> injectionCounts = new ArrayList<>(deltas.size());
+        List<Object> lastAccessedAt = new ArrayList<>(deltas.size());
+        for (UsageDelta delta : deltas) {
+            ids.add(delta.id());
+            accessCounts.add(delta.accessCount());
+            injectionCounts.add(delta.injectionCount());
+            lastAccessedAt.add(delta.lastAccessedAt().toEpochMilli());
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", ids);
+        params.put("accessCount", accessCounts);
+        params.put("injectionCount", injectionCounts);
+        params.put("lastAccessedAt", lastAccessedAt);
+
+        // The two copies are updated independently; a failure of either is reported after both ran
+        RuntimeException graphFailure = null;
+        try {
+            graph.query(MemoryStatements.INCREMENT_USAGE, params);
+        } catch (RuntimeException e) {
+            graphFailure = e;
+        }
+        incrementRecordUsage(deltas);
+        if (graphFailure != null) {
+            throw graphFailure;
+        }
+        log.debug("Incremented usage counters of {} memories", deltas.size());
+    }
+
+    /**
+     * Apply usage deltas to the {@code memory_usage:<id>} hashes with
+     * HINCRBY in one MULTI/EXEC. A memory without a hash yet (new, or
+     * stored before the counters moved out of the record) first has it
+     * seeded from the counters in its record; memories without a record
+     * are skipped.
+     */
+    private void incrementRecordUsage(List<UsageDelta> deltas) {
+        try (var jedis = jedisPool.getResource()) {
+            Pipeline pipeline = jedis.pipelined();
+            List<Response<Boolean>> hasUsage = new ArrayList<>(deltas.size());
+            for (UsageDelta delta : deltas) {
+                hasUsage.add(pipeline.exists(MEMORY_USAGE + delta.id()));
+            }
+            pipeline.sync();
+
+            List<String> unseeded = new ArrayList<>();
+            for (int i = 0; i < deltas.size(); i++) {
+                if (!Boolean.TRUE.equals(hasUsage.get(i).get())) {
+                    unseeded.add(deltas.get(i).id());
+                }
+            }
+            Map<String, Memory> records = unseeded.isEmpty() ? Map.of() : readRecords(jedis, unseeded);
+
+            Transaction tx = jedis.multi();
+            for (int i = 0; i < deltas.size(); i++) {
+                UsageDelta delta = deltas.get(i);
+                String key = MEMORY_USAGE + delta.id();
+                if (!Boolean.TRUE.equals(hasUsage.get(i).get())) {
+                    Memory record = records.get(delta.id());
+                    if (record == null) {
+                        continue;
+                    }
+                    tx.hsetnx(key, ACCESS_COUNT, String.valueOf(count(record.getAccessCount())));
+                    tx.hsetnx(key, INJECTION_COUNT, String.valueOf(count(record.getInjectionCount())));
+                    if (record.getLastAccessedAt() != null) {
+                        tx.hsetnx(key, LAST_ACCESSED_AT, String.valueOf(record.getLastAccessedAt().toEpochMilli()));
+                    }
+                }
+                tx.hincrBy(key, ACCESS_COUNT, delta.accessCount());
+                tx.hincrBy(key, INJECTION_COUNT, delta.injectionCount());
+                tx.hset(key, LAST_ACCESSED_AT, String.valueOf(delta.lastAccessedAt().toEpochMilli()));
+            }
+            execChecked(tx);
+        }
+    }
+
+    /**
+     * Decode the stored records of the given ids, without usage overlays.
+     */
+    private Map<String, Memory> readRecords(Jedis jedis, List<String> ids) {
+        List<String> values = jedis.mget(ids.stream().map(id -> MEMORY_PREFIX + id).toArray(String[]::new));
+        Map<String, Memory> records = new HashMap<>();
+        for (int i = 0; i < ids.size() && values != null && i < values.size(); i++) {
+            if (values.get(i) == null) {
+                continue;
+            }
+            try {
+                records.put(ids.get(i), memoryReader.readValue(values.get(i)));
+            } catch (Exception e) {
+                log.trace("KV decode failed for {}: {}", ids.get(i), e.getMessage());
+            }
+        }
+        return records;
+    }
+
     @Override
     public com.falkordb.ResultSet query(String query) {
         try {
@@ -589,16 +1024,11 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     @Override
     public void createAllRelationships(String tenantId) {
         try {
-            String escapedTenantId = escapeCypherString(tenantId);
+            // Bring back any nodes whose graph write failed during save
+            resyncPendingGraphWrites(tenantId);
 
             // Clear existing RELATED_TO relationships for this tenant
-            String deleteQuery = String.format(
-                "MATCH (m1:Memory)-[r:RELATED_TO]->(m2:Memory) " +
-                "WHERE m1.tenantId = '%s' " +
-                "DELETE r",
-                escapedTenantId
-            );
-            graph.query(deleteQuery);
+            graph.query(MemoryStatements.DELETE_TENANT_RELATIONSHIPS, Map.of("tenantId", tenantId));
             log.info("Cleared existing relationships for tenant: {}", tenantId);
 
             // First, let's test with a simpler query - find pairs with at least one overlapping tag
@@ -606,41 +1036,13 @@ public class MemoryRepositoryImpl implements MemoryRepository {
             long timestamp = Instant.now().toEpochMilli();
 
             // Step 1: Create relationships in one direction
-            String relationshipQuery = String.format(
-                "MATCH (m1:Memory), (m2:Memory) " +
-                "WHERE m1.tenantId = '%s' AND m2.tenantId = '%s' " +
-                "AND m1.id < m2.id " +
-                "AND EXISTS (" +
-                "    SELECT tag IN unwind(m1.tags) AS tag " +
-                "    WHERE tag IN m2.tags" +
-                ") " +
-                "WITH m1, m2 LIMIT 100 " +
-                "RETURN m1.id as id1, m2.id as id2",
-                escapedTenantId, escapedTenantId
-            );
-
-            ResultSet testResult = graph.query(relationshipQuery);
+            ResultSet testResult = graph.query(MemoryStatements.COUNT_SHARED_TAG_PAIRS,
+                Map.of("tenantId", tenantId));
             log.info("Test query found {} memory pairs with shared tags", testResult.size());
 
             // Now use a simpler query that should work
-            String createQuery = String.format(
-                "MATCH (m1:Memory) " +
-                "WHERE m1.tenantId = '%s' " +
-                "UNWIND m1.tags AS tag1 " +
-                "MATCH (m2:Memory) " +
-                "WHERE m2.tenantId = '%s' " +
-                "AND m1.id < m2.id " +
-                "AND tag1 IN m2.tags " +
-                "WITH m1, m2, tag1 " +
-                "ORDER BY m1.id, m2.id, tag1 " +
-                "WITH m1, m2, collect(DISTINCT tag1)[0] as sharedTag " +
-                "CREATE (m1)-[r1:RELATED_TO]->(m2) " +
-                "CREATE (m2)-[r2:RELATED_TO]->(m1) " +
-                "SET r1.type = 'shared_tag', r1.tag = sharedTag, r1.strength = 1, r1.updatedAt = %d, " +
-                "r2.type = 'shared_tag', r2.tag = sharedTag, r2.strength = 1, r2.updatedAt = %d",
-                escapedTenantId, escapedTenantId, timestamp, timestamp
-            );
-            ResultSet relResult = graph.query(createQuery);
+            ResultSet relResult = graph.query(MemoryStatements.CREATE_SHARED_TAG_RELATIONSHIPS,
+                Map.of("tenantId", tenantId, "now", timestamp));
             log.info("Relationship creation result size: {}", relResult.size());
 
             log.info("Created all graph relationships for tenant: {}", tenantId);
@@ -655,9 +1057,9 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     /**
      * Query memories and convert to Memory objects.
      */
-    private List<Memory> queryMemories(String query) {
+    private List<Memory> queryMemories(String query, Map<String, Object> params) {
         try {
-            ResultSet resultSet = graph.query(query);
+            ResultSet resultSet = graph.query(query, params);
             List<Memory> memories = new ArrayList<>();
 
             for (Record record : resultSet) {
@@ -676,8 +1078,9 @@ public class MemoryRepositoryImpl implements MemoryRepository {
 
     /**
      * Convert a FalkorDB Node to a Memory object using the correct API.
+     * Package-private for the node mapping benchmark.
      */
-    private Memory nodeToMemory(Node node) {
+    static Memory nodeToMemory(Node node) {
         Memory memory = new Memory();
 
         // Use getProperty(String) which returns a Property object
@@ -717,6 +1120,11 @@ public class MemoryRepositoryImpl implements MemoryRepository {
             memory.setUpdatedAt(Instant.ofEpochMilli(updatedAt));
         }
 
+        Long lastAccessedAt = getLongProperty(node, "lastAccessedAt");
+        if (lastAccessedAt != null) {
+            memory.setLastAccessedAt(Instant.ofEpochMilli(lastAccessedAt));
+        }
+
         // Counts
         memory.setAccessCount(getIntegerProperty(node, "accessCount"));
         memory.setInjectionCount(getIntegerProperty(node, "injectionCount"));
@@ -730,9 +1138,11 @@ public class MemoryRepositoryImpl implements MemoryRepository {
             memory.setTags((List<String>) tagsProp.getValue());
         }
 
-        // Embedding - stored as a list in the node
+        // Embedding - stored as a vecf32 value, or a list on nodes written before the vector index
         Property embeddingProp = node.getProperty("embedding");
-        if (embeddingProp != null && embeddingProp.getValue() instanceof List) {
+        if (embeddingProp != null && embeddingProp.getValue() instanceof float[] vector && vector.length > 0) {
+            memory.setEmbedding(vector);
+        } else if (embeddingProp != null && embeddingProp.getValue() instanceof List) {
             List<?> embeddingList = (List<?>) embeddingProp.getValue();
             if (!embeddingList.isEmpty()) {
                 float[] embeddingArray = new float[embeddingList.size()];
@@ -752,7 +1162,7 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     /**
      * Helper to get a String property from a Node.
      */
-    private String getStringProperty(Node node, String name) {
+    private static String getStringProperty(Node node, String name) {
         Property prop = node.getProperty(name);
         if (prop != null && prop.getValue() != null) {
             return prop.getValue().toString();
@@ -763,7 +1173,7 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     /**
      * Helper to get a Long property from a Node.
      */
-    private Long getLongProperty(Node node, String name) {
+    private static Long getLongProperty(Node node, String name) {
         Property prop = node.getProperty(name);
         if (prop != null && prop.getValue() instanceof Number) {
             return ((Number) prop.getValue()).longValue();
@@ -774,7 +1184,7 @@ public class MemoryRepositoryImpl implements MemoryRepository {
     /**
      * Helper to get an Integer property from a Node.
      */
-    private Integer getIntegerProperty(Node node, String name) {
+    private static Integer getIntegerProperty(Node node, String name) {
         Property prop = node.getProperty(name);
         if (prop != null && prop.getValue() instanceof Number) {
             return ((Number) prop.getValue()).intValue();
@@ -782,22 +1192,6 @@ public class MemoryRepositoryImpl implements MemoryRepository {
         return null;
     }
 
-    /**
-     * Escape strings for Cypher queries.
-     */
-    private String escapeCypherString(String input) {
-        if (input == null) {
-            return "";
-        }
-        return input
-            .replace("\\", "\\\\")
-            .replace("'", "\\'")
-            .replace("\n", "\\n")
-            .replace("\r", "\\r")
-            .replace("\t", "\\t")
-            .replace("\u0000", "\\u0000");
-    }
-
     private String generateId() {
         return "mem_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
     }
@@ -0,0 +1,205 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Constant Cypher templates for the Memory graph.
+ *
+ * Values are always bound as $parameters through {@code Graph.query(String, Map)}
+ * so the query text stays identical across calls and FalkorDB can reuse the
+ * cached execution plan. Only structural parts that Cypher cannot parameterize
+ * (variable-length path bounds) are formatted into the template.
+ */
+final class MemoryStatements {
+
+    private MemoryStatements() {
+    }
+
+    /**
+     * Upserts the node, links its category and relates it to every tenant
+     * memory sharing a tag, all in one statement (and one round trip).
+     * UNWIND over an empty tag list simply yields no RELATED_TO rows.
+     * Usage counters are only initialized here; {@link #INCREMENT_USAGE}
+     * owns them, so a save never overwrites a flushed count.
+     */
+    static final String SAVE_MEMORY =
+        "MERGE (m:Memory {id: $id}) " +
+        "ON CREATE SET m.accessCount = 0, m.injectionCount = 0 " +
+        "SET m.content = $content, " +
+        "m.summary = $summary, " +
+        "m.category = $category, " +
+        "m.importance = $importance, " +
+        "m.tenantId = $tenantId, " +
+        "m.tags = $tags, " +
+        "m.embedding = CASE WHEN size($embedding) = 0 THEN NULL ELSE vecf32($embedding) END, " +
+        "m.createdAt = $createdAt, " +
+        "m.updatedAt = $updatedAt, " +
+        "m.version = $version " +
+        "WITH m " +
+        "MERGE (c:Category {name: $category}) " +
+        "MERGE (m)-[b:BELONGS_TO]->(c) " +
+        "ON CREATE SET b.createdAt = $now " +
+        "WITH m " +
+        "UNWIND $tags AS tag " +
+        "MATCH (other:Memory) " +
+        "WHERE other.tenantId = $tenantId AND tag IN other.tags AND other.id <> m.id " +
+        "MERGE (m)-[r:RELATED_TO]->(other) " +
+        "SET r.strength = coalesce(r.strength, 0) + 1, " +
+        "r.type = 'shared_tag', " +
+        "r.tag = tag, " +
+        "r.updatedAt = $now";
+
+    /**
+     * Batch form of {@link #SAVE_MEMORY}. Every property parameter is a list
+     * with one entry per memory (same keys as the single-row statement) and
+     * rows are addressed by index, so one statement writes a whole batch.
+     */
+    static final String SAVE_MEMORIES =
+        "UNWIND range(0, size($id) - 1) AS i " +
+        "MERGE (m:Memory {id: $id[i]}) " +
+        "ON CREATE SET m.accessCount = 0, m.injectionCount = 0 " +
+        "SET m.content = $content[i], " +
+        "m.summary = $summary[i], " +
+        "m.category = $category[i], " +
+        "m.importance = $importance[i], " +
+        "m.tenantId = $tenantId[i], " +
+        "m.tags = $tags[i], " +
+        "m.embedding = CASE WHEN size($embedding[i]) = 0 THEN NULL ELSE vecf32($embedding[i]) END, " +
+        "m.createdAt = $createdAt[i], " +
+        "m.updatedAt = $updatedAt[i], " +
+        "m.version = $version[i] " +
+        "WITH m, i " +
+        "MERGE (c:Category {name: $category[i]}) " +
+        "MERGE (m)-[b:BELONGS_TO]->(c) " +
+        "ON CREATE SET b.createdAt = $now " +
+        "WITH m, i " +
+        "UNWIND $tags[i] AS tag " +
+        "MATCH (other:Memory) " +
+        "WHERE other.tenantId = $tenantId[i] AND tag IN other.tags AND other.id <> m.id " +
+        "MERGE (m)-[r:RELATED_TO]->(other) " +
+        "SET r.strength = coalesce(r.strength, 0) + 1, " +
+        "r.type = 'shared_tag', " +
+        "r.tag = tag, " +
+        "r.updatedAt = $now";
+
+    /**
+     * Adds per-row counter deltas; the lists are indexed like {@link #SAVE_MEMORIES}.
+     * Missing nodes are skipped.
+     */
+    static final String INCREMENT_USAGE =
+        "UNWIND range(0, size($id) - 1) AS i " +
+        "MATCH (m:Memory {id: $id[i]}) " +
+        "SET m.accessCount = coalesce(m.accessCount, 0) + $accessCount[i], " +
+        "m.injectionCount = coalesce(m.injectionCount, 0) + $injectionCount[i], " +
+        "m.lastAccessedAt = CASE WHEN coalesce(m.lastAccessedAt, 0) > $lastAccessedAt[i] " +
+        "THEN m.lastAccessedAt ELSE $lastAccessedAt[i] END";
+
+    static final String FIND_BY_ID =
+        "MATCH (m:Memory {id: $id}) RETURN m";
+
+    static final String FIND_BY_IDS =
+        "MATCH (m:Memory) WHERE m.id IN $ids RETURN m";
+
+    static final String FIND_BY_CATEGORY =
+        "MATCH (m:Memory) " +
+        "WHERE m.tenantId = $tenantId AND m.category = $category " +
+        "RETURN m " +
+        "ORDER BY m.createdAt DESC";
+
+    static final String FIND_BY_IMPORTANCE =
+        "MATCH (m:Memory) " +
+        "WHERE m.tenantId = $tenantId AND m.importance = $importance " +
+        "RETURN m " +
+        "ORDER BY m.accessCount DESC";
+
+    /**
+     * Format with the embedding dimension, which index options cannot take as
+     * a parameter. Only vecf32 values are indexed, so the save statements
+     * store embeddings with vecf32() and leave the property unset without one.
+     */
+    static final String CREATE_VECTOR_INDEX_TEMPLATE =
+        "CREATE VECTOR INDEX FOR (m:Memory) ON (m.embedding) " +
+        "OPTIONS {dimension: %d, similarityFunction: 'cosine'}";
+
+    /**
+     * Converts embeddings written as plain lists before the vector index
+     * existed, so the index picks them up.
+     */
+    static final String CONVERT_LIST_EMBEDDINGS =
+        "MATCH (m:Memory) WHERE typeOf(m.embedding) = 'List' " +
+        "SET m.embedding = CASE WHEN size(m.embedding) = 0 THEN NULL ELSE vecf32(m.embedding) END " +
+        "RETURN count(m) AS converted";
+
+    /**
+     * Uses the FalkorDB vector index on Memory.embedding (see
+     * {@link #CREATE_VECTOR_INDEX_TEMPLATE}); over-fetches $k candidates
+     * because the index is not partitioned by tenant.
+     */
+    static final String VECTOR_SEARCH =
+        "CALL db.idx.vector.queryNodes('Memory', 'embedding', $k, vecf32($embedding)) " +
+        "YIELD node, score " +
+        "WHERE node.tenantId = $tenantId " +
+        "RETURN node.id AS id, score " +
+        "ORDER BY score DESC " +
+        "LIMIT $limit";
+
+    /** Format with the traversal depth, which Cypher cannot take as a parameter. */
+    static final String FIND_RELATED_TEMPLATE =
+        "MATCH (m:Memory {id: $id})-[r:RELATED_TO*1..%d]-(related:Memory) " +
+        "WHERE related.tenantId = $tenantId " +
+        "RETURN DISTINCT related.id as id, " +
+        "count(r) as relationshipCount " +
+        "ORDER BY relationshipCount DESC " +
+        "LIMIT $limit";
+
+    static final String DELETE_MEMORY =
+        "MATCH (m:Memory {id: $id}) DETACH DELETE m";
+
+    static final String DELETE_TENANT_RELATIONSHIPS =
+        "MATCH (m1:Memory)-[r:RELATED_TO]->(m2:Memory) " +
+        "WHERE m1.tenantId = $tenantId " +
+        "DELETE r";
+
+    static final String COUNT_SHARED_TAG_PAIRS =
+        "MATCH (m1:Memory), (m2:Memory) " +
+        "WHERE m1.tenantId = $tenantId AND m2.tenantId = $tenantId " +
+        "AND m1.id < m2.id " +
+        "AND EXISTS (" +
+        "    SELECT tag IN unwind(m1.tags) AS tag " +
+        "    WHERE tag IN m2.tags" +
+        ") " +
+        "WITH m1, m2 LIMIT 100 " +
+        "RETURN m1.id as id1, m2.id as id2";
+
+    static final String CREATE_SHARED_TAG_RELATIONSHIPS =
+        "MATCH (m1:Memory) " +
+        "WHERE m1.tenantId = $tenantId " +
+        "UNWIND m1.tags AS tag1 " +
+        "MATCH (m2:Memory) " +
+        "WHERE m2.tenantId = $tenantId " +
+        "AND m1.id < m2.id " +
+        "AND tag1 IN m2.tags " +
+        "WITH m1, m2, tag1 " +
+        "ORDER BY m1.id, m2.id, tag1 " +
+        "WITH m1, m2, collect(DISTINCT tag1)[0] as sharedTag " +
+        "CREATE (m1)-[r1:RELATED_TO]->(m2) " +
+        "CREATE (m2)-[r2:RELATED_TO]->(m1) " +
+        "SET r1.type = 'shared_tag', r1.tag = sharedTag, r1.strength = 1, r1.updatedAt = $now, " +
+        "r2.type = 'shared_tag', r2.tag = sharedTag, r2.strength = 1, r2.updatedAt = $now";
+
+    /**
+     * Embeddings are bound as a list parameter; the client driver only
+     * serializes object arrays and lists, not primitive float[].
+     */
+    static List<Float> embeddingParam(float[] embedding) {
+        if (embedding == null) {
+            return List.of();
+        }
+        List<Float> values = new ArrayList<>(embedding.length);
+        for (float value : embedding) {
+            values.add(value);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,381 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.falkordb.ResultSet;
+import com.integraltech.brainsentry.config.FloatArrayConverter;
+import com.integraltech.brainsentry.config.PgVectorProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * MemoryRepository that answers vector search from PostgreSQL with pgvector.
+ *
+ * Embeddings are kept in {@code memory_embeddings (memory_id, tenant_id,
+ * embedding vector(n))} with an HNSW or IVFFlat cosine index, and searched
+ * with one tenant-filtered k-NN query; the matching memories are then loaded
+ * through JPA. Everything else, graph traversal included, is delegated to
+ * the FalkorDB repository, which keeps receiving every write.
+ *
+ * The embeddings live in their own table rather than a column of
+ * {@code memories}, so they can be written from {@link #save} while the JPA
+ * insert of the same memory is still pending in the persistence context.
+ */
+@Slf4j
+@Primary
+@Repository
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "brain-sentry.pgvector.enabled", havingValue = "true")
+public class PgVectorMemoryRepository implements MemoryRepository {
+
+    static final String CREATE_EXTENSION_SQL = "CREATE EXTENSION IF NOT EXISTS vector";
+
+    static final String CREATE_TABLE_SQL = """
+        CREATE TABLE IF NOT EXISTS memory_embeddings (
+            memory_id VARCHAR(100) PRIMARY KEY,
+            tenant_id VARCHAR(100) NOT NULL,
+            embedding vector(%d) NOT NULL
+        )
+        """;
+
+    static final String CREATE_TENANT_INDEX_SQL =
+        "CREATE INDEX IF NOT EXISTS idx_memory_embeddings_tenant ON memory_embeddings (tenant_id)";
+
+    static final String CREATE_HNSW_INDEX_SQL = """
+        CREATE INDEX IF NOT EXISTS idx_memory_embeddings_hnsw ON memory_embeddings
+        USING hnsw (embedding vector_cosine_ops) WITH (m = %d, ef_construction = %d)
+        """;
+
+    static final String CREATE_IVFFLAT_INDEX_SQL = """
+        CREATE INDEX IF NOT EXISTS idx_memory_embeddings_ivfflat ON memory_embeddings
+        USING ivfflat (embedding vector_cosine_ops) WITH (lists = %d)
+        """;
+
+    static final String UPSERT_SQL = """
+        INSERT INTO memory_embeddings (memory_id, tenant_id, embedding) VALUES (?, ?, CAST(? AS vector))
+        ON CONFLICT (memory_id) DO UPDATE SET tenant_id = EXCLUDED.tenant_id, embedding = EXCLUDED.embedding
+        """;
+
+    static final String DELETE_SQL = "DELETE FROM memory_embeddings WHERE memory_id = ?";
+
+    static final String SET_CONFIG_SQL = "SELECT set_config(?, ?, true)";
+
+    static final String KNN_SQL = """
+        SELECT memory_id FROM memory_embeddings
+        WHERE tenant_id = ?
+        ORDER BY embedding <=> CAST(? AS vector)
+        LIMIT ?
+        """;
+
+    // Keyset pages of memories whose bytea embedding has not been copied yet
+    static final String BACKFILL_PAGE_SQL = """
+        SELECT m.id, m.tenant_id, m.embedding FROM memories m
+        WHERE m.id > ? AND m.embedding IS NOT NULL
+          AND NOT EXISTS (SELECT 1 FROM memory_embeddings e WHERE e.memory_id = m.id)
+        ORDER BY m.id
+        LIMIT ?
+        """;
+
+    private final MemoryRepositoryImpl graphRepository;
+    private final MemoryJpaRepository memoryJpaRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate searchTransaction;
+    private final PgVectorProperties properties;
+
+    /**
+     * An embedding to upsert.
+     */
+    record EmbeddingRow(String memoryId, String tenantId, String vector) {
+    }
+
+    public PgVectorMemoryRepository(MemoryRepositoryImpl graphRepository, MemoryJpaRepository memoryJpaRepo,
+                                    JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    PgVectorProperties properties) {
+        this.graphRepository = graphRepository;
+        this.memoryJpaRepo = memoryJpaRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        // Search settings are applied with set_config(..., true), which lasts until the end of the transaction
+        this.searchTransaction = new TransactionTemplate(transactionManager);
+        this.searchTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Create the extension, table and indexes if missing.
+     * An IVFFlat index is only built after the backfill, since its clusters come from existing rows.
+     */
+    @PostConstruct
+    public void ensureSchema() {
+        try {
+            jdbcTemplate.execute(CREATE_EXTENSION_SQL);
+            jdbcTemplate.execute(CREATE_TABLE_SQL.formatted(properties.getDimensions()));
+            jdbcTemplate.execute(CREATE_TENANT_INDEX_SQL);
+            if (properties.getIndexType() == PgVectorProperties.IndexType.HNSW || !properties.isBackfillOnStartup()) {
+                createVectorIndex();
+            }
+            log.info("pgvector memory repository enabled: dimensions={}, index={}",
+                properties.getDimensions(), properties.getIndexType());
+        } catch (Exception e) {
+            log.error("Failed to create the pgvector schema: {}", e.getMessage());
+        }
+    }
+
+    private void createVectorIndex() {
+        if (properties.getIndexType() == PgVectorProperties.IndexType.HNSW) {
+            jdbcTemplate.execute(CREATE_HNSW_INDEX_SQL.formatted(properties.getM(), properties.getEfConstruction()));
+        } else {
+            jdbcTemplate.execute(CREATE_IVFFLAT_INDEX_SQL.formatted(properties.getLists()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfill() {
+        if (properties.isBackfillOnStartup()) {
+            Thread.ofVirtual().name("pgvector-backfill").start(() -> {
+                try {
+                    backfill();
+                    if (properties.getIndexType() == PgVectorProperties.IndexType.IVFFLAT) {
+                        createVectorIndex();
+                    }
+                } catch (Exception e) {
+                    log.error("pgvector backfill failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Copy embeddings stored as bytea in {@code memories} that are missing
+     * from {@code memory_embeddings}, in keyset-paged batches. Safe to rerun:
+     * it resumes with the memories still missing.
+     *
+     * @return number of embeddings copied
+     */
+    public int backfill() {
+        int batchSize = Math.max(1, properties.getBackfillBatchSize());
+        int copied = 0;
+        int skipped = 0;
+        String lastId = "";
+        while (true) {
+            List<EmbeddingRow> rows = new ArrayList<>();
+            List<String> ids = new ArrayList<>();
+            jdbcTemplate.query(BACKFILL_PAGE_SQL, rs -> {
+                String id = rs.getString("id");
+                ids.add(id);
+                String vector = toVectorLiteral(FloatArrayConverter.fromBytes(rs.getBytes("embedding")));
+                if (vector != null) {
+                    rows.add(new EmbeddingRow(id, rs.getString("tenant_id"), vector));
+                }
+            }, lastId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            upsert(rows);
+            copied += rows.size();
+            skipped += ids.size() - rows.size();
+            lastId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        log.info("pgvector backfill: copied {} embeddings, skipped {} without a valid {}-dimension embedding",
+            copied, skipped, properties.getDimensions());
+        return copied;
+    }
+
+    // ==================== Writes: FalkorDB plus the embedding row ====================
+
+    @Override
+    public Memory save(Memory memory) {
+        Memory saved = graphRepository.save(memory);
+        syncEmbeddings(List.of(memory));
+        return saved;
+    }
+
+    @Override
+    public List<Memory> saveAll(List<Memory> memories) {
+        List<Memory> saved = graphRepository.saveAll(memories);
+        syncEmbeddings(memories);
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(String id) {
+        // Graph first: if that delete fails the memory stays, and must stay searchable
+        boolean deleted = graphRepository.deleteById(id);
+        jdbcTemplate.update(DELETE_SQL, id);
+        return deleted;
+    }
+
+    private void syncEmbeddings(List<Memory> memories) {
+        List<EmbeddingRow> rows = new ArrayList<>(memories.size());
+        for (Memory memory : memories) {
+            String vector = toVectorLiteral(memory.getEmbedding());
+            if (vector == null || memory.getTenantId() == null) {
+                // No searchable embedding (anymore): drop a stale one
+                jdbcTemplate.update(DELETE_SQL, memory.getId());
+            } else {
+                rows.add(new EmbeddingRow(memory.getId(), memory.getTenantId(), vector));
+            }
+        }
+        upsert(rows);
+    }
+
+    private void upsert(List<EmbeddingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.memoryId());
+            ps.setString(2, row.tenantId());
+            ps.setString(3, row.vector());
+        });
+    }
+
+    // ==================== Vector search ====================
+
+    @Override
+    public List<Memory> vectorSearch(float[] embedding, int limit, String tenantId) {
+        String vector = toVectorLiteral(embedding);
+        if (vector == null) {
+            log.debug("Query embedding does not have {} finite dimensions", properties.getDimensions());
+            return List.of();
+        }
+
+        List<String> ids = searchTransaction.execute(status -> {
+            if (properties.getIndexType() == PgVectorProperties.IndexType.HNSW) {
+                setConfig("hnsw.ef_search", Integer.toString(Math.max(properties.getEfSearch(), limit)));
+            } else {
+                setConfig("ivfflat.probes", Integer.toString(properties.getProbes()));
+            }
+            if (properties.getIterativeScan() != null && !properties.getIterativeScan().isBlank()) {
+                String index = properties.getIndexType() == PgVectorProperties.IndexType.HNSW ? "hnsw" : "ivfflat";
+                setConfig(index + ".iterative_scan", properties.getIterativeScan());
+            }
+            return jdbcTemplate.queryForList(KNN_SQL, String.class, tenantId, vector, limit);
+        });
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Memory> memories = memoryJpaRepo.findWithTagsByIdIn(ids).stream()
+            .collect(Collectors.toMap(Memory::getId, Function.identity()));
+        List<Memory> results = ids.stream().map(memories::get).filter(m -> m != null).toList();
+        log.debug("pgvector search returned {} results", results.size());
+        return results;
+    }
+
+    private void setConfig(String name, String value) {
+        jdbcTemplate.queryForObject(SET_CONFIG_SQL, String.class, name, value);
+    }
+
+    /**
+     * Format an embedding as a pgvector literal, e.g. {@code [0.1,-0.2]}.
+     *
+     * @return the literal, or null unless the embedding has the configured
+     *         number of dimensions and only finite values
+     */
+    String toVectorLiteral(float[] embedding) {
+        if (embedding == null || embedding.length != properties.getDimensions()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(embedding.length * 12);
+        sb.append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (!Float.isFinite(embedding[i])) {
+                return null;
+            }
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(embedding[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    // ==================== Delegated to FalkorDB ====================
+
+    @Override
+    public Optional<Memory> findById(String id) {
+        return graphRepository.findById(id);
+    }
+
+    @Override
+    public List<Memory> findAllByIds(Collection<String> ids) {
+        return graphRepository.findAllByIds(ids);
+    }
+
+    @Override
+    public List<Memory> findByTenantId(String tenantId) {
+        return graphRepository.findByTenantId(tenantId);
+    }
+
+    @Override
+    public List<Memory> findByCategory(String category, String tenantId) {
+        return graphRepository.findByCategory(category, tenantId);
+    }
+
+    @Override
+    public List<Memory> findByImportance(String importance, String tenantId) {
+        return graphRepository.findByImportance(importance, tenantId);
+    }
+
+    @Override
+    public List<Memory> findByTags(List<String> tags, String tenantId) {
+        return graphRepository.findByTags(tags, tenantId);
+    }
+
+    @Override
+    public List<Memory> findRelated(String memoryId, int depth, String tenantId) {
+        return graphRepository.findRelated(memoryId, depth, tenantId);
+    }
+
+    @Override
+    public ResultSet query(String query) {
+        return graphRepository.query(query);
+    }
+
+    @Override
+    public long countByTenantId(String tenantId) {
+        return graphRepository.countByTenantId(tenantId);
+    }
+
+    @Override
+    public void archiveVersion(Memory memory) {
+        graphRepository.archiveVersion(memory);
+    }
+
+    @Override
+    public List<Integer> getVersionHistory(String memoryId, String tenantId) {
+        return graphRepository.getVersionHistory(memoryId, tenantId);
+    }
+
+    @Override
+    public void createAllRelationships(String tenantId) {
+        graphRepository.createAllRelationships(tenantId);
+    }
+
+    @Override
+    public void incrementUsage(List<UsageDelta> deltas) {
+        graphRepository.incrementUsage(deltas);
+    }
+}
@@ -0,0 +1,147 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import java.util.Arrays;
+
+/**
+ * Row-major contiguous matrix of embeddings with precomputed norms.
+ *
+ * Keeping all candidates in a single float[] lets the similarity kernel
+ * stream through memory without pointer chasing, and storing inverse norms
+ * up front turns cosine scoring into one dot product per row. Intended for
+ * exact (brute-force) re-ranking of candidate sets.
+ *
+ * Not thread-safe; build, score, discard.
+ */
+public final class EmbeddingMatrix {
+
+    private final int dimension;
+    private final SimilarityKernel kernel;
+    private float[] data;
+    private float[] inverseNorms;
+    private int rows;
+
+    public EmbeddingMatrix(int dimension, int initialCapacity) {
+        this(dimension, initialCapacity, SimilarityKernel.getDefault());
+    }
+
+    EmbeddingMatrix(int dimension, int initialCapacity, SimilarityKernel kernel) {
+        this.dimension = dimension;
+        this.kernel = kernel;
+        int capacity = Math.max(initialCapacity, 1);
+        this.data = new float[capacity * dimension];
+        this.inverseNorms = new float[capacity];
+    }
+
+    /**
+     * Append an embedding.
+     *
+     * @return the row index assigned to the embedding
+     */
+    public int add(float[] embedding) {
+        if (embedding.length != dimension) {
+            throw new IllegalArgumentException("Embedding dimensions must match");
+        }
+        if (rows == inverseNorms.length) {
+            int capacity = rows * 2;
+            data = Arrays.copyOf(data, capacity * dimension);
+            inverseNorms = Arrays.copyOf(inverseNorms, capacity);
+        }
+        System.arraycopy(embedding, 0, data, rows * dimension, dimension);
+        float norm = kernel.norm(embedding);
+        inverseNorms[rows] = norm > 0 ? 1.0f / norm : 0.0f;
+        return rows++;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Cosine similarity of the query against every row.
+     */
+    public float[] cosineScores(float[] query) {
+        if (query.length != dimension) {
+            throw new IllegalArgumentException("Embedding dimensions must match");
+        }
+        float[] scores = new float[rows];
+        kernel.dotAll(query, data, rows, scores);
+        float queryNorm = kernel.norm(query);
+        float inverseQueryNorm = queryNorm > 0 ? 1.0f / queryNorm : 0.0f;
+        for (int row = 0; row < rows; row++) {
+            scores[row] *= inverseNorms[row] * inverseQueryNorm;
+        }
+        return scores;
+    }
+
+    /**
+     * Row indices of the k most similar rows, best first.
+     */
+    public int[] topK(float[] query, int k) {
+        float[] scores = cosineScores(query);
+        int size = Math.min(k, rows);
+        if (size <= 0) {
+            return new int[0];
+        }
+
+        // Min-heap of the best rows seen so far, worst on top
+        int[] heap = new int[size];
+        int heapSize = 0;
+        for (int row = 0; row < rows; row++) {
+            if (heapSize < size) {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize++, scores);
+            } else if (scores[row] > scores[heap[0]]) {
+                heap[0] = row;
+                siftDown(heap, heapSize, scores);
+            }
+        }
+
+        int[] result = new int[heapSize];
+        for (int i = heapSize - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, scores);
+        }
+        return result;
+    }
+
+    private static void siftUp(int[] heap, int i, float[] scores) {
+        int row = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[row]) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = row;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int row = heap[0];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[heap[child]] >= scores[row]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = row;
+    }
+}
@@ -0,0 +1,602 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory HNSW (Hierarchical Navigable Small World) index for
+ * approximate nearest neighbour search over embeddings.
+ *
+ * Vectors are L2-normalized on insert so that cosine similarity reduces
+ * to a dot product. Updates are handled as delete + insert; deleted nodes
+ * stay in the graph as tombstones (they still route searches) and are
+ * dropped when the index compacts itself.
+ *
+ * Thread-safety: searches run concurrently under a read lock, writes are
+ * serialized under a write lock.
+ */
+public class HnswIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final SimilarityKernel KERNEL = SimilarityKernel.getDefault();
+
+    private final int dimension;
+    private final int m;
+    private final int maxConnections0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Shared by all searches of this index; a ThreadLocal would never be reused by virtual threads
+    private final ArrayBlockingQueue<VisitedSet> visitedPool =
+        new ArrayBlockingQueue<>(Math.max(4, Runtime.getRuntime().availableProcessors()));
+
+    private float[][] vectors = new float[INITIAL_CAPACITY][];
+    private String[] ids = new String[INITIAL_CAPACITY];
+    // links[node][level] = neighbour ids, links[node][level][0] holds the count
+    private int[][][] links = new int[INITIAL_CAPACITY][][];
+    private final BitSet deleted = new BitSet();
+    private final Map<String, Integer> nodeById = new HashMap<>();
+
+    private int nodeCount = 0;
+    private int deletedCount = 0;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(int dimension, int m, int efConstruction, int efSearch) {
+        if (dimension <= 0 || m < 2) {
+            throw new IllegalArgumentException("Invalid HNSW parameters: dimension=" + dimension + ", m=" + m);
+        }
+        this.dimension = dimension;
+        this.m = m;
+        this.maxConnections0 = m * 2;
+        this.efConstruction = Math.max(efConstruction, m);
+        this.efSearch = Math.max(efSearch, 1);
+        this.levelMultiplier = 1.0 / Math.log(m);
+    }
+
+    /**
+     * Insert or replace the vector stored under the given ID.
+     *
+     * @param id the external ID (memory ID)
+     * @param vector the embedding, must match the index dimension
+     */
+    public void upsert(String id, float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Embedding dimensions must match index dimension " + dimension);
+        }
+        float[] normalized = normalize(vector);
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = nodeById.get(id);
+            if (existing != null) {
+                markDeleted(existing);
+            }
+            insert(id, normalized);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove the vector stored under the given ID.
+     *
+     * @param id the external ID
+     * @return true if the ID was present
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeById.get(id);
+            if (node == null) {
+                return false;
+            }
+            markDeleted(node);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return nodeById.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of live (non-deleted) vectors.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Find the approximate top-k most similar vectors.
+     *
+     * @param query the query embedding
+     * @param k number of results
+     * @return results ordered by descending cosine similarity
+     */
+    public List<SearchResult> search(float[] query, int k) {
+        if (query == null || query.length != dimension) {
+            throw new IllegalArgumentException("Embedding dimensions must match index dimension " + dimension);
+        }
+        if (k <= 0) {
+            return List.of();
+        }
+        float[] q = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int current = entryPoint;
+            float currentScore = dot(q, vectors[current]);
+            for (int level = maxLevel; level > 0; level--) {
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    int[] neighbours = links[current][level];
+                    for (int i = 1; i <= neighbours[0]; i++) {
+                        int candidate = neighbours[i];
+                        float score = dot(q, vectors[candidate]);
+                        if (score > currentScore) {
+                            currentScore = score;
+                            current = candidate;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+
+            int ef = Math.max(efSearch, k);
+            // Tombstones occupy result slots, widen the beam proportionally
+            if (deletedCount > 0) {
+                ef = (int) Math.min((long) ef * nodeCount / Math.max(1, nodeCount - deletedCount), nodeCount);
+            }
+            NodeHeap found = searchLayer(q, current, currentScore, ef, 0);
+
+            List<SearchResult> results = new ArrayList<>(Math.min(k, found.size()));
+            int[] order = found.drainDescending();
+            for (int i = 0; i < order.length && results.size() < k; i++) {
+                int node = order[i];
+                if (!deleted.get(node)) {
+                    results.add(new SearchResult(ids[node], dot(q, vectors[node])));
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Insertion ====================
+
+    private void insert(String id, float[] vector) {
+        ensureCapacity(nodeCount + 1);
+        int node = nodeCount++;
+        int level = randomLevel();
+
+        vectors[node] = vector;
+        ids[node] = id;
+        links[node] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[node][l] = new int[(l == 0 ? maxConnections0 : m) + 1];
+        }
+        nodeById.put(id, node);
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        int current = entryPoint;
+        float currentScore = dot(vector, vectors[current]);
+        for (int l = maxLevel; l > level; l--) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                int[] neighbours = links[current][l];
+                for (int i = 1; i <= neighbours[0]; i++) {
+                    int candidate = neighbours[i];
+                    float score = dot(vector, vectors[candidate]);
+                    if (score > currentScore) {
+                        currentScore = score;
+                        current = candidate;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        for (int l = Math.min(level, maxLevel); l >= 0; l--) {
+            NodeHeap candidates = searchLayer(vector, current, currentScore, efConstruction, l);
+            int[] ordered = candidates.drainDescending();
+            int maxConn = l == 0 ? maxConnections0 : m;
+            int[] selected = selectNeighbours(vector, ordered, m);
+
+            int[] own = links[node][l];
+            for (int neighbour : selected) {
+                own[++own[0]] = neighbour;
+                addLink(neighbour, node, l, maxConn);
+            }
+            if (ordered.length > 0) {
+                current = ordered[0];
+                currentScore = dot(vector, vectors[current]);
+            }
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private void addLink(int from, int to, int level, int maxConn) {
+        int[] list = links[from][level];
+        if (list[0] < maxConn) {
+            list[++list[0]] = to;
+            return;
+        }
+        // Full: re-select the best maxConn among existing + new using the heuristic
+        float[] base = vectors[from];
+        int[] pool = new int[list[0] + 1];
+        System.arraycopy(list, 1, pool, 0, list[0]);
+        pool[list[0]] = to;
+        float[] scores = new float[pool.length];
+        for (int i = 0; i < pool.length; i++) {
+            scores[i] = dot(base, vectors[pool[i]]);
+        }
+        sortDescending(pool, scores);
+        int[] selected = selectNeighbours(base, pool, maxConn);
+        list[0] = selected.length;
+        System.arraycopy(selected, 0, list, 1, selected.length);
+    }
+
+    /**
+     * Neighbour selection heuristic from the HNSW paper: keep a candidate only if
+     * it is closer to the base than to any already selected neighbour, then fill
+     * up with the pruned candidates to keep connectivity.
+     */
+    private int[] selectNeighbours(float[] base, int[] orderedCandidates, int max) {
+        if (orderedCandidates.length <= max) {
+            return orderedCandidates;
+        }
+        int[] selected = new int[max];
+        int count = 0;
+        int[] pruned = new int[orderedCandidates.length];
+        int prunedCount = 0;
+        for (int candidate : orderedCandidates) {
+            if (count == max) {
+                break;
+            }
+            float toBase = dot(base, vectors[candidate]);
+            boolean keep = true;
+            for (int i = 0; i < count; i++) {
+                if (dot(vectors[candidate], vectors[selected[i]]) > toBase) {
+                    keep = false;
+                    break;
+                }
+            }
+            if (keep) {
+                selected[count++] = candidate;
+            } else {
+                pruned[prunedCount++] = candidate;
+            }
+        }
+        for (int i = 0; i < prunedCount && count < max; i++) {
+            selected[count++] = pruned[i];
+        }
+        return count == max ? selected : Arrays.copyOf(selected, count);
+    }
+
+    // ==================== Search ====================
+
+    private NodeHeap searchLayer(float[] query, int entry, float entryScore, int ef, int level) {
+        VisitedSet seen = visitedPool.poll();
+        if (seen == null) {
+            seen = new VisitedSet();
+        }
+        try {
+            return searchLayer(query, entry, entryScore, ef, level, seen);
+        } finally {
+            // Dropped when the pool is full, so at most one set per concurrent search is kept
+            visitedPool.offer(seen);
+        }
+    }
+
+    private NodeHeap searchLayer(float[] query, int entry, float entryScore, int ef, int level, VisitedSet seen) {
+        seen.reset(nodeCount);
+        seen.add(entry);
+
+        NodeHeap candidates = new NodeHeap(ef * 2, true);   // best first
+        NodeHeap results = new NodeHeap(ef + 1, false);     // worst on top
+        candidates.push(entry, entryScore);
+        results.push(entry, entryScore);
+
+        while (candidates.size() > 0) {
+            float candidateScore = candidates.peekScore();
+            if (results.size() >= ef && candidateScore < results.peekScore()) {
+                break;
+            }
+            int candidate = candidates.pop();
+            int[] neighbours = links[candidate].length > level ? links[candidate][level] : null;
+            if (neighbours == null) {
+                continue;
+            }
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (!seen.add(neighbour)) {
+                    continue;
+                }
+                float score = dot(query, vectors[neighbour]);
+                if (results.size() < ef || score > results.peekScore()) {
+                    candidates.push(neighbour, score);
+                    results.push(neighbour, score);
+                    if (results.size() > ef) {
+                        results.pop();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    // ==================== Maintenance ====================
+
+    private void markDeleted(int node) {
+        if (!deleted.get(node)) {
+            deleted.set(node);
+            deletedCount++;
+            nodeById.remove(ids[node]);
+        }
+    }
+
+    /**
+     * Compact once tombstones make up more than half of the graph, so
+     * delete-heavy workloads do not keep searching through dead nodes.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount > 1024 && deletedCount > nodeCount / 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Rebuild the graph from live vectors, dropping tombstones.
+     */
+    private void compact() {
+        int liveCount = nodeCount - deletedCount;
+        String[] liveIds = new String[liveCount];
+        float[][] liveVectors = new float[liveCount][];
+        int j = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (!deleted.get(i)) {
+                liveIds[j] = ids[i];
+                liveVectors[j++] = vectors[i];
+            }
+        }
+
+        int capacity = Math.max(INITIAL_CAPACITY, liveCount * 2);
+        vectors = new float[capacity][];
+        ids = new String[capacity];
+        links = new int[capacity][][];
+        deleted.clear();
+        nodeById.clear();
+        nodeCount = 0;
+        deletedCount = 0;
+        entryPoint = -1;
+        maxLevel = -1;
+
+        for (int i = 0; i < liveCount; i++) {
+            insert(liveIds[i], liveVectors[i]);
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= vectors.length) {
+            return;
+        }
+        int capacity = Math.max(required, vectors.length * 2);
+        vectors = Arrays.copyOf(vectors, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+
+    private int randomLevel() {
+        double r = random.nextDouble();
+        return (int) Math.floor(-Math.log(Math.max(r, Double.MIN_NORMAL)) * levelMultiplier);
+    }
+
+    // ==================== Math ====================
+
+    private static float dot(float[] a, float[] b) {
+        return KERNEL.dot(a, b);
+    }
+
+    private static float[] normalize(float[] vector) {
+        float norm = KERNEL.norm(vector);
+        float[] result = Arrays.copyOf(vector, vector.length);
+        if (norm > 0) {
+            float inv = 1.0f / norm;
+            for (int i = 0; i < result.length; i++) {
+                result[i] *= inv;
+            }
+        }
+        return result;
+    }
+
+    private static void sortDescending(int[] nodes, float[] scores) {
+        // Insertion sort: pools are at most 2 * M + 1 elements
+        for (int i = 1; i < nodes.length; i++) {
+            int node = nodes[i];
+            float score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                nodes[j + 1] = nodes[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            nodes[j + 1] = node;
+            scores[j + 1] = score;
+        }
+    }
+
+    // ==================== Inner Classes ====================
+
+    /**
+     * A single search hit.
+     *
+     * @param id the external ID
+     * @param score cosine similarity with the query
+     */
+    public record SearchResult(String id, float score) {}
+
+    /**
+     * Binary heap of (node, score) pairs without boxing.
+     * A max-heap keeps the best score on top, a min-heap the worst.
+     */
+    private static final class NodeHeap {
+        private int[] nodes;
+        private float[] scores;
+        private int size;
+        private final boolean max;
+
+        NodeHeap(int capacity, boolean max) {
+            this.nodes = new int[Math.max(capacity, 4)];
+            this.scores = new float[nodes.length];
+            this.max = max;
+        }
+
+        int size() {
+            return size;
+        }
+
+        float peekScore() {
+            return scores[0];
+        }
+
+        void push(int node, float score) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(score, scores[parent])) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                scores[i] = scores[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            scores[i] = score;
+        }
+
+        int pop() {
+            int top = nodes[0];
+            size--;
+            if (size > 0) {
+                int node = nodes[size];
+                float score = scores[size];
+                int i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && before(scores[child + 1], scores[child])) {
+                        child++;
+                    }
+                    if (!before(scores[child], score)) {
+                        break;
+                    }
+                    nodes[i] = nodes[child];
+                    scores[i] = scores[child];
+                    i = child;
+                }
+                nodes[i] = node;
+                scores[i] = score;
+            }
+            return top;
+        }
+
+        /**
+         * Empty the heap returning nodes ordered by descending score.
+         */
+        int[] drainDescending() {
+            int[] out = new int[size];
+            if (max) {
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = pop();
+                }
+            } else {
+                for (int i = out.length - 1; i >= 0; i--) {
+                    out[i] = pop();
+                }
+            }
+            return out;
+        }
+
+        private boolean before(float a, float b) {
+            return max ? a > b : a < b;
+        }
+    }
+
+    /**
+     * Generation-stamped visited set, pooled per index to avoid
+     * allocating a bitmap per query.
+     */
+    private static final class VisitedSet {
+        private int[] stamps = new int[INITIAL_CAPACITY];
+        private int generation = 0;
+
+        void reset(int capacity) {
+            if (stamps.length < capacity) {
+                stamps = new int[Math.max(capacity, stamps.length * 2)];
+                generation = 0;
+            }
+            generation++;
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+        }
+
+        boolean add(int node) {
+            if (stamps[node] == generation) {
+                return false;
+            }
+            stamps[node] = generation;
+            return true;
+        }
+    }
+}
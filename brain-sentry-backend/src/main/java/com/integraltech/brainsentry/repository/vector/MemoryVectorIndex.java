@@ -0,0 +1,208 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import com.integraltech.brainsentry.config.VectorIndexProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Per-tenant registry of in-memory HNSW indexes over memory embeddings.
+ *
+ * Each tenant gets its own index, bootstrapped lazily from the system of
+ * record on first search and kept in sync by the repository on save and
+ * delete. Writes made by other backend instances only reach the system of
+ * record, so a search on an index older than
+ * {@code brain-sentry.vector-index.refresh-interval} rebuilds it in the
+ * background from a fresh snapshot while the old one keeps serving. Only
+ * IDs are stored here; callers hydrate the memories.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "brain-sentry.vector-index.enabled", havingValue = "true")
+public class MemoryVectorIndex {
+
+    private final VectorIndexProperties properties;
+    private final Map<String, TenantIndex> indexes = new ConcurrentHashMap<>();
+
+    public MemoryVectorIndex(VectorIndexProperties properties) {
+        this.properties = properties;
+        log.info("Vector index enabled: dimensions={}, m={}, efConstruction={}, efSearch={}, refreshInterval={}",
+            properties.getDimensions(), properties.getM(),
+            properties.getEfConstruction(), properties.getEfSearch(), properties.getRefreshInterval());
+    }
+
+    /**
+     * Add or replace a memory's embedding in its tenant index.
+     */
+    public void index(Memory memory) {
+        if (memory.getTenantId() == null || !hasValidEmbedding(memory)) {
+            return;
+        }
+        tenantIndex(memory.getTenantId()).apply(memory.getId(), memory.getEmbedding());
+    }
+
+    /**
+     * Remove a memory from its tenant index.
+     */
+    public void remove(String memoryId, String tenantId) {
+        if (tenantId == null) {
+            return;
+        }
+        TenantIndex index = indexes.get(tenantId);
+        if (index != null) {
+            index.apply(memoryId, null);
+        }
+    }
+
+    /**
+     * Top-k cosine search within a tenant.
+     *
+     * @param embedding the query embedding
+     * @param limit maximum number of results
+     * @param tenantId the tenant ID
+     * @param loader supplies all tenant memories when the index is built or rebuilt
+     * @return hits ordered by descending similarity
+     */
+    public List<HnswIndex.SearchResult> search(float[] embedding, int limit, String tenantId,
+                                               Supplier<List<Memory>> loader) {
+        TenantIndex index = tenantIndex(tenantId);
+        if (!index.bootstrapped) {
+            synchronized (index.buildLock) {
+                if (!index.bootstrapped) {
+                    build(index, tenantId, loader);
+                }
+            }
+        } else if (isStale(index) && index.refreshing.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("vector-index-refresh").start(() -> {
+                try {
+                    synchronized (index.buildLock) {
+                        build(index, tenantId, loader);
+                    }
+                } catch (Exception e) {
+                    // Keep serving the current index and retry on a later search
+                    log.warn("Failed to rebuild vector index for tenant {}: {}", tenantId, e.getMessage());
+                } finally {
+                    index.refreshing.set(false);
+                }
+            });
+        }
+        return index.hnsw.search(embedding, limit);
+    }
+
+    /**
+     * Drop a tenant index so it is rebuilt from the system of record on next search.
+     */
+    public void invalidate(String tenantId) {
+        indexes.remove(tenantId);
+    }
+
+    public int size(String tenantId) {
+        TenantIndex index = indexes.get(tenantId);
+        return index != null ? index.hnsw.size() : 0;
+    }
+
+    public int getDimensions() {
+        return properties.getDimensions();
+    }
+
+    private TenantIndex tenantIndex(String tenantId) {
+        return indexes.computeIfAbsent(tenantId, t -> new TenantIndex(newHnsw()));
+    }
+
+    private HnswIndex newHnsw() {
+        return new HnswIndex(properties.getDimensions(), properties.getM(),
+            properties.getEfConstruction(), properties.getEfSearch());
+    }
+
+    private boolean isStale(TenantIndex index) {
+        long interval = properties.getRefreshInterval() != null ? properties.getRefreshInterval().toMillis() : 0;
+        return interval > 0 && System.currentTimeMillis() - index.builtAtMillis >= interval;
+    }
+
+    /**
+     * Build a fresh index from a snapshot of the tenant's memories and swap it in.
+     *
+     * Saves and deletes applied while the snapshot loads are journaled and
+     * replayed on top of it before the swap, so a memory deleted during the
+     * build is not brought back by a snapshot that still contains it, and a
+     * newer embedding is not replaced by an older one.
+     */
+    private void build(TenantIndex index, String tenantId, Supplier<List<Memory>> loader) {
+        long start = System.currentTimeMillis();
+        synchronized (index) {
+            index.journal = new ArrayList<>();
+        }
+        try {
+            HnswIndex fresh = newHnsw();
+            int loaded = 0;
+            for (Memory memory : loader.get()) {
+                if (hasValidEmbedding(memory)) {
+                    fresh.upsert(memory.getId(), memory.getEmbedding());
+                    loaded++;
+                }
+            }
+            synchronized (index) {
+                for (JournalEntry entry : index.journal) {
+                    entry.applyTo(fresh);
+                }
+                index.hnsw = fresh;
+                index.builtAtMillis = System.currentTimeMillis();
+                index.bootstrapped = true;
+            }
+            log.info("Built vector index for tenant {}: {} memories in {}ms",
+                tenantId, loaded, System.currentTimeMillis() - start);
+        } finally {
+            synchronized (index) {
+                index.journal = null;
+            }
+        }
+    }
+
+    private boolean hasValidEmbedding(Memory memory) {
+        float[] embedding = memory.getEmbedding();
+        return embedding != null && embedding.length == properties.getDimensions();
+    }
+
+    /**
+     * A save (embedding set) or delete (embedding null) seen during a build.
+     */
+    private record JournalEntry(String id, float[] embedding) {
+        void applyTo(HnswIndex hnsw) {
+            if (embedding != null) {
+                hnsw.upsert(id, embedding);
+            } else {
+                hnsw.remove(id);
+            }
+        }
+    }
+
+    private static final class TenantIndex {
+        final Object buildLock = new Object();
+        final AtomicBoolean refreshing = new AtomicBoolean();
+        volatile HnswIndex hnsw;
+        volatile boolean bootstrapped;
+        volatile long builtAtMillis;
+        // Guarded by this; non-null while a build is loading its snapshot
+        List<JournalEntry> journal;
+
+        TenantIndex(HnswIndex hnsw) {
+            this.hnsw = hnsw;
+        }
+
+        synchronized void apply(String id, float[] embedding) {
+            JournalEntry entry = new JournalEntry(id, embedding);
+            entry.applyTo(hnsw);
+            if (journal != null) {
+                journal.add(entry);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.integraltech.brainsentry.repository.vector;
+
+/**
+ * Portable scalar similarity kernel.
+ */
+final class ScalarSimilarityKernel implements SimilarityKernel {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0.0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        float dot = 0.0f;
+        float normA = 0.0f;
+        float normB = 0.0f;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / ((float) Math.sqrt(normA) * (float) Math.sqrt(normB));
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
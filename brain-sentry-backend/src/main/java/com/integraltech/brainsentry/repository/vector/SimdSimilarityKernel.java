@@ -0,0 +1,65 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD similarity kernel using the Java Vector API.
+ *
+ * Uses the widest species the CPU supports (AVX2/AVX-512/NEON) with fused
+ * multiply-add accumulation and a scalar tail for the remaining elements.
+ * Only loaded through {@link SimilarityKernels} when jdk.incubator.vector
+ * is present.
+ */
+final class SimdSimilarityKernel implements SimilarityKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float cosine(float[] a, float[] b) {
+        FloatVector dotAcc = FloatVector.zero(SPECIES);
+        FloatVector normAAcc = FloatVector.zero(SPECIES);
+        FloatVector normBAcc = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(a.length);
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, i);
+            dotAcc = va.fma(vb, dotAcc);
+            normAAcc = va.fma(va, normAAcc);
+            normBAcc = vb.fma(vb, normBAcc);
+        }
+        float dot = dotAcc.reduceLanes(VectorOperators.ADD);
+        float normA = normAAcc.reduceLanes(VectorOperators.ADD);
+        float normB = normBAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < a.length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        return dot / ((float) Math.sqrt(normA) * (float) Math.sqrt(normB));
+    }
+
+    @Override
+    public String name() {
+        return "simd-" + SPECIES.vectorBitSize() + "bit";
+    }
+}
@@ -0,0 +1,60 @@
+package com.integraltech.brainsentry.repository.vector;
+
+/**
+ * Dot-product / cosine primitives over float embeddings.
+ *
+ * Two implementations exist: a SIMD kernel built on the Java Vector API
+ * (jdk.incubator.vector) and a plain scalar loop used when the incubator
+ * module is not available at runtime. Use {@link #getDefault()} to obtain
+ * the best kernel for the running JVM.
+ */
+public interface SimilarityKernel {
+
+    /**
+     * Dot product of {@code length} elements starting at the given offsets.
+     */
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    /**
+     * Dot product of two vectors of equal length.
+     */
+    default float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Cosine similarity, computing dot product and both norms in one pass.
+     */
+    float cosine(float[] a, float[] b);
+
+    /**
+     * Euclidean norm of a vector.
+     */
+    default float norm(float[] a) {
+        return (float) Math.sqrt(dot(a, 0, a, 0, a.length));
+    }
+
+    /**
+     * Score one query against every row of a row-major contiguous matrix.
+     *
+     * @param query the query vector, length = dimension
+     * @param matrix row-major data, at least rows * dimension elements
+     * @param rows number of rows to score
+     * @param out receives one dot product per row
+     */
+    default void dotAll(float[] query, float[] matrix, int rows, float[] out) {
+        int dimension = query.length;
+        for (int row = 0; row < rows; row++) {
+            out[row] = dot(query, 0, matrix, row * dimension, dimension);
+        }
+    }
+
+    /**
+     * Kernel name for logging/diagnostics.
+     */
+    String name();
+
+    static SimilarityKernel getDefault() {
+        return SimilarityKernels.DEFAULT;
+    }
+}
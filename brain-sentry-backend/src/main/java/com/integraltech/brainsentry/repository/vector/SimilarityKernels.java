@@ -0,0 +1,37 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects the similarity kernel once per JVM.
+ *
+ * The SIMD kernel is loaded reflectively so that this class never links
+ * against jdk.incubator.vector when the module was not added with
+ * {@code --add-modules jdk.incubator.vector}.
+ * Set {@code -Dbrainsentry.simd.disabled=true} to force the scalar kernel.
+ */
+@Slf4j
+final class SimilarityKernels {
+
+    static final SimilarityKernel DEFAULT = select();
+
+    private SimilarityKernels() {
+    }
+
+    private static SimilarityKernel select() {
+        SimilarityKernel kernel = new ScalarSimilarityKernel();
+        if (!Boolean.getBoolean("brainsentry.simd.disabled")
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                kernel = (SimilarityKernel) Class
+                    .forName("com.integraltech.brainsentry.repository.vector.SimdSimilarityKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector API unavailable, using scalar similarity kernel: {}", e.getMessage());
+            }
+        }
+        log.info("Using {} similarity kernel", kernel.name());
+        return kernel;
+    }
+}
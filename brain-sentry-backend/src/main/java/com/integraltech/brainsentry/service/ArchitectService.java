@@ -5,6 +5,7 @@ import com.integraltech.brainsentry.domain.ContextSummary;
 import com.integraltech.brainsentry.dto.request.CompressionRequest;
 import com.integraltech.brainsentry.dto.response.CompressedContextResponse;
 import com.integraltech.brainsentry.repository.ContextSummaryJpaRepository;
+import com.integraltech.brainsentry.service.context.TokenCounter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ public class ArchitectService {
 
     private final OpenRouterService openRouterService;
     private final ContextSummaryJpaRepository contextSummaryRepo;
+    private final TokenCounter tokenCounter;
 
     /**
      * Default token threshold for compression.
@@ -73,7 +75,6 @@ public class ArchitectService {
             threshold = DEFAULT_TOKEN_THRESHOLD;
         }
 
-        // Estimate token count (rough estimation: 4 chars ~ 1 token)
         int estimatedTokens = estimateTokens(messages);
 
         if (estimatedTokens < threshold) {
@@ -149,14 +150,12 @@ public class ArchitectService {
     // ==================== Private Helper Methods ====================
 
     /**
-     * Estimate token count for messages.
-     * Rough estimation: 4 characters ~ 1 token.
+     * Count the tokens of the message contents with the BPE tokenizer.
      */
     private int estimateTokens(List<CompressionRequest.Message> messages) {
-        int totalChars = messages.stream()
-            .mapToInt(msg -> msg.getContent() != null ? msg.getContent().length() : 0)
+        return messages.stream()
+            .mapToInt(msg -> tokenCounter.count(msg.getContent()))
             .sum();
-        return totalChars / 4;  // Rough estimation
     }
 
     /**
@@ -272,7 +271,7 @@ public class ArchitectService {
         }
 
         int originalTokens = estimateTokens(originalMessages);
-        int compressedTokens = estimateTokens(originalMessages) / 2;  // Estimate
+        int compressedTokens = originalTokens / 2;  // Estimate
 
         return CompressedContextResponse.builder()
             .originalMessageCount(originalMessages.size())
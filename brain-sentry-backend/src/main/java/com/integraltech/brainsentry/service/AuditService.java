@@ -28,6 +28,14 @@ public class AuditService {
 
     private static final Logger log = LoggerFactory.getLogger(AuditService.class);
 
+    /** Relevance gate that decided an interception; only LLM verdicts are training labels. */
+    public static final String RELEVANCE_LLM = "llm";
+    public static final String RELEVANCE_CLASSIFIER = "classifier";
+    /** An earlier LLM verdict served from the relevance verdict cache. */
+    public static final String RELEVANCE_CACHE = "cache";
+    /** No verdict arrived before the deadline. */
+    public static final String RELEVANCE_NONE = "none";
+
     private final AuditLogJpaRepository auditLogRepo;
 
     public AuditService(AuditLogJpaRepository auditLogRepo) {
@@ -40,10 +48,13 @@ public class AuditService {
      * @param request the original request
      * @param memories memories that were used
      * @param latencyMs operation latency
+     * @param relevanceSource the gate that decided context was needed ({@code RELEVANCE_*})
+     * @param llmCalls LLM calls made for the interception (zero when the classifier decided)
      */
     @Async
     @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void logInterception(InterceptRequest request, List<Memory> memories, long latencyMs) {
+    public void logInterception(InterceptRequest request, List<Memory> memories, long latencyMs,
+                                String relevanceSource, int llmCalls) {
         try {
             if (request.getTenantId() != null) {
                 com.integraltech.brainsentry.config.TenantContext.setTenantId(request.getTenantId());
@@ -55,9 +66,9 @@ public class AuditService {
                     .userId(request.getUserId())
                     .sessionId(request.getSessionId())
                     .userRequest(request.getPrompt())
-                    .decision(buildDecision(memories, latencyMs))
+                    .decision(buildDecision(memories, latencyMs, relevanceSource))
                     .latencyMs((int) latencyMs)
-                    .llmCalls(1)
+                    .llmCalls(llmCalls)
                     .outcome("success")
                     .tenantId(request.getTenantId())
                     .memoriesAccessed(memories.stream().map(Memory::getId).toList())
@@ -74,6 +85,57 @@ public class AuditService {
         }
     }
 
+    /**
+     * Log a relevance verdict asynchronously.
+     *
+     * Covers prompts that were passed through as well as enhanced ones.
+     * Verdicts with source {@link #RELEVANCE_LLM} are the labels the relevance
+     * classifier is trained on; the classifier's own decisions and cached
+     * verdicts are logged with {@link #RELEVANCE_CLASSIFIER} and
+     * {@link #RELEVANCE_CACHE} for monitoring only.
+     *
+     * @param request the original request
+     * @param needsContext the verdict
+     * @param confidence the verdict's confidence
+     * @param reasoning the reasoning given for the verdict
+     * @param source the gate that gave the verdict
+     */
+    @Async
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void logRelevanceVerdict(InterceptRequest request, boolean needsContext, Double confidence,
+                                    String reasoning, String source) {
+        try {
+            if (request.getTenantId() != null) {
+                com.integraltech.brainsentry.config.TenantContext.setTenantId(request.getTenantId());
+            }
+            Map<String, Object> decision = new HashMap<>();
+            decision.put("needsContext", needsContext);
+            decision.put("source", source);
+
+            AuditLog auditLog = AuditLog.builder()
+                    .id(UUID.randomUUID().toString())
+                    .eventType("relevance_verdict")
+                    .timestamp(Instant.now())
+                    .userId(request.getUserId())
+                    .sessionId(request.getSessionId())
+                    .userRequest(request.getPrompt())
+                    .decision(decision)
+                    .reasoning(reasoning)
+                    .confidence(confidence)
+                    .llmCalls(RELEVANCE_LLM.equals(source) ? 1 : 0)
+                    .outcome("success")
+                    .tenantId(request.getTenantId())
+                    .inputData(buildInputData(request))
+                    .build();
+
+            auditLogRepo.save(auditLog);
+        } catch (Exception e) {
+            log.error("Error creating relevance verdict audit log", e);
+        } finally {
+            com.integraltech.brainsentry.config.TenantContext.clear();
+        }
+    }
+
     /**
      * Log a memory creation event.
      *
@@ -344,9 +406,10 @@ public class AuditService {
         return auditLogRepo.countByTenantIdAndEventType(tenantId, eventType);
     }
 
-    private Map<String, Object> buildDecision(List<Memory> memories, long latencyMs) {
+    private Map<String, Object> buildDecision(List<Memory> memories, long latencyMs, String relevanceSource) {
         Map<String, Object> decision = new HashMap<>();
         decision.put("enhanced", true);
+        decision.put("relevanceSource", relevanceSource);
         decision.put("memoryCount", memories.size());
         decision.put("latencyMs", latencyMs);
         return decision;
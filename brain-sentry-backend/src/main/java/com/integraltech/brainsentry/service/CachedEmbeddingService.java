@@ -1,122 +1,309 @@
 package com.integraltech.brainsentry.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.integraltech.brainsentry.config.EmbeddingProperties;
+import com.integraltech.brainsentry.config.FloatArrayConverter;
+import com.integraltech.brainsentry.service.embedding.EmbeddingEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
 
 /**
  * Cached version of EmbeddingService for improved performance.
  *
- * Caches embeddings in Redis to avoid recomputation.
+ * Two tiers:
+ * - L1: on-heap Caffeine cache (W-TinyLFU eviction), bounded by bytes
+ * - L2: Redis, raw little-endian float bytes (same format as {@link FloatArrayConverter})
+ *
+ * Keys are the SHA-256 of the model ID plus the normalized text, so
+ * different texts never share an entry and switching models never
+ * returns stale vectors. Batches use MGET for lookups and a pipeline
+ * for writes. Redis failures degrade to cache misses; without a
+ * {@link JedisPool} bean only L1 is used.
  */
 @Slf4j
 @Service
-@ConditionalOnProperty(name = "brainsentry.redis.host")
 public class CachedEmbeddingService extends EmbeddingService {
 
-    private final CacheManager cacheManager;
-    private static final String CACHE_NAME = "embeddings";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int ENTRY_OVERHEAD_BYTES = 96;  // key string + array header + map node, roughly
+
+    private final JedisPool jedisPool;  // May be null: L1 only
+    private final Cache<String, float[]> l1;
+    private final ExecutorService l2Executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String keyPrefix;
+    private final long l2TtlSeconds;
+    private final AtomicLong l2Bytes = new AtomicLong();
+    private final AtomicLong l2Entries = new AtomicLong();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    public CachedEmbeddingService(EmbeddingEngine engine, EmbeddingProperties properties,
+                                  @Autowired(required = false) JedisPool jedisPool, MeterRegistry meterRegistry) {
+        super(engine, properties);
+        this.jedisPool = jedisPool;
 
-    public CachedEmbeddingService(CacheManager cacheManager) {
-        this.cacheManager = cacheManager;
+        EmbeddingProperties.Cache config = properties.getCache();
+        this.keyPrefix = config.getKeyPrefix();
+        this.l2TtlSeconds = config.getL2Ttl().toSeconds();
+        this.l1 = Caffeine.newBuilder()
+            .maximumWeight(config.getL1MaxBytes())
+            .weigher((String key, float[] value) -> value.length * Float.BYTES + ENTRY_OVERHEAD_BYTES)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, l1, "embeddings.l1");
+        this.l1Hits = cacheCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = cacheCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = cacheCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = cacheCounter(meterRegistry, "l2", "miss");
+        Gauge.builder("brainsentry.embedding.cache.hit.ratio", this, CachedEmbeddingService::hitRatio)
+            .description("Share of embed requests served from L1 or L2")
+            .register(meterRegistry);
+        Gauge.builder("brainsentry.embedding.cache.entry.bytes", this, CachedEmbeddingService::bytesPerEntry)
+            .description("Average serialized bytes per L2 entry written")
+            .baseUnit("bytes")
+            .register(meterRegistry);
     }
 
     @Override
     public float[] embed(String text) {
-        // Create a cache key from text hash
-        String cacheKey = "embedding:" + text.hashCode();
-
-        Cache cache = cacheManager.getCache(CACHE_NAME);
-        if (cache != null) {
-            // Try to get from cache
-            Float[] cached = cache.get(cacheKey, Float[].class);
-            if (cached != null) {
-                // Convert Float[] back to float[]
-                float[] result = new float[cached.length];
-                for (int i = 0; i < cached.length; i++) {
-                    result[i] = cached[i];
-                }
-                log.debug("Cache hit for text hash: {}", text.hashCode());
-                return result;
-            }
+        String key = cacheKey(text);
+
+        float[] cached = l1.getIfPresent(key);
+        if (cached != null) {
+            l1Hits.increment();
+            return cached.clone();
+        }
+        l1Misses.increment();
+
+        float[] fromRedis = lookupL2(key);
+        if (fromRedis != null) {
+            return fromRedis;
         }
 
-        // Cache miss - generate embedding
-        log.debug("Cache miss for text hash: {}, generating embedding", text.hashCode());
         float[] embedding = super.embed(text);
+        store(key, embedding);
+        return embedding;
+    }
 
-        // Store in cache
-        if (cache != null) {
-            // Convert float[] to Float[] for caching
-            Float[] toCache = new Float[embedding.length];
-            for (int i = 0; i < embedding.length; i++) {
-                toCache[i] = embedding[i];
-            }
-            cache.put(cacheKey, toCache);
+    /**
+     * Same tiers as {@link #embed(String)}: an L1 hit completes immediately,
+     * the L2 read runs off the caller's thread and only a miss in both
+     * joins the next coalesced model batch.
+     */
+    @Override
+    public CompletableFuture<float[]> embedAsync(String text) {
+        String key = cacheKey(text);
+
+        float[] cached = l1.getIfPresent(key);
+        if (cached != null) {
+            l1Hits.increment();
+            return CompletableFuture.completedFuture(cached.clone());
         }
+        l1Misses.increment();
 
-        return embedding;
+        return CompletableFuture.supplyAsync(() -> lookupL2(key), l2Executor)
+            .thenCompose(fromRedis -> fromRedis != null
+                ? CompletableFuture.completedFuture(fromRedis)
+                : super.embedAsync(text).thenApply(embedding -> {
+                    store(key, embedding);
+                    return embedding;
+                }));
     }
 
     @Override
     public List<float[]> embedBatch(List<String> texts) {
-        // For batch, check cache first for each text
         List<float[]> embeddings = new ArrayList<>(texts.size());
-        List<Integer> missedIndices = new ArrayList<>();
+        List<String> keys = new ArrayList<>(texts.size());
+        List<Integer> l1Missed = new ArrayList<>();
 
         for (int i = 0; i < texts.size(); i++) {
-            String text = texts.get(i);
-            String cacheKey = "embedding:" + text.hashCode();
-
-            Cache cache = cacheManager.getCache(CACHE_NAME);
-            if (cache != null) {
-                Float[] cached = cache.get(cacheKey, Float[].class);
-                if (cached != null) {
-                    float[] result = new float[cached.length];
-                    for (int j = 0; j <cached.length; j++) {
-                        result[j] = cached[j];
-                    }
-                    embeddings.add(result);
-                    continue;
-                }
+            String key = cacheKey(texts.get(i));
+            keys.add(key);
+            float[] cached = l1.getIfPresent(key);
+            embeddings.add(cached != null ? cached.clone() : null);
+            if (cached == null) {
+                l1Missed.add(i);
             }
-            missedIndices.add(i);
-            embeddings.add(null); // placeholder
-        }
-
-        // Generate embeddings for missed texts
-        if (!missedIndices.isEmpty()) {
-            List<float[]> generated = super.embedBatch(
-                missedIndices.stream()
-                    .map(texts::get)
-                    .toList()
-            );
-
-            int genIdx = 0;
-            Cache cache = cacheManager.getCache(CACHE_NAME);
-            for (int idx : missedIndices) {
-                float[] embedding = generated.get(genIdx++);
-                embeddings.set(idx, embedding);
+        }
+        l1Hits.increment(texts.size() - l1Missed.size());
+        l1Misses.increment(l1Missed.size());
+        if (l1Missed.isEmpty()) {
+            return embeddings;
+        }
+
+        // L2: one MGET for all L1 misses
+        List<byte[]> fromRedis = readL2Batch(l1Missed.stream().map(keys::get).toList());
+        List<Integer> missed = new ArrayList<>();
+        for (int j = 0; j < l1Missed.size(); j++) {
+            int idx = l1Missed.get(j);
+            float[] embedding = fromRedis != null ? FloatArrayConverter.fromBytes(fromRedis.get(j)) : null;
+            if (embedding != null) {
+                l1.put(keys.get(idx), embedding);
+                embeddings.set(idx, embedding.clone());
+            } else {
+                missed.add(idx);
+            }
+        }
+        l2Hits.increment(l1Missed.size() - missed.size());
+        l2Misses.increment(missed.size());
 
-                // Cache the generated embedding
-                if (cache != null) {
-                    String text = texts.get(idx);
-                    String cacheKey = "embedding:" + text.hashCode();
-                    Float[] toCache = new Float[embedding.length];
-                    for (int j = 0; j < embedding.length; j++) {
-                        toCache[j] = embedding[j];
-                    }
-                    cache.put(cacheKey, toCache);
-                }
+        // Generate embeddings for the remaining misses in one batch
+        if (!missed.isEmpty()) {
+            List<float[]> generated = super.embedBatch(missed.stream().map(texts::get).toList());
+            List<String> missedKeys = new ArrayList<>(missed.size());
+            for (int j = 0; j < missed.size(); j++) {
+                int idx = missed.get(j);
+                float[] embedding = generated.get(j);
+                embeddings.set(idx, embedding);
+                l1.put(keys.get(idx), embedding.clone());
+                missedKeys.add(keys.get(idx));
             }
+            writeL2(missedKeys, generated);
         }
 
         return embeddings;
     }
+
+    /**
+     * Cache key: SHA-256 over model ID and whitespace/Unicode-normalized text.
+     */
+    String cacheKey(String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC).strip())
+            .replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(getModelId().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return keyPrefix + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * L2 lookup for an L1 miss; a hit is promoted to L1.
+     *
+     * @return a copy of the cached embedding, or null on a miss
+     */
+    private float[] lookupL2(String key) {
+        float[] fromRedis = readL2(key);
+        if (fromRedis == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        l1.put(key, fromRedis);
+        return fromRedis.clone();
+    }
+
+    private void store(String key, float[] embedding) {
+        l1.put(key, embedding.clone());
+        writeL2(List.of(key), List.of(embedding));
+    }
+
+    private float[] readL2(String key) {
+        if (jedisPool == null) {
+            return null;
+        }
+        try (var jedis = jedisPool.getResource()) {
+            return FloatArrayConverter.fromBytes(jedis.get(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            log.debug("Embedding L2 read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<byte[]> readL2Batch(List<String> keys) {
+        if (jedisPool == null) {
+            return null;
+        }
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = keys.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+        try (var jedis = jedisPool.getResource()) {
+            return jedis.mget(rawKeys);
+        } catch (Exception e) {
+            log.debug("Embedding L2 batch read failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeL2(List<String> keys, List<float[]> embeddings) {
+        if (jedisPool == null) {
+            return;
+        }
+        try (var jedis = jedisPool.getResource()) {
+            if (keys.size() == 1) {
+                byte[] value = FloatArrayConverter.toBytes(embeddings.get(0));
+                jedis.setex(keys.get(0).getBytes(StandardCharsets.UTF_8), l2TtlSeconds, value);
+                recordWrite(value.length);
+                return;
+            }
+            Pipeline pipeline = jedis.pipelined();
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] value = FloatArrayConverter.toBytes(embeddings.get(i));
+                pipeline.setex(keys.get(i).getBytes(StandardCharsets.UTF_8), l2TtlSeconds, value);
+                recordWrite(value.length);
+            }
+            pipeline.sync();
+        } catch (Exception e) {
+            log.debug("Embedding L2 write failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        l2Executor.close();
+        super.shutdown();
+    }
+
+    private void recordWrite(int bytes) {
+        l2Bytes.addAndGet(bytes);
+        l2Entries.incrementAndGet();
+    }
+
+    private double hitRatio() {
+        double hits = l1Hits.count() + l2Hits.count();
+        double total = l1Hits.count() + l1Misses.count();
+        return total > 0 ? hits / total : 0.0;
+    }
+
+    private double bytesPerEntry() {
+        long entries = l2Entries.get();
+        return entries > 0 ? (double) l2Bytes.get() / entries : 0.0;
+    }
+
+    private static Counter cacheCounter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("brainsentry.embedding.cache.requests")
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(registry);
+    }
 }
@@ -1,87 +1,107 @@
 package com.integraltech.brainsentry.service;
 
+import com.integraltech.brainsentry.config.EmbeddingProperties;
+import com.integraltech.brainsentry.repository.vector.SimilarityKernel;
+import com.integraltech.brainsentry.service.embedding.EmbeddingCoalescer;
+import com.integraltech.brainsentry.service.embedding.EmbeddingEngine;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Service for generating text embeddings.
  *
- * Uses all-MiniLM-L6-v2 model for 384-dimensional embeddings.
- * This implementation uses a placeholder - actual integration
- * with DJL/ONNX will be added in Phase 2.
+ * Delegates to the configured {@link EmbeddingEngine}: all-MiniLM-L6-v2
+ * running locally on ONNX Runtime (384 dimensions), or the hash
+ * placeholder when no model is available.
+ *
+ * Under concurrent load, single-text {@link #embed(String)} calls are
+ * coalesced into shared batches (see {@link EmbeddingCoalescer}).
+ *
+ * Not a bean itself: the application context holds a single
+ * {@link CachedEmbeddingService}, so only one coalescer thread runs.
  */
 @Slf4j
-@Service
 public class EmbeddingService {
 
-    private static final int EMBEDDING_DIMENSIONS = 384;
+    private final EmbeddingEngine engine;
+    private final EmbeddingCoalescer coalescer;
+    private final Duration coalescerTimeout;
+    private final SimilarityKernel similarityKernel = SimilarityKernel.getDefault();
+
+    public EmbeddingService(EmbeddingEngine engine, EmbeddingProperties properties) {
+        this.engine = engine;
+        EmbeddingProperties.Coalescer config = properties.getCoalescer();
+        this.coalescer = config.isEnabled()
+            ? new EmbeddingCoalescer(engine::embed, config.getMaxBatchSize(), config.getMaxWaitMicros())
+            : null;
+        this.coalescerTimeout = config.getTimeout();
+    }
 
     /**
      * Generate embedding for a single text.
      *
      * @param text the text to embed
-     * @return 384-dimensional float array
+     * @return normalized embedding
      */
     public float[] embed(String text) {
-        // TODO: Integrate with DJL/ONNX for all-MiniLM-L6-v2
-        // For now, return a deterministic placeholder based on text hash
         log.debug("Generating embedding for text (length: {})", text.length());
-
-        float[] embedding = new float[EMBEDDING_DIMENSIONS];
-
-        // Simple hash-based placeholder (not for production!)
-        int hash = text.hashCode();
-        for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
-            // Deterministic pseudo-random values based on hash and position
-            double val = Math.sin(hash * (i + 1) * 0.1) * 0.5 + 0.5;
-            embedding[i] = (float) val;
+        if (coalescer == null) {
+            return engine.embed(List.of(text)).get(0);
         }
-
-        // Normalize to unit length
-        float norm = 0.0f;
-        for (float v : embedding) {
-            norm += v * v;
-        }
-        norm = (float) Math.sqrt(norm);
-        if (norm > 0) {
-            for (int i = 0; i < embedding.length; i++) {
-                embedding[i] /= norm;
+        try {
+            return coalescer.submit(text).get(coalescerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
+            throw new IllegalStateException("Embedding failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Embedding timed out after " + coalescerTimeout.toMillis() + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for embedding", e);
         }
+    }
 
-        return embedding;
+    /**
+     * Generate embedding for a single text without blocking the caller.
+     * The request joins the next coalesced batch.
+     *
+     * @param text the text to embed
+     * @return future completed with the normalized embedding
+     */
+    public CompletableFuture<float[]> embedAsync(String text) {
+        if (coalescer == null) {
+            return CompletableFuture.supplyAsync(() -> engine.embed(List.of(text)).get(0));
+        }
+        return coalescer.submit(text);
     }
 
     /**
-     * Generate embeddings for multiple texts in parallel.
+     * Generate embeddings for multiple texts.
+     * Texts are run through the model together in as few forward passes as possible.
      *
      * @param texts list of texts to embed
-     * @return list of embeddings
+     * @return list of embeddings, in input order
      */
     public List<float[]> embedBatch(List<String> texts) {
-        List<float[]> embeddings = new ArrayList<>(texts.size());
-
-        // Process in parallel using virtual threads (configured via @Async)
-        List<CompletableFuture<float[]>> futures = texts.stream()
-            .map(text -> CompletableFuture.supplyAsync(() -> embed(text)))
-            .toList();
-
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-        for (CompletableFuture<float[]> future : futures) {
-            embeddings.add(future.join());
+        if (texts.isEmpty()) {
+            return List.of();
         }
-
-        return embeddings;
+        log.debug("Generating embeddings for batch of {} texts", texts.size());
+        return engine.embed(texts);
     }
 
     /**
      * Calculate cosine similarity between two embeddings.
+     * Uses the SIMD kernel when the Vector API is available.
      *
      * @param a first embedding
      * @param b second embedding
@@ -91,18 +111,23 @@ public class EmbeddingService {
         if (a.length != b.length) {
             throw new IllegalArgumentException("Embedding dimensions must match");
         }
+        return similarityKernel.cosine(a, b);
+    }
 
-        float dotProduct = 0.0f;
-        float normA = 0.0f;
-        float normB = 0.0f;
-
-        for (int i = 0; i < a.length; i++) {
-            dotProduct += a[i] * b[i];
-            normA += a[i] * a[i];
-            normB += b[i] * b[i];
+    /**
+     * Dot product of two unit-length embeddings, equal to their cosine similarity.
+     * Skips the norm computation; only valid for normalized vectors such as
+     * the ones returned by {@link #embed(String)}.
+     *
+     * @param a first normalized embedding
+     * @param b second normalized embedding
+     * @return similarity score
+     */
+    public float normalizedSimilarity(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Embedding dimensions must match");
         }
-
-        return dotProduct / ((float) Math.sqrt(normA) * (float) Math.sqrt(normB));
+        return similarityKernel.dot(a, b);
     }
 
     /**
@@ -111,8 +136,7 @@ public class EmbeddingService {
      * @return true if the service can generate embeddings
      */
     public boolean isReady() {
-        // Service is always ready with the placeholder implementation
-        return true;
+        return engine.isReady();
     }
 
     /**
@@ -121,6 +145,22 @@ public class EmbeddingService {
      * @return the dimension of embeddings
      */
     public int getDimension() {
-        return EMBEDDING_DIMENSIONS;
+        return engine.dimension();
+    }
+
+    /**
+     * Get the identifier of the model producing the embeddings.
+     *
+     * @return the model ID
+     */
+    public String getModelId() {
+        return engine.modelId();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
     }
 }
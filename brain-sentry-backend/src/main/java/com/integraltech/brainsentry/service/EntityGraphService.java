@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
 
 /**
@@ -39,6 +40,51 @@ import java.util.UUID;
 @ConditionalOnProperty(name = "features.entity-graph.enabled", havingValue = "true", matchIfMissing = false)
 public class EntityGraphService {
 
+    // Constant Cypher templates; values are bound as $parameters so FalkorDB can reuse plans.
+    // Labels, relationship types and property keys cannot be parameters and are
+    // appended as escaped identifiers (constant per entity type / key set).
+    private static final String LINK_MEMORY_TO_ENTITY =
+        "MATCH (m:Memory {id: $memoryId}), (e:Entity {id: $entityId}) " +
+        "CREATE (m)-[r:MENTIONS {createdAt: $createdAt}]->(e)";
+
+    private static final String FIND_ENTITIES_BY_MEMORY =
+        "MATCH (m:Memory {id: $memoryId})-[:MENTIONS]->(e:Entity) " +
+        "WHERE e.tenantId = $tenantId " +
+        "RETURN e.id as id, e.name as name, e.type as type, e.properties as properties";
+
+    private static final String FIND_RELATIONSHIPS_BY_MEMORY =
+        "MATCH (m:Memory {id: $memoryId})-[:MENTIONS]->(source:Entity)-[r]->(target:Entity) " +
+        "WHERE source.tenantId = $tenantId AND target.tenantId = $tenantId " +
+        "RETURN source.name as sourceName, source.type as sourceType, " +
+        "type(r) as relationshipType, target.name as targetName, target.type as targetType";
+
+    private static final String SEARCH_ENTITIES =
+        "MATCH (e:Entity) " +
+        "WHERE e.tenantId = $tenantId AND (e.name CONTAINS $term OR e.type CONTAINS $term) " +
+        "RETURN e.id as id, e.name as name, e.type as type, e.sourceMemoryId as sourceMemoryId " +
+        "ORDER BY e.name " +
+        "LIMIT $limit";
+
+    private static final String KNOWLEDGE_GRAPH =
+        "MATCH (source:Entity)-[r]->(target:Entity) " +
+        "WHERE source.tenantId = $tenantId " +
+        "RETURN source.id as sourceId, source.name as sourceName, source.type as sourceType, " +
+        "type(r) as relationshipType, " +
+        "target.id as targetId, target.name as targetName, target.type as targetType " +
+        "LIMIT $limit";
+
+    private static final String KNOWLEDGE_GRAPH_NODES =
+        "MATCH (e:Entity) WHERE e.tenantId = $tenantId " +
+        "RETURN e.id as id, e.name as name, e.type as type, e.sourceMemoryId as sourceMemoryId " +
+        "LIMIT $limit";
+
+    private static final String KNOWLEDGE_GRAPH_EDGES =
+        "MATCH (source:Entity)-[r]->(target:Entity) " +
+        "WHERE source.tenantId = $tenantId AND NOT type(r) = 'MENTIONS' " +
+        "RETURN source.id as sourceId, source.name as sourceName, " +
+        "target.id as targetId, target.name as targetName, type(r) as type " +
+        "LIMIT $limit";
+
     private final OpenRouterService openRouterService;
     private final AuditService auditService;
     private Graph graph;
@@ -55,6 +101,7 @@ public class EntityGraphService {
     @Value("${brain-sentry.redis.password:}")
     private String redisPassword;
 
+    @Autowired
     public EntityGraphService(
             @Autowired(required = false) OpenRouterService openRouterService,
             AuditService auditService) {
@@ -62,6 +109,11 @@ public class EntityGraphService {
         this.auditService = auditService;
     }
 
+    EntityGraphService(OpenRouterService openRouterService, AuditService auditService, Graph graph) {
+        this(openRouterService, auditService);
+        this.graph = graph;
+    }
+
     /**
      * Initialize FalkorDB connection after Spring properties are injected.
      */
@@ -186,55 +238,32 @@ public class EntityGraphService {
     private String storeEntityNode(ExtractedEntity entity, String tenantId, String sourceMemoryId) {
         String nodeId = "ent_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
 
-        // Escape strings for Cypher
-        String name = escapeCypherString(entity.getName());
-        String type = escapeCypherString(entity.getType());
-        String typeLabel = escapeCypherIdentifier(entity.getType());
-        String escapedTenantId = escapeCypherString(tenantId);
-        String escapedSourceMemoryId = escapeCypherString(sourceMemoryId);
-
-        // Build properties string
-        StringBuilder propsBuilder = new StringBuilder();
-        if (entity.getProperties() != null && !entity.getProperties().isEmpty()) {
-            for (Map.Entry<String, String> prop : entity.getProperties().entrySet()) {
-                propsBuilder.append(", ").append(escapeCypherIdentifier(prop.getKey())).append(": '")
-                        .append(escapeCypherString(prop.getValue())).append("'");
-            }
-        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", nodeId);
+        params.put("name", entity.getName() != null ? entity.getName() : "");
+        params.put("type", entity.getType() != null ? entity.getType() : "");
+        params.put("tenantId", tenantId);
+        params.put("sourceMemoryId", sourceMemoryId);
+        params.put("createdAt", Instant.now().toEpochMilli());
 
         // Create node with Entity label and the specific type as an additional label
-        String query = String.format(
-            "CREATE (e:Entity:%s {" +
-            "id: '%s', " +
-            "name: '%s', " +
-            "type: '%s', " +
-            "tenantId: '%s', " +
-            "sourceMemoryId: '%s', " +
-            "createdAt: %d%s" +
-            "}) RETURN e.id",
-            typeLabel, // Additional label based on entity type
-            nodeId,
-            name,
-            type,
-            escapedTenantId,
-            escapedSourceMemoryId,
-            Instant.now().toEpochMilli(),
-            propsBuilder.toString()
-        );
+        StringBuilder query = new StringBuilder("CREATE (e:Entity:")
+            .append(escapeCypherIdentifier(entity.getType()))
+            .append(" {id: $id, name: $name, type: $type, tenantId: $tenantId, ")
+            .append("sourceMemoryId: $sourceMemoryId, createdAt: $createdAt");
+        appendPropertyParams(query, params, entity.getProperties());
+        query.append("}) RETURN e.id");
 
         try {
-            graph.query(query);
-            log.debug("Created entity node: {} ({}:{})", nodeId, type, name);
+            graph.query(query.toString(), params);
+            log.debug("Created entity node: {} ({}:{})", nodeId, entity.getType(), entity.getName());
 
             // Create relationship from Memory to Entity
-            String linkQuery = String.format(
-                "MATCH (m:Memory {id: '%s'}), (e:Entity {id: '%s'}) " +
-                "CREATE (m)-[r:MENTIONS {createdAt: %d}]->(e)",
-                escapedSourceMemoryId,
-                nodeId,
-                Instant.now().toEpochMilli()
-            );
-            graph.query(linkQuery);
+            graph.query(LINK_MEMORY_TO_ENTITY, Map.of(
+                "memoryId", sourceMemoryId,
+                "entityId", nodeId,
+                "createdAt", Instant.now().toEpochMilli()
+            ));
 
         } catch (Exception e) {
             log.error("Error creating entity node: {}", entity, e);
@@ -255,30 +284,22 @@ public class EntityGraphService {
                                        ExtractedRelationship relationship, String tenantId) {
         String relType = escapeCypherIdentifier(relationship.getType());
 
-        // Build properties string
-        StringBuilder propsBuilder = new StringBuilder();
-        propsBuilder.append("tenantId: '").append(escapeCypherString(tenantId)).append("'");
-        propsBuilder.append(", createdAt: ").append(Instant.now().toEpochMilli());
-
-        if (relationship.getProperties() != null && !relationship.getProperties().isEmpty()) {
-            for (Map.Entry<String, String> prop : relationship.getProperties().entrySet()) {
-                propsBuilder.append(", ").append(escapeCypherIdentifier(prop.getKey())).append(": '")
-                        .append(escapeCypherString(prop.getValue())).append("'");
-            }
-        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("sourceId", sourceNodeId);
+        params.put("targetId", targetNodeId);
+        params.put("tenantId", tenantId);
+        params.put("createdAt", Instant.now().toEpochMilli());
 
         // Create relationship edge
-        String query = String.format(
-            "MATCH (source:Entity {id: '%s'}), (target:Entity {id: '%s'}) " +
-            "CREATE (source)-[r:%s {%s}]->(target)",
-            sourceNodeId,
-            targetNodeId,
-            relType,
-            propsBuilder.toString()
-        );
+        StringBuilder query = new StringBuilder(
+            "MATCH (source:Entity {id: $sourceId}), (target:Entity {id: $targetId}) CREATE (source)-[r:")
+            .append(relType)
+            .append(" {tenantId: $tenantId, createdAt: $createdAt");
+        appendPropertyParams(query, params, relationship.getProperties());
+        query.append("}]->(target)");
 
         try {
-            graph.query(query);
+            graph.query(query.toString(), params);
             log.debug("Created relationship: ({})−[{}]->({})", sourceNodeId, relType, targetNodeId);
         } catch (Exception e) {
             log.error("Error creating relationship edge: {}", relationship, e);
@@ -298,16 +319,8 @@ public class EntityGraphService {
             return null;
         }
 
-        String query = String.format(
-            "MATCH (m:Memory {id: '%s'})-[:MENTIONS]->(e:Entity) " +
-            "WHERE e.tenantId = '%s' " +
-            "RETURN e.id as id, e.name as name, e.type as type, e.properties as properties",
-            escapeCypherString(memoryId),
-            escapeCypherString(tenantId)
-        );
-
         try {
-            return graph.query(query);
+            return graph.query(FIND_ENTITIES_BY_MEMORY, Map.of("memoryId", memoryId, "tenantId", tenantId));
         } catch (Exception e) {
             log.error("Error finding entities for memory {}", memoryId, e);
             return null;
@@ -327,18 +340,8 @@ public class EntityGraphService {
             return null;
         }
 
-        String query = String.format(
-            "MATCH (m:Memory {id: '%s'})-[:MENTIONS]->(source:Entity)-[r]->(target:Entity) " +
-            "WHERE source.tenantId = '%s' AND target.tenantId = '%s' " +
-            "RETURN source.name as sourceName, source.type as sourceType, " +
-            "type(r) as relationshipType, target.name as targetName, target.type as targetType",
-            escapeCypherString(memoryId),
-            escapeCypherString(tenantId),
-            escapeCypherString(tenantId)
-        );
-
         try {
-            return graph.query(query);
+            return graph.query(FIND_RELATIONSHIPS_BY_MEMORY, Map.of("memoryId", memoryId, "tenantId", tenantId));
         } catch (Exception e) {
             log.error("Error finding relationships for memory {}", memoryId, e);
             return null;
@@ -359,21 +362,12 @@ public class EntityGraphService {
             return null;
         }
 
-        String escapedTerm = escapeCypherString(searchTerm);
-        String query = String.format(
-            "MATCH (e:Entity) " +
-            "WHERE e.tenantId = '%s' AND (e.name CONTAINS '%s' OR e.type CONTAINS '%s') " +
-            "RETURN e.id as id, e.name as name, e.type as type, e.sourceMemoryId as sourceMemoryId " +
-            "ORDER BY e.name " +
-            "LIMIT %d",
-            escapeCypherString(tenantId),
-            escapedTerm,
-            escapedTerm,
-            limit
-        );
-
         try {
-            return graph.query(query);
+            return graph.query(SEARCH_ENTITIES, Map.of(
+                "tenantId", tenantId,
+                "term", searchTerm != null ? searchTerm : "",
+                "limit", limit
+            ));
         } catch (Exception e) {
             log.error("Error searching entities: {}", searchTerm, e);
             return null;
@@ -394,19 +388,8 @@ public class EntityGraphService {
             return null;
         }
 
-        String query = String.format(
-            "MATCH (source:Entity)-[r]->(target:Entity) " +
-            "WHERE source.tenantId = '%s' " +
-            "RETURN source.id as sourceId, source.name as sourceName, source.type as sourceType, " +
-            "type(r) as relationshipType, " +
-            "target.id as targetId, target.name as targetName, target.type as targetType " +
-            "LIMIT %d",
-            escapeCypherString(tenantId),
-            limit
-        );
-
         try {
-            return graph.query(query);
+            return graph.query(KNOWLEDGE_GRAPH, Map.of("tenantId", tenantId, "limit", limit));
         } catch (Exception e) {
             log.error("Error getting knowledge graph for tenant {}", tenantId, e);
             return null;
@@ -436,15 +419,7 @@ public class EntityGraphService {
 
         try {
             // Get all entity nodes
-            String nodeQuery = String.format(
-                    "MATCH (e:Entity) WHERE e.tenantId = '%s' " +
-                            "RETURN e.id as id, e.name as name, e.type as type, e.sourceMemoryId as sourceMemoryId " +
-                            "LIMIT %d",
-                    escapeCypherString(tenantId),
-                    limit
-            );
-
-            ResultSet nodeResult = graph.query(nodeQuery);
+            ResultSet nodeResult = graph.query(KNOWLEDGE_GRAPH_NODES, Map.of("tenantId", tenantId, "limit", limit));
             for (var record : nodeResult) {
                 nodes.add(com.integraltech.brainsentry.dto.response.KnowledgeGraphResponse.EntityNode.builder()
                         .id((String) record.getValue("id"))
@@ -455,17 +430,7 @@ public class EntityGraphService {
             }
 
             // Get all relationship edges
-            String edgeQuery = String.format(
-                    "MATCH (source:Entity)-[r]->(target:Entity) " +
-                            "WHERE source.tenantId = '%s' AND NOT type(r) = 'MENTIONS' " +
-                            "RETURN source.id as sourceId, source.name as sourceName, " +
-                            "target.id as targetId, target.name as targetName, type(r) as type " +
-                            "LIMIT %d",
-                    escapeCypherString(tenantId),
-                    limit * 2
-            );
-
-            ResultSet edgeResult = graph.query(edgeQuery);
+            ResultSet edgeResult = graph.query(KNOWLEDGE_GRAPH_EDGES, Map.of("tenantId", tenantId, "limit", limit * 2));
             int edgeCount = 0;
             for (var record : edgeResult) {
                 String sourceId = (String) record.getValue("sourceId");
@@ -495,19 +460,19 @@ public class EntityGraphService {
     }
 
     /**
-     * Escape strings for Cypher queries.
+     * Append free-form properties as "key: $pN" pairs, binding the values as parameters.
+     * Keys are escaped identifiers since Cypher cannot parameterize property names.
      */
-    private String escapeCypherString(String input) {
-        if (input == null) {
-            return "";
+    private void appendPropertyParams(StringBuilder query, Map<String, Object> params, Map<String, String> properties) {
+        if (properties == null || properties.isEmpty()) {
+            return;
+        }
+        int i = 0;
+        for (Map.Entry<String, String> prop : new TreeMap<>(properties).entrySet()) {
+            String param = "p" + i++;
+            query.append(", ").append(escapeCypherIdentifier(prop.getKey())).append(": $").append(param);
+            params.put(param, prop.getValue() != null ? prop.getValue() : "");
         }
-        return input
-            .replace("\\", "\\\\")
-            .replace("'", "\\'")
-            .replace("\n", "\\n")
-            .replace("\r", "\\r")
-            .replace("\t", "\\t")
-            .replace("\u0000", "\\u0000");
     }
 
     /**
@@ -0,0 +1,35 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.dto.response.InterceptResponse;
+
+import java.util.List;
+
+/**
+ * Receives intermediate results of a prompt interception as the stages complete.
+ *
+ * Called on the thread running {@link InterceptionService#interceptAndEnhance},
+ * in this order: quick check, retrieved memories, retrieved notes, relevance
+ * verdict. Memories and notes are candidates: the returned
+ * {@link InterceptResponse} says whether they were actually injected.
+ * Stages that are skipped or miss the deadline are not reported.
+ */
+public interface InterceptionListener {
+
+    /**
+     * Listener that ignores every event; interception then skips the early retrieval wait.
+     */
+    InterceptionListener NONE = new InterceptionListener() {
+    };
+
+    default void onQuickCheck(boolean passed) {
+    }
+
+    default void onMemories(List<InterceptResponse.MemoryReference> memories) {
+    }
+
+    default void onNotes(List<InterceptResponse.NoteReference> notes) {
+    }
+
+    default void onRelevance(boolean needsContext, Double confidence, String reasoning) {
+    }
+}
@@ -1,18 +1,36 @@
 package com.integraltech.brainsentry.service;
 
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.config.TenantContext;
 import com.integraltech.brainsentry.domain.HindsightNote;
 import com.integraltech.brainsentry.domain.Memory;
 import com.integraltech.brainsentry.dto.request.InterceptRequest;
 import com.integraltech.brainsentry.dto.response.InterceptResponse;
-import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.service.context.ContextAssembler;
+import com.integraltech.brainsentry.service.keyword.KeywordClass;
+import com.integraltech.brainsentry.service.keyword.KeywordDictionary;
+import com.integraltech.brainsentry.service.relevance.RelevanceClassifier;
+import com.integraltech.brainsentry.service.retrieval.HybridRetriever;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Service for intercepting and enhancing prompts.
@@ -29,174 +47,259 @@ public class InterceptionService {
 
     private final OpenRouterService openRouterService;
     private final EmbeddingService embeddingService;
-    private final MemoryRepository memoryRepository;
+    private final HybridRetriever hybridRetriever;
     private final AuditService auditService;
     private final NoteRetrievalService noteRetrievalService;  // Confucius integration
-
-    // Quick check patterns for fast-path filtering
-    private static final List<Pattern> RELEVANCE_PATTERNS = List.of(
-        Pattern.compile(Pattern.quote("agent"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("service"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("repository"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("controller"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("component"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("class"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("create"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("implement"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("add"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("fix"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("bug"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("error"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("pattern"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("decision"), Pattern.CASE_INSENSITIVE),
-        Pattern.compile(Pattern.quote("use"), Pattern.CASE_INSENSITIVE)
-    );
+    private final InterceptionProperties properties;
+    private final KeywordDictionary keywordDictionary;
+    private final RelevanceClassifier relevanceClassifier;
+    private final UsageCounterService usageCounters;
+    private final ContextAssembler contextAssembler;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Stage names reported in InterceptResponse.stageTimingsMs, in pipeline order
+    private static final List<String> STAGES = List.of(
+        "quickCheck", "embedding", "classifier", "relevance", "memorySearch",
+        "hindsightNotes", "fallbackNotes", "format");
 
     /**
      * Intercept and enhance a prompt with relevant memory context.
      *
+     * After the quick check, the relevance verdict and context retrieval
+     * (embedding + hybrid memory search, hindsight notes, fallback notes) run
+     * concurrently on virtual threads, since retrieval does not depend on the
+     * verdict. The response is built from whatever has finished when the
+     * {@code brain-sentry.interception.deadline} expires; the rest is cancelled.
+     *
+     * The verdict comes from the tenant's local relevance classifier when it
+     * is confident, and from the LLM otherwise (or when no model is trained).
+     *
      * @param request the intercept request
      * @return the enhanced response
      */
     public InterceptResponse interceptAndEnhance(InterceptRequest request) {
-        long startTime = System.currentTimeMillis();
+        return interceptAndEnhance(request, InterceptionListener.NONE);
+    }
+
+    /**
+     * Intercept and enhance a prompt, reporting intermediate results.
+     *
+     * With a listener other than {@link InterceptionListener#NONE}, retrieved
+     * memories and notes are awaited and reported before the relevance
+     * verdict, so a client can show them while the verdict is still pending.
+     *
+     * @param request the intercept request
+     * @param listener receives the stage results as they become available
+     * @return the enhanced response
+     */
+    public InterceptResponse interceptAndEnhance(InterceptRequest request, InterceptionListener listener) {
+        long startNanos = System.nanoTime();
+        StageTimings timings = new StageTimings();
+        String prompt = request.getPrompt();
 
         log.debug("Intercepting prompt for session: {}", request.getSessionId());
 
-        // Step 1: Quick check (fast path)
-        if (!quickCheck(request.getPrompt()) && !Boolean.TRUE.equals(request.getForceDeepAnalysis())) {
-            long latency = System.currentTimeMillis() - startTime;
-            log.debug("Quick check failed - passing through ({}ms)", latency);
-            return InterceptResponse.builder()
-                .enhanced(false)
-                .originalPrompt(request.getPrompt())
-                .enhancedPrompt(request.getPrompt())
-                .contextInjected("")
-                .memoriesUsed(List.of())
-                .notesUsed(List.of())
-                .latencyMs((int) latency)
-                .reasoning("Quick check: No relevant keywords detected")
-                .confidence(0.0)
-                .tokensInjected(0)
-                .llmCalls(0)
-                .build();
-        }
+        String tenantId = request.getTenantId() != null ? request.getTenantId() : "default";
 
-        // Step 2: Deep analysis (LLM)
-        var relevance = openRouterService.analyzeRelevance(
-            request.getPrompt(),
-            request.getContext()
-        );
-
-        if (!relevance.isNeedsContext()) {
-            long latency = System.currentTimeMillis() - startTime;
-            log.debug("Relevance analysis: no context needed ({}ms)", latency);
-            return InterceptResponse.builder()
-                .enhanced(false)
-                .originalPrompt(request.getPrompt())
-                .enhancedPrompt(request.getPrompt())
-                .contextInjected("")
-                .memoriesUsed(List.of())
-                .notesUsed(List.of())
-                .latencyMs((int) latency)
-                .reasoning(relevance.getReasoning())
-                .confidence(relevance.getConfidence())
-                .tokensInjected(0)
-                .llmCalls(1)
-                .build();
+        // Step 1: Quick check (fast path); one keyword scan also classifies error keywords
+        long keywords = timings.time("quickCheck", () -> keywordDictionary.match(tenantId, prompt));
+        boolean quickCheckPassed = quickCheck(prompt, keywords);
+        listener.onQuickCheck(quickCheckPassed);
+        if (!quickCheckPassed && !Boolean.TRUE.equals(request.getForceDeepAnalysis())) {
+            log.debug("Quick check failed - passing through ({}ms)", elapsedMs(startNanos));
+            return passThrough(request, "Quick check: No relevant keywords detected", 0.0, 0,
+                startNanos, timings, false);
         }
 
-        // Step 3: Search relevant memories
-        String tenantId = request.getTenantId() != null ? request.getTenantId() : "default";
-        float[] embedding = embeddingService.embed(request.getPrompt());
-        List<Memory> memories = memoryRepository.vectorSearch(
-            embedding,
-            5,  // top 5 memories
-            tenantId
-        );
-
-        // Filter by importance (only CRITICAL and IMPORTANT)
-        memories = memories.stream()
-            .filter(m -> m.getImportance().name().equals("CRITICAL") ||
-                         m.getImportance().name().equals("IMPORTANT"))
-            .limit(3)
-            .toList();
+        // Step 2: Relevance gate (classifier, LLM when uncertain) and retrieval, in parallel
+        long deadlineNanos = startNanos + properties.getDeadline().toNanos();
+        String callerTenant = TenantContext.getTenantId();
+        AtomicInteger llmCalls = new AtomicInteger();
+
+        // Shared by the classifier and the vector search
+        Future<float[]> embeddingStage = fork(callerTenant,
+            () -> timings.time("embedding", () -> embeddingService.embed(prompt)));
+        Future<OpenRouterService.RelevanceAnalysis> relevanceStage = fork(callerTenant,
+            () -> analyzeRelevance(request, keywords, embeddingStage, timings, llmCalls));
+        Future<List<Memory>> memoryStage = fork(callerTenant,
+            () -> searchMemories(prompt, embeddingStage, tenantId, timings));
+        // Error keywords trigger a hindsight note search (Confucius spec integration)
+        Future<List<HindsightNote>> hindsightStage = KeywordClass.ERROR.in(keywords)
+            ? fork(callerTenant, () -> timings.time("hindsightNotes",
+                () -> noteRetrievalService.searchHindsightNotes(prompt, KeywordClass.errorType(keywords), tenantId)))
+            : null;
+        // Only needed when memories or hindsight notes come back empty, so started speculatively
+        Future<List<HindsightNote>> fallbackStage = fork(callerTenant,
+            () -> timings.time("fallbackNotes", () -> noteRetrievalService.getRelevantNotes(prompt, tenantId, 3)));
+
+        OpenRouterService.RelevanceAnalysis relevance;
+        RetrievedContext retrieved = null;
+        boolean deadlineExceeded;
+        try {
+            if (listener != InterceptionListener.NONE) {
+                // Streaming clients get the candidate context before the verdict
+                retrieved = awaitContext(memoryStage, hindsightStage, fallbackStage, deadlineNanos, listener);
+            }
 
-        // Step 3.5: Search relevant notes (Confucius spec integration)
-        List<HindsightNote> hindsightNotes = new ArrayList<>();
-
-        // If prompt contains error keywords, search for matching hindsight notes
-        if (containsErrorKeywords(request.getPrompt())) {
-            hindsightNotes = noteRetrievalService.searchHindsightNotes(
-                request.getPrompt(),
-                extractErrorType(request.getPrompt()),
-                tenantId
-            );
-            // Record access for retrieved notes
-            hindsightNotes.forEach(note -> noteRetrievalService.recordNoteAccess(note.getId()));
-        }
+            relevance = await(relevanceStage, deadlineNanos);
+            if (relevance != null) {
+                listener.onRelevance(relevance.isNeedsContext(), relevance.getConfidence(), relevance.getReasoning());
+            }
+            if (relevance != null && !relevance.isNeedsContext()) {
+                log.debug("Relevance analysis: no context needed ({}ms)", elapsedMs(startNanos));
+                return passThrough(request, relevance.getReasoning(), relevance.getConfidence(), llmCalls.get(),
+                    startNanos, timings, false);
+            }
 
-        // Get relevant notes by query (fallback if no memories or no error notes)
-        if (memories.isEmpty() || hindsightNotes.isEmpty()) {
-            // Fall back to semantic note search
-            List<HindsightNote> fallbackNotes = noteRetrievalService.getRelevantNotes(
-                request.getPrompt(),
-                tenantId,
-                3
-            );
-            // Add unique notes to hindsightNotes
-            for (HindsightNote note : fallbackNotes) {
-                if (!hindsightNotes.contains(note)) {
-                    hindsightNotes.add(note);
-                }
+            if (retrieved == null) {
+                retrieved = awaitContext(memoryStage, hindsightStage, fallbackStage, deadlineNanos, listener);
             }
+            deadlineExceeded = !relevanceStage.isDone() || retrieved.deadlineExceeded();
+        } finally {
+            // No-op for finished stages; interrupts the ones still running
+            relevanceStage.cancel(true);
+            embeddingStage.cancel(true);
+            memoryStage.cancel(true);
+            fallbackStage.cancel(true);
+            if (hindsightStage != null) {
+                hindsightStage.cancel(true);
+            }
+        }
+
+        if (deadlineExceeded) {
+            log.debug("Interception deadline of {}ms expired, using completed stages", properties.getDeadline().toMillis());
         }
+        Double confidence = relevance != null ? relevance.getConfidence() : null;
+
+        // Record access for retrieved hindsight notes
+        retrieved.errorNotes().forEach(note -> noteRetrievalService.recordNoteAccess(note.getId()));
 
         // Check if we have any relevant context (memories OR notes)
-        boolean hasMemories = !memories.isEmpty();
-        boolean hasNotes = !hindsightNotes.isEmpty();
-
-        if (!hasMemories && !hasNotes) {
-            long latency = System.currentTimeMillis() - startTime;
-            log.debug("No relevant memories or notes found ({}ms)", latency);
-            return InterceptResponse.builder()
-                .enhanced(false)
-                .originalPrompt(request.getPrompt())
-                .enhancedPrompt(request.getPrompt())
-                .contextInjected("")
-                .memoriesUsed(List.of())
-                .notesUsed(List.of())
-                .latencyMs((int) latency)
-                .reasoning("No relevant memories or notes found")
-                .confidence(relevance.getConfidence())
-                .tokensInjected(0)
-                .llmCalls(1)
-                .build();
+        List<Memory> memoryCandidates = retrieved.memories();
+        List<HindsightNote> noteCandidates = retrieved.notes();
+        if (memoryCandidates.isEmpty() && noteCandidates.isEmpty()) {
+            log.debug("No relevant memories or notes found ({}ms)", elapsedMs(startNanos));
+            return passThrough(request, "No relevant memories or notes found", confidence, llmCalls.get(),
+                startNanos, timings, deadlineExceeded);
+        }
+
+        // Step 3: Pack memories and notes into the token budget and inject the context
+        int budget = contextBudget(request);
+        ContextAssembler.Assembly assembly = timings.time("format",
+            () -> contextAssembler.assemble(memoryCandidates, noteCandidates, budget));
+        if (assembly.isEmpty()) {
+            log.debug("No memory or note fits the context budget of {} tokens", budget);
+            return passThrough(request, "No relevant context fits the budget of " + budget + " tokens",
+                confidence, llmCalls.get(), startNanos, timings, deadlineExceeded);
+        }
+        List<Memory> memories = assembly.memories();
+        List<HindsightNote> hindsightNotes = assembly.notes();
+        String context = assembly.context();
+        String enhancedPrompt = injectContext(prompt, context);
+        int tokens = assembly.tokens();
+
+        List<InterceptResponse.MemoryReference> memoryRefs = memoryReferences(memories);
+        List<InterceptResponse.NoteReference> noteRefs = noteReferences(hindsightNotes);
+
+        // Count the injections; written in the next usage counter flush
+        if (!memories.isEmpty()) {
+            memories.stream()
+                .collect(Collectors.groupingBy(m -> m.getTenantId() != null ? m.getTenantId() : tenantId,
+                    Collectors.mapping(Memory::getId, Collectors.toList())))
+                .forEach(usageCounters::recordMemoryInjections);
         }
 
-        // Step 4: Format and inject context (with notes support)
-        String context = formatContextWithNotes(memories, hindsightNotes);
-        String enhancedPrompt = injectContext(request.getPrompt(), context);
+        long latency = elapsedMs(startNanos);
+        log.info("Enhanced prompt with {} memories and {} notes ({}ms, {} tokens)",
+            memories.size(), hindsightNotes.size(), latency, tokens);
+
+        // Audit log, tagged with the gate that let the prompt through
+        String relevanceSource = relevance == null ? AuditService.RELEVANCE_NONE
+            : relevance.isCached() ? AuditService.RELEVANCE_CACHE
+            : llmCalls.get() > 0 ? AuditService.RELEVANCE_LLM : AuditService.RELEVANCE_CLASSIFIER;
+        auditService.logInterception(request, memories, latency, relevanceSource, llmCalls.get());
+
+        return InterceptResponse.builder()
+            .enhanced(true)
+            .originalPrompt(prompt)
+            .enhancedPrompt(enhancedPrompt)
+            .contextInjected(context)
+            .memoriesUsed(memoryRefs)
+            .notesUsed(noteRefs)
+            .latencyMs((int) latency)
+            .reasoning("Found " + memories.size() + " memories and " +
+                hindsightNotes.size() + " notes" +
+                (relevance == null ? " (relevance analysis did not finish in time)" : ""))
+            .confidence(confidence)
+            .tokensInjected(tokens)
+            .llmCalls(llmCalls.get())
+            .stageTimingsMs(timings.snapshot())
+            .deadlineExceeded(deadlineExceeded)
+            .build();
+    }
 
-        long latency = System.currentTimeMillis() - startTime;
-        int tokens = estimateTokens(context);
+    /**
+     * Memories and notes retrieved for a prompt.
+     *
+     * @param errorNotes hindsight notes found for the prompt's error keywords
+     * @param notes error notes plus fallback notes, as injected
+     * @param deadlineExceeded whether a needed retrieval stage missed the deadline
+     */
+    private record RetrievedContext(List<Memory> memories, List<HindsightNote> errorNotes,
+                                    List<HindsightNote> notes, boolean deadlineExceeded) {
+    }
+
+    /**
+     * Wait for the retrieval stages and report their results to the listener.
+     * The fallback notes are only used when memories or error notes came back empty.
+     */
+    private RetrievedContext awaitContext(Future<List<Memory>> memoryStage,
+                                          Future<List<HindsightNote>> hindsightStage,
+                                          Future<List<HindsightNote>> fallbackStage,
+                                          long deadlineNanos, InterceptionListener listener) {
+        List<Memory> memories = orEmpty(await(memoryStage, deadlineNanos));
+        if (memoryStage.isDone()) {
+            listener.onMemories(memoryReferences(memories));
+        }
+
+        List<HindsightNote> errorNotes = orEmpty(await(hindsightStage, deadlineNanos));
+        List<HindsightNote> notes = new ArrayList<>(errorNotes);
+        boolean fallbackNeeded = memories.isEmpty() || notes.isEmpty();
+        if (fallbackNeeded) {
+            for (HindsightNote note : orEmpty(await(fallbackStage, deadlineNanos))) {
+                if (!notes.contains(note)) {
+                    notes.add(note);
+                }
+            }
+        }
+        if (!notes.isEmpty()) {
+            listener.onNotes(noteReferences(notes));
+        }
+
+        boolean deadlineExceeded = !memoryStage.isDone()
+            || (hindsightStage != null && !hindsightStage.isDone())
+            || (fallbackNeeded && !fallbackStage.isDone());
+        return new RetrievedContext(memories, errorNotes, notes, deadlineExceeded);
+    }
 
-        // Build memory references
-        List<InterceptResponse.MemoryReference> memoryRefs = memories.stream()
+    private static List<InterceptResponse.MemoryReference> memoryReferences(List<Memory> memories) {
+        return memories.stream()
             .map(m -> InterceptResponse.MemoryReference.builder()
                 .id(m.getId())
                 .summary(m.getSummary())
                 .category(m.getCategory().name())
                 .importance(m.getImportance().name())
                 .relevanceScore(m.getRelevanceScore())
-                .excerpt(m.getContent().length() > 100 ?
+                .excerpt(m.getContent() != null && m.getContent().length() > 100 ?
                     m.getContent().substring(0, 100) + "..." : m.getContent())
                 .build())
             .toList();
+    }
 
-        // Build note references (Confucius integration)
+    // Confucius integration
+    private static List<InterceptResponse.NoteReference> noteReferences(List<HindsightNote> notes) {
         List<InterceptResponse.NoteReference> noteRefs = new ArrayList<>();
-        for (HindsightNote note : hindsightNotes) {
+        for (HindsightNote note : notes) {
             noteRefs.add(InterceptResponse.NoteReference.builder()
                 .id(note.getId())
                 .title(note.getTitle() != null ? note.getTitle() : note.getErrorType())
@@ -206,151 +309,192 @@ public class InterceptionService {
                     note.getResolution().substring(0, 100) + "..." : note.getResolution())
                 .build());
         }
+        return noteRefs;
+    }
 
-        // Update injection counts for memories
-        memories.forEach(m -> {
-            m.setInjectionCount(m.getInjectionCount() + 1);
-            m.setLastAccessedAt(Instant.now());
-            memoryRepository.save(m);
-        });
+    /**
+     * Decide whether the prompt needs context.
+     *
+     * The classifier's verdict is used when it falls outside the uncertainty
+     * band; otherwise, or without an active model, the LLM is asked and its
+     * verdict is audited as a training label for the next model version.
+     * Classifier and cached verdicts are audited too, marked so they never
+     * become labels.
+     */
+    private OpenRouterService.RelevanceAnalysis analyzeRelevance(InterceptRequest request, long keywords,
+                                                                 Future<float[]> embeddingStage,
+                                                                 StageTimings timings, AtomicInteger llmCalls)
+            throws InterruptedException {
+        RelevanceClassifier.Model model = relevanceClassifier.activeModel();
+        if (model != null) {
+            try {
+                float[] embedding = embeddingStage.get();
+                boolean hasContext = request.getContext() != null && !request.getContext().isEmpty();
+                RelevanceClassifier.Verdict verdict = timings.time("classifier",
+                    () -> model.classify(embedding, keywords, hasContext, request.getPrompt().length()));
+                relevanceClassifier.record(verdict);
+                if (verdict.isDecided()) {
+                    double p = verdict.probability();
+                    OpenRouterService.RelevanceAnalysis analysis = new OpenRouterService.RelevanceAnalysis(
+                        verdict.decision() == RelevanceClassifier.Decision.RELEVANT,
+                        String.format("Relevance classifier v%d (p=%.2f)", verdict.version(), p),
+                        Math.max(p, 1 - p));
+                    auditService.logRelevanceVerdict(request, analysis.isNeedsContext(), analysis.getConfidence(),
+                        analysis.getReasoning(), AuditService.RELEVANCE_CLASSIFIER);
+                    return analysis;
+                }
+            } catch (ExecutionException e) {
+                log.debug("Prompt embedding failed, asking the LLM: {}", e.getCause().getMessage());
+            }
+        }
 
-        log.info("Enhanced prompt with {} memories and {} notes ({}ms, {} tokens)",
-            memories.size(), hindsightNotes.size(), latency, tokens);
+        // Counted up front so a call still running at the deadline is audited
+        llmCalls.incrementAndGet();
+        OpenRouterService.RelevanceAnalysis analysis = timings.time("relevance",
+            () -> openRouterService.analyzeRelevance(request.getPrompt(), request.getContext()));
+        if (analysis.isCached()) {
+            // No request was sent, and a repeated prompt is not a new training label
+            llmCalls.decrementAndGet();
+            auditService.logRelevanceVerdict(request, analysis.isNeedsContext(), analysis.getConfidence(),
+                analysis.getReasoning(), AuditService.RELEVANCE_CACHE);
+        } else if (!analysis.isFailed()) {
+            auditService.logRelevanceVerdict(request, analysis.isNeedsContext(), analysis.getConfidence(),
+                analysis.getReasoning(), AuditService.RELEVANCE_LLM);
+        }
+        return analysis;
+    }
+
+    /**
+     * Search for the top memories with hybrid retrieval (vector, full-text and
+     * graph neighbourhood), keeping only CRITICAL and IMPORTANT ones.
+     */
+    private List<Memory> searchMemories(String prompt, Future<float[]> embeddingStage, String tenantId,
+                                        StageTimings timings) {
+        List<HybridRetriever.ScoredMemory> scored = timings.time("memorySearch",
+            () -> hybridRetriever.retrieve(prompt, embeddingStage::get, 5, tenantId));  // top 5 memories
 
-        // Audit log
-        auditService.logInterception(request, memories, latency);
+        return scored.stream()
+            .map(HybridRetriever.ScoredMemory::memory)
+            .filter(m -> m.getImportance().name().equals("CRITICAL") ||
+                         m.getImportance().name().equals("IMPORTANT"))
+            .limit(3)
+            .toList();
+    }
 
+    /**
+     * Build the response for a prompt that is passed through unchanged.
+     */
+    private InterceptResponse passThrough(InterceptRequest request, String reasoning, Double confidence,
+                                          int llmCalls, long startNanos, StageTimings timings,
+                                          boolean deadlineExceeded) {
         return InterceptResponse.builder()
-            .enhanced(true)
+            .enhanced(false)
             .originalPrompt(request.getPrompt())
-            .enhancedPrompt(enhancedPrompt)
-            .contextInjected(context)
-            .memoriesUsed(memoryRefs)
-            .notesUsed(noteRefs)
-            .latencyMs((int) latency)
-            .reasoning("Found " + memories.size() + " memories and " +
-                hindsightNotes.size() + " notes")
-            .confidence(relevance.getConfidence())
-            .tokensInjected(tokens)
-            .llmCalls(1)
+            .enhancedPrompt(request.getPrompt())
+            .contextInjected("")
+            .memoriesUsed(List.of())
+            .notesUsed(List.of())
+            .latencyMs((int) elapsedMs(startNanos))
+            .reasoning(reasoning)
+            .confidence(confidence)
+            .tokensInjected(0)
+            .llmCalls(llmCalls)
+            .stageTimingsMs(timings.snapshot())
+            .deadlineExceeded(deadlineExceeded)
             .build();
     }
 
     /**
-     * Quick regex-based check for potential relevance.
+     * Run a pipeline stage on a virtual thread as the calling tenant.
+     */
+    private <T> Future<T> fork(String tenantId, Callable<T> stage) {
+        return executor.submit(() -> {
+            TenantContext.setTenantId(tenantId);
+            try {
+                return stage.call();
+            } finally {
+                TenantContext.clear();
+            }
+        });
+    }
+
+    /**
+     * Wait for a stage until the deadline.
      *
-     * @param prompt the prompt to check
-     * @return true if prompt might be relevant
+     * @return the stage result, or null if it failed or is still running
      */
-    private boolean quickCheck(String prompt) {
-        if (prompt == null || prompt.length() < 10) {
-            return false;
+    private <T> T await(Future<T> stage, long deadlineNanos) {
+        if (stage == null) {
+            return null;
+        }
+        try {
+            return stage.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Interception stage failed: {}", e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : List.of();
+    }
 
-        return RELEVANCE_PATTERNS.stream()
-            .anyMatch(pattern -> pattern.matcher(prompt).find());
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
     }
 
     /**
-     * Format memories and notes into a context block.
-     * Confucius spec integration: includes notes alongside memories.
-     *
-     * @param memories list of memories
-     * @param hindsightNotes list of hindsight notes
-     * @return formatted context string
+     * Wall-clock time of each completed pipeline stage.
+     * Written from the stage threads; stages that never finish are absent.
      */
-    private String formatContextWithNotes(List<Memory> memories,
-                                          List<HindsightNote> hindsightNotes) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("<system_context>\n");
-        sb.append("The following relevant patterns and decisions were found:\n\n");
-
-        // Format memories
-        for (int i = 0; i < memories.size(); i++) {
-            Memory m = memories.get(i);
-            sb.append(String.format("[%d] %s - %s\n",
-                i + 1,
-                m.getImportance().getDisplayName(),
-                m.getCategory().getDisplayName()));
-            sb.append(String.format("    %s\n", m.getSummary()));
-            if (m.getCodeExample() != null && !m.getCodeExample().isEmpty()) {
-                sb.append("    Code:\n");
-                sb.append("    ```").append(m.getProgrammingLanguage() != null ?
-                    m.getProgrammingLanguage() : "java").append("\n");
-                sb.append("    ").append(m.getCodeExample().replace("\n", "\n    "));
-                sb.append("\n    ```\n");
-            }
-            sb.append("\n");
+    private static final class StageTimings {
+
+        private final Map<String, Long> millis = new ConcurrentHashMap<>();
+
+        <T> T time(String stage, Supplier<T> work) {
+            long start = System.nanoTime();
+            T result = work.get();
+            millis.put(stage, (System.nanoTime() - start) / 1_000_000);
+            return result;
         }
 
-        // Format hindsight notes (Confucius feature)
-        if (!hindsightNotes.isEmpty()) {
-            sb.append("## Past Learnings (Hindsight Notes)\n\n");
-            for (HindsightNote note : hindsightNotes) {
-                sb.append(String.format("- [%s] %s: %s\n",
-                    note.getSeverity().name(),
-                    note.getTitle() != null ? note.getTitle() : note.getErrorType(),
-                    note.getResolution() != null ? note.getResolution() : "No resolution available"));
-                if (note.getLessonsLearned() != null) {
-                    sb.append(String.format("  Lesson: %s\n",
-                        note.getLessonsLearned().length() > 100 ?
-                            note.getLessonsLearned().substring(0, 100) + "..." : note.getLessonsLearned()));
+        Map<String, Long> snapshot() {
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            for (String stage : STAGES) {
+                Long ms = millis.get(stage);
+                if (ms != null) {
+                    ordered.put(stage, ms);
                 }
-                sb.append("\n");
             }
+            return ordered;
         }
+    }
 
-        sb.append("</system_context>\n");
-        return sb.toString();
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
 
     /**
-     * Check if prompt contains error-related keywords.
-     * Used to trigger hindsight note retrieval.
+     * Quick keyword check for potential relevance.
      *
      * @param prompt the prompt to check
-     * @return true if error keywords detected
+     * @return true if prompt might be relevant
      */
-    private boolean containsErrorKeywords(String prompt) {
-        if (prompt == null) {
-            return false;
-        }
-        String lower = prompt.toLowerCase();
-        return lower.contains("error") ||
-               lower.contains("exception") ||
-               lower.contains("failed") ||
-               lower.contains("failure") ||
-               lower.contains("bug") ||
-               lower.contains("issue") ||
-               lower.contains("nullpointer") ||
-               lower.contains("runtime") ||
-               lower.contains("timeout");
+    boolean quickCheck(String prompt) {
+        return quickCheck(prompt, keywordDictionary.match(null, prompt));
     }
 
-    /**
-     * Extract error type from prompt.
-     * Simplified extraction - in production use NLP.
-     *
-     * @param prompt the prompt to analyze
-     * @return extracted error type or "UNKNOWN"
-     */
-    private String extractErrorType(String prompt) {
-        if (prompt == null) {
-            return "UNKNOWN";
-        }
-        String lower = prompt.toLowerCase();
-        if (lower.contains("nullpointer") || lower.contains("null pointer")) {
-            return "NullPointerException";
-        } else if (lower.contains("timeout")) {
-            return "TimeoutException";
-        } else if (lower.contains("sql") || lower.contains("database")) {
-            return "SQLException";
-        } else if (lower.contains("io")) {
-            return "IOException";
-        } else if (lower.contains("runtime")) {
-            return "RuntimeException";
+    private boolean quickCheck(String prompt, long keywords) {
+        if (prompt == null || prompt.length() < 10) {
+            return false;
         }
-        return "UNKNOWN";
+        return KeywordClass.RELEVANCE.in(keywords);
     }
 
     /**
@@ -365,13 +509,13 @@ public class InterceptionService {
     }
 
     /**
-     * Estimate token count (rough approximation).
-     *
-     * @param text the text to measure
-     * @return estimated token count
+     * Token budget of the injected context: the request's maxTokens, capped
+     * by {@code brain-sentry.interception.max-context-tokens}.
      */
-    private int estimateTokens(String text) {
-        // Rough estimate: ~4 characters per token
-        return (int) Math.ceil(text.length() / 4.0);
+    private int contextBudget(InterceptRequest request) {
+        Integer requested = request.getMaxTokens();
+        return requested != null && requested > 0
+            ? Math.min(requested, properties.getMaxContextTokens())
+            : properties.getMaxContextTokens();
     }
 }
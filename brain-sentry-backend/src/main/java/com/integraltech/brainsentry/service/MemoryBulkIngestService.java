@@ -0,0 +1,305 @@
+package com.integraltech.brainsentry.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.integraltech.brainsentry.config.BulkIngestProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.domain.enums.PendingEnrichment;
+import com.integraltech.brainsentry.domain.enums.ValidationStatus;
+import com.integraltech.brainsentry.dto.request.CreateMemoryRequest;
+import com.integraltech.brainsentry.dto.response.BulkIngestEvent;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk ingestion of memories from NDJSON.
+ *
+ * Each line is a {@link CreateMemoryRequest}. Lines are read and processed
+ * in batches of {@code brain-sentry.bulk-ingest.batch-size}:
+ * - one batched embedding call per batch
+ * - one JDBC-batched insert transaction per batch (persist, not merge)
+ * - one KV transaction plus one UNWIND graph statement per batch
+ *
+ * LLM work (classification when category/importance are missing, entity
+ * extraction, relationship detection) is handed to {@link MemoryEnrichmentQueue}
+ * instead of running inline. Only the current batch is held in memory.
+ */
+@Slf4j
+@Service
+public class MemoryBulkIngestService {
+
+    // readLine() results
+    private static final int EOF = -1;
+    private static final int OK = 0;
+    private static final int TOO_LONG = 1;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final MemoryRepository memoryGraphRepo;
+    private final EmbeddingService embeddingService;
+    private final MemoryEnrichmentQueue enrichmentQueue;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final BulkIngestProperties properties;
+
+    public MemoryBulkIngestService(EntityManager entityManager,
+                                   TransactionTemplate transactionTemplate,
+                                   MemoryRepository memoryGraphRepo,
+                                   EmbeddingService embeddingService,
+                                   MemoryEnrichmentQueue enrichmentQueue,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   BulkIngestProperties properties) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.memoryGraphRepo = memoryGraphRepo;
+        this.embeddingService = embeddingService;
+        this.enrichmentQueue = enrichmentQueue;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(CreateMemoryRequest.class);
+        this.properties = properties;
+    }
+
+    /**
+     * A parsed line waiting for its batch to be flushed.
+     */
+    private record Item(long line, CreateMemoryRequest request) {
+    }
+
+    /**
+     * Running totals for one upload.
+     */
+    private static final class Progress {
+        final long startNanos = System.nanoTime();
+        long processed;
+        long succeeded;
+        long failed;
+        long enrichmentQueued;
+
+        BulkIngestEvent event(String type) {
+            return BulkIngestEvent.builder()
+                .type(type)
+                .processed(processed)
+                .succeeded(succeeded)
+                .failed(failed)
+                .enrichmentQueued(enrichmentQueued)
+                .elapsedMs((System.nanoTime() - startNanos) / 1_000_000)
+                .build();
+        }
+    }
+
+    /**
+     * Ingest an NDJSON stream of memories for the current tenant.
+     *
+     * @param input NDJSON, one CreateMemoryRequest per line
+     * @param listener receives a progress event per batch, an error event per
+     *                 rejected line and a final complete event
+     * @return the final complete event
+     * @throws IOException if reading the input fails
+     */
+    public BulkIngestEvent ingest(Reader input, Consumer<BulkIngestEvent> listener) throws IOException {
+        String tenantId = TenantContext.getTenantId();
+        int batchSize = Math.max(1, properties.getBatchSize());
+        log.info("Starting bulk ingest for tenant: {}, batch size: {}", tenantId, batchSize);
+
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input);
+        Progress progress = new Progress();
+        List<Item> batch = new ArrayList<>(batchSize);
+        StringBuilder line = new StringBuilder();
+        long lineNumber = 0;
+
+        int status;
+        while ((status = readLine(reader, line, properties.getMaxLineChars())) != EOF) {
+            lineNumber++;
+            if (status == TOO_LONG) {
+                progress.processed++;
+                reject(progress, listener, lineNumber, "Line exceeds " + properties.getMaxLineChars() + " characters");
+                continue;
+            }
+            if (line.toString().isBlank()) {
+                continue;
+            }
+            progress.processed++;
+
+            Item item = parse(lineNumber, line.toString(), tenantId, progress, listener);
+            if (item != null) {
+                batch.add(item);
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, tenantId, progress, listener);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, tenantId, progress, listener);
+        }
+
+        BulkIngestEvent complete = progress.event(BulkIngestEvent.COMPLETE);
+        listener.accept(complete);
+        log.info("Bulk ingest complete for tenant: {} - {} succeeded, {} failed in {} ms",
+            tenantId, progress.succeeded, progress.failed, complete.getElapsedMs());
+        return complete;
+    }
+
+    private Item parse(long lineNumber, String json, String tenantId,
+                       Progress progress, Consumer<BulkIngestEvent> listener) {
+        CreateMemoryRequest request;
+        try {
+            request = requestReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            reject(progress, listener, lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+            return null;
+        }
+        if (request == null) {
+            reject(progress, listener, lineNumber, "Expected a JSON object");
+            return null;
+        }
+
+        Set<ConstraintViolation<CreateMemoryRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            reject(progress, listener, lineNumber, violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+            return null;
+        }
+        if (request.getTenantId() != null && !request.getTenantId().equals(tenantId)) {
+            reject(progress, listener, lineNumber, "tenantId does not match the request tenant");
+            return null;
+        }
+        return new Item(lineNumber, request);
+    }
+
+    private void flush(List<Item> batch, String tenantId, Progress progress, Consumer<BulkIngestEvent> listener) {
+        List<Memory> memories;
+        try {
+            List<float[]> embeddings = embeddingService.embedBatch(
+                batch.stream().map(item -> item.request().getContent()).toList());
+
+            Instant now = Instant.now();
+            memories = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                memories.add(toMemory(batch.get(i).request(), embeddings.get(i), tenantId, now));
+            }
+
+            // persist() keeps inserts batched (merge() would SELECT each assigned id first);
+            // clearing afterwards keeps the persistence context from growing across batches
+            transactionTemplate.executeWithoutResult(status -> {
+                memories.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (Exception e) {
+            log.warn("Bulk ingest batch of {} failed: {}", batch.size(), e.getMessage());
+            batch.forEach(item -> reject(progress, listener, item.line(), "Batch failed: " + e.getMessage()));
+            return;
+        }
+
+        // PostgreSQL is the system of record; graph failures are queued for resync by the repository
+        try {
+            memoryGraphRepo.saveAll(memories);
+        } catch (Exception e) {
+            log.warn("Graph save failed for bulk batch of {}: {}", memories.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            CreateMemoryRequest request = batch.get(i).request();
+            if (enrichmentQueue.submit(memories.get(i).getId(), tenantId,
+                    request.getCategory() == null, request.getImportance() == null)) {
+                progress.enrichmentQueued++;
+            }
+        }
+
+        progress.succeeded += memories.size();
+        BulkIngestEvent event = progress.event(BulkIngestEvent.PROGRESS);
+        event.setMemoryIds(memories.stream().map(Memory::getId).toList());
+        listener.accept(event);
+    }
+
+    private Memory toMemory(CreateMemoryRequest request, float[] embedding, String tenantId, Instant now) {
+        return Memory.builder()
+            .id(generateMemoryId())
+            .content(request.getContent())
+            .summary(request.getSummary())
+            .category(request.getCategory() != null ? request.getCategory() : MemoryCategory.PATTERN)
+            .importance(request.getImportance() != null ? request.getImportance() : ImportanceLevel.MINOR)
+            .tags(request.getTags())
+            .metadata(request.getMetadata())
+            .sourceType(request.getSourceType())
+            .sourceReference(request.getSourceReference())
+            .createdBy(request.getCreatedBy())
+            .tenantId(tenantId)
+            .embedding(embedding)
+            .codeExample(request.getCodeExample())
+            .programmingLanguage(request.getProgrammingLanguage())
+            .pendingEnrichment(PendingEnrichment.of(request.getCategory() == null, request.getImportance() == null))
+            .validationStatus(ValidationStatus.PENDING)
+            .version(1)
+            .accessCount(0)
+            .injectionCount(0)
+            .helpfulCount(0)
+            .notHelpfulCount(0)
+            .createdAt(now)
+            .build();
+    }
+
+    private void reject(Progress progress, Consumer<BulkIngestEvent> listener, long line, String error) {
+        progress.failed++;
+        listener.accept(BulkIngestEvent.builder()
+            .type(BulkIngestEvent.ERROR)
+            .line(line)
+            .error(error)
+            .build());
+    }
+
+    /**
+     * Read one line into {@code line} without buffering more than {@code maxChars};
+     * the rest of an over-long line is skipped.
+     */
+    static int readLine(BufferedReader reader, StringBuilder line, int maxChars) throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                return tooLong ? TOO_LONG : OK;
+            }
+            if (c == '\r') {
+                continue;
+            }
+            if (line.length() < maxChars) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (tooLong) {
+            return TOO_LONG;
+        }
+        return line.isEmpty() ? EOF : OK;
+    }
+
+    private String generateMemoryId() {
+        return "mem_" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+}
@@ -0,0 +1,281 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.BulkIngestProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.domain.enums.PendingEnrichment;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded background queue for the LLM steps of memory creation.
+ *
+ * Bulk ingestion stores memories with default classification first and
+ * hands them here; a small pool of workers then runs importance analysis,
+ * entity extraction and relationship detection at the LLM's pace.
+ * When the queue stays full for the configured offer timeout, {@link #submit}
+ * enriches the memory on the caller's thread instead, so a fast producer is
+ * slowed down to the LLM's pace rather than losing enrichments.
+ *
+ * Bulk ingestion also marks each memory with {@link Memory#getPendingEnrichment()};
+ * the marker is cleared once the memory was enriched, and marked memories
+ * are queued again on start, so tasks still queued at shutdown are not lost.
+ */
+@Slf4j
+@Component
+public class MemoryEnrichmentQueue {
+
+    /**
+     * A memory waiting for enrichment; the flags mark which fields were
+     * defaulted at ingest time and should come from LLM analysis.
+     */
+    record Task(String memoryId, String tenantId, boolean classifyCategory, boolean classifyImportance) {
+
+        boolean classify() {
+            return classifyCategory || classifyImportance;
+        }
+    }
+
+    private final MemoryJpaRepository memoryJpaRepo;
+    private final MemoryRepository memoryGraphRepo;
+    private final OpenRouterService openRouterService;
+    private final EntityGraphService entityGraphService;    // May be null if feature disabled
+    private final RelationshipService relationshipService;  // May be null if feature disabled
+    private final TransactionTemplate transactionTemplate;
+    private final BulkIngestProperties.Enrichment config;
+    private final BlockingQueue<Task> queue;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile boolean running;
+
+    public MemoryEnrichmentQueue(MemoryJpaRepository memoryJpaRepo,
+                                 MemoryRepository memoryGraphRepo,
+                                 OpenRouterService openRouterService,
+                                 TransactionTemplate transactionTemplate,
+                                 BulkIngestProperties properties,
+                                 @Autowired(required = false) EntityGraphService entityGraphService,
+                                 @Autowired(required = false) RelationshipService relationshipService) {
+        this.memoryJpaRepo = memoryJpaRepo;
+        this.memoryGraphRepo = memoryGraphRepo;
+        this.openRouterService = openRouterService;
+        this.transactionTemplate = transactionTemplate;
+        this.config = properties.getEnrichment();
+        this.entityGraphService = entityGraphService;
+        this.relationshipService = relationshipService;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity()));
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, config.getWorkers()); i++) {
+            workers.execute(this::runWorker);
+        }
+        workers.execute(this::requeuePending);
+        log.info("Memory enrichment queue started with {} workers", config.getWorkers());
+    }
+
+    /**
+     * Queue the memories whose enrichment was still pending when the
+     * application last stopped.
+     */
+    void requeuePending() {
+        List<MemoryJpaRepository.PendingEnrichmentRow> rows;
+        try {
+            rows = memoryJpaRepo.findPendingEnrichments();
+        } catch (Exception e) {
+            log.warn("Could not load pending memory enrichments: {}", e.getMessage());
+            return;
+        }
+        int queued = 0;
+        for (MemoryJpaRepository.PendingEnrichmentRow row : rows) {
+            PendingEnrichment pending = parse(PendingEnrichment.class, row.getPendingEnrichment());
+            if (pending == null) {
+                pending = PendingEnrichment.LINKS;
+            }
+            if (submit(row.getId(), row.getTenantId(), pending.classifyCategory(), pending.classifyImportance())) {
+                queued++;
+            }
+        }
+        if (!rows.isEmpty()) {
+            log.info("Re-queued {}/{} pending memory enrichments", queued, rows.size());
+        }
+    }
+
+    /**
+     * Queue a memory for background enrichment.
+     *
+     * @param memoryId the memory ID
+     * @param tenantId the tenant that owns the memory
+     * @param classifyCategory whether the category was defaulted and needs LLM analysis
+     * @param classifyImportance whether the importance was defaulted and needs LLM analysis
+     * @return true if the task was queued or enriched inline
+     */
+    public boolean submit(String memoryId, String tenantId, boolean classifyCategory, boolean classifyImportance) {
+        if (!running) {
+            return false;
+        }
+        Task task = new Task(memoryId, tenantId, classifyCategory, classifyImportance);
+        try {
+            if (queue.offer(task, config.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while queueing enrichment for memory {}", memoryId);
+            return false;
+        }
+
+        // Workers are behind: enrich here so the producer waits instead of the task being lost
+        log.debug("Enrichment queue full, enriching memory {} inline", memoryId);
+        String callerTenant = TenantContext.getTenantId();
+        try {
+            enrich(task);
+            return true;
+        } catch (Exception e) {
+            log.warn("Inline enrichment failed for memory {}: {}", memoryId, e.getMessage());
+            return false;
+        } finally {
+            TenantContext.setTenantId(callerTenant);
+        }
+    }
+
+    /**
+     * Number of memories waiting for enrichment.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                Task task = queue.poll(1, TimeUnit.SECONDS);
+                if (task != null) {
+                    enrich(task);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Memory enrichment failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    void enrich(Task task) {
+        // JPA filters by the tenant in TenantContext, so run as the owning tenant
+        TenantContext.setTenantId(task.tenantId());
+        try {
+            Memory memory = task.classify()
+                ? classify(task)
+                : memoryJpaRepo.findById(task.memoryId()).orElse(null);
+            if (memory == null) {
+                log.debug("Memory {} no longer exists, skipping enrichment", task.memoryId());
+                return;
+            }
+
+            if (entityGraphService != null) {
+                try {
+                    entityGraphService.extractAndStoreEntitiesSync(memory, task.tenantId());
+                } catch (Exception e) {
+                    log.warn("Failed to extract entities for memory {}: {}", memory.getId(), e.getMessage());
+                }
+            }
+
+            if (relationshipService != null) {
+                try {
+                    relationshipService.detectAndCreateRelationships(memory, task.tenantId());
+                } catch (Exception e) {
+                    log.warn("Failed to detect relationships for memory {}: {}", memory.getId(), e.getMessage());
+                }
+            }
+
+            memoryJpaRepo.clearPendingEnrichment(memory.getId());
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private Memory classify(Task task) {
+        Memory memory = memoryJpaRepo.findById(task.memoryId()).orElse(null);
+        if (memory == null) {
+            return null;
+        }
+
+        // The LLM call runs outside any transaction so no connection is held while it waits
+        var analysis = openRouterService.analyzeImportance(memory.getContent());
+        // A value the model made up leaves the field as ingested
+        MemoryCategory category = task.classifyCategory()
+            ? parse(MemoryCategory.class, analysis.getCategory()) : null;
+        ImportanceLevel importance = task.classifyImportance()
+            ? parse(ImportanceLevel.class, analysis.getImportance()) : null;
+        if (category == null && importance == null) {
+            return memory;
+        }
+
+        // Reload and apply in a short transaction, keeping changes made while the LLM ran
+        Memory updated = transactionTemplate.execute(status -> {
+            Memory current = memoryJpaRepo.findById(task.memoryId()).orElse(null);
+            if (current == null) {
+                return null;
+            }
+            if (category != null) {
+                current.setCategory(category);
+            }
+            if (importance != null) {
+                current.setImportance(importance);
+            }
+            return memoryJpaRepo.save(current);
+        });
+        if (updated != null) {
+            memoryGraphRepo.save(updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Case-insensitive enum lookup that tolerates unknown values.
+     *
+     * @return the constant, or null if the value is blank or unknown
+     */
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring unknown {} '{}'", type.getSimpleName(), value);
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdownNow();
+        if (!queue.isEmpty()) {
+            log.info("Stopping with {} memory enrichments queued; they are re-queued on the next start",
+                queue.size());
+        }
+    }
+}
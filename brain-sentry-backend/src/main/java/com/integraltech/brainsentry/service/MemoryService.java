@@ -14,6 +14,7 @@ import com.integraltech.brainsentry.dto.response.MemoryResponse;
 import com.integraltech.brainsentry.mapper.MemoryMapper;
 import com.integraltech.brainsentry.repository.MemoryJpaRepository;
 import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.service.retrieval.HybridRetriever;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -45,6 +46,8 @@ public class MemoryService {
     private final EmbeddingService embeddingService;
     private final OpenRouterService openRouterService;
     private final MemoryMapper memoryMapper;
+    private final UsageCounterService usageCounters;
+    private final HybridRetriever hybridRetriever;
     private final RelationshipService relationshipService;  // May be null if feature disabled
     private final EntityGraphService entityGraphService;    // May be null if feature disabled
 
@@ -53,6 +56,8 @@ public class MemoryService {
                          EmbeddingService embeddingService,
                          OpenRouterService openRouterService,
                          MemoryMapper memoryMapper,
+                         UsageCounterService usageCounters,
+                         HybridRetriever hybridRetriever,
                          @Autowired(required = false) RelationshipService relationshipService,
                          @Autowired(required = false) EntityGraphService entityGraphService) {
         this.memoryJpaRepo = memoryJpaRepo;
@@ -60,6 +65,8 @@ public class MemoryService {
         this.embeddingService = embeddingService;
         this.openRouterService = openRouterService;
         this.memoryMapper = memoryMapper;
+        this.usageCounters = usageCounters;
+        this.hybridRetriever = hybridRetriever;
         this.relationshipService = relationshipService;
         this.entityGraphService = entityGraphService;
     }
@@ -164,12 +171,13 @@ public class MemoryService {
         Memory memory = memoryJpaRepo.findById(id)
             .orElseThrow(() -> new RuntimeException("Memory not found: " + id));
 
-        // Update access count
-        memory.setLastAccessedAt(Instant.now());
-        memory.setAccessCount(memory.getAccessCount() + 1);
-        memoryJpaRepo.save(memory);
+        // Counted in memory and written in the next usage counter flush
+        usageCounters.recordMemoryAccess(TenantContext.getTenantId(), id);
 
-        return memoryMapper.toResponse(memory);
+        MemoryResponse response = memoryMapper.toResponse(memory);
+        response.setLastAccessedAt(Instant.now());
+        response.setAccessCount((memory.getAccessCount() != null ? memory.getAccessCount() : 0) + 1);
+        return response;
     }
 
     /**
@@ -274,50 +282,25 @@ public class MemoryService {
     }
 
     /**
-     * Search memories using semantic vector search (FalkorDB).
-     * Falls back to full-text search if vector search is unavailable.
+     * Search memories with hybrid retrieval: vector search (FalkorDB),
+     * full-text search (PostgreSQL) and the graph neighbourhood of the top
+     * vector hits, fused by reciprocal rank.
      *
      * @param request the search request
-     * @return list of matching memories
+     * @return list of matching memories, best first
      */
     @Transactional(readOnly = true)
     public List<MemoryResponse> search(SearchRequest request) {
-        List<Memory> results;
-
-        try {
-            // Try vector search first (FalkorDB)
-            float[] embedding = embeddingService.embed(request.getQuery());
-            results = memoryGraphRepo.vectorSearch(
-                embedding,
-                request.getLimit() != null ? request.getLimit() : 10,
-                TenantContext.getTenantId()
-            );
-
-            // If vector search returns no results, fall back to full-text search
-            if (results == null || results.isEmpty()) {
-                log.debug("Vector search returned no results, falling back to full-text search");
-                results = memoryJpaRepo.fullTextSearch(request.getQuery());
-
-                // Apply limit
-                int limit = request.getLimit() != null ? request.getLimit() : 10;
-                if (results.size() > limit) {
-                    results = results.subList(0, limit);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Vector search failed, falling back to full-text search: {}", e.getMessage());
-            // Fallback to full-text search
-            results = memoryJpaRepo.fullTextSearch(request.getQuery());
-
-            // Apply limit
-            int limit = request.getLimit() != null ? request.getLimit() : 10;
-            if (results.size() > limit) {
-                results = results.subList(0, limit);
-            }
-        }
-
-        return results.stream()
-            .map(memoryMapper::toResponse)
+        int limit = request.getLimit() != null ? request.getLimit() : 10;
+        String query = request.getQuery();
+
+        return hybridRetriever.retrieve(query, () -> embeddingService.embed(query), limit, TenantContext.getTenantId())
+            .stream()
+            .map(scored -> {
+                MemoryResponse response = memoryMapper.toResponse(scored.memory());
+                response.setHighlight(scored.highlight());
+                return response;
+            })
             .collect(Collectors.toList());
     }
 
@@ -1,5 +1,6 @@
 package com.integraltech.brainsentry.service;
 
+import com.integraltech.brainsentry.config.TenantContext;
 import com.integraltech.brainsentry.domain.HindsightNote;
 import com.integraltech.brainsentry.domain.enums.NoteSeverity;
 import com.integraltech.brainsentry.repository.HindsightNoteJpaRepository;
@@ -29,6 +30,7 @@ public class NoteRetrievalService {
 
     private final HindsightNoteJpaRepository hindsightNoteRepo;
     private final EmbeddingService embeddingService;
+    private final UsageCounterService usageCounters;
 
     /**
      * Search for relevant hindsight notes when similar error occurs.
@@ -174,15 +176,12 @@ public class NoteRetrievalService {
 
     /**
      * Record that a note was referenced/suggested.
-     * Updates access statistics.
+     * Reference and access counts are written in the next usage counter flush.
      *
      * @param noteId the note ID
      */
     public void recordNoteAccess(String noteId) {
-        hindsightNoteRepo.findById(noteId).ifPresent(note -> {
-            note.recordReference();
-            hindsightNoteRepo.save(note);
-        });
+        usageCounters.recordNoteReference(TenantContext.getTenantId(), noteId);
     }
 
     /**
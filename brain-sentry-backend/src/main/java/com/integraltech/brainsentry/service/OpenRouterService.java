@@ -1,37 +1,76 @@
 package com.integraltech.brainsentry.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integraltech.brainsentry.config.OpenRouterConfig;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.service.llm.JsonArrayScanner;
+import com.integraltech.brainsentry.service.llm.JsonObjectScanner;
+import com.integraltech.brainsentry.service.llm.LlmClient;
+import com.integraltech.brainsentry.service.llm.LlmOperation;
+import com.integraltech.brainsentry.service.llm.LlmResilience;
+import com.integraltech.brainsentry.service.llm.LlmResponseCache;
+import com.integraltech.brainsentry.service.llm.SingleFlight;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Service for interacting with OpenRouter API (Grok model).
  *
  * Provides methods for relevance analysis and importance scoring
  * using the x-ai/grok-4.1-fast model via OpenRouter.
+ *
+ * Every analysis has an {@code ...Async} variant that returns a
+ * CompletableFuture without holding the calling thread while the LLM
+ * answers; the blocking methods wait for it and give up when interrupted.
+ * Failures are never surfaced as exceptions: each method completes with its
+ * documented fallback result.
+ *
+ * Calls go through {@link LlmResilience}: while the provider is failing or
+ * saturated they are rejected at once and the fallback is returned without
+ * waiting for a timeout. Identical calls in flight at the same time share one
+ * request, and responses of deterministic analyses are served from
+ * {@link LlmResponseCache} when available.
  */
 @Service
 public class OpenRouterService {
 
     private static final Logger log = LoggerFactory.getLogger(OpenRouterService.class);
 
+    private static final String ANALYSIS_SYSTEM_PROMPT =
+        "You are a technical analysis assistant for developers. Respond only with valid JSON.";
+
+    // The fields a relevance verdict needs; a streamed analysis stops once they arrive
+    private static final List<String> RELEVANCE_VERDICT_FIELDS = List.of("needsContext", "confidence");
+
     private final OpenRouterConfig config;
-    private final RestTemplate restTemplate;
+    private final LlmClient llmClient;
+    private final LlmResilience resilience;
+    private final LlmResponseCache responseCache;
     private final ObjectMapper objectMapper;
+    private final RelevanceVerdictCache relevanceCache;  // May be null if disabled
+    private final SingleFlight<String, String> inFlight = new SingleFlight<>();
 
-    public OpenRouterService(OpenRouterConfig config, RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public OpenRouterService(OpenRouterConfig config, LlmClient llmClient, LlmResilience resilience,
+                             LlmResponseCache responseCache, ObjectMapper objectMapper,
+                             @Autowired(required = false) RelevanceVerdictCache relevanceCache) {
         this.config = config;
-        this.restTemplate = restTemplate;
+        this.llmClient = llmClient;
+        this.resilience = resilience;
+        this.responseCache = responseCache;
         this.objectMapper = objectMapper;
+        this.relevanceCache = relevanceCache;
     }
 
     /**
@@ -42,15 +81,46 @@ public class OpenRouterService {
      * @return RelevanceAnalysis with decision and confidence
      */
     public RelevanceAnalysis analyzeRelevance(String prompt, Map<String, Object> context) {
-        String analysisPrompt = buildRelevancePrompt(prompt, context);
+        return await(analyzeRelevanceAsync(prompt, context), RelevanceAnalysis.failed("Interrupted"));
+    }
 
-        try {
-            String response = callGrok(analysisPrompt, 300);
-            return parseRelevanceAnalysis(response);
-        } catch (Exception e) {
-            log.error("Error analyzing relevance", e);
-            return new RelevanceAnalysis(false, "Error during analysis", 0.0);
+    /**
+     * Non-blocking variant of {@link #analyzeRelevance}.
+     */
+    public CompletableFuture<RelevanceAnalysis> analyzeRelevanceAsync(String prompt, Map<String, Object> context) {
+        // Verdicts are cached per tenant; failed or unparseable analyses are not.
+        // The tenant is read here, on the calling thread.
+        RelevanceVerdictCache.Lookup cached = relevanceCache != null
+            ? relevanceCache.lookup(TenantContext.getTenantId(), prompt, context)
+            : null;
+        if (cached != null && cached.verdict() != null) {
+            log.debug("Relevance verdict served from cache");
+            return CompletableFuture.completedFuture(cached.verdict().fromCache());
         }
+
+        String analysisPrompt = buildRelevancePrompt(prompt, context);
+        CompletableFuture<String> completion = Boolean.TRUE.equals(config.getStreamRelevance())
+            ? stream(LlmOperation.RELEVANCE, ANALYSIS_SYSTEM_PROMPT, analysisPrompt, 300, RELEVANCE_VERDICT_FIELDS)
+            : callGrokAsync(LlmOperation.RELEVANCE, analysisPrompt, 300);
+
+        return completion.handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error analyzing relevance", error);
+                return RelevanceAnalysis.failed("Error during analysis");
+            }
+
+            RelevanceAnalysis analysis;
+            try {
+                analysis = parseRelevanceAnalysis(response);
+            } catch (Exception e) {
+                log.warn("Failed to parse relevance analysis: {}", response, e);
+                return RelevanceAnalysis.failed("Parse error");
+            }
+            if (cached != null) {
+                relevanceCache.put(cached, analysis);
+            }
+            return analysis;
+        });
     }
 
     /**
@@ -60,15 +130,22 @@ public class OpenRouterService {
      * @return ImportanceAnalysis with category and importance level
      */
     public ImportanceAnalysis analyzeImportance(String content) {
+        return await(analyzeImportanceAsync(content), ImportanceAnalysis.defaultResult());
+    }
+
+    /**
+     * Non-blocking variant of {@link #analyzeImportance}.
+     */
+    public CompletableFuture<ImportanceAnalysis> analyzeImportanceAsync(String content) {
         String prompt = buildImportancePrompt(content);
 
-        try {
-            String response = callGrok(prompt, 500);
+        return callGrokAsync(LlmOperation.IMPORTANCE, prompt, 500).handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error analyzing importance", error);
+                return ImportanceAnalysis.defaultResult();
+            }
             return parseImportanceAnalysis(response);
-        } catch (Exception e) {
-            log.error("Error analyzing importance", e);
-            return ImportanceAnalysis.defaultResult();
-        }
+        });
     }
 
     /**
@@ -79,43 +156,20 @@ public class OpenRouterService {
      * @return the LLM response
      */
     public String chat(String systemPrompt, String userPrompt) {
-        OpenRouterRequest request = new OpenRouterRequest(
-            config.getModel(),
-            List.of(
-                new Message("system", systemPrompt),
-                new Message("user", userPrompt)
-            ),
-            config.getTemperature(),
-            4000
-        );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(config.getApiKey());
-        headers.set("HTTP-Referer", "https://brainsentry.io");
-        headers.set("X-Title", "Brain Sentry");
-
-        HttpEntity<OpenRouterRequest> entity = new HttpEntity<>(request, headers);
-
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                config.getBaseUrl(),
-                HttpMethod.POST,
-                entity,
-                String.class
-            );
+        return await(chatAsync(systemPrompt, userPrompt), "");
+    }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                JsonNode root = objectMapper.readTree(response.getBody());
-                return root.path("choices").get(0).path("message").path("content").asText();
-            } else {
-                log.warn("OpenRouter returned status: {}", response.getStatusCode());
+    /**
+     * Non-blocking variant of {@link #chat}.
+     *
+     * @return the LLM response, or an empty string if the call failed
+     */
+    public CompletableFuture<String> chatAsync(String systemPrompt, String userPrompt) {
+        return complete(LlmOperation.CHAT, systemPrompt, userPrompt, 4000)
+            .exceptionally(error -> {
+                logFailure("Error calling OpenRouter API", error);
                 return "";
-            }
-        } catch (Exception e) {
-            log.error("Error calling OpenRouter API", e);
-            return "";
-        }
+            });
     }
 
     /**
@@ -127,15 +181,57 @@ public class OpenRouterService {
      * @return RelationshipAnalysis with type, confidence, and reasoning
      */
     public RelationshipAnalysis analyzeRelationship(String content1, String content2) {
+        return await(analyzeRelationshipAsync(content1, content2), RelationshipAnalysis.noRelationship());
+    }
+
+    /**
+     * Non-blocking variant of {@link #analyzeRelationship}.
+     */
+    public CompletableFuture<RelationshipAnalysis> analyzeRelationshipAsync(String content1, String content2) {
         String prompt = buildRelationshipPrompt(content1, content2);
 
-        try {
-            String response = callGrok(prompt, 300);
+        return callGrokAsync(LlmOperation.RELATIONSHIP, prompt, 300).handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error analyzing relationship", error);
+                return RelationshipAnalysis.noRelationship();
+            }
             return parseRelationshipAnalysis(response);
-        } catch (Exception e) {
-            log.error("Error analyzing relationship", e);
-            return RelationshipAnalysis.noRelationship();
-        }
+        });
+    }
+
+    /**
+     * Analyze how one piece of content relates to each of several candidates,
+     * in a single LLM call.
+     *
+     * @param content the new content
+     * @param candidates contents to compare it with
+     * @return one analysis per candidate, in the same order; candidates the
+     *         answer leaves out or garbles get {@link RelationshipAnalysis#noRelationship()}
+     */
+    public List<RelationshipAnalysis> analyzeRelationships(String content, List<String> candidates) {
+        return await(analyzeRelationshipsAsync(content, candidates),
+            Collections.nCopies(candidates.size(), RelationshipAnalysis.noRelationship()));
+    }
+
+    /**
+     * Non-blocking variant of {@link #analyzeRelationships}.
+     */
+    public CompletableFuture<List<RelationshipAnalysis>> analyzeRelationshipsAsync(String content,
+                                                                                  List<String> candidates) {
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        String prompt = buildRelationshipBatchPrompt(content, candidates);
+
+        // About 80 tokens per answer, plus the array around them
+        return callGrokAsync(LlmOperation.RELATIONSHIP, prompt, 100 + 80 * candidates.size())
+            .handle((response, error) -> {
+                if (error != null) {
+                    logFailure("Error analyzing relationships", error);
+                    return Collections.nCopies(candidates.size(), RelationshipAnalysis.noRelationship());
+                }
+                return parseRelationshipAnalyses(response, candidates.size());
+            });
     }
 
     /**
@@ -145,6 +241,13 @@ public class OpenRouterService {
      * @return list of detected patterns
      */
     public List<String> extractPatterns(String content) {
+        return await(extractPatternsAsync(content), List.of());
+    }
+
+    /**
+     * Non-blocking variant of {@link #extractPatterns}.
+     */
+    public CompletableFuture<List<String>> extractPatternsAsync(String content) {
         String prompt = String.format("""
             Extract the key technical patterns, technologies, and concepts from this content.
             Return as a JSON array of strings.
@@ -154,13 +257,13 @@ public class OpenRouterService {
             Response format: ["pattern1", "pattern2", ...]
             """, content);
 
-        try {
-            String response = callGrok(prompt, 200);
+        return callGrokAsync(LlmOperation.RELATIONSHIP, prompt, 200).handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error extracting patterns", error);
+                return List.<String>of();
+            }
             return parsePatternList(response);
-        } catch (Exception e) {
-            log.error("Error extracting patterns", e);
-            return List.of();
-        }
+        });
     }
 
     /**
@@ -177,19 +280,26 @@ public class OpenRouterService {
      * @return EntityExtractionResult with entities and relationships
      */
     public EntityExtractionResult extractEntitiesAndRelationships(String content) {
+        return await(extractEntitiesAndRelationshipsAsync(content), EntityExtractionResult.empty());
+    }
+
+    /**
+     * Non-blocking variant of {@link #extractEntitiesAndRelationships}.
+     */
+    public CompletableFuture<EntityExtractionResult> extractEntitiesAndRelationshipsAsync(String content) {
         if (content == null || content.isBlank()) {
-            return EntityExtractionResult.empty();
+            return CompletableFuture.completedFuture(EntityExtractionResult.empty());
         }
 
         String prompt = buildEntityExtractionPrompt(content);
 
-        try {
-            String response = callGrok(prompt, 1000);
+        return callGrokAsync(LlmOperation.ENTITY_EXTRACTION, prompt, 1000).handle((response, error) -> {
+            if (error != null) {
+                logFailure("Error extracting entities and relationships", error);
+                return EntityExtractionResult.empty();
+            }
             return parseEntityExtractionResult(response);
-        } catch (Exception e) {
-            log.error("Error extracting entities and relationships", e);
-            return EntityExtractionResult.empty();
-        }
+        });
     }
 
     /**
@@ -296,43 +406,84 @@ public class OpenRouterService {
 
     // ==================== Private Methods ====================
 
-    private String callGrok(String prompt, int maxTokens) {
-        OpenRouterRequest request = new OpenRouterRequest(
-            config.getModel(),
-            List.of(
-                new Message("system", "You are a technical analysis assistant for developers. Respond only with valid JSON."),
-                new Message("user", prompt)
-            ),
-            config.getTemperature(),
-            maxTokens
-        );
+    /**
+     * Send an analysis prompt.
+     */
+    private CompletableFuture<String> callGrokAsync(LlmOperation operation, String prompt, int maxTokens) {
+        return complete(operation, ANALYSIS_SYSTEM_PROMPT, prompt, maxTokens);
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setBearerAuth(config.getApiKey());
-        headers.set("HTTP-Referer", "https://brainsentry.io");
-        headers.set("X-Title", "Brain Sentry");
+    /**
+     * Answer from the response cache, or join an identical call in flight, or
+     * send the request under the resilience guards of its operation.
+     */
+    private CompletableFuture<String> complete(LlmOperation operation, String systemPrompt, String userPrompt,
+                                               int maxTokens) {
+        String key = responseCache.key(operation, systemPrompt, userPrompt, maxTokens);
+        return inFlight.execute(key, () -> {
+            var cached = responseCache.get(operation, key);
+            if (cached.isPresent()) {
+                log.debug("LLM {} response served from cache", operation);
+                return CompletableFuture.completedFuture(cached.get());
+            }
+            return resilience.execute(operation,
+                    timeout -> llmClient.complete(systemPrompt, userPrompt, maxTokens, timeout))
+                .thenApply(response -> {
+                    // Analyses must answer JSON; anything else is not worth keeping
+                    if (responseCache.isCacheable(operation)
+                        && (operation == LlmOperation.CHAT || isJson(response))) {
+                        responseCache.put(operation, key, response);
+                    }
+                    return response;
+                });
+        });
+    }
 
-        HttpEntity<OpenRouterRequest> entity = new HttpEntity<>(request, headers);
+    /**
+     * Stream a JSON object answer and stop the generation once the required
+     * fields are complete. The result is the object so far, possibly cut
+     * short, so it is never stored in the response cache.
+     */
+    private CompletableFuture<String> stream(LlmOperation operation, String systemPrompt, String userPrompt,
+                                             int maxTokens, List<String> requiredFields) {
+        String key = responseCache.key(operation, systemPrompt, userPrompt, maxTokens);
+        return inFlight.execute(key, () -> resilience.execute(operation, timeout -> {
+            // One scanner per attempt: a retry starts the answer over
+            JsonObjectScanner scanner = new JsonObjectScanner(requiredFields);
+            return llmClient.stream(systemPrompt, userPrompt, maxTokens, timeout, scanner::feed);
+        }));
+    }
 
+    private boolean isJson(String response) {
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                config.getBaseUrl(),
-                HttpMethod.POST,
-                entity,
-                String.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                JsonNode root = objectMapper.readTree(response.getBody());
-                return root.path("choices").get(0).path("message").path("content").asText();
-            } else {
-                log.warn("OpenRouter returned status: {}", response.getStatusCode());
-                return "{}";
-            }
+            objectMapper.readTree(extractJson(response));
+            return true;
         } catch (Exception e) {
-            log.error("Error calling OpenRouter API", e);
-            return "{}";
+            return false;
+        }
+    }
+
+    /**
+     * Wait for a result; the async variants complete with a fallback rather than fail.
+     */
+    private static <T> T await(CompletableFuture<T> future, T fallback) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // e.g. the interception deadline expired; the request finishes on its own
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException e) {
+            return fallback;
+        }
+    }
+
+    private static void logFailure(String message, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof LlmResilience.LlmRejectedException) {
+            log.warn("{}: {}", message, cause.getMessage());
+        } else {
+            log.error(message, cause);
         }
     }
 
@@ -350,11 +501,11 @@ public class OpenRouterService {
             Context:
             %s
 
-            Respond in JSON format:
+            Respond in JSON format, with the fields in this order:
             {
               "needsContext": true/false,
-              "reasoning": "brief explanation",
               "confidence": 0.0-1.0,
+              "reasoning": "brief explanation",
               "categories": ["PATTERN", "DECISION", ...]
             }
             """, prompt, contextStr);
@@ -409,21 +560,67 @@ public class OpenRouterService {
             """, c1, c2);
     }
 
-    private RelevanceAnalysis parseRelevanceAnalysis(String response) {
-        try {
-            // Extract JSON from response (handle markdown code blocks)
-            String json = extractJson(response);
-            JsonNode root = objectMapper.readTree(json);
+    private String buildRelationshipBatchPrompt(String content, List<String> candidates) {
+        StringBuilder numbered = new StringBuilder();
+        for (int i = 0; i < candidates.size(); i++) {
+            numbered.append('[').append(i + 1).append("] ").append(truncate(candidates.get(i), 500)).append("\n\n");
+        }
 
-            return new RelevanceAnalysis(
-                root.path("needsContext").asBoolean(false),
-                root.path("reasoning").asText(""),
-                root.path("confidence").asDouble(0.0)
-            );
-        } catch (Exception e) {
-            log.warn("Failed to parse relevance analysis: {}", response, e);
-            return new RelevanceAnalysis(false, "Parse error", 0.0);
+        return String.format("""
+            Analyze the relationship between a new piece of knowledge/content and each numbered candidate.
+
+            New content: %s
+
+            Candidates:
+            %s
+            For each candidate, determine if it is meaningfully related to the new content and what type of
+            relationship exists.
+
+            Relationship types:
+            - REQUIRES: the new content depends on or requires the candidate
+            - CONFLICTS_WITH: the new content contradicts or conflicts with the candidate
+            - SUPERSEDES: the new content replaces or updates the candidate
+            - RELATED_TO: General semantic relationship (same topic/domain)
+            - PART_OF: the new content is a component or subset of the candidate
+            - USED_WITH: the new content and the candidate are frequently used together
+
+            Respond with a JSON array containing one object per candidate, in this format:
+            [
+              {
+                "index": 1,
+                "hasRelationship": true/false,
+                "type": "REQUIRES|CONFLICTS_WITH|SUPERSEDES|RELATED_TO|PART_OF|USED_WITH",
+                "confidence": 0.0-1.0,
+                "reasoning": "brief explanation"
+              }
+            ]
+            """, truncate(content, 500), numbered);
+    }
+
+    private static String truncate(String content, int maxChars) {
+        return content.length() > maxChars ? content.substring(0, maxChars) + "..." : content;
+    }
+
+    private RelevanceAnalysis parseRelevanceAnalysis(String response) throws JsonProcessingException {
+        // Field by field, so a streamed answer stopped after the verdict still parses
+        JsonObjectScanner scanner = new JsonObjectScanner(RELEVANCE_VERDICT_FIELDS);
+        scanner.feed(response);
+        Map<String, String> fields = scanner.getFields();
+        // An empty or unrelated JSON answer is not a verdict
+        if (!fields.containsKey("needsContext")) {
+            throw new IllegalStateException("Relevance response has no needsContext field");
         }
+
+        return new RelevanceAnalysis(
+            field(fields, "needsContext").asBoolean(false),
+            field(fields, "reasoning").asText(""),
+            field(fields, "confidence").asDouble(0.0)
+        );
+    }
+
+    private JsonNode field(Map<String, String> fields, String name) throws JsonProcessingException {
+        String value = fields.get(name);
+        return value != null ? objectMapper.readTree(value) : objectMapper.missingNode();
     }
 
     private ImportanceAnalysis parseImportanceAnalysis(String response) {
@@ -461,6 +658,42 @@ public class OpenRouterService {
         }
     }
 
+    /**
+     * Parse a batch answer element by element, so the complete entries of a
+     * truncated or partly malformed array are kept.
+     */
+    private List<RelationshipAnalysis> parseRelationshipAnalyses(String response, int candidates) {
+        RelationshipAnalysis[] analyses = new RelationshipAnalysis[candidates];
+        int answered = 0;
+        for (String element : new JsonArrayScanner().feed(response)) {
+            try {
+                JsonNode node = objectMapper.readTree(element);
+                int index = node.path("index").asInt(0);
+                if (index < 1 || index > candidates || analyses[index - 1] != null) {
+                    continue;
+                }
+                analyses[index - 1] = new RelationshipAnalysis(
+                    node.path("hasRelationship").asBoolean(false),
+                    node.path("type").asText("RELATED_TO"),
+                    node.path("confidence").asDouble(0.0),
+                    node.path("reasoning").asText("")
+                );
+                answered++;
+            } catch (Exception e) {
+                log.debug("Skipping malformed relationship entry: {}", element);
+            }
+        }
+        if (answered < candidates) {
+            log.warn("Relationship analysis answered {} of {} candidates", answered, candidates);
+        }
+
+        List<RelationshipAnalysis> results = new ArrayList<>(candidates);
+        for (RelationshipAnalysis analysis : analyses) {
+            results.add(analysis != null ? analysis : RelationshipAnalysis.noRelationship());
+        }
+        return results;
+    }
+
     private List<String> parsePatternList(String response) {
         try {
             String json = extractJson(response);
@@ -516,6 +749,8 @@ public class OpenRouterService {
         private boolean needsContext;
         private String reasoning;
         private Double confidence;
+        private boolean failed;
+        private boolean cached;
 
         public RelevanceAnalysis() {}
 
@@ -529,6 +764,24 @@ public class OpenRouterService {
             return new RelevanceAnalysis(needsContext, reasoning, confidence);
         }
 
+        /**
+         * Analysis that could not be obtained; not a verdict on the prompt.
+         */
+        public static RelevanceAnalysis failed(String reasoning) {
+            RelevanceAnalysis analysis = new RelevanceAnalysis(false, reasoning, 0.0);
+            analysis.failed = true;
+            return analysis;
+        }
+
+        /**
+         * Copy of this verdict as served from the verdict cache, without a model call.
+         */
+        public RelevanceAnalysis fromCache() {
+            RelevanceAnalysis analysis = new RelevanceAnalysis(needsContext, reasoning, confidence);
+            analysis.cached = true;
+            return analysis;
+        }
+
         public boolean isNeedsContext() { return needsContext; }
         public void setNeedsContext(boolean needsContext) { this.needsContext = needsContext; }
 
@@ -537,6 +790,10 @@ public class OpenRouterService {
 
         public Double getConfidence() { return confidence; }
         public void setConfidence(Double confidence) { this.confidence = confidence; }
+
+        public boolean isFailed() { return failed; }
+
+        public boolean isCached() { return cached; }
     }
 
     public static class ImportanceAnalysis {
@@ -608,38 +865,6 @@ public class OpenRouterService {
         public void setReasoning(String reasoning) { this.reasoning = reasoning; }
     }
 
-    private static class OpenRouterRequest {
-        private final String model;
-        private final List<Message> messages;
-        private final Double temperature;
-        private final Integer maxTokens;
-
-        public OpenRouterRequest(String model, List<Message> messages, Double temperature, Integer maxTokens) {
-            this.model = model;
-            this.messages = messages;
-            this.temperature = temperature;
-            this.maxTokens = maxTokens;
-        }
-
-        public String getModel() { return model; }
-        public List<Message> getMessages() { return messages; }
-        public Double getTemperature() { return temperature; }
-        public Integer getMaxTokens() { return maxTokens; }
-    }
-
-    private static class Message {
-        private final String role;
-        private final String content;
-
-        public Message(String role, String content) {
-            this.role = role;
-            this.content = content;
-        }
-
-        public String getRole() { return role; }
-        public String getContent() { return content; }
-    }
-
     // ==================== Entity Extraction DTOs ====================
 
     /**
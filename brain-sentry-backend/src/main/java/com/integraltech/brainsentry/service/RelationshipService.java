@@ -1,11 +1,13 @@
 package com.integraltech.brainsentry.service;
 
+import com.integraltech.brainsentry.config.RelationshipProperties;
 import com.integraltech.brainsentry.domain.Memory;
 import com.integraltech.brainsentry.domain.MemoryRelationship;
 import com.integraltech.brainsentry.domain.enums.RelationshipType;
 import com.integraltech.brainsentry.repository.MemoryJpaRepository;
 import com.integraltech.brainsentry.repository.MemoryRelationshipJpaRepository;
 import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.repository.vector.SimilarityKernel;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -35,20 +37,20 @@ public class RelationshipService {
     private final AuditService auditService;
     private final MemoryRepository memoryRepository;
     private final OpenRouterService openRouterService;
-
-    private static final double RELATIONSHIP_CONFIDENCE_THRESHOLD = 0.7;
-    private static final int MAX_SIMILAR_MEMORIES_TO_ANALYZE = 10;
+    private final RelationshipProperties properties;
 
     public RelationshipService(MemoryRelationshipJpaRepository relationshipRepo,
                                MemoryJpaRepository memoryJpaRepo,
                                AuditService auditService,
                                @Autowired(required = false) MemoryRepository memoryRepository,
-                               @Autowired(required = false) OpenRouterService openRouterService) {
+                               @Autowired(required = false) OpenRouterService openRouterService,
+                               RelationshipProperties properties) {
         this.relationshipRepo = relationshipRepo;
         this.memoryJpaRepo = memoryJpaRepo;
         this.auditService = auditService;
         this.memoryRepository = memoryRepository;
         this.openRouterService = openRouterService;
+        this.properties = properties;
     }
 
     /**
@@ -262,8 +264,9 @@ public class RelationshipService {
      *
      * This method:
      * 1. Searches for similar memories using vector search
-     * 2. Uses LLM (OpenRouter/Grok) to analyze the relationship type
-     * 3. Creates relationships with high confidence scores
+     * 2. Keeps those above the cosine similarity threshold
+     * 3. Uses LLM (OpenRouter/Grok) to classify all of them in one call
+     * 4. Creates relationships with high confidence scores
      *
      * @param newMemory the newly created memory
      * @param tenantId tenant ID
@@ -295,33 +298,31 @@ public class RelationshipService {
             log.debug("Searching for similar memories to {} for relationship detection", newMemory.getId());
             List<Memory> similarMemories = memoryRepository.vectorSearch(
                     newMemory.getEmbedding(),
-                    MAX_SIMILAR_MEMORIES_TO_ANALYZE,
+                    properties.getMaxCandidates(),
                     tenantId
             );
 
-            if (similarMemories.isEmpty()) {
+            List<Memory> candidates = filterCandidates(newMemory, similarMemories);
+            if (candidates.isEmpty()) {
                 log.debug("No similar memories found for {}", newMemory.getId());
                 return createdRelationships;
             }
 
-            log.info("Found {} similar memories for relationship analysis", similarMemories.size());
+            log.info("Found {} similar memories for relationship analysis", candidates.size());
 
-            // 2. For each similar memory, use LLM to determine relationship type
-            for (Memory similarMemory : similarMemories) {
-                // Skip if it's the same memory
-                if (similarMemory.getId().equals(newMemory.getId())) {
-                    continue;
-                }
+            // 2. Classify every candidate against the new memory in one LLM call
+            List<OpenRouterService.RelationshipAnalysis> analyses = openRouterService.analyzeRelationships(
+                    newMemory.getContent(),
+                    candidates.stream().map(Memory::getContent).toList()
+            );
 
-                try {
-                    // Analyze relationship using LLM
-                    OpenRouterService.RelationshipAnalysis analysis = openRouterService.analyzeRelationship(
-                            newMemory.getContent(),
-                            similarMemory.getContent()
-                    );
+            for (int i = 0; i < candidates.size(); i++) {
+                Memory similarMemory = candidates.get(i);
+                OpenRouterService.RelationshipAnalysis analysis = analyses.get(i);
 
+                try {
                     // 3. Create relationship if confidence is high enough
-                    if (analysis.isHasRelationship() && analysis.getConfidence() >= RELATIONSHIP_CONFIDENCE_THRESHOLD) {
+                    if (analysis.isHasRelationship() && analysis.getConfidence() >= properties.getConfidenceThreshold()) {
                         RelationshipType relType = parseRelationshipType(analysis.getType());
 
                         MemoryRelationship relationship = createRelationship(
@@ -338,7 +339,7 @@ public class RelationshipService {
                                 newMemory.getId(), relType, similarMemory.getId(), analysis.getConfidence());
                     }
                 } catch (Exception e) {
-                    log.warn("Error analyzing relationship between {} and {}: {}",
+                    log.warn("Error creating relationship between {} and {}: {}",
                             newMemory.getId(), similarMemory.getId(), e.getMessage());
                 }
             }
@@ -352,6 +353,29 @@ public class RelationshipService {
         return createdRelationships;
     }
 
+    /**
+     * Drop the memory itself and the search results not similar enough to be
+     * worth an LLM verdict. Results without a comparable embedding are
+     * dropped too: some vector search fallbacks pad their results with
+     * memories they could not score.
+     */
+    private List<Memory> filterCandidates(Memory newMemory, List<Memory> similarMemories) {
+        float[] embedding = newMemory.getEmbedding();
+        SimilarityKernel kernel = SimilarityKernel.getDefault();
+        List<Memory> candidates = new ArrayList<>();
+        for (Memory memory : similarMemories) {
+            if (memory.getId().equals(newMemory.getId())
+                    || memory.getEmbedding() == null
+                    || memory.getEmbedding().length != embedding.length) {
+                continue;
+            }
+            if (kernel.cosine(embedding, memory.getEmbedding()) >= properties.getMinSimilarity()) {
+                candidates.add(memory);
+            }
+        }
+        return candidates;
+    }
+
     /**
      * Parse relationship type from string to enum.
      * Falls back to RELATED_TO if unknown type.
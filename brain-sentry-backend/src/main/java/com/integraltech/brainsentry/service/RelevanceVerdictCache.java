@@ -0,0 +1,208 @@
+package com.integraltech.brainsentry.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Tenant-scoped cache of LLM relevance verdicts.
+ *
+ * Exact tier: Caffeine, keyed by tenant plus the SHA-256 of the normalized
+ * prompt (NFC, collapsed whitespace, lowercase) and its context, bounded by
+ * size and TTL. Optional semantic tier: on an exact miss the prompt is
+ * embedded and compared with the tenant's recent prompts; a verdict is reused
+ * when cosine similarity reaches the threshold and the context is identical.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "brain-sentry.interception.relevance-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class RelevanceVerdictCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingService embeddingService;
+    private final InterceptionProperties.Semantic semanticConfig;
+    private final Cache<String, OpenRouterService.RelevanceAnalysis> verdicts;
+    private final Cache<String, SemanticTier> semanticTiers;
+
+    private final Counter exactHits;
+    private final Counter exactMisses;
+    private final Counter semanticHits;
+    private final Counter semanticMisses;
+
+    /**
+     * Result of a lookup; pass it back to {@link #put} after a miss so the
+     * digest and embedding are not computed twice.
+     */
+    public record Lookup(String tenantId, String key, String contextDigest, float[] embedding,
+                         OpenRouterService.RelevanceAnalysis verdict) {
+    }
+
+    public RelevanceVerdictCache(InterceptionProperties properties, EmbeddingService embeddingService,
+                                 MeterRegistry meterRegistry) {
+        InterceptionProperties.RelevanceCache config = properties.getRelevanceCache();
+        this.embeddingService = embeddingService;
+        this.semanticConfig = config.getSemantic();
+        this.verdicts = Caffeine.newBuilder()
+            .maximumSize(config.getMaxEntries())
+            .expireAfterWrite(config.getTtl())
+            .recordStats()
+            .build();
+        this.semanticTiers = Caffeine.newBuilder()
+            .expireAfterAccess(config.getTtl())
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verdicts, "relevance.verdicts");
+        this.exactHits = cacheCounter(meterRegistry, "exact", "hit");
+        this.exactMisses = cacheCounter(meterRegistry, "exact", "miss");
+        this.semanticHits = cacheCounter(meterRegistry, "semantic", "hit");
+        this.semanticMisses = cacheCounter(meterRegistry, "semantic", "miss");
+    }
+
+    /**
+     * Look up a cached verdict for a prompt.
+     *
+     * @param tenantId the tenant the verdict belongs to
+     * @param prompt the prompt being analyzed
+     * @param context the context sent along with the prompt
+     * @return the lookup; {@link Lookup#verdict()} is null on a miss
+     */
+    public Lookup lookup(String tenantId, String prompt, Map<String, Object> context) {
+        String contextDigest = sha256(canonicalContext(context));
+        String key = tenantId + ":" + sha256(normalize(prompt) + '\0' + contextDigest);
+
+        OpenRouterService.RelevanceAnalysis verdict = verdicts.getIfPresent(key);
+        if (verdict != null) {
+            exactHits.increment();
+            return new Lookup(tenantId, key, contextDigest, null, verdict);
+        }
+        exactMisses.increment();
+
+        if (!semanticConfig.isEnabled()) {
+            return new Lookup(tenantId, key, contextDigest, null, null);
+        }
+
+        float[] embedding;
+        try {
+            embedding = embeddingService.embed(prompt);
+        } catch (Exception e) {
+            log.debug("Relevance cache embedding failed: {}", e.getMessage());
+            return new Lookup(tenantId, key, contextDigest, null, null);
+        }
+
+        SemanticTier tier = semanticTiers.getIfPresent(tenantId);
+        String similarKey = tier != null ? tier.nearest(embedding, contextDigest) : null;
+        verdict = similarKey != null ? verdicts.getIfPresent(similarKey) : null;
+        if (verdict != null) {
+            semanticHits.increment();
+        } else {
+            semanticMisses.increment();
+        }
+        return new Lookup(tenantId, key, contextDigest, embedding, verdict);
+    }
+
+    /**
+     * Cache a freshly computed verdict.
+     *
+     * @param lookup the miss returned by {@link #lookup}
+     * @param verdict the verdict from the LLM
+     */
+    public void put(Lookup lookup, OpenRouterService.RelevanceAnalysis verdict) {
+        verdicts.put(lookup.key(), verdict);
+        if (lookup.embedding() != null) {
+            semanticTiers.get(lookup.tenantId(), id -> new SemanticTier(semanticConfig.getMaxEntriesPerTenant()))
+                .add(lookup.key(), lookup.contextDigest(), lookup.embedding());
+        }
+    }
+
+    /**
+     * Ring buffer of a tenant's most recent prompt embeddings.
+     */
+    private final class SemanticTier {
+
+        private final String[] keys;
+        private final String[] contextDigests;
+        private final float[][] embeddings;
+        private int next;
+
+        SemanticTier(int capacity) {
+            int size = Math.max(1, capacity);
+            this.keys = new String[size];
+            this.contextDigests = new String[size];
+            this.embeddings = new float[size][];
+        }
+
+        synchronized void add(String key, String contextDigest, float[] embedding) {
+            keys[next] = key;
+            contextDigests[next] = contextDigest;
+            embeddings[next] = embedding;
+            next = (next + 1) % keys.length;
+        }
+
+        /**
+         * Key of the most similar prompt at or above the threshold with the same context.
+         */
+        synchronized String nearest(float[] embedding, String contextDigest) {
+            String best = null;
+            float bestScore = semanticConfig.getThreshold();
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null || !contextDigests[i].equals(contextDigest)
+                        || embeddings[i].length != embedding.length) {
+                    continue;
+                }
+                // Embeddings are unit length, so the dot product is the cosine
+                float score = embeddingService.normalizedSimilarity(embedding, embeddings[i]);
+                if (score >= bestScore) {
+                    bestScore = score;
+                    best = keys[i];
+                }
+            }
+            return best;
+        }
+    }
+
+    static String normalize(String prompt) {
+        if (prompt == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(Normalizer.normalize(prompt, Normalizer.Form.NFC).strip())
+            .replaceAll(" ")
+            .toLowerCase(Locale.ROOT);
+    }
+
+    private static String canonicalContext(Map<String, Object> context) {
+        return context == null || context.isEmpty() ? "" : new TreeMap<>(context).toString();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter cacheCounter(MeterRegistry registry, String tier, String result) {
+        return Counter.builder("brainsentry.relevance.cache.requests")
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -0,0 +1,247 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.UsageCounterProperties;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Coalesced usage counters for memories and hindsight notes.
+ *
+ * Reads and interceptions only add to in-memory {@link LongAdder}s keyed by
+ * entity. Every {@code brain-sentry.usage-counters.flush-interval} the deltas
+ * are written as one JDBC batch of {@code count = count + ?} updates to
+ * PostgreSQL (the system of record) and, for memories, one UNWIND statement
+ * to FalkorDB plus one HINCRBY transaction on the KV usage hashes. A memory
+ * hit a thousand times between flushes costs one row update instead of a
+ * thousand entity saves. Saves leave the counters alone (the entity columns
+ * are not updatable, the graph save keeps the stored counts and the KV
+ * counters live outside the saved record), so a flush is never rolled back
+ * by a later save of the same memory.
+ *
+ * Writers add to the current generation of pending deltas. A flush swaps in
+ * a new generation, waits for writers still inside the old one (a handful of
+ * adder increments) and drains it. Deltas whose PostgreSQL write fails are
+ * put back for the next flush and only reach the graph and KV copies once
+ * that write succeeds, so a retried delta is applied there exactly once.
+ */
+@Slf4j
+@Service
+public class UsageCounterService {
+
+    static final String UPDATE_MEMORIES =
+        "UPDATE memories SET " +
+        "access_count = COALESCE(access_count, 0) + ?, " +
+        "injection_count = COALESCE(injection_count, 0) + ?, " +
+        "last_accessed_at = GREATEST(COALESCE(last_accessed_at, ?), ?) " +
+        "WHERE id = ? AND tenant_id = ?";
+
+    static final String UPDATE_HINDSIGHT_NOTES =
+        "UPDATE hindsight_notes SET " +
+        "reference_count = COALESCE(reference_count, 0) + ?, " +
+        "access_count = COALESCE(access_count, 0) + ?, " +
+        "last_accessed_at = GREATEST(COALESCE(last_accessed_at, ?), ?) " +
+        "WHERE id = ? AND tenant_id = ?";
+
+    enum Target { MEMORY, HINDSIGHT_NOTE }
+
+    record Key(Target target, String tenantId, String id) {
+    }
+
+    /**
+     * Accumulated increments of one entity since the last flush.
+     * For notes, {@code accesses} counts references.
+     */
+    record Delta(Key key, long accesses, long injections, long lastAccessedAtMillis) {
+    }
+
+    /**
+     * Pending deltas plus the number of writers currently adding to them.
+     */
+    private static final class Generation {
+        final Map<Key, Pending> pending = new ConcurrentHashMap<>();
+        final LongAdder writers = new LongAdder();
+    }
+
+    private static final class Pending {
+        final LongAdder accesses = new LongAdder();
+        final LongAdder injections = new LongAdder();
+        final LongAccumulator lastAccessedAt = new LongAccumulator(Math::max, 0);
+
+        // Only called once no writer is left in the generation
+        Delta drain(Key key) {
+            return new Delta(key, accesses.sum(), injections.sum(), lastAccessedAt.get());
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MemoryRepository memoryGraphRepo;
+    private final UsageCounterProperties properties;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile Generation current = new Generation();
+
+    public UsageCounterService(JdbcTemplate jdbcTemplate, MemoryRepository memoryGraphRepo,
+                               UsageCounterProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.memoryGraphRepo = memoryGraphRepo;
+        this.properties = properties;
+    }
+
+    /**
+     * Count a read of a memory.
+     */
+    public void recordMemoryAccess(String tenantId, String memoryId) {
+        add(Target.MEMORY, tenantId, memoryId, 1, 0);
+    }
+
+    /**
+     * Count the injection of memories into a prompt.
+     */
+    public void recordMemoryInjections(String tenantId, Collection<String> memoryIds) {
+        memoryIds.forEach(id -> add(Target.MEMORY, tenantId, id, 0, 1));
+    }
+
+    /**
+     * Count a reference to a hindsight note (also counted as an access).
+     */
+    public void recordNoteReference(String tenantId, String noteId) {
+        add(Target.HINDSIGHT_NOTE, tenantId, noteId, 1, 0);
+    }
+
+    private void add(Target target, String tenantId, String id, long accesses, long injections) {
+        add(new Key(target, tenantId, id), accesses, injections, System.currentTimeMillis());
+    }
+
+    private void add(Key key, long accesses, long injections, long lastAccessedAtMillis) {
+        Generation generation = enter();
+        try {
+            Pending pending = generation.pending.computeIfAbsent(key, k -> new Pending());
+            if (accesses != 0) {
+                pending.accesses.add(accesses);
+            }
+            if (injections != 0) {
+                pending.injections.add(injections);
+            }
+            pending.lastAccessedAt.accumulate(lastAccessedAtMillis);
+        } finally {
+            generation.writers.decrement();
+        }
+    }
+
+    /**
+     * Register as a writer of the current generation. Re-reading
+     * {@code current} after the increment guarantees that a flush which
+     * swapped it out either sees this writer or is seen by it.
+     */
+    private Generation enter() {
+        while (true) {
+            Generation generation = current;
+            generation.writers.increment();
+            if (generation == current) {
+                return generation;
+            }
+            generation.writers.decrement();
+        }
+    }
+
+    /**
+     * Write the pending deltas. Runs on the scheduler and once at shutdown.
+     */
+    @Scheduled(fixedDelayString = "${brain-sentry.usage-counters.flush-interval:5s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            Generation retired = current;
+            current = new Generation();
+            while (retired.writers.sum() != 0) {
+                Thread.onSpinWait();
+            }
+
+            List<Delta> deltas = new ArrayList<>();
+            retired.pending.forEach((key, pending) -> deltas.add(pending.drain(key)));
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            List<Delta> memories = new ArrayList<>();
+            List<Delta> notes = new ArrayList<>();
+            for (Delta delta : deltas) {
+                (delta.key().target() == Target.MEMORY ? memories : notes).add(delta);
+            }
+            if (writeRows(UPDATE_MEMORIES, memories, Delta::injections)) {
+                writeGraph(memories);
+            }
+            writeRows(UPDATE_HINDSIGHT_NOTES, notes, Delta::accesses);
+            log.debug("Flushed usage counters of {} memories and {} notes", memories.size(), notes.size());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * One JDBC batch per chunk; the second count column is injections for
+     * memories and accesses for notes (a reference is also an access).
+     *
+     * @return false if the write failed and the deltas were put back, in
+     *         which case they must not be mirrored anywhere else yet
+     */
+    private boolean writeRows(String sql, List<Delta> deltas, ToLongFunction<Delta> secondCount) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        try {
+            jdbcTemplate.batchUpdate(sql, deltas, properties.getBatchSize(), (ps, delta) -> {
+                Timestamp lastAccessedAt = new Timestamp(delta.lastAccessedAtMillis());
+                ps.setLong(1, delta.accesses());
+                ps.setLong(2, secondCount.applyAsLong(delta));
+                ps.setTimestamp(3, lastAccessedAt);
+                ps.setTimestamp(4, lastAccessedAt);
+                ps.setString(5, delta.key().id());
+                ps.setString(6, delta.key().tenantId());
+            });
+            return true;
+        } catch (Exception e) {
+            log.warn("Usage counter flush of {} rows failed, retrying next flush: {}", deltas.size(), e.getMessage());
+            deltas.forEach(d -> add(d.key(), d.accesses(), d.injections(), d.lastAccessedAtMillis()));
+            return false;
+        }
+    }
+
+    private void writeGraph(List<Delta> memories) {
+        List<MemoryRepository.UsageDelta> graphDeltas = memories.stream()
+            .map(d -> new MemoryRepository.UsageDelta(d.key().id(), d.accesses(), d.injections(),
+                Instant.ofEpochMilli(d.lastAccessedAtMillis())))
+            .toList();
+        for (int from = 0; from < graphDeltas.size(); from += properties.getBatchSize()) {
+            List<MemoryRepository.UsageDelta> chunk =
+                graphDeltas.subList(from, Math.min(from + properties.getBatchSize(), graphDeltas.size()));
+            try {
+                memoryGraphRepo.incrementUsage(chunk);
+            } catch (Exception e) {
+                // PostgreSQL has the counts; the graph and KV copies stay behind by this chunk
+                log.warn("Usage counter flush to graph/KV failed for {} memories: {}", chunk.size(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.integraltech.brainsentry.service.context;
+
+import com.integraltech.brainsentry.domain.HindsightNote;
+import com.integraltech.brainsentry.domain.Memory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packs memories and hindsight notes into a context block within a token budget.
+ *
+ * Every candidate is rendered once and measured with the {@link TokenCounter}.
+ * Candidates are then taken greedily by value per token, where value combines
+ * retrieval rank with importance (memories) or severity (notes). A memory
+ * whose code example does not fit is kept with the leading lines of the code
+ * that do, or with its summary alone. The selected blocks are written in
+ * retrieval order into one pre-sized buffer.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContextAssembler {
+
+    static final String HEADER = "<system_context>\nThe following relevant patterns and decisions were found:\n\n";
+    static final String NOTES_HEADER = "## Past Learnings (Hindsight Notes)\n\n";
+    static final String FOOTER = "</system_context>\n";
+    static final String TRUNCATION_MARKER = "... (truncated)";
+
+    private static final String INDENT = "    ";
+    private static final int MIN_CODE_LINES = 3;  // fewer kept lines are dropped with the rest of the code
+    private static final int MAX_LESSON_CHARS = 100;
+
+    private final TokenCounter tokenCounter;
+
+    /**
+     * The assembled context.
+     *
+     * @param context the context block, empty if nothing fit
+     * @param tokens token count of the context
+     * @param memories memories included, in retrieval order
+     * @param notes notes included, in retrieval order
+     * @param truncated whether a candidate was dropped or shortened to fit
+     */
+    public record Assembly(String context, int tokens, List<Memory> memories, List<HindsightNote> notes,
+                           boolean truncated) {
+
+        public boolean isEmpty() {
+            return memories.isEmpty() && notes.isEmpty();
+        }
+    }
+
+    /**
+     * A rendered memory or note. Memories are rendered without their
+     * "[n] " number, which depends on what else gets selected.
+     */
+    private static final class Candidate {
+        final int rank;
+        final Memory memory;
+        final HindsightNote note;
+        final double value;
+        String block;
+        int tokens;
+
+        Candidate(int rank, Memory memory, HindsightNote note, double value) {
+            this.rank = rank;
+            this.memory = memory;
+            this.note = note;
+            this.value = value;
+        }
+
+        double density() {
+            return value / Math.max(1, tokens);
+        }
+    }
+
+    /**
+     * Assemble the context for the given candidates.
+     *
+     * @param memories memories in retrieval order
+     * @param notes notes in retrieval order
+     * @param budget maximum tokens of the context block
+     * @return the assembled context
+     */
+    public Assembly assemble(List<Memory> memories, List<HindsightNote> notes, int budget) {
+        StringBuilder scratch = new StringBuilder(256);
+        List<Candidate> candidates = new ArrayList<>(memories.size() + notes.size());
+        for (int i = 0; i < memories.size(); i++) {
+            Candidate candidate = new Candidate(i, memories.get(i), null, value(memories.get(i), i));
+            measure(candidate, memoryBlock(scratch, candidate.memory, candidate.memory.getCodeExample()));
+            candidates.add(candidate);
+        }
+        for (int i = 0; i < notes.size(); i++) {
+            Candidate candidate = new Candidate(i, null, notes.get(i), value(notes.get(i), i));
+            measure(candidate, noteBlock(scratch, candidate.note));
+            candidates.add(candidate);
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::density).reversed());
+
+        int numberTokens = tokenCounter.count("[1] ");
+        int notesHeaderTokens = tokenCounter.count(NOTES_HEADER);
+        int remaining = budget - tokenCounter.count(HEADER) - tokenCounter.count(FOOTER);
+        boolean truncated = false;
+        List<Candidate> selected = new ArrayList<>();
+        boolean hasNotes = false;
+
+        for (Candidate candidate : candidates) {
+            int overhead = candidate.memory != null ? numberTokens : (hasNotes ? 0 : notesHeaderTokens);
+            if (candidate.tokens + overhead > remaining && candidate.memory != null) {
+                truncated = true;
+                shorten(candidate, scratch, remaining - overhead);
+            }
+            if (candidate.tokens + overhead > remaining) {
+                truncated = true;
+                continue;
+            }
+            remaining -= candidate.tokens + overhead;
+            hasNotes |= candidate.note != null;
+            selected.add(candidate);
+        }
+        selected.sort(Comparator.comparingInt((Candidate c) -> c.memory != null ? 0 : 1)
+            .thenComparingInt(c -> c.rank));
+
+        String context = render(selected);
+        int tokens = tokenCounter.count(context);
+        // Block counts are added up; merges across block boundaries can shift the total by a token or two
+        while (tokens > budget && !selected.isEmpty()) {
+            Candidate densityLast = selected.stream().min(Comparator.comparingDouble(Candidate::density)).orElseThrow();
+            selected.remove(densityLast);
+            truncated = true;
+            context = render(selected);
+            tokens = tokenCounter.count(context);
+        }
+        if (selected.isEmpty()) {
+            return new Assembly("", 0, List.of(), List.of(), truncated);
+        }
+
+        return new Assembly(context, tokens,
+            selected.stream().filter(c -> c.memory != null).map(c -> c.memory).toList(),
+            selected.stream().filter(c -> c.note != null).map(c -> c.note).toList(),
+            truncated);
+    }
+
+    /**
+     * Value of a memory: importance, scaled by its retrieval relevance score, discounted by rank.
+     */
+    static double value(Memory memory, int rank) {
+        double importance = switch (memory.getImportance()) {
+            case CRITICAL -> 3.0;
+            case IMPORTANT -> 2.0;
+            case MINOR -> 1.0;
+        };
+        double relevance = memory.getRelevanceScore() != null ? memory.getRelevanceScore() : 0.0;
+        return importance * (1 + relevance) / (1 + rank);
+    }
+
+    /**
+     * Value of a note: severity, discounted by rank.
+     */
+    static double value(HindsightNote note, int rank) {
+        double severity = switch (note.getSeverity()) {
+            case CRITICAL -> 3.0;
+            case HIGH -> 2.0;
+            case MEDIUM -> 1.5;
+            case LOW -> 1.0;
+        };
+        return severity / (1 + rank);
+    }
+
+    private void measure(Candidate candidate, String block) {
+        candidate.block = block;
+        candidate.tokens = tokenCounter.count(block);
+    }
+
+    /**
+     * Replace a memory block that does not fit by one with the leading code
+     * lines that do, or with the summary alone.
+     */
+    private void shorten(Candidate candidate, StringBuilder scratch, int available) {
+        String code = candidate.memory.getCodeExample();
+        if (code == null || code.isEmpty()) {
+            return;
+        }
+        String summaryOnly = memoryBlock(scratch, candidate.memory, null);
+        int summaryTokens = tokenCounter.count(summaryOnly);
+        if (summaryTokens > available) {
+            return;
+        }
+
+        String[] lines = code.split("\n", -1);
+        String language = candidate.memory.getProgrammingLanguage() != null
+            ? candidate.memory.getProgrammingLanguage() : "java";
+        int used = summaryTokens
+            + tokenCounter.count(INDENT + "Code:\n" + INDENT + "```" + language + "\n" + INDENT + "```\n")
+            + tokenCounter.count(INDENT + TRUNCATION_MARKER + "\n");
+        int kept = 0;
+        while (kept < lines.length) {
+            int lineTokens = tokenCounter.count(INDENT + lines[kept] + "\n");
+            if (used + lineTokens > available) {
+                break;
+            }
+            used += lineTokens;
+            kept++;
+        }
+
+        // Lines were counted one by one; re-measure the whole block and back off if that came out larger
+        while (kept >= MIN_CODE_LINES) {
+            String head = String.join("\n", List.of(lines).subList(0, kept));
+            measure(candidate, memoryBlock(scratch, candidate.memory, head + "\n" + TRUNCATION_MARKER));
+            if (candidate.tokens <= available) {
+                return;
+            }
+            kept--;
+        }
+        measure(candidate, summaryOnly);
+    }
+
+    private static String memoryBlock(StringBuilder sb, Memory memory, String code) {
+        sb.setLength(0);
+        sb.append(memory.getImportance().getDisplayName()).append(" - ")
+            .append(memory.getCategory().getDisplayName()).append('\n');
+        sb.append(INDENT).append(memory.getSummary()).append('\n');
+        if (code != null && !code.isEmpty()) {
+            sb.append(INDENT).append("Code:\n");
+            sb.append(INDENT).append("```")
+                .append(memory.getProgrammingLanguage() != null ? memory.getProgrammingLanguage() : "java")
+                .append('\n');
+            sb.append(INDENT);
+            appendIndented(sb, code);
+            sb.append('\n').append(INDENT).append("```\n");
+        }
+        sb.append('\n');
+        return sb.toString();
+    }
+
+    private static String noteBlock(StringBuilder sb, HindsightNote note) {
+        sb.setLength(0);
+        sb.append("- [").append(note.getSeverity().name()).append("] ")
+            .append(note.getTitle() != null ? note.getTitle() : note.getErrorType()).append(": ")
+            .append(note.getResolution() != null ? note.getResolution() : "No resolution available").append('\n');
+        if (note.getLessonsLearned() != null) {
+            String lesson = note.getLessonsLearned();
+            sb.append("  Lesson: ");
+            if (lesson.length() > MAX_LESSON_CHARS) {
+                sb.append(lesson, 0, MAX_LESSON_CHARS).append("...");
+            } else {
+                sb.append(lesson);
+            }
+            sb.append('\n');
+        }
+        sb.append('\n');
+        return sb.toString();
+    }
+
+    private static void appendIndented(StringBuilder sb, String text) {
+        int start = 0;
+        int newline;
+        while ((newline = text.indexOf('\n', start)) >= 0) {
+            sb.append(text, start, newline + 1).append(INDENT);
+            start = newline + 1;
+        }
+        sb.append(text, start, text.length());
+    }
+
+    private static String render(List<Candidate> selected) {
+        int capacity = HEADER.length() + NOTES_HEADER.length() + FOOTER.length();
+        for (Candidate candidate : selected) {
+            capacity += candidate.block.length() + 8;
+        }
+        StringBuilder out = new StringBuilder(capacity);
+        out.append(HEADER);
+        int number = 0;
+        boolean notesStarted = false;
+        for (Candidate candidate : selected) {
+            if (candidate.memory != null) {
+                out.append('[').append(++number).append("] ");
+            } else if (!notesStarted) {
+                out.append(NOTES_HEADER);
+                notesStarted = true;
+            }
+            out.append(candidate.block);
+        }
+        out.append(FOOTER);
+        return out.toString();
+    }
+}
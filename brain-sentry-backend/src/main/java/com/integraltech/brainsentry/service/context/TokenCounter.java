@@ -0,0 +1,34 @@
+package com.integraltech.brainsentry.service.context;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts tokens with a local BPE tokenizer.
+ *
+ * The encoding ({@code brain-sentry.interception.tokenizer}, cl100k_base by
+ * default) ships with the library, so counting needs no network access.
+ * Counts are exact for models using that encoding and a close estimate for
+ * the others, unlike the former four-characters-per-token rule.
+ */
+@Component
+public class TokenCounter {
+
+    private final Encoding encoding;
+
+    public TokenCounter(InterceptionProperties properties) {
+        EncodingType type = EncodingType.fromName(properties.getTokenizer())
+            .orElseThrow(() -> new IllegalArgumentException("Unknown tokenizer encoding: " + properties.getTokenizer()));
+        this.encoding = Encodings.newLazyEncodingRegistry().getEncoding(type);
+    }
+
+    /**
+     * @return the number of tokens in the text, 0 for null or empty text
+     */
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokens(text);
+    }
+}
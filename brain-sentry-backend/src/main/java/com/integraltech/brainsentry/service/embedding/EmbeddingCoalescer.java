@@ -0,0 +1,158 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Micro-batching coalescer for single-text embedding requests.
+ *
+ * Concurrent callers enqueue their text and get a future back. A dispatcher
+ * thread collects requests until either {@code maxBatchSize} is reached or
+ * {@code maxWait} has elapsed since the first request of the batch, then
+ * hands the whole batch to the batch embedding function in one call.
+ * Identical texts within a batch are embedded once.
+ */
+@Slf4j
+public class EmbeddingCoalescer implements AutoCloseable {
+
+    private final Function<List<String>, List<float[]>> batchEmbedder;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final LinkedBlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    public EmbeddingCoalescer(Function<List<String>, List<float[]>> batchEmbedder,
+                              int maxBatchSize, long maxWaitMicros) {
+        this.batchEmbedder = batchEmbedder;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxWaitMicros));
+        this.dispatcher = Thread.ofPlatform()
+            .name("embedding-coalescer")
+            .daemon(true)
+            .start(this::dispatchLoop);
+        log.info("Embedding coalescer started (max batch: {}, max wait: {}us)", this.maxBatchSize, maxWaitMicros);
+    }
+
+    /**
+     * Queue a text for embedding.
+     *
+     * @param text the text to embed
+     * @return future completed with the embedding once its batch has run
+     */
+    public CompletableFuture<float[]> submit(String text) {
+        CompletableFuture<float[]> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(shutDown());
+            return future;
+        }
+        Request request = new Request(text, future);
+        queue.add(request);
+        // close() may have drained the queue between the check and the add
+        if (!running && queue.remove(request)) {
+            future.completeExceptionally(shutDown());
+        }
+        return future;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            List<Request> batch = new ArrayList<>(maxBatchSize);
+            try {
+                Request first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxWaitNanos;
+
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Request next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                try {
+                    batchExecutor.execute(() -> runBatch(batch));
+                } catch (RejectedExecutionException e) {
+                    fail(batch, e);
+                }
+            } catch (InterruptedException e) {
+                // Closing: the batch being collected will never run
+                fail(batch, shutDown());
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void runBatch(List<Request> batch) {
+        // Group callers by text so duplicates share one embedding
+        Map<String, List<CompletableFuture<float[]>>> byText = new LinkedHashMap<>();
+        for (Request request : batch) {
+            byText.computeIfAbsent(request.text(), t -> new ArrayList<>(1)).add(request.future());
+        }
+
+        try {
+            List<String> texts = new ArrayList<>(byText.keySet());
+            List<float[]> embeddings = batchEmbedder.apply(texts);
+            log.trace("Coalesced {} embed requests into a batch of {}", batch.size(), texts.size());
+
+            int i = 0;
+            for (List<CompletableFuture<float[]>> futures : byText.values()) {
+                float[] embedding = embeddings.get(i++);
+                for (CompletableFuture<float[]> future : futures) {
+                    // Each caller gets its own copy so callers cannot corrupt each other's vectors
+                    future.complete(futures.size() == 1 ? embedding : embedding.clone());
+                }
+            }
+        } catch (Throwable t) {
+            // Errors too (native library failures, OOM): callers must never wait forever
+            fail(batch, t);
+            if (t instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    private static void fail(List<Request> batch, Throwable cause) {
+        for (Request request : batch) {
+            request.future().completeExceptionally(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        dispatcher.interrupt();
+        List<Request> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        fail(pending, shutDown());
+        batchExecutor.shutdown();
+    }
+
+    private static IllegalStateException shutDown() {
+        return new IllegalStateException("Embedding coalescer is shut down");
+    }
+
+    private record Request(String text, CompletableFuture<float[]> future) {}
+}
@@ -0,0 +1,37 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import java.util.List;
+
+/**
+ * Backend that turns text into embeddings.
+ *
+ * Implementations must be thread-safe and return L2-normalized vectors
+ * so that cosine similarity reduces to a dot product.
+ */
+public interface EmbeddingEngine extends AutoCloseable {
+
+    /**
+     * Embed a batch of texts, preserving input order.
+     *
+     * @param texts texts to embed
+     * @return one normalized embedding per text
+     */
+    List<float[]> embed(List<String> texts);
+
+    /**
+     * Embedding dimension produced by this engine.
+     */
+    int dimension();
+
+    /**
+     * Identifier of the model producing the vectors; embeddings from
+     * different models must never be compared or cached together.
+     */
+    String modelId();
+
+    boolean isReady();
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,67 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic hash-based placeholder embeddings.
+ *
+ * Carries no semantic meaning; used when no model is configured
+ * (tests, local development without model files).
+ */
+public class HashEmbeddingEngine implements EmbeddingEngine {
+
+    private final int dimension;
+
+    public HashEmbeddingEngine(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            embeddings.add(embed(text));
+        }
+        return embeddings;
+    }
+
+    private float[] embed(String text) {
+        float[] embedding = new float[dimension];
+
+        // Deterministic pseudo-random values based on hash and position
+        int hash = text.hashCode();
+        for (int i = 0; i < dimension; i++) {
+            double val = Math.sin(hash * (i + 1) * 0.1) * 0.5 + 0.5;
+            embedding[i] = (float) val;
+        }
+
+        // Normalize to unit length
+        float norm = 0.0f;
+        for (float v : embedding) {
+            norm += v * v;
+        }
+        norm = (float) Math.sqrt(norm);
+        if (norm > 0) {
+            for (int i = 0; i < embedding.length; i++) {
+                embedding[i] /= norm;
+            }
+        }
+        return embedding;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public String modelId() {
+        return "hash-" + dimension;
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+}
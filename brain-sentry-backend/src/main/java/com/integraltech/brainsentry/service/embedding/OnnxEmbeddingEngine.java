@@ -0,0 +1,256 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import ai.onnxruntime.TensorInfo;
+import com.integraltech.brainsentry.config.EmbeddingProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local CPU embedding engine running a sentence-transformers model
+ * (all-MiniLM-L6-v2 by default) through ONNX Runtime.
+ *
+ * A batch of texts is tokenized, padded to the longest sequence and run
+ * as a single forward pass; token embeddings are mean-pooled over the
+ * attention mask and L2-normalized. Forward passes execute on a small
+ * fixed inference pool so that request threads never oversubscribe the CPU.
+ */
+@Slf4j
+public class OnnxEmbeddingEngine implements EmbeddingEngine {
+
+    private static final String MODEL_FILE = "model.onnx";
+    private static final String VOCAB_FILE = "vocab.txt";
+
+    private final OrtEnvironment environment;
+    private final OrtSession session;
+    private final WordPieceTokenizer tokenizer;
+    private final ExecutorService inferencePool;
+    private final boolean needsTokenTypeIds;
+    private final String modelId;
+    private final int dimension;
+    private final int maxSequenceLength;
+    private final int batchSize;
+    private volatile boolean ready;
+
+    public OnnxEmbeddingEngine(EmbeddingProperties properties) throws OrtException, IOException {
+        Path modelDir = Path.of(properties.getModelPath());
+        this.tokenizer = WordPieceTokenizer.fromVocabFile(modelDir.resolve(VOCAB_FILE));
+        this.modelId = properties.getModel();
+        this.maxSequenceLength = properties.getMaxSequenceLength();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+
+        int inferenceThreads = Math.max(1, properties.getInferenceThreads());
+        int intraOpThreads = properties.getIntraOpThreads() > 0
+            ? properties.getIntraOpThreads()
+            : Math.max(1, Runtime.getRuntime().availableProcessors() / inferenceThreads);
+
+        this.environment = OrtEnvironment.getEnvironment();
+        try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+            options.setOptimizationLevel(OrtSession.SessionOptions.OptLevel.ALL_OPT);
+            options.setIntraOpNumThreads(intraOpThreads);
+            options.setInterOpNumThreads(1);
+            this.session = environment.createSession(modelDir.resolve(MODEL_FILE).toString(), options);
+        }
+        this.needsTokenTypeIds = session.getInputNames().contains("token_type_ids");
+        this.dimension = outputDimension(session, properties.getDimensions());
+
+        AtomicInteger counter = new AtomicInteger();
+        this.inferencePool = Executors.newFixedThreadPool(inferenceThreads, runnable -> {
+            Thread thread = new Thread(runnable, "embedding-inference-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        log.info("Loaded ONNX embedding model {} from {} (inference threads: {}, intra-op threads: {})",
+            modelId, modelDir, inferenceThreads, intraOpThreads);
+
+        if (properties.isWarmUp()) {
+            warmUp();
+        }
+        this.ready = true;
+    }
+
+    @Override
+    public List<float[]> embed(List<String> texts) {
+        if (texts.isEmpty()) {
+            return List.of();
+        }
+        if (texts.size() <= batchSize) {
+            return runOnPool(texts).join();
+        }
+
+        // Split into max-size batches and run them concurrently on the pool
+        List<CompletableFuture<List<float[]>>> futures = new ArrayList<>();
+        for (int start = 0; start < texts.size(); start += batchSize) {
+            futures.add(runOnPool(texts.subList(start, Math.min(start + batchSize, texts.size()))));
+        }
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+        for (CompletableFuture<List<float[]>> future : futures) {
+            embeddings.addAll(future.join());
+        }
+        return embeddings;
+    }
+
+    private CompletableFuture<List<float[]>> runOnPool(List<String> batch) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return forward(batch);
+            } catch (OrtException e) {
+                throw new CompletionException(e);
+            }
+        }, inferencePool);
+    }
+
+    /**
+     * Single forward pass over one padded batch.
+     */
+    private List<float[]> forward(List<String> batch) throws OrtException {
+        int rows = batch.size();
+        int[][] encoded = new int[rows][];
+        int sequenceLength = 0;
+        for (int i = 0; i < rows; i++) {
+            encoded[i] = tokenizer.encode(batch.get(i), maxSequenceLength);
+            sequenceLength = Math.max(sequenceLength, encoded[i].length);
+        }
+
+        long[] inputIds = new long[rows * sequenceLength];
+        long[] attentionMask = new long[rows * sequenceLength];
+        for (int i = 0; i < rows; i++) {
+            int offset = i * sequenceLength;
+            for (int j = 0; j < sequenceLength; j++) {
+                if (j < encoded[i].length) {
+                    inputIds[offset + j] = encoded[i][j];
+                    attentionMask[offset + j] = 1;
+                } else {
+                    inputIds[offset + j] = tokenizer.getPadId();
+                }
+            }
+        }
+
+        long[] shape = {rows, sequenceLength};
+        Map<String, OnnxTensor> inputs = new HashMap<>();
+        try {
+            inputs.put("input_ids", OnnxTensor.createTensor(environment, LongBuffer.wrap(inputIds), shape));
+            inputs.put("attention_mask", OnnxTensor.createTensor(environment, LongBuffer.wrap(attentionMask), shape));
+            if (needsTokenTypeIds) {
+                inputs.put("token_type_ids",
+                    OnnxTensor.createTensor(environment, LongBuffer.wrap(new long[rows * sequenceLength]), shape));
+            }
+
+            try (OrtSession.Result result = session.run(inputs)) {
+                FloatBuffer hidden = ((OnnxTensor) result.get(0)).getFloatBuffer();
+                return meanPool(hidden, attentionMask, rows, sequenceLength);
+            }
+        } finally {
+            inputs.values().forEach(OnnxTensor::close);
+        }
+    }
+
+    /**
+     * Mean-pool token embeddings [rows, seq, dim] over the attention mask, then L2-normalize.
+     */
+    private List<float[]> meanPool(FloatBuffer hidden, long[] attentionMask, int rows, int sequenceLength) {
+        List<float[]> embeddings = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            float[] pooled = new float[dimension];
+            int tokens = 0;
+            for (int j = 0; j < sequenceLength; j++) {
+                if (attentionMask[i * sequenceLength + j] == 0) {
+                    continue;
+                }
+                int base = (i * sequenceLength + j) * dimension;
+                for (int d = 0; d < dimension; d++) {
+                    pooled[d] += hidden.get(base + d);
+                }
+                tokens++;
+            }
+
+            float norm = 0.0f;
+            for (int d = 0; d < dimension; d++) {
+                pooled[d] /= Math.max(tokens, 1);
+                norm += pooled[d] * pooled[d];
+            }
+            norm = (float) Math.sqrt(norm);
+            if (norm > 0) {
+                for (int d = 0; d < dimension; d++) {
+                    pooled[d] /= norm;
+                }
+            }
+            embeddings.add(pooled);
+        }
+        return embeddings;
+    }
+
+    /**
+     * Hidden size of the first model output ([batch, seq, hidden]), falling back
+     * to the configured dimension when the model does not declare it.
+     */
+    private static int outputDimension(OrtSession session, int configured) throws OrtException {
+        TensorInfo info = (TensorInfo) session.getOutputInfo().values().iterator().next().getInfo();
+        long[] shape = info.getShape();
+        long hidden = shape[shape.length - 1];
+        if (hidden <= 0) {
+            return configured;
+        }
+        if (hidden != configured) {
+            log.warn("Model output dimension {} differs from configured dimensions {}", hidden, configured);
+        }
+        return (int) hidden;
+    }
+
+    /**
+     * Run a full-size batch once so ONNX Runtime allocates its arenas and
+     * the JIT compiles the pooling loop before the first real request.
+     */
+    private void warmUp() {
+        long start = System.currentTimeMillis();
+        List<String> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add("Brain Sentry warm-up sentence number " + i + " for the embedding model.");
+        }
+        embed(batch);
+        log.info("Embedding model warm-up completed in {}ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public String modelId() {
+        return modelId;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void close() {
+        ready = false;
+        inferencePool.shutdown();
+        try {
+            session.close();
+        } catch (OrtException e) {
+            log.warn("Failed to close ONNX session: {}", e.getMessage());
+        }
+    }
+}
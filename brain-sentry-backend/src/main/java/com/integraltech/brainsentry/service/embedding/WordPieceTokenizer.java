@@ -0,0 +1,192 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * BERT uncased WordPiece tokenizer, compatible with the vocab.txt shipped
+ * with sentence-transformers models such as all-MiniLM-L6-v2.
+ *
+ * Pipeline: clean text, lowercase, strip accents, split on whitespace and
+ * punctuation, then greedy longest-match-first WordPiece with "##" suffixes.
+ */
+public class WordPieceTokenizer {
+
+    public static final String CLS = "[CLS]";
+    public static final String SEP = "[SEP]";
+    public static final String PAD = "[PAD]";
+    public static final String UNK = "[UNK]";
+
+    private static final int MAX_CHARS_PER_WORD = 100;
+
+    private final Map<String, Integer> vocab;
+    private final int clsId;
+    private final int sepId;
+    private final int padId;
+    private final int unkId;
+
+    public WordPieceTokenizer(List<String> vocabulary) {
+        this.vocab = new HashMap<>(vocabulary.size() * 2);
+        for (int i = 0; i < vocabulary.size(); i++) {
+            vocab.putIfAbsent(vocabulary.get(i), i);
+        }
+        this.clsId = requireToken(CLS);
+        this.sepId = requireToken(SEP);
+        this.padId = requireToken(PAD);
+        this.unkId = requireToken(UNK);
+    }
+
+    /**
+     * Load a tokenizer from a vocab.txt file (one token per line, line number = ID).
+     */
+    public static WordPieceTokenizer fromVocabFile(Path vocabFile) throws IOException {
+        return new WordPieceTokenizer(Files.readAllLines(vocabFile, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encode text as [CLS] tokens [SEP], truncated to maxLength IDs.
+     */
+    public int[] encode(String text, int maxLength) {
+        List<Integer> ids = new ArrayList<>();
+        ids.add(clsId);
+        int budget = maxLength - 2;
+        for (String word : basicTokenize(text)) {
+            if (ids.size() - 1 >= budget) {
+                break;
+            }
+            wordPiece(word, ids);
+        }
+        if (ids.size() - 1 > budget) {
+            ids.subList(budget + 1, ids.size()).clear();
+        }
+        ids.add(sepId);
+
+        int[] result = new int[ids.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids.get(i);
+        }
+        return result;
+    }
+
+    public int getPadId() {
+        return padId;
+    }
+
+    public int vocabularySize() {
+        return vocab.size();
+    }
+
+    // ==================== Basic tokenization ====================
+
+    List<String> basicTokenize(String text) {
+        String normalized = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (cp == 0 || cp == 0xFFFD || isControl(cp)) {
+                continue;
+            }
+            if (Character.getType(cp) == Character.NON_SPACING_MARK) {
+                continue; // strip accents
+            }
+            if (isWhitespace(cp)) {
+                flush(current, tokens);
+            } else if (isPunctuation(cp) || isCjk(cp)) {
+                flush(current, tokens);
+                tokens.add(new String(Character.toChars(cp)));
+            } else {
+                current.appendCodePoint(cp);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private void wordPiece(String word, List<Integer> out) {
+        if (word.codePointCount(0, word.length()) > MAX_CHARS_PER_WORD) {
+            out.add(unkId);
+            return;
+        }
+        int start = 0;
+        int mark = out.size();
+        while (start < word.length()) {
+            int end = word.length();
+            Integer match = null;
+            while (start < end) {
+                String piece = start > 0 ? "##" + word.substring(start, end) : word.substring(start, end);
+                match = vocab.get(piece);
+                if (match != null) {
+                    break;
+                }
+                end = word.offsetByCodePoints(end, -1);
+            }
+            if (match == null) {
+                // Whole word becomes [UNK] if any piece is unknown
+                out.subList(mark, out.size()).clear();
+                out.add(unkId);
+                return;
+            }
+            out.add(match);
+            start = end;
+        }
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+            current.setLength(0);
+        }
+    }
+
+    private static boolean isWhitespace(int cp) {
+        return cp == ' ' || cp == '\t' || cp == '\n' || cp == '\r'
+            || Character.getType(cp) == Character.SPACE_SEPARATOR;
+    }
+
+    private static boolean isControl(int cp) {
+        if (cp == '\t' || cp == '\n' || cp == '\r') {
+            return false;
+        }
+        int type = Character.getType(cp);
+        return type == Character.CONTROL || type == Character.FORMAT;
+    }
+
+    private static boolean isPunctuation(int cp) {
+        if ((cp >= 33 && cp <= 47) || (cp >= 58 && cp <= 64)
+                || (cp >= 91 && cp <= 96) || (cp >= 123 && cp <= 126)) {
+            return true;
+        }
+        int type = Character.getType(cp);
+        return type == Character.CONNECTOR_PUNCTUATION || type == Character.DASH_PUNCTUATION
+            || type == Character.START_PUNCTUATION || type == Character.END_PUNCTUATION
+            || type == Character.INITIAL_QUOTE_PUNCTUATION || type == Character.FINAL_QUOTE_PUNCTUATION
+            || type == Character.OTHER_PUNCTUATION;
+    }
+
+    private static boolean isCjk(int cp) {
+        return (cp >= 0x4E00 && cp <= 0x9FFF) || (cp >= 0x3400 && cp <= 0x4DBF)
+            || (cp >= 0x20000 && cp <= 0x2A6DF) || (cp >= 0x2A700 && cp <= 0x2B73F)
+            || (cp >= 0x2B740 && cp <= 0x2B81F) || (cp >= 0x2B820 && cp <= 0x2CEAF)
+            || (cp >= 0xF900 && cp <= 0xFAFF) || (cp >= 0x2F800 && cp <= 0x2FA1F);
+    }
+
+    private int requireToken(String token) {
+        Integer id = vocab.get(token);
+        if (id == null) {
+            throw new IllegalArgumentException("Vocabulary is missing special token " + token);
+        }
+        return id;
+    }
+}
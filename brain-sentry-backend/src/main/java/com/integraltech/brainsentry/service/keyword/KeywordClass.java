@@ -0,0 +1,73 @@
+package com.integraltech.brainsentry.service.keyword;
+
+import java.util.List;
+
+/**
+ * Classes of prompt keywords recognised during interception.
+ *
+ * RELEVANCE gates the quick check, ERROR triggers hindsight note lookup,
+ * and the remaining classes map to an error type, in priority order.
+ * Each class is one bit of a {@link KeywordMatcher} result.
+ */
+public enum KeywordClass {
+
+    RELEVANCE(null, List.of(
+        "agent", "service", "repository", "controller", "component", "class", "create",
+        "implement", "add", "fix", "bug", "error", "pattern", "decision", "use")),
+
+    ERROR(null, List.of(
+        "error", "exception", "failed", "failure", "bug", "issue", "nullpointer", "runtime", "timeout")),
+
+    NULL_POINTER("NullPointerException", List.of("nullpointer", "null pointer")),
+
+    TIMEOUT("TimeoutException", List.of("timeout")),
+
+    SQL("SQLException", List.of("sql", "database")),
+
+    IO("IOException", List.of("io")),
+
+    RUNTIME("RuntimeException", List.of("runtime"));
+
+    private final String errorType;
+    private final List<String> defaultKeywords;
+
+    KeywordClass(String errorType, List<String> defaultKeywords) {
+        this.errorType = errorType;
+        this.defaultKeywords = defaultKeywords;
+    }
+
+    /**
+     * Exception name reported for this class, or null if it is not an error type.
+     */
+    public String getErrorType() {
+        return errorType;
+    }
+
+    /**
+     * Built-in keywords; configuration can add more per tenant.
+     */
+    public List<String> getDefaultKeywords() {
+        return defaultKeywords;
+    }
+
+    /**
+     * Whether this class is set in a {@link KeywordMatcher} result.
+     */
+    public boolean in(long matched) {
+        return (matched & (1L << ordinal())) != 0;
+    }
+
+    /**
+     * The highest-priority error type in a match result.
+     *
+     * @return the exception name, or "UNKNOWN" if no error type matched
+     */
+    public static String errorType(long matched) {
+        for (KeywordClass keywordClass : values()) {
+            if (keywordClass.errorType != null && keywordClass.in(matched)) {
+                return keywordClass.errorType;
+            }
+        }
+        return "UNKNOWN";
+    }
+}
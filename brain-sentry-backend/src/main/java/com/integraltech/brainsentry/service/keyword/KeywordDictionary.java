@@ -0,0 +1,61 @@
+package com.integraltech.brainsentry.service.keyword;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tenant keyword automata for prompt interception.
+ *
+ * Each tenant's dictionary is the built-in keywords of every
+ * {@link KeywordClass}, plus {@code brain-sentry.interception.keywords.extra}
+ * for all tenants, plus {@code brain-sentry.interception.keywords.tenants.<id>}.
+ * Automata are compiled on first use and cached.
+ */
+@Component
+public class KeywordDictionary {
+
+    private final InterceptionProperties.Keywords config;
+    private final KeywordMatcher defaultMatcher;
+    private final Map<String, KeywordMatcher> tenantMatchers = new ConcurrentHashMap<>();
+
+    public KeywordDictionary(InterceptionProperties properties) {
+        this.config = properties.getKeywords();
+        this.defaultMatcher = compile(Map.of());
+    }
+
+    /**
+     * Scan a prompt once against the tenant's dictionary.
+     *
+     * @param tenantId the tenant, or null for the shared dictionary
+     * @param text the text to scan
+     * @return matched classes, tested with {@link KeywordClass#in(long)}
+     */
+    public long match(String tenantId, CharSequence text) {
+        return matcherFor(tenantId).match(text);
+    }
+
+    KeywordMatcher matcherFor(String tenantId) {
+        if (tenantId == null) {
+            return defaultMatcher;
+        }
+        Map<KeywordClass, List<String>> tenantKeywords = config.getTenants().get(tenantId);
+        if (tenantKeywords == null || tenantKeywords.isEmpty()) {
+            return defaultMatcher;
+        }
+        return tenantMatchers.computeIfAbsent(tenantId, id -> compile(tenantKeywords));
+    }
+
+    private KeywordMatcher compile(Map<KeywordClass, List<String>> tenantKeywords) {
+        KeywordMatcher.Builder builder = KeywordMatcher.builder();
+        for (KeywordClass keywordClass : KeywordClass.values()) {
+            builder.add(keywordClass.ordinal(), keywordClass.getDefaultKeywords());
+            builder.add(keywordClass.ordinal(), config.getExtra().getOrDefault(keywordClass, List.of()));
+            builder.add(keywordClass.ordinal(), tenantKeywords.getOrDefault(keywordClass, List.of()));
+        }
+        return builder.build();
+    }
+}
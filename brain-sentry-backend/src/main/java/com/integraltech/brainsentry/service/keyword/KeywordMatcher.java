@@ -0,0 +1,199 @@
+package com.integraltech.brainsentry.service.keyword;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive multi-keyword substring matcher (Aho-Corasick).
+ *
+ * Every keyword belongs to a class (0..63). {@link #match(CharSequence)}
+ * scans the text once and returns a bitmask of the classes whose keywords
+ * occur anywhere in it, without allocating. The automaton is compiled into
+ * a dense transition table over the characters that appear in keywords;
+ * any other character resets to the root.
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class KeywordMatcher {
+
+    public static final int MAX_CLASSES = Long.SIZE;
+
+    private static final int ASCII = 128;
+
+    private final int[] asciiColumn;       // char -> column, 0 = not in any keyword
+    private final char[] otherChars;       // sorted non-ASCII keyword chars
+    private final int[] otherColumns;
+    private final int width;               // columns per state
+    private final int[] transitions;       // state * width + column -> next state
+    private final long[] outputs;          // classes matched on reaching a state
+    private final long allClasses;
+
+    private KeywordMatcher(Builder builder) {
+        // Column per distinct keyword character
+        Map<Character, Integer> columns = new HashMap<>();
+        for (Entry entry : builder.entries) {
+            for (int i = 0; i < entry.keyword().length(); i++) {
+                columns.putIfAbsent(entry.keyword().charAt(i), columns.size() + 1);
+            }
+        }
+        this.width = columns.size() + 1;
+        this.asciiColumn = new int[ASCII];
+        List<Character> other = new ArrayList<>();
+        columns.forEach((c, column) -> {
+            if (c < ASCII) {
+                asciiColumn[c] = column;
+            } else {
+                other.add(c);
+            }
+        });
+        other.sort(null);
+        this.otherChars = new char[other.size()];
+        this.otherColumns = new int[other.size()];
+        for (int i = 0; i < other.size(); i++) {
+            otherChars[i] = other.get(i);
+            otherColumns[i] = columns.get(other.get(i));
+        }
+
+        // Trie: -1 = no edge yet
+        List<int[]> trie = new ArrayList<>();
+        List<Long> out = new ArrayList<>();
+        trie.add(newRow(width));
+        out.add(0L);
+        for (Entry entry : builder.entries) {
+            int state = 0;
+            for (int i = 0; i < entry.keyword().length(); i++) {
+                int column = columns.get(entry.keyword().charAt(i));
+                if (trie.get(state)[column] < 0) {
+                    trie.get(state)[column] = trie.size();
+                    trie.add(newRow(width));
+                    out.add(0L);
+                }
+                state = trie.get(state)[column];
+            }
+            out.set(state, out.get(state) | (1L << entry.classId()));
+        }
+
+        // BFS over the trie: fill missing edges from the failure state so the
+        // table becomes a DFA, and inherit outputs along failure links
+        int states = trie.size();
+        this.transitions = new int[states * width];
+        this.outputs = new long[states];
+        int[] failure = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(0);
+        for (int column = 0; column < width; column++) {
+            int next = root[column];
+            if (next < 0) {
+                transitions[column] = 0;
+            } else {
+                transitions[column] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        outputs[0] = out.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = out.get(state) | outputs[failure[state]];
+            int[] row = trie.get(state);
+            for (int column = 0; column < width; column++) {
+                int next = row[column];
+                int fallback = transitions[failure[state] * width + column];
+                if (next < 0) {
+                    transitions[state * width + column] = fallback;
+                } else {
+                    transitions[state * width + column] = next;
+                    failure[next] = fallback;
+                    queue.add(next);
+                }
+            }
+        }
+
+        long classes = 0;
+        for (Entry entry : builder.entries) {
+            classes |= 1L << entry.classId();
+        }
+        this.allClasses = classes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Scan the text once and collect the classes of all keywords found.
+     * Stops early once every class has matched.
+     *
+     * @param text the text to scan (null matches nothing)
+     * @return bitmask with bit {@code classId} set for each matched class
+     */
+    public long match(CharSequence text) {
+        if (text == null) {
+            return 0L;
+        }
+        long matched = 0L;
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            state = transitions[state * width + column(Character.toLowerCase(text.charAt(i)))];
+            long found = outputs[state];
+            if (found != 0) {
+                matched |= found;
+                if (matched == allClasses) {
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    private int column(char c) {
+        if (c < ASCII) {
+            return asciiColumn[c];
+        }
+        int index = Arrays.binarySearch(otherChars, c);
+        return index >= 0 ? otherColumns[index] : 0;
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private record Entry(String keyword, int classId) {
+    }
+
+    /**
+     * Collects keywords per class; blank keywords are ignored.
+     */
+    public static final class Builder {
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder add(int classId, Collection<String> keywords) {
+            if (classId < 0 || classId >= MAX_CLASSES) {
+                throw new IllegalArgumentException("Keyword class must be between 0 and " + (MAX_CLASSES - 1));
+            }
+            for (String keyword : keywords) {
+                if (keyword != null && !keyword.isBlank()) {
+                    entries.add(new Entry(keyword.toLowerCase(Locale.ROOT), classId));
+                }
+            }
+            return this;
+        }
+
+        public KeywordMatcher build() {
+            return new KeywordMatcher(this);
+        }
+    }
+}
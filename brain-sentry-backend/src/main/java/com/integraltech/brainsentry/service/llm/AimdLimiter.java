@@ -0,0 +1,65 @@
+package com.integraltech.brainsentry.service.llm;
+
+/**
+ * Adaptive concurrency limit with additive increase, multiplicative decrease.
+ *
+ * A call over the current limit is rejected rather than queued. A success
+ * while at least half the limit is in use raises the limit by one, up to
+ * {@code maxLimit}, which acts as a fixed bulkhead. A dropped call (429, 5xx,
+ * timeout) multiplies it by {@code backoffRatio}, down to {@code minLimit}.
+ *
+ * Every {@link #tryAcquire()} that returns true must be followed by exactly
+ * one of {@link #onSuccess()}, {@link #onDropped()} or {@link #onIgnored()}.
+ */
+public class AimdLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.clamp(initialLimit, this.minLimit, this.maxLimit);
+    }
+
+    /**
+     * @return false if the limit is reached
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        // Only grow when the limit is actually being exercised
+        if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        inFlight--;
+    }
+
+    public synchronized void onDropped() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+        inFlight--;
+    }
+
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+}
@@ -0,0 +1,147 @@
+package com.integraltech.brainsentry.service.llm;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * CLOSED: calls pass and their outcomes fill a sliding window; once it holds
+ * at least {@code minimumCalls} and the failure rate reaches the threshold,
+ * the breaker opens. OPEN: calls are rejected until {@code openDuration} has
+ * passed. HALF_OPEN: up to {@code halfOpenCalls} trial calls pass; all of
+ * them succeeding closes the breaker, any failure opens it again.
+ *
+ * Every {@link #tryAcquire()} that returns true must be followed by exactly
+ * one of {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] window;  // true = failure
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenCalls, LongSupplier clock) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.clock = clock;
+    }
+
+    /**
+     * Ask to make a call.
+     *
+     * @return false if the call must fail fast
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+            halfOpenStarted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenStarted >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenStarted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenCalls) {
+                transition(State.CLOSED);
+                clearWindow();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * The call ended in a way that says nothing about the provider's health,
+     * or was never made; gives back a trial slot when half-open.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenStarted > halfOpenSucceeded) {
+            halfOpenStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        transition(State.OPEN);
+        openedAt = clock.getAsLong();
+        clearWindow();
+    }
+
+    private void clearWindow() {
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            log.info("LLM circuit breaker {}: {} -> {}", name, state, next);
+            state = next;
+        }
+    }
+}
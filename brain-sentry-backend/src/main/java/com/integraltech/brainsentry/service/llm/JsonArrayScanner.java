@@ -0,0 +1,76 @@
+package com.integraltech.brainsentry.service.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental scanner for the objects of a JSON array in LLM output.
+ *
+ * Text before the first {@code [} (prose, a code fence, the key of a wrapper
+ * object) is skipped; after it, each top-level {@code {...}} element is
+ * returned as soon as its closing brace arrives. Elements that are not
+ * objects are skipped, and an element cut off by the end of the output is
+ * never returned, so the complete elements of a truncated answer can still
+ * be used. Feed the text in one piece or as it streams in.
+ *
+ * The scanner only balances braces and brackets outside strings; callers
+ * parse each element, which may still be invalid JSON.
+ */
+public class JsonArrayScanner {
+
+    private final StringBuilder element = new StringBuilder();
+    private boolean inArray;
+    private boolean done;
+    private int depth;          // nesting inside the current element, 0 between elements
+    private boolean isObject;   // whether the current element is an object
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * Scan the next piece of the output.
+     *
+     * @return the elements completed by this piece, in order
+     */
+    public List<String> feed(CharSequence chunk) {
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < chunk.length() && !done; i++) {
+            char c = chunk.charAt(i);
+            if (!inArray) {
+                inArray = c == '[';
+            } else {
+                if (depth > 0) {
+                    element.append(c);
+                }
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    if (depth++ == 0) {
+                        isObject = c == '{';
+                        element.setLength(0);
+                        element.append(c);
+                    }
+                } else if (c == ']' && depth == 0) {
+                    done = true;
+                } else if ((c == '}' || c == ']') && depth > 0 && --depth == 0 && isObject) {
+                    completed.add(element.toString());
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Whether the closing bracket of the array has been seen.
+     */
+    public boolean isDone() {
+        return done;
+    }
+}
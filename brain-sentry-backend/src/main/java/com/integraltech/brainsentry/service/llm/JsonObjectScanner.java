@@ -0,0 +1,163 @@
+package com.integraltech.brainsentry.service.llm;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental scanner for the top-level fields of a JSON object in LLM output.
+ *
+ * Text before the first opening brace (prose, a code fence) is skipped; after it,
+ * each field is recorded as soon as its value is complete, as the raw JSON
+ * text of the value. A number, {@code true}, {@code false} or {@code null} is
+ * complete once the delimiter after it arrives, since more digits could
+ * follow. Feed the output as it streams in and stop the generation once
+ * {@link #hasRequired()} is true; the fields after the required ones are
+ * never waited for.
+ *
+ * Keys are compared as written, without unescaping. Callers parse each
+ * value, which may still be invalid JSON.
+ */
+public class JsonObjectScanner {
+
+    private enum State { BEFORE_OBJECT, BEFORE_KEY, KEY, BEFORE_COLON, BEFORE_VALUE, VALUE, DONE }
+
+    private final List<String> required;
+    private final Map<String, String> fields = new LinkedHashMap<>();
+    private final StringBuilder token = new StringBuilder();
+    private State state = State.BEFORE_OBJECT;
+    private String key;
+    private int depth;          // nesting inside an object or array value
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * @param required the fields {@link #hasRequired()} waits for
+     */
+    public JsonObjectScanner(Collection<String> required) {
+        this.required = List.copyOf(required);
+    }
+
+    /**
+     * Scan the next piece of the output.
+     *
+     * @return whether all required fields are now complete
+     */
+    public boolean feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            char c = chunk.charAt(i);
+            switch (state) {
+                case BEFORE_OBJECT -> {
+                    if (c == '{') {
+                        state = State.BEFORE_KEY;
+                    }
+                }
+                case BEFORE_KEY -> {
+                    if (c == '"') {
+                        token.setLength(0);
+                        state = State.KEY;
+                    } else if (c == '}') {
+                        state = State.DONE;
+                    }
+                }
+                case KEY -> {
+                    if (escaped) {
+                        escaped = false;
+                        token.append(c);
+                    } else if (c == '\\') {
+                        escaped = true;
+                        token.append(c);
+                    } else if (c == '"') {
+                        key = token.toString();
+                        state = State.BEFORE_COLON;
+                    } else {
+                        token.append(c);
+                    }
+                }
+                case BEFORE_COLON -> {
+                    if (c == ':') {
+                        state = State.BEFORE_VALUE;
+                    }
+                }
+                case BEFORE_VALUE -> {
+                    if (!Character.isWhitespace(c)) {
+                        token.setLength(0);
+                        state = State.VALUE;
+                        value(c);
+                    }
+                }
+                case VALUE -> value(c);
+                default -> {
+                }
+            }
+        }
+        return hasRequired();
+    }
+
+    private void value(char c) {
+        if (token.isEmpty()) {
+            // The first character decides the kind of value
+            token.append(c);
+            inString = c == '"';
+            depth = c == '{' || c == '[' ? 1 : 0;
+            return;
+        }
+
+        if (inString) {
+            token.append(c);
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+                if (depth == 0) {
+                    complete();
+                }
+            }
+        } else if (depth > 0) {
+            token.append(c);
+            if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                complete();
+            }
+        } else if (c == ',' || c == '}' || Character.isWhitespace(c)) {
+            complete();
+            if (c == '}') {
+                state = State.DONE;
+            }
+        } else {
+            token.append(c);
+        }
+    }
+
+    private void complete() {
+        fields.put(key, token.toString());
+        state = State.BEFORE_KEY;
+    }
+
+    /**
+     * Whether every required field has a complete value.
+     */
+    public boolean hasRequired() {
+        return fields.keySet().containsAll(required);
+    }
+
+    /**
+     * Whether the closing brace of the object has been seen.
+     */
+    public boolean isDone() {
+        return state == State.DONE;
+    }
+
+    /**
+     * The complete fields so far, as the raw JSON text of each value, in order.
+     */
+    public Map<String, String> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,285 @@
+package com.integraltech.brainsentry.service.llm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integraltech.brainsentry.config.OpenRouterConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Non-blocking client for the OpenRouter chat completions API.
+ *
+ * Built on one shared {@link HttpClient}: HTTP/2 when the server negotiates
+ * it (HTTP/1.1 otherwise), pooled keep-alive connections, and a
+ * virtual-thread executor for response handling. No thread waits while a
+ * request is in flight; callers get a {@link CompletableFuture} that
+ * completes with the message content, or exceptionally on a network error,
+ * a timeout or a non-2xx status.
+ *
+ * Timeouts come from {@code brain-sentry.llm}: {@code connect-timeout} for
+ * establishing the connection, {@code timeout} for the whole request unless
+ * the caller passes its own.
+ *
+ * {@link #stream} requests a streamed completion instead, so a caller that
+ * only needs the start of the answer can stop the generation once it has it.
+ */
+@Slf4j
+@Component
+public class LlmClient {
+
+    private final OpenRouterConfig config;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient;
+
+    /**
+     * The API answered with a non-2xx status.
+     */
+    public static class LlmStatusException extends RuntimeException {
+        private final int status;
+
+        public LlmStatusException(int status) {
+            super("OpenRouter returned status: " + status);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private record ChatMessage(String role, String content) {
+    }
+
+    private record ChatRequest(String model, List<ChatMessage> messages, Double temperature, Integer maxTokens,
+                               Boolean stream) {
+    }
+
+    public LlmClient(OpenRouterConfig config, ObjectMapper objectMapper) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+        log.info("LLM client ready: model={}, connectTimeout={}ms, timeout={}ms",
+            config.getModel(), config.getConnectTimeout(), config.getTimeout());
+    }
+
+    /**
+     * Send a system and a user message.
+     *
+     * @param systemPrompt the system prompt
+     * @param userPrompt the user prompt
+     * @param maxTokens maximum tokens in the response
+     * @return the content of the first choice
+     */
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, int maxTokens) {
+        return complete(systemPrompt, userPrompt, maxTokens, Duration.ofMillis(config.getTimeout()));
+    }
+
+    /**
+     * Send a system and a user message with a specific request timeout.
+     */
+    public CompletableFuture<String> complete(String systemPrompt, String userPrompt, int maxTokens,
+                                              Duration timeout) {
+        HttpRequest request;
+        try {
+            request = buildRequest(systemPrompt, userPrompt, maxTokens, timeout);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<HttpResponse<String>> exchange =
+            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+
+        // The request timeout only covers the wait for the headers, not a body that stalls
+        return exchange.thenApply(this::readContent)
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((content, error) -> {
+                if (error != null) {
+                    exchange.cancel(true);
+                }
+            });
+    }
+
+    /**
+     * Stream the response, passing each piece of content to a callback as it
+     * is generated. Once the callback returns true the stream is cancelled,
+     * which stops the generation, and the future completes with the content
+     * received so far.
+     *
+     * @param onContent receives each piece of content; returns true when no more is needed
+     * @return the content received, complete unless the callback stopped the stream
+     */
+    public CompletableFuture<String> stream(String systemPrompt, String userPrompt, int maxTokens, Duration timeout,
+                                            Predicate<String> onContent) {
+        HttpRequest request;
+        try {
+            request = buildRequest(systemPrompt, userPrompt, maxTokens, timeout, true);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        EventSubscriber events = new EventSubscriber(onContent);
+        HttpResponse.BodyHandler<Void> handler = info -> {
+            if (info.statusCode() / 100 != 2) {
+                events.result.completeExceptionally(new LlmStatusException(info.statusCode()));
+                return HttpResponse.BodySubscribers.replacing(null);
+            }
+            return HttpResponse.BodySubscribers.fromLineSubscriber(events);
+        };
+        CompletableFuture<HttpResponse<Void>> exchange = httpClient.sendAsync(request, handler);
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                events.result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error);
+            }
+        });
+
+        // The request timeout only covers the wait for the headers
+        return events.result
+            .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((content, error) -> events.cancel());
+    }
+
+    HttpRequest buildRequest(String systemPrompt, String userPrompt, int maxTokens, Duration timeout)
+            throws JsonProcessingException {
+        return buildRequest(systemPrompt, userPrompt, maxTokens, timeout, false);
+    }
+
+    HttpRequest buildRequest(String systemPrompt, String userPrompt, int maxTokens, Duration timeout, boolean stream)
+            throws JsonProcessingException {
+        ChatRequest body = new ChatRequest(
+            config.getModel(),
+            List.of(new ChatMessage("system", systemPrompt), new ChatMessage("user", userPrompt)),
+            config.getTemperature(),
+            maxTokens,
+            stream ? Boolean.TRUE : null
+        );
+
+        return HttpRequest.newBuilder(URI.create(config.getBaseUrl()))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + config.getApiKey())
+            .header("HTTP-Referer", "https://brainsentry.io")
+            .header("X-Title", "Brain Sentry")
+            .header("User-Agent", "Brain-Sentry/1.0")
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+            .build();
+    }
+
+    String readContent(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2 || response.body() == null) {
+            throw new LlmStatusException(response.statusCode());
+        }
+        try {
+            JsonNode root = objectMapper.readTree(response.body());
+            return root.path("choices").path(0).path("message").path("content").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable OpenRouter response", e);
+        }
+    }
+
+    /**
+     * Reads the server-sent events of a streamed completion: {@code data:}
+     * lines carrying a chunk with the next piece of content, comment lines
+     * (keep-alives) and a final {@code data: [DONE]}.
+     */
+    private final class EventSubscriber implements Flow.Subscriber<String> {
+        private final Predicate<String> onContent;
+        private final StringBuilder content = new StringBuilder();
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+
+        EventSubscriber(Predicate<String> onContent) {
+            this.onContent = onContent;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (result.isDone() || !line.startsWith("data:")) {
+                return;
+            }
+            String data = line.substring("data:".length()).trim();
+            if (data.equals("[DONE]")) {
+                result.complete(content.toString());
+                return;
+            }
+            try {
+                JsonNode chunk = objectMapper.readTree(data);
+                if (chunk.has("error")) {
+                    throw new IllegalStateException("OpenRouter stream error: "
+                        + chunk.path("error").path("message").asText());
+                }
+                String piece = chunk.path("choices").path(0).path("delta").path("content").asText("");
+                if (!piece.isEmpty()) {
+                    content.append(piece);
+                    if (onContent.test(piece)) {
+                        result.complete(content.toString());
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                result.completeExceptionally(new IllegalStateException("Unreadable OpenRouter stream chunk", e));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(content.toString());
+        }
+
+        /**
+         * Stop reading; resets the stream, so the provider stops generating.
+         */
+        void cancel() {
+            cancelled = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.shutdownNow();
+        executor.shutdownNow();
+    }
+}
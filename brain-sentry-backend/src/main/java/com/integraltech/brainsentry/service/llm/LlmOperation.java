@@ -0,0 +1,14 @@
+package com.integraltech.brainsentry.service.llm;
+
+/**
+ * Kinds of LLM call. Each kind gets its own circuit breaker, concurrency
+ * limit and timeout, so a backlog of slow entity extractions cannot starve
+ * relevance analysis on the interception path.
+ */
+public enum LlmOperation {
+    RELEVANCE,
+    IMPORTANCE,
+    RELATIONSHIP,
+    ENTITY_EXTRACTION,
+    CHAT
+}
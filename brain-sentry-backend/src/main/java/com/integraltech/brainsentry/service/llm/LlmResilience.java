@@ -0,0 +1,218 @@
+package com.integraltech.brainsentry.service.llm;
+
+import com.integraltech.brainsentry.config.LlmResilienceProperties;
+import com.integraltech.brainsentry.config.OpenRouterConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Guards LLM calls, per {@link LlmOperation}, with a circuit breaker, an
+ * AIMD concurrency limit bounded by a bulkhead, and retries with jittered
+ * exponential backoff.
+ *
+ * A call is rejected at once, with {@link LlmRejectedException}, when the
+ * breaker is open or the limit is reached, so callers fall back immediately
+ * instead of waiting for a provider that is already failing. 429 and 5xx
+ * responses and failed connections are retried up to
+ * {@code brain-sentry.llm.max-retries} times while the breaker stays closed;
+ * timeouts are not retried, since each would cost another full timeout.
+ */
+@Slf4j
+@Component
+public class LlmResilience {
+
+    private final LlmResilienceProperties properties;
+    private final OpenRouterConfig config;
+    private final Map<LlmOperation, CircuitBreaker> breakers = new EnumMap<>(LlmOperation.class);
+    private final Map<LlmOperation, AimdLimiter> limiters = new EnumMap<>(LlmOperation.class);
+
+    /**
+     * The call was not made: the circuit breaker is open or the concurrency limit is reached.
+     */
+    public static class LlmRejectedException extends RuntimeException {
+        public LlmRejectedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    @Autowired
+    public LlmResilience(LlmResilienceProperties properties, OpenRouterConfig config) {
+        this(properties, config, System::nanoTime);
+    }
+
+    LlmResilience(LlmResilienceProperties properties, OpenRouterConfig config, LongSupplier clock) {
+        this.properties = properties;
+        this.config = config;
+        LlmResilienceProperties.CircuitBreaker cb = properties.getCircuitBreaker();
+        LlmResilienceProperties.Limiter limiter = properties.getLimiter();
+        for (LlmOperation operation : LlmOperation.values()) {
+            breakers.put(operation, new CircuitBreaker(operation.name(), cb.getWindowSize(), cb.getMinimumCalls(),
+                cb.getFailureRateThreshold(), cb.getOpenDuration(), cb.getHalfOpenCalls(), clock));
+            limiters.put(operation, new AimdLimiter(limiter.getInitialLimit(), limiter.getMinLimit(),
+                limiter.getMaxConcurrent(), limiter.getBackoffRatio()));
+        }
+    }
+
+    /**
+     * Run a call under the guards of its operation.
+     *
+     * @param operation the kind of call
+     * @param call starts the request, given its timeout
+     * @return the result, or a future failed with {@link LlmRejectedException}
+     *         or the error of the last attempt
+     */
+    public <T> CompletableFuture<T> execute(LlmOperation operation, Function<Duration, CompletableFuture<T>> call) {
+        CircuitBreaker breaker = breakers.get(operation);
+        AimdLimiter limiter = limiters.get(operation);
+        if (!breaker.tryAcquire()) {
+            return CompletableFuture.failedFuture(new LlmRejectedException("Circuit breaker open for " + operation));
+        }
+        if (!limiter.tryAcquire()) {
+            breaker.onIgnored();
+            return CompletableFuture.failedFuture(new LlmRejectedException(
+                "Concurrency limit of " + limiter.getLimit() + " reached for " + operation));
+        }
+
+        Attempts<T> attempts = new Attempts<>(operation, call, timeout(operation), breaker, limiter);
+        attempts.run(0);
+        return attempts.result;
+    }
+
+    /**
+     * Request timeout of an operation.
+     */
+    public Duration timeout(LlmOperation operation) {
+        Duration timeout = properties.getTimeouts().get(operation);
+        return timeout != null ? timeout : Duration.ofMillis(config.getTimeout());
+    }
+
+    public CircuitBreaker.State state(LlmOperation operation) {
+        return breakers.get(operation).getState();
+    }
+
+    public int limit(LlmOperation operation) {
+        return limiters.get(operation).getLimit();
+    }
+
+    private int maxRetries() {
+        return config.getMaxRetries() != null ? Math.max(0, config.getMaxRetries()) : 0;
+    }
+
+    /**
+     * Random delay up to base * 2^retry, capped at the maximum backoff ("full jitter").
+     */
+    long backoffMillis(int retry) {
+        long base = properties.getRetry().getBaseBackoff().toMillis();
+        long cap = properties.getRetry().getMaxBackoff().toMillis();
+        long ceiling = Math.min(cap, base << Math.min(retry, 20));
+        return ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+    }
+
+    /**
+     * 429, 5xx, timeouts and I/O errors: the provider is struggling.
+     */
+    static boolean isDropped(Throwable error) {
+        if (error instanceof LlmClient.LlmStatusException status) {
+            return status.getStatus() == 429 || status.getStatus() >= 500;
+        }
+        return error instanceof IOException || error instanceof TimeoutException;
+    }
+
+    static boolean isRetryable(Throwable error) {
+        return isDropped(error) && !(error instanceof HttpTimeoutException) && !(error instanceof TimeoutException);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+               && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * The attempts of one guarded call. The limiter permit is held across retries.
+     */
+    private final class Attempts<T> {
+        private final LlmOperation operation;
+        private final Function<Duration, CompletableFuture<T>> call;
+        private final Duration timeout;
+        private final CircuitBreaker breaker;
+        private final AimdLimiter limiter;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile boolean dropped;
+
+        Attempts(LlmOperation operation, Function<Duration, CompletableFuture<T>> call, Duration timeout,
+                 CircuitBreaker breaker, AimdLimiter limiter) {
+            this.operation = operation;
+            this.call = call;
+            this.timeout = timeout;
+            this.breaker = breaker;
+            this.limiter = limiter;
+        }
+
+        void run(int retry) {
+            CompletableFuture<T> attempt;
+            try {
+                attempt = call.apply(timeout);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    breaker.onSuccess();
+                    finish(value, null);
+                    return;
+                }
+
+                Throwable cause = unwrap(error);
+                if (!isDropped(cause)) {
+                    breaker.onIgnored();
+                    finish(null, cause);
+                    return;
+                }
+
+                dropped = true;
+                breaker.onFailure();
+                if (isRetryable(cause) && retry < maxRetries() && breaker.tryAcquire()) {
+                    long delay = backoffMillis(retry);
+                    log.debug("LLM {} call failed ({}), retry {} in {}ms",
+                        operation, cause.getMessage(), retry + 1, delay);
+                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() -> run(retry + 1));
+                } else {
+                    finish(null, cause);
+                }
+            });
+        }
+
+        private void finish(T value, Throwable error) {
+            if (dropped) {
+                limiter.onDropped();
+            } else if (error == null) {
+                limiter.onSuccess();
+            } else {
+                limiter.onIgnored();
+            }
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.integraltech.brainsentry.service.llm;
+
+import com.integraltech.brainsentry.config.LlmCacheProperties;
+import com.integraltech.brainsentry.config.OpenRouterConfig;
+import com.integraltech.brainsentry.domain.LlmCachedResponse;
+import com.integraltech.brainsentry.repository.LlmCachedResponseJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Durable cache of LLM responses for deterministic operations.
+ *
+ * Entries live in the {@code llm_response_cache} table, keyed by a digest of
+ * the request, so they survive restarts and are shared across instances:
+ * reprocessing the same content (importance, relationships, entity
+ * extraction) does not pay for the same answer twice. Cache errors are
+ * logged and treated as misses.
+ */
+@Slf4j
+@Component
+public class LlmResponseCache {
+
+    private final LlmCachedResponseJpaRepository repository;
+    private final LlmCacheProperties properties;
+    private final OpenRouterConfig config;
+
+    public LlmResponseCache(LlmCachedResponseJpaRepository repository, LlmCacheProperties properties,
+                            OpenRouterConfig config) {
+        this.repository = repository;
+        this.properties = properties;
+        this.config = config;
+    }
+
+    /**
+     * Digest of everything that determines the response of a call.
+     */
+    public String key(LlmOperation operation, String systemPrompt, String userPrompt, int maxTokens) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : new Object[]{operation, config.getModel(), config.getTemperature(), maxTokens,
+                                            systemPrompt, userPrompt}) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Whether responses of an operation are cached: it has a TTL and the
+     * temperature is low enough for answers to be repeatable.
+     */
+    public boolean isCacheable(LlmOperation operation) {
+        Double temperature = config.getTemperature();
+        return properties.isEnabled()
+            && properties.getTtls().get(operation) != null
+            && (temperature == null || temperature <= properties.getMaxTemperature());
+    }
+
+    /**
+     * @return the cached response, if any and not expired
+     */
+    public Optional<String> get(LlmOperation operation, String key) {
+        if (!isCacheable(operation)) {
+            return Optional.empty();
+        }
+        try {
+            return repository.findById(key)
+                .filter(entry -> entry.getExpiresAt().isAfter(Instant.now()))
+                .map(LlmCachedResponse::getResponse);
+        } catch (Exception e) {
+            log.warn("LLM response cache lookup failed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void put(LlmOperation operation, String key, String response) {
+        if (!isCacheable(operation) || response == null || response.isBlank()) {
+            return;
+        }
+        Duration ttl = properties.getTtls().get(operation);
+        Instant now = Instant.now();
+        try {
+            repository.save(LlmCachedResponse.builder()
+                .cacheKey(key)
+                .operation(operation)
+                .model(config.getModel())
+                .response(response)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        } catch (Exception e) {
+            log.warn("LLM response cache write failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${brain-sentry.llm.cache.cleanup-interval:1h}")
+    public void evictExpired() {
+        try {
+            int deleted = repository.deleteExpired(Instant.now());
+            if (deleted > 0) {
+                log.debug("Evicted {} expired LLM responses", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("LLM response cache cleanup failed: {}", e.getMessage());
+        }
+    }
+}
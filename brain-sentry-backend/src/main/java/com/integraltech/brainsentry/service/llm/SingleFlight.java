@@ -0,0 +1,50 @@
+package com.integraltech.brainsentry.service.llm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller starts the
+ * call, callers arriving while it is in flight share its result. Once it
+ * completes the key is free again, so later callers start a new call.
+ *
+ * Each caller gets its own copy of the shared future; completing or
+ * cancelling it does not affect the others.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, error) -> {
+            // Free the key first, so nobody joins a call that has already finished
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(value);
+            }
+        });
+        return shared.copy();
+    }
+
+    /**
+     * Number of calls in flight.
+     */
+    public int size() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,125 @@
+package com.integraltech.brainsentry.service.relevance;
+
+import java.util.Random;
+
+/**
+ * Binary logistic regression trained with class-balanced SGD and L2 decay.
+ *
+ * Plain Java with no native or remote dependencies, so both training and
+ * scoring run in-process. Scoring is one dot product over the feature vector.
+ */
+public final class LogisticRegression {
+
+    private final float[] weights;
+    private final double bias;
+
+    public LogisticRegression(float[] weights, double bias) {
+        this.weights = weights;
+        this.bias = bias;
+    }
+
+    /**
+     * Probability that the features belong to the positive class.
+     */
+    public double predict(float[] features) {
+        if (features.length != weights.length) {
+            throw new IllegalArgumentException(
+                "Expected " + weights.length + " features, got " + features.length);
+        }
+        double z = bias;
+        for (int i = 0; i < weights.length; i++) {
+            z += weights[i] * features[i];
+        }
+        return sigmoid(z);
+    }
+
+    public float[] getWeights() {
+        return weights;
+    }
+
+    public double getBias() {
+        return bias;
+    }
+
+    /**
+     * Train on labeled feature vectors.
+     *
+     * Each class contributes equally to the loss regardless of its size, since
+     * prompts that need context are usually the minority. Samples are visited
+     * in a seeded random order, so the same data and seed give the same model.
+     *
+     * @param features one row per sample, all of the same length
+     * @param labels true for the positive class
+     * @param epochs passes over the data
+     * @param learningRate initial step size, decayed by 1/sqrt(epoch)
+     * @param l2 weight decay
+     * @param seed shuffle seed
+     * @return the trained model
+     */
+    public static LogisticRegression train(float[][] features, boolean[] labels,
+                                           int epochs, double learningRate, double l2, long seed) {
+        if (features.length == 0 || features.length != labels.length) {
+            throw new IllegalArgumentException("Need one label per sample and at least one sample");
+        }
+        int n = features.length;
+        int dimension = features[0].length;
+
+        int positives = 0;
+        for (boolean label : labels) {
+            if (label) {
+                positives++;
+            }
+        }
+        double positiveWeight = positives > 0 ? n / (2.0 * positives) : 0;
+        double negativeWeight = positives < n ? n / (2.0 * (n - positives)) : 0;
+
+        double[] w = new double[dimension];
+        double b = 0;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(seed);
+
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            shuffle(order, random);
+            double rate = learningRate / Math.sqrt(1 + epoch);
+            for (int index : order) {
+                float[] x = features[index];
+                double z = b;
+                for (int i = 0; i < dimension; i++) {
+                    z += w[i] * x[i];
+                }
+                double gradient = (sigmoid(z) - (labels[index] ? 1 : 0))
+                    * (labels[index] ? positiveWeight : negativeWeight);
+                for (int i = 0; i < dimension; i++) {
+                    w[i] -= rate * (gradient * x[i] + l2 * w[i]);
+                }
+                b -= rate * gradient;
+            }
+        }
+
+        float[] weights = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            weights[i] = (float) w[i];
+        }
+        return new LogisticRegression(weights, b);
+    }
+
+    private static void shuffle(int[] order, Random random) {
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+    }
+
+    private static double sigmoid(double z) {
+        if (z >= 0) {
+            return 1 / (1 + Math.exp(-z));
+        }
+        double e = Math.exp(z);
+        return e / (1 + e);
+    }
+}
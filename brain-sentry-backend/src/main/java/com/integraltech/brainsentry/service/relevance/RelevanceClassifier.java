@@ -0,0 +1,145 @@
+package com.integraltech.brainsentry.service.relevance;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.RelevanceModel;
+import com.integraltech.brainsentry.repository.RelevanceModelJpaRepository;
+import com.integraltech.brainsentry.service.EmbeddingService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Local relevance gate for prompt interception.
+ *
+ * Scores a prompt with the tenant's active {@link RelevanceModel}: above the
+ * upper bound it needs context, below the lower bound it does not, and in
+ * between the caller escalates to the LLM. Active models are cached per
+ * tenant and reloaded every {@code classifier.model-refresh}, so a version
+ * activated on another instance is picked up without a restart.
+ */
+@Slf4j
+@Component
+public class RelevanceClassifier {
+
+    public enum Decision { RELEVANT, NOT_RELEVANT, UNCERTAIN }
+
+    /**
+     * Outcome of scoring one prompt.
+     */
+    public record Verdict(Decision decision, double probability, int version) {
+
+        public boolean isDecided() {
+            return decision != Decision.UNCERTAIN;
+        }
+    }
+
+    /**
+     * A loaded model version with the band it is applied with.
+     */
+    public record Model(int version, LogisticRegression regression, double lowerBound, double upperBound) {
+
+        /**
+         * Score a prompt.
+         *
+         * @param embedding the prompt embedding
+         * @param keywords matched keyword classes
+         * @param hasContext whether the request carried context
+         * @param promptLength prompt length in characters
+         * @return the verdict
+         */
+        public Verdict classify(float[] embedding, long keywords, boolean hasContext, int promptLength) {
+            double p = regression.predict(RelevanceFeatures.of(embedding, keywords, hasContext, promptLength));
+            Decision decision = p >= upperBound ? Decision.RELEVANT
+                : p <= lowerBound ? Decision.NOT_RELEVANT
+                : Decision.UNCERTAIN;
+            return new Verdict(decision, p, version);
+        }
+    }
+
+    private final RelevanceModelJpaRepository modelRepo;
+    private final EmbeddingService embeddingService;
+    private final InterceptionProperties.Classifier config;
+    private final Cache<String, Optional<Model>> models;
+    private final Map<Decision, Counter> decisions = new EnumMap<>(Decision.class);
+
+    public RelevanceClassifier(RelevanceModelJpaRepository modelRepo, EmbeddingService embeddingService,
+                               InterceptionProperties properties, MeterRegistry meterRegistry) {
+        this.modelRepo = modelRepo;
+        this.embeddingService = embeddingService;
+        this.config = properties.getClassifier();
+        this.models = Caffeine.newBuilder()
+            .expireAfterWrite(config.getModelRefresh())
+            .build();
+
+        for (Decision decision : Decision.values()) {
+            decisions.put(decision, Counter.builder("brainsentry.relevance.classifier.decisions")
+                .description("Relevance classifier decisions; uncertain ones go to the LLM")
+                .tag("decision", decision.name().toLowerCase())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * The current tenant's active model.
+     *
+     * @return the model, or null when the classifier is disabled, no version is
+     *         active, or the active one was trained with another embedding model
+     */
+    public Model activeModel() {
+        if (!config.isEnabled()) {
+            return null;
+        }
+        return models.get(TenantContext.getTenantId(), this::load).orElse(null);
+    }
+
+    /**
+     * Record a gate decision for the decision counters.
+     */
+    public void record(Verdict verdict) {
+        decisions.get(verdict.decision()).increment();
+    }
+
+    /**
+     * Drop the cached model of a tenant after a new version was trained or activated.
+     */
+    public void evict(String tenantId) {
+        models.invalidate(tenantId);
+    }
+
+    /**
+     * Convert a stored version into a scoring model.
+     *
+     * @return the model, or empty if it was trained against another embedding model
+     */
+    Optional<Model> toModel(RelevanceModel stored) {
+        if (!embeddingService.getModelId().equals(stored.getEmbeddingModel())
+                || !Integer.valueOf(embeddingService.getDimension()).equals(stored.getEmbeddingDimension())) {
+            log.warn("Relevance model v{} was trained with {} ({} dims), current embedding model is {} - ignoring",
+                stored.getVersion(), stored.getEmbeddingModel(), stored.getEmbeddingDimension(),
+                embeddingService.getModelId());
+            return Optional.empty();
+        }
+        return Optional.of(new Model(stored.getVersion(),
+            new LogisticRegression(stored.getWeights(), stored.getBias()),
+            config.getLowerBound(), config.getUpperBound()));
+    }
+
+    private Optional<Model> load(String tenantId) {
+        try {
+            return modelRepo.findFirstByTenantIdAndActiveTrueOrderByVersionDesc(tenantId)
+                .flatMap(this::toModel);
+        } catch (Exception e) {
+            // Retried after model-refresh; the LLM gate is used meanwhile
+            log.warn("Failed to load relevance model for tenant {}: {}", tenantId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
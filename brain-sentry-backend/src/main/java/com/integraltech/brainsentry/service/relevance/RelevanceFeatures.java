@@ -0,0 +1,49 @@
+package com.integraltech.brainsentry.service.relevance;
+
+import com.integraltech.brainsentry.service.keyword.KeywordClass;
+
+/**
+ * Feature vector of a prompt for the relevance classifier.
+ *
+ * Layout: the prompt embedding, then one 0/1 feature per {@link KeywordClass},
+ * then whether the request carried context, then the log-scaled prompt length.
+ * Training and scoring must build features the same way, so both go through here.
+ */
+public final class RelevanceFeatures {
+
+    private static final int KEYWORD_FEATURES = KeywordClass.values().length;
+    private static final double MAX_LOG_LENGTH = Math.log1p(8_000);
+
+    private RelevanceFeatures() {
+    }
+
+    /**
+     * Number of features for a given embedding dimension.
+     */
+    public static int dimension(int embeddingDimension) {
+        return embeddingDimension + KEYWORD_FEATURES + 2;
+    }
+
+    /**
+     * Build the feature vector of a prompt.
+     *
+     * @param embedding the prompt embedding
+     * @param keywords matched keyword classes, see {@link KeywordClass#in(long)}
+     * @param hasContext whether the request carried a context map
+     * @param promptLength prompt length in characters
+     * @return the feature vector
+     */
+    public static float[] of(float[] embedding, long keywords, boolean hasContext, int promptLength) {
+        float[] features = new float[dimension(embedding.length)];
+        System.arraycopy(embedding, 0, features, 0, embedding.length);
+
+        int offset = embedding.length;
+        for (KeywordClass keywordClass : KeywordClass.values()) {
+            features[offset + keywordClass.ordinal()] = keywordClass.in(keywords) ? 1f : 0f;
+        }
+        offset += KEYWORD_FEATURES;
+        features[offset] = hasContext ? 1f : 0f;
+        features[offset + 1] = (float) Math.min(1.0, Math.log1p(Math.max(0, promptLength)) / MAX_LOG_LENGTH);
+        return features;
+    }
+}
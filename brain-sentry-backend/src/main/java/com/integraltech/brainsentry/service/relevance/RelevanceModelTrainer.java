@@ -0,0 +1,288 @@
+package com.integraltech.brainsentry.service.relevance;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.AuditLog;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.RelevanceModel;
+import com.integraltech.brainsentry.repository.AuditLogJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import com.integraltech.brainsentry.repository.RelevanceModelJpaRepository;
+import com.integraltech.brainsentry.service.AuditService;
+import com.integraltech.brainsentry.service.EmbeddingService;
+import com.integraltech.brainsentry.service.keyword.KeywordDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Offline training of the per-tenant relevance classifier.
+ *
+ * Labels come from the audit history:
+ * - "relevance_verdict" with source "llm": the LLM's verdict on a prompt
+ *   (passed through or not)
+ * - "context_injection" with feedback: {@code userFeedback.helpful} on the
+ *   interception, or else the helpful/not helpful votes of its memories
+ * Feedback overrides the LLM verdict for the same prompt. The classifier's
+ * own decisions, and injections without feedback, are never labels:
+ * training on them would only reinforce the current model's calls.
+ *
+ * Every run stores a new version. It is activated only when its accuracy on
+ * the confident part of the holdout reaches {@code training.min-accuracy};
+ * otherwise the previous version stays in use.
+ */
+@Slf4j
+@Service
+public class RelevanceModelTrainer {
+
+    /**
+     * A labeled prompt.
+     */
+    record Example(String prompt, boolean hasContext, boolean needsContext) {
+    }
+
+    private final AuditLogJpaRepository auditLogRepo;
+    private final MemoryJpaRepository memoryJpaRepo;
+    private final RelevanceModelJpaRepository modelRepo;
+    private final EmbeddingService embeddingService;
+    private final KeywordDictionary keywordDictionary;
+    private final RelevanceClassifier classifier;
+    private final InterceptionProperties.Classifier config;
+    private final TransactionTemplate transactionTemplate;
+
+    public RelevanceModelTrainer(AuditLogJpaRepository auditLogRepo,
+                                 MemoryJpaRepository memoryJpaRepo,
+                                 RelevanceModelJpaRepository modelRepo,
+                                 EmbeddingService embeddingService,
+                                 KeywordDictionary keywordDictionary,
+                                 RelevanceClassifier classifier,
+                                 InterceptionProperties properties,
+                                 TransactionTemplate transactionTemplate) {
+        this.auditLogRepo = auditLogRepo;
+        this.memoryJpaRepo = memoryJpaRepo;
+        this.modelRepo = modelRepo;
+        this.embeddingService = embeddingService;
+        this.keywordDictionary = keywordDictionary;
+        this.classifier = classifier;
+        this.config = properties.getClassifier();
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Train a new model version for the current tenant.
+     *
+     * @return the stored version, active if it met the accuracy bar
+     * @throws IllegalArgumentException if there are too few labeled prompts
+     *         or only one class
+     */
+    public RelevanceModel train() {
+        String tenantId = TenantContext.getTenantId();
+        InterceptionProperties.Training training = config.getTraining();
+
+        List<Example> examples = collectExamples(tenantId);
+        int positives = (int) examples.stream().filter(Example::needsContext).count();
+        if (examples.size() < training.getMinSamples()) {
+            throw new IllegalArgumentException("Not enough labeled interceptions to train: "
+                + examples.size() + " of " + training.getMinSamples());
+        }
+        if (positives == 0 || positives == examples.size()) {
+            throw new IllegalArgumentException("Labeled interceptions contain a single class");
+        }
+        log.info("Training relevance model for tenant {} on {} prompts ({} need context)",
+            tenantId, examples.size(), positives);
+
+        List<float[]> embeddings = embeddingService.embedBatch(examples.stream().map(Example::prompt).toList());
+        float[][] features = new float[examples.size()][];
+        boolean[] labels = new boolean[examples.size()];
+        for (int i = 0; i < examples.size(); i++) {
+            Example example = examples.get(i);
+            features[i] = RelevanceFeatures.of(embeddings.get(i),
+                keywordDictionary.match(tenantId, example.prompt()),
+                example.hasContext(), example.prompt().length());
+            labels[i] = example.needsContext();
+        }
+
+        // Seeded split, so retraining on the same history is reproducible
+        int[] order = shuffledIndices(examples.size(), training.getSeed());
+        int holdoutSize = (int) Math.round(examples.size() * training.getHoldoutFraction());
+        float[][] trainFeatures = new float[examples.size() - holdoutSize][];
+        boolean[] trainLabels = new boolean[trainFeatures.length];
+        for (int i = holdoutSize; i < order.length; i++) {
+            trainFeatures[i - holdoutSize] = features[order[i]];
+            trainLabels[i - holdoutSize] = labels[order[i]];
+        }
+
+        LogisticRegression regression = LogisticRegression.train(trainFeatures, trainLabels,
+            training.getEpochs(), training.getLearningRate(), training.getL2(), training.getSeed());
+
+        int confident = 0;
+        int correct = 0;
+        for (int i = 0; i < holdoutSize; i++) {
+            double p = regression.predict(features[order[i]]);
+            if (p > config.getLowerBound() && p < config.getUpperBound()) {
+                continue;
+            }
+            confident++;
+            if ((p >= config.getUpperBound()) == labels[order[i]]) {
+                correct++;
+            }
+        }
+        double accuracy = confident > 0 ? (double) correct / confident : 0.0;
+        double escalationRate = holdoutSize > 0 ? (double) (holdoutSize - confident) / holdoutSize : 1.0;
+        boolean activate = confident > 0 && accuracy >= training.getMinAccuracy();
+
+        RelevanceModel saved = transactionTemplate.execute(status -> {
+            List<RelevanceModel> versions = modelRepo.findByTenantIdOrderByVersionDesc(tenantId);
+            if (activate) {
+                versions.forEach(v -> v.setActive(false));
+                modelRepo.saveAll(versions);
+            }
+            return modelRepo.save(RelevanceModel.builder()
+                .id(UUID.randomUUID().toString())
+                .version(versions.isEmpty() ? 1 : versions.get(0).getVersion() + 1)
+                .active(activate)
+                .weights(regression.getWeights())
+                .bias(regression.getBias())
+                .embeddingModel(embeddingService.getModelId())
+                .embeddingDimension(embeddingService.getDimension())
+                .sampleCount(examples.size())
+                .positiveCount(positives)
+                .holdoutAccuracy(accuracy)
+                .escalationRate(escalationRate)
+                .createdAt(Instant.now())
+                .tenantId(tenantId)
+                .build());
+        });
+        classifier.evict(tenantId);
+
+        log.info("Relevance model v{} for tenant {}: holdout accuracy {}, escalation rate {}, active: {}",
+            saved.getVersion(), tenantId, String.format("%.3f", accuracy),
+            String.format("%.3f", escalationRate), activate);
+        return saved;
+    }
+
+    /**
+     * All model versions of the current tenant, newest first.
+     */
+    public List<RelevanceModel> versions() {
+        return modelRepo.findByTenantIdOrderByVersionDesc(TenantContext.getTenantId());
+    }
+
+    /**
+     * Make a version the active one, e.g. to roll back.
+     *
+     * @param version the version number
+     * @return the activated version
+     * @throws IllegalArgumentException if the version does not exist
+     */
+    public RelevanceModel activate(int version) {
+        String tenantId = TenantContext.getTenantId();
+        RelevanceModel activated = transactionTemplate.execute(status -> {
+            List<RelevanceModel> versions = modelRepo.findByTenantIdOrderByVersionDesc(tenantId);
+            RelevanceModel target = versions.stream()
+                .filter(v -> v.getVersion() == version)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Relevance model version not found: " + version));
+            versions.forEach(v -> v.setActive(v == target));
+            modelRepo.saveAll(versions);
+            return target;
+        });
+        classifier.evict(tenantId);
+        log.info("Activated relevance model v{} for tenant {}", version, tenantId);
+        return activated;
+    }
+
+    /**
+     * Build one labeled example per distinct prompt from the audit history.
+     */
+    List<Example> collectExamples(String tenantId) {
+        Map<String, Example> examples = new LinkedHashMap<>();
+
+        for (AuditLog entry : auditLogRepo.findByTenantIdAndEventType(tenantId, "relevance_verdict")) {
+            Map<String, Object> decision = entry.getDecision() != null ? entry.getDecision() : Map.of();
+            // Verdicts logged before the source was recorded all came from the LLM
+            Object source = decision.getOrDefault("source", AuditService.RELEVANCE_LLM);
+            if (entry.getUserRequest() != null && AuditService.RELEVANCE_LLM.equals(source)
+                    && decision.get("needsContext") instanceof Boolean label) {
+                examples.put(entry.getUserRequest(), new Example(entry.getUserRequest(), hasContext(entry), label));
+            }
+        }
+
+        List<AuditLog> injections = auditLogRepo.findByTenantIdAndEventType(tenantId, "context_injection");
+        Set<String> memoryIds = new HashSet<>();
+        injections.forEach(entry -> {
+            if (entry.getMemoriesAccessed() != null) {
+                memoryIds.addAll(entry.getMemoriesAccessed());
+            }
+        });
+        Map<String, Memory> memories = memoryIds.isEmpty() ? Map.of()
+            : memoryJpaRepo.findAllById(memoryIds).stream()
+                .collect(Collectors.toMap(Memory::getId, Function.identity()));
+
+        for (AuditLog entry : injections) {
+            if (entry.getUserRequest() == null) {
+                continue;
+            }
+            Boolean helpful = feedbackLabel(entry, memories);
+            if (helpful != null) {
+                examples.put(entry.getUserRequest(), new Example(entry.getUserRequest(), hasContext(entry), helpful));
+            }
+        }
+        return new ArrayList<>(examples.values());
+    }
+
+    /**
+     * Whether an injection helped, from explicit feedback on the interception
+     * or, failing that, from the helpful/not helpful votes of its memories.
+     *
+     * @return the label, or null if there is no feedback or the votes are tied
+     */
+    static Boolean feedbackLabel(AuditLog entry, Map<String, Memory> memories) {
+        if (entry.getUserFeedback() != null && entry.getUserFeedback().get("helpful") instanceof Boolean helpful) {
+            return helpful;
+        }
+        int helpful = 0;
+        int notHelpful = 0;
+        if (entry.getMemoriesAccessed() != null) {
+            for (String id : entry.getMemoriesAccessed()) {
+                Memory memory = memories.get(id);
+                if (memory != null) {
+                    helpful += memory.getHelpfulCount() != null ? memory.getHelpfulCount() : 0;
+                    notHelpful += memory.getNotHelpfulCount() != null ? memory.getNotHelpfulCount() : 0;
+                }
+            }
+        }
+        return helpful == notHelpful ? null : helpful > notHelpful;
+    }
+
+    private static boolean hasContext(AuditLog entry) {
+        return entry.getInputData() != null && Boolean.TRUE.equals(entry.getInputData().get("hasContext"));
+    }
+
+    private static int[] shuffledIndices(int size, long seed) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,286 @@
+package com.integraltech.brainsentry.service.retrieval;
+
+import com.integraltech.brainsentry.config.RetrievalProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.repository.impl.MemoryFullTextIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Memory retrieval that fuses vector, full-text and graph signals.
+ *
+ * The three retrievers run concurrently on virtual threads:
+ * - vector: semantic search by the query embedding (FalkorDB / HNSW index)
+ * - lexical: ranked full-text search on summary, content and code (PostgreSQL)
+ * - graph: neighbours of the top vector hits through memory relationships
+ *
+ * Each has its own timeout; a retriever that fails or times out is left out
+ * of the fusion instead of stalling the query. Rankings are combined with
+ * weighted reciprocal rank fusion and boosted by importance and recency.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HybridRetriever {
+
+    private final MemoryRepository memoryRepository;    // FalkorDB (vector search + graph)
+    private final MemoryFullTextIndex fullTextIndex;    // PostgreSQL (full-text search)
+    private final RetrievalProperties properties;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Retriever that contributed a memory.
+     */
+    public enum Source {
+        VECTOR, LEXICAL, GRAPH
+    }
+
+    /**
+     * A retrieved memory with its fused score.
+     *
+     * @param sources retrievers that returned the memory
+     * @param highlight content fragments matching the query, if full-text search found the memory
+     */
+    public record ScoredMemory(Memory memory, double score, Set<Source> sources, String highlight) {
+    }
+
+    /**
+     * Retrieve the top memories for a query.
+     *
+     * @param query the query text, for full-text search
+     * @param embedding supplies the query embedding; called on the vector retriever's thread
+     * @param limit maximum number of results
+     * @param tenantId the tenant ID
+     * @return memories by descending fused score, without duplicates
+     */
+    public List<ScoredMemory> retrieve(String query, Callable<float[]> embedding, int limit, String tenantId) {
+        long startNanos = System.nanoTime();
+        int candidates = limit * Math.max(1, properties.getCandidateMultiplier());
+        String callerTenant = TenantContext.getTenantId();
+        RetrievalProperties.Graph graphConfig = properties.getGraph();
+
+        Future<List<Memory>> vectorStage = properties.getVector().getWeight() > 0
+            ? fork(callerTenant, () -> memoryRepository.vectorSearch(embedding.call(), candidates, tenantId))
+            : null;
+        Map<String, String> highlights = new ConcurrentHashMap<>();
+        Future<List<Memory>> lexicalStage = properties.getLexical().getWeight() > 0 && query != null && !query.isBlank()
+            ? fork(callerTenant, () -> lexicalSearch(query, candidates, tenantId, highlights))
+            : null;
+        // Seeded by the vector hits, so it shares their wait within its own timeout
+        long graphDeadline = deadline(startNanos, graphConfig);
+        Future<List<Memory>> graphStage = graphConfig.getWeight() > 0 && vectorStage != null
+            ? fork(callerTenant, () -> neighbourhood(vectorStage, graphDeadline, candidates, tenantId))
+            : null;
+
+        Map<String, Fused> fused = new LinkedHashMap<>();
+        try {
+            fuse(fused, Source.VECTOR, properties.getVector().getWeight(),
+                await(Source.VECTOR, vectorStage, deadline(startNanos, properties.getVector())));
+            fuse(fused, Source.LEXICAL, properties.getLexical().getWeight(),
+                await(Source.LEXICAL, lexicalStage, deadline(startNanos, properties.getLexical())));
+            fuse(fused, Source.GRAPH, graphConfig.getWeight(),
+                await(Source.GRAPH, graphStage, graphDeadline));
+        } finally {
+            // No-op for finished retrievers; interrupts the ones still running
+            cancel(vectorStage);
+            cancel(lexicalStage);
+            cancel(graphStage);
+        }
+
+        Instant now = Instant.now();
+        List<ScoredMemory> results = fused.values().stream()
+            .map(f -> new ScoredMemory(f.memory, f.rrf * importanceBoost(f.memory) * recencyBoost(f.memory, now),
+                f.sources, f.sources.contains(Source.LEXICAL) ? highlights.get(f.memory.getId()) : null))
+            .sorted(Comparator.comparingDouble(ScoredMemory::score).reversed())
+            .limit(limit)
+            .toList();
+
+        log.debug("Hybrid retrieval: {} of {} candidates in {}ms", results.size(), fused.size(),
+            (System.nanoTime() - startNanos) / 1_000_000);
+        return results;
+    }
+
+    /**
+     * Running fusion state of one memory.
+     */
+    private static final class Fused {
+        final Memory memory;
+        final Set<Source> sources = EnumSet.noneOf(Source.class);
+        double rrf;
+
+        Fused(Memory memory) {
+            this.memory = memory;
+        }
+    }
+
+    private void fuse(Map<String, Fused> fused, Source source, double weight, List<Memory> ranking) {
+        if (ranking == null) {
+            return;
+        }
+        int rank = 0;
+        for (Memory memory : ranking) {
+            rank++;
+            Fused entry = fused.computeIfAbsent(memory.getId(), id -> new Fused(memory));
+            // A retriever counts once per memory, at its best rank
+            if (entry.sources.add(source)) {
+                entry.rrf += weight / (properties.getRrfK() + rank);
+            }
+        }
+    }
+
+    /**
+     * Full-text matches, collecting their highlighted snippets.
+     */
+    private List<Memory> lexicalSearch(String query, int limit, String tenantId, Map<String, String> highlights) {
+        List<Memory> memories = new ArrayList<>();
+        for (MemoryFullTextIndex.Match match : fullTextIndex.search(query, tenantId, limit)) {
+            memories.add(match.memory());
+            if (match.snippet() != null) {
+                highlights.put(match.memory().getId(), match.snippet());
+            }
+        }
+        return memories;
+    }
+
+    /**
+     * Neighbours of the top vector hits, in seed order, excluding the seeds.
+     */
+    private List<Memory> neighbourhood(Future<List<Memory>> vectorStage, long deadlineNanos, int limit,
+                                       String tenantId) throws Exception {
+        List<Memory> hits = vectorStage.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        if (hits == null) {
+            return List.of();
+        }
+        RetrievalProperties.Graph graphConfig = properties.getGraph();
+        Set<String> seeds = new LinkedHashSet<>();
+        for (Memory hit : hits) {
+            if (seeds.size() == graphConfig.getSeeds()) {
+                break;
+            }
+            seeds.add(hit.getId());
+        }
+
+        Map<String, Memory> neighbours = new LinkedHashMap<>();
+        for (String seed : seeds) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedException();
+            }
+            for (Memory related : memoryRepository.findRelated(seed, graphConfig.getDepth(), tenantId)) {
+                if (!seeds.contains(related.getId())) {
+                    neighbours.putIfAbsent(related.getId(), related);
+                }
+            }
+            if (neighbours.size() >= limit) {
+                break;
+            }
+        }
+        return first(new ArrayList<>(neighbours.values()), limit);
+    }
+
+    /**
+     * 1 for MINOR, plus the configured boost per level above it.
+     */
+    private double importanceBoost(Memory memory) {
+        if (memory.getImportance() == null) {
+            return 1.0;
+        }
+        int level = switch (memory.getImportance()) {
+            case CRITICAL -> 2;
+            case IMPORTANT -> 1;
+            case MINOR -> 0;
+        };
+        return 1 + properties.getImportanceBoost() * level;
+    }
+
+    /**
+     * Up to 1 + the configured boost for a memory used just now, decaying
+     * by half every half-life since it was last accessed (or created).
+     */
+    private double recencyBoost(Memory memory, Instant now) {
+        Instant lastUsed = memory.getLastAccessedAt() != null ? memory.getLastAccessedAt() : memory.getCreatedAt();
+        long halfLifeMillis = properties.getRecencyHalfLife().toMillis();
+        if (lastUsed == null || halfLifeMillis <= 0) {
+            return 1.0;
+        }
+        double ageMillis = Math.max(0, now.toEpochMilli() - lastUsed.toEpochMilli());
+        return 1 + properties.getRecencyBoost() * Math.pow(0.5, ageMillis / halfLifeMillis);
+    }
+
+    private static long deadline(long startNanos, RetrievalProperties.Retriever retriever) {
+        return startNanos + retriever.getTimeout().toNanos();
+    }
+
+    private static List<Memory> first(List<Memory> memories, int limit) {
+        return memories.size() > limit ? memories.subList(0, limit) : memories;
+    }
+
+    /**
+     * Run a retriever on a virtual thread as the calling tenant.
+     */
+    private Future<List<Memory>> fork(String tenantId, Callable<List<Memory>> retriever) {
+        return executor.submit(() -> {
+            TenantContext.setTenantId(tenantId);
+            try {
+                return retriever.call();
+            } finally {
+                TenantContext.clear();
+            }
+        });
+    }
+
+    /**
+     * Wait for a retriever until its deadline.
+     *
+     * @return its ranking, or null if it is disabled, failed or timed out
+     */
+    private List<Memory> await(Source source, Future<List<Memory>> stage, long deadlineNanos) {
+        if (stage == null) {
+            return null;
+        }
+        try {
+            return stage.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("{} retriever timed out", source);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("{} retriever failed: {}", source, e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static void cancel(Future<?> stage) {
+        if (stage != null) {
+            stage.cancel(true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
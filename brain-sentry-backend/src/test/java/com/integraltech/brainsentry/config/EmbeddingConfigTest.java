@@ -0,0 +1,52 @@
+package com.integraltech.brainsentry.config;
+
+import com.integraltech.brainsentry.service.embedding.EmbeddingEngine;
+import com.integraltech.brainsentry.service.embedding.HashEmbeddingEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EmbeddingConfig Unit Tests")
+class EmbeddingConfigTest {
+
+    private final EmbeddingConfig config = new EmbeddingConfig();
+
+    @Test
+    @DisplayName("Should fail startup when the ONNX model files are missing")
+    void shouldFailWithoutModelFiles(@TempDir Path emptyDir) {
+        EmbeddingProperties properties = new EmbeddingProperties();
+        properties.setModelPath(emptyDir.toString());
+
+        assertThatThrownBy(() -> config.embeddingEngine(properties))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("model.onnx")
+            .hasMessageContaining("download-embedding-model.sh");
+    }
+
+    @Test
+    @DisplayName("Should use hash embeddings only when configured")
+    void shouldUseHashWhenConfigured() {
+        EmbeddingProperties properties = new EmbeddingProperties();
+        properties.setProvider("hash");
+
+        try (EmbeddingEngine engine = config.embeddingEngine(properties)) {
+            assertThat(engine).isInstanceOf(HashEmbeddingEngine.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown providers")
+    void shouldRejectUnknownProvider() {
+        EmbeddingProperties properties = new EmbeddingProperties();
+        properties.setProvider("openai");
+
+        assertThatThrownBy(() -> config.embeddingEngine(properties))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("openai");
+    }
+}
@@ -0,0 +1,49 @@
+package com.integraltech.brainsentry.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the float[] to bytea encoding used by JPA and the embedding cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FloatArrayConverterBenchmark {
+
+    @Param({"384", "1536"})
+    int dimension;
+
+    private float[] embedding;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        embedding = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            embedding[i] = random.nextFloat() * 2 - 1;
+        }
+        encoded = FloatArrayConverter.toBytes(embedding);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return FloatArrayConverter.toBytes(embedding);
+    }
+
+    @Benchmark
+    public float[] fromBytes() {
+        return FloatArrayConverter.fromBytes(encoded);
+    }
+
+    @Benchmark
+    public float[] roundTrip() {
+        return FloatArrayConverter.fromBytes(FloatArrayConverter.toBytes(embedding));
+    }
+}
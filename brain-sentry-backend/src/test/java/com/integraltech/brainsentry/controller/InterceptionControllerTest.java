@@ -3,6 +3,7 @@ package com.integraltech.brainsentry.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.integraltech.brainsentry.dto.request.InterceptRequest;
 import com.integraltech.brainsentry.dto.response.InterceptResponse;
+import com.integraltech.brainsentry.service.InterceptionListener;
 import com.integraltech.brainsentry.service.InterceptionService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,7 +35,7 @@ class InterceptionControllerTest {
 
     private final InterceptionService interceptionService = Mockito.mock(InterceptionService.class);
 
-    private final InterceptionController interceptionController = new InterceptionController(interceptionService);
+    private final InterceptionController interceptionController = new InterceptionController(interceptionService, objectMapper);
 
     private final String tenantId = "test-tenant";
 
@@ -225,4 +227,67 @@ class InterceptionControllerTest {
                     .andExpect(status().isOk());
         }
     }
+
+    @Nested
+    @DisplayName("POST /v1/intercept/stream")
+    class InterceptStreamTests {
+
+        @Test
+        @DisplayName("Should stream stage events before the final result")
+        void shouldStreamEventsInOrder() throws Exception {
+            InterceptRequest request = InterceptRequest.builder()
+                    .prompt("Create a new user service")
+                    .sessionId("session-123")
+                    .build();
+
+            InterceptResponse response = InterceptResponse.builder()
+                    .enhanced(true)
+                    .originalPrompt(request.getPrompt())
+                    .enhancedPrompt("<context>...</context>" + request.getPrompt())
+                    .latencyMs(150)
+                    .build();
+
+            Mockito.when(interceptionService.interceptAndEnhance(any(InterceptRequest.class), any(InterceptionListener.class)))
+                    .thenAnswer(invocation -> {
+                        InterceptionListener listener = invocation.getArgument(1);
+                        listener.onQuickCheck(true);
+                        listener.onMemories(List.of(InterceptResponse.MemoryReference.builder()
+                                .id("mem-001")
+                                .summary("User service pattern")
+                                .build()));
+                        listener.onRelevance(true, 0.9, "Relevant");
+                        return response;
+                    });
+
+            String body = mockMvc.perform(post("/v1/intercept/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(body.lines().filter(line -> line.startsWith("event: ")))
+                    .containsExactly("event: quickCheck", "event: memories", "event: relevance", "event: result");
+            assertThat(body).contains("\"id\":\"mem-001\"").contains("\"enhanced\":true");
+        }
+
+        @Test
+        @DisplayName("Should report a failure as an error event")
+        void shouldStreamErrorEvent() throws Exception {
+            InterceptRequest request = InterceptRequest.builder()
+                    .prompt("Create a new user service")
+                    .build();
+
+            Mockito.when(interceptionService.interceptAndEnhance(any(InterceptRequest.class), any(InterceptionListener.class)))
+                    .thenThrow(new RuntimeException("Embedding service unavailable"));
+
+            String body = mockMvc.perform(post("/v1/intercept/stream")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertThat(body).startsWith("event: error\n").contains("Embedding service unavailable");
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.integraltech.brainsentry.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmark for matching an error message against N hindsight notes,
+ * as done when looking up past learnings for an error.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HindsightNoteBenchmark {
+
+    private static final String ERROR_MESSAGE =
+        "java.lang.NullPointerException: Cannot invoke \"Order.getId()\" because \"order\" is null "
+            + "at com.example.orders.OrderService.process(OrderService.java:42)";
+
+    @Param({"10", "100", "1000"})
+    int noteCount;
+
+    private List<HindsightNote> notes;
+
+    @Setup
+    public void setUp() {
+        notes = IntStream.range(0, noteCount)
+            .mapToObj(i -> HindsightNote.builder()
+                .errorType("NullPointerException")
+                .errorPattern(".*NullPointerException.*at com\\.example\\.module" + i + "\\..*")
+                .build())
+            .toList();
+    }
+
+    @Benchmark
+    public int matchesError() {
+        int matches = 0;
+        for (HindsightNote note : notes) {
+            if (note.matchesError(ERROR_MESSAGE)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,83 @@
+package com.integraltech.brainsentry.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.integraltech.brainsentry.config.JacksonConfig;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.domain.enums.ValidationStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for {@link Memory} JSON (de)serialization, the format
+ * memories are stored in Redis and returned by the API.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoryJsonBenchmark {
+
+    @Param({"0", "384"})
+    int dimension;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader memoryReader;
+    private Memory memory;
+    private String json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new JacksonConfig().objectMapper();
+        memoryReader = objectMapper.readerFor(Memory.class);
+
+        float[] embedding = null;
+        if (dimension > 0) {
+            Random random = new Random(42);
+            embedding = new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                embedding[i] = random.nextFloat() * 2 - 1;
+            }
+        }
+
+        memory = Memory.builder()
+            .id("mem_0123456789ab")
+            .content("Use constructor injection in Spring services instead of field injection. "
+                + "It keeps dependencies explicit and makes services easy to construct in tests.")
+            .summary("Prefer constructor injection")
+            .category(MemoryCategory.PATTERN)
+            .importance(ImportanceLevel.IMPORTANT)
+            .validationStatus(ValidationStatus.APPROVED)
+            .tags(List.of("spring", "di", "java"))
+            .metadata(Map.of("source", "code-review", "confidence", 0.9))
+            .tenantId("bench-tenant")
+            .embedding(embedding)
+            .version(2)
+            .accessCount(12)
+            .injectionCount(4)
+            .helpfulCount(3)
+            .notHelpfulCount(0)
+            .createdAt(Instant.parse("2025-01-01T00:00:00Z"))
+            .build();
+        json = objectMapper.writeValueAsString(memory);
+    }
+
+    @Benchmark
+    public String serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(memory);
+    }
+
+    @Benchmark
+    public Memory deserialize() throws JsonProcessingException {
+        return memoryReader.readValue(json);
+    }
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +22,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -48,6 +50,9 @@ class ConfuciusFeaturesIntegrationTest {
     @Autowired
     private ContextSummaryJpaRepository contextSummaryRepo;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @DisplayName("E2E: Should create and retrieve hindsight notes with pattern matching")
     void testHindsightNoteLifecycle_PatternMatching() {
@@ -85,6 +90,34 @@ class ConfuciusFeaturesIntegrationTest {
         assertThat(found.get(0).getErrorPattern()).isNotNull();
     }
 
+    @Test
+    @DisplayName("E2E: Saving a hindsight note keeps usage counts flushed after it was loaded")
+    void testHindsightNoteSave_KeepsFlushedUsageCounts() {
+        // Given
+        HindsightNote stale = hindsightNoteRepo.saveAndFlush(HindsightNote.builder()
+            .tenantId("default")
+            .sessionId("session-e2e-counters")
+            .title("Timeout in PaymentClient")
+            .errorType("API_TIMEOUT")
+            .errorMessage("Read timed out")
+            .createdAt(Instant.now())
+            .build());
+
+        // When - a usage counter flush lands between loading and saving the entity
+        jdbcTemplate.update("UPDATE hindsight_notes SET reference_count = COALESCE(reference_count, 0) + 3, " +
+            "access_count = COALESCE(access_count, 0) + 3 WHERE id = ?", stale.getId());
+        stale.setResolution("Raise the client timeout");
+        hindsightNoteRepo.saveAndFlush(stale);
+
+        // Then
+        Map<String, Object> after = jdbcTemplate.queryForMap(
+            "SELECT reference_count AS r, access_count AS a, resolution FROM hindsight_notes WHERE id = ?",
+            stale.getId());
+        assertThat(((Number) after.get("r")).intValue()).isEqualTo(3);
+        assertThat(((Number) after.get("a")).intValue()).isEqualTo(3);
+        assertThat(after.get("resolution")).isEqualTo("Raise the client timeout");
+    }
+
     @Test
     @DisplayName("E2E: Should create generic notes with all types")
     void testGenericNote_AllTypesSupported() {
@@ -1,6 +1,7 @@
 package com.integraltech.brainsentry.integration;
 
 import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.Memory;
 import com.integraltech.brainsentry.dto.request.CreateMemoryRequest;
 import com.integraltech.brainsentry.dto.request.SearchRequest;
 import com.integraltech.brainsentry.dto.response.MemoryResponse;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -46,6 +48,9 @@ class EndToEndIntegrationTest {
     @Autowired
     private MemoryRelationshipJpaRepository relationshipRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Container
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
             .withDatabaseName("brain_sentry_test")
@@ -58,6 +63,7 @@ class EndToEndIntegrationTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("brain-sentry.embedding.provider", () -> "hash");
     }
 
     private static String memoryId;
@@ -263,6 +269,29 @@ class EndToEndIntegrationTest {
                 .statusCode(404);
     }
 
+    @Test
+    @Order(16)
+    @DisplayName("E2E: Saving a memory keeps usage counts flushed after it was loaded")
+    void testSaveKeepsFlushedUsageCounts() {
+        assertThat(memoryId).isNotNull();
+        Memory stale = memoryRepository.findById(memoryId).orElseThrow();
+        Map<String, Object> before = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(access_count, 0) AS a, COALESCE(injection_count, 0) AS i FROM memories WHERE id = ?",
+                memoryId);
+
+        // A usage counter flush lands between loading and saving the entity
+        jdbcTemplate.update("UPDATE memories SET access_count = COALESCE(access_count, 0) + 5, " +
+                "injection_count = COALESCE(injection_count, 0) + 2 WHERE id = ?", memoryId);
+        stale.setSummary("Saved after a usage flush");
+        memoryRepository.save(stale);
+
+        Map<String, Object> after = jdbcTemplate.queryForMap(
+                "SELECT access_count AS a, injection_count AS i, summary FROM memories WHERE id = ?", memoryId);
+        assertThat(((Number) after.get("a")).intValue()).isEqualTo(((Number) before.get("a")).intValue() + 5);
+        assertThat(((Number) after.get("i")).intValue()).isEqualTo(((Number) before.get("i")).intValue() + 2);
+        assertThat(after.get("summary")).isEqualTo("Saved after a usage flush");
+    }
+
     // ==================== Stats Endpoint E2E ====================
 
     @Test
@@ -0,0 +1,122 @@
+package com.integraltech.brainsentry.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (-rf json) benchmark by benchmark.
+ *
+ * Usage: BenchmarkBaselineDiff &lt;baseline.json&gt; &lt;current.json&gt; [threshold]
+ *
+ * A benchmark regresses when it got worse by more than {@code threshold}
+ * (relative, default 0.10) and by more than the two runs' combined score
+ * error. Run by the jmh-baseline Maven profile; fails the build on regressions.
+ */
+public class BenchmarkBaselineDiff {
+
+    static final double DEFAULT_THRESHOLD = 0.10;
+
+    /**
+     * One benchmark present in both result files.
+     *
+     * @param key benchmark name plus parameters
+     * @param change relative change, positive means slower (worse)
+     * @param regression whether the change exceeds the threshold and the noise
+     */
+    record Comparison(String key, String unit, double baseline, double current,
+                      double change, boolean regression) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BenchmarkBaselineDiff <baseline.json> <current.json> [threshold]");
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode baseline = mapper.readTree(new File(args[0]));
+        JsonNode current = mapper.readTree(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+
+        List<Comparison> comparisons = compare(baseline, current, threshold);
+        int regressions = 0;
+        for (Comparison c : comparisons) {
+            System.out.printf("%-90s %14.3f %14.3f %-10s %+8.1f%%%s%n",
+                c.key(), c.baseline(), c.current(), c.unit(), c.change() * 100,
+                c.regression() ? "  REGRESSION" : "");
+            if (c.regression()) {
+                regressions++;
+            }
+        }
+        if (regressions > 0) {
+            throw new IllegalStateException(regressions + " benchmark(s) regressed by more than "
+                + Math.round(threshold * 100) + "%");
+        }
+    }
+
+    /**
+     * Match benchmarks by name and parameters and compare their primary scores.
+     * Benchmarks missing from either file are skipped.
+     */
+    static List<Comparison> compare(JsonNode baseline, JsonNode current, double threshold) {
+        Map<String, JsonNode> baselineByKey = index(baseline);
+        List<Comparison> comparisons = new ArrayList<>();
+
+        for (Map.Entry<String, JsonNode> entry : index(current).entrySet()) {
+            JsonNode before = baselineByKey.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            JsonNode beforeMetric = before.path("primaryMetric");
+            JsonNode afterMetric = after.path("primaryMetric");
+
+            double beforeScore = beforeMetric.path("score").asDouble();
+            double afterScore = afterMetric.path("score").asDouble();
+            if (beforeScore == 0) {
+                continue;
+            }
+            // Throughput: higher is better; every other mode reports time, lower is better
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = higherIsBetter
+                ? (beforeScore - afterScore) / beforeScore
+                : (afterScore - beforeScore) / beforeScore;
+            double noise = errorOf(beforeMetric) + errorOf(afterMetric);
+            boolean regression = change > threshold && Math.abs(afterScore - beforeScore) > noise;
+
+            comparisons.add(new Comparison(entry.getKey(), afterMetric.path("scoreUnit").asText(),
+                beforeScore, afterScore, change, regression));
+        }
+        return comparisons;
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            byKey.put(keyOf(result), result);
+        }
+        return byKey;
+    }
+
+    private static String keyOf(JsonNode result) {
+        StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        result.path("params").fields().forEachRemaining(p -> params.put(p.getKey(), p.getValue().asText()));
+        if (!params.isEmpty()) {
+            key.append(params);
+        }
+        return key.toString();
+    }
+
+    private static double errorOf(JsonNode metric) {
+        // JMH reports NaN when there were too few iterations to estimate the error
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,78 @@
+package com.integraltech.brainsentry.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("BenchmarkBaselineDiff Unit Tests")
+class BenchmarkBaselineDiffTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JsonNode results(String... entries) throws Exception {
+        return mapper.readTree("[" + String.join(",", entries) + "]");
+    }
+
+    private static String result(String benchmark, String mode, String params, double score, double error) {
+        return "{\"benchmark\":\"" + benchmark + "\",\"mode\":\"" + mode + "\",\"params\":" + params
+            + ",\"primaryMetric\":{\"score\":" + score + ",\"scoreError\":" + error + ",\"scoreUnit\":\"ns/op\"}}";
+    }
+
+    @Test
+    @DisplayName("Should flag a slower average time beyond threshold and noise")
+    void shouldFlagSlowerAverageTime() throws Exception {
+        JsonNode baseline = results(result("a.Bench.run", "avgt", "{}", 100, 2));
+        JsonNode current = results(result("a.Bench.run", "avgt", "{}", 130, 2));
+
+        List<BenchmarkBaselineDiff.Comparison> comparisons = BenchmarkBaselineDiff.compare(baseline, current, 0.10);
+
+        assertThat(comparisons).hasSize(1);
+        assertThat(comparisons.get(0).change()).isCloseTo(0.30, within(1e-9));
+        assertThat(comparisons.get(0).regression()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat lower throughput as a regression and higher as an improvement")
+    void shouldInvertThroughput() throws Exception {
+        JsonNode baseline = results(
+            result("a.Bench.x", "thrpt", "{}", 1000, 10),
+            result("a.Bench.y", "thrpt", "{}", 1000, 10));
+        JsonNode current = results(
+            result("a.Bench.x", "thrpt", "{}", 800, 10),
+            result("a.Bench.y", "thrpt", "{}", 1200, 10));
+
+        List<BenchmarkBaselineDiff.Comparison> comparisons = BenchmarkBaselineDiff.compare(baseline, current, 0.10);
+
+        assertThat(comparisons).extracting(BenchmarkBaselineDiff.Comparison::regression)
+            .containsExactly(true, false);
+    }
+
+    @Test
+    @DisplayName("Should ignore changes within the combined score error")
+    void shouldIgnoreNoise() throws Exception {
+        JsonNode baseline = results(result("a.Bench.run", "avgt", "{}", 100, 15));
+        JsonNode current = results(result("a.Bench.run", "avgt", "{}", 125, 15));
+
+        assertThat(BenchmarkBaselineDiff.compare(baseline, current, 0.10).get(0).regression()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match benchmarks by parameters and skip new ones")
+    void shouldMatchByParams() throws Exception {
+        JsonNode baseline = results(result("a.Bench.run", "avgt", "{\"size\":\"10\"}", 100, 1));
+        JsonNode current = results(
+            result("a.Bench.run", "avgt", "{\"size\":\"10\"}", 101, 1),
+            result("a.Bench.run", "avgt", "{\"size\":\"100\"}", 900, 1));
+
+        List<BenchmarkBaselineDiff.Comparison> comparisons = BenchmarkBaselineDiff.compare(baseline, current, 0.10);
+
+        assertThat(comparisons).extracting(BenchmarkBaselineDiff.Comparison::key)
+            .containsExactly("a.Bench.run{size=10}");
+    }
+}
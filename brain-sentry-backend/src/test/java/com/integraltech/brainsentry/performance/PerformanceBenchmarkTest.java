@@ -53,6 +53,7 @@ class PerformanceBenchmarkTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("brain-sentry.embedding.provider", () -> "hash");
     }
 
     private static final String PERF_TENANT = "perf-test-tenant";
@@ -15,16 +15,24 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -41,9 +49,18 @@ class MemoryRepositoryTest {
     @Mock
     private Jedis jedis;
 
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private Pipeline pipeline;
+
     private MemoryRepository repository;
     private ObjectMapper objectMapper;
 
+    /** Contents of the memory_usage:<id> hashes, by key. */
+    private final Map<String, Map<String, String>> usageHashes = new HashMap<>();
+
     private final String tenantId = "test-tenant";
     private final String memoryId = "mem_test123";
 
@@ -54,10 +71,34 @@ class MemoryRepositoryTest {
                 .build();
         // Updated constructor signature for MemoryRepositoryImpl
         repository = new MemoryRepositoryImpl(jedisPool, objectMapper, "test_brainsentry",
-                "localhost", 6379, "");
+                "localhost", 6379, "", 384, null);
 
         // Setup default JedisPool behavior
         lenient().when(jedisPool.getResource()).thenReturn(jedis);
+        lenient().when(jedis.multi()).thenReturn(transaction);
+        lenient().when(transaction.exec()).thenReturn(List.of());
+        // No stored records unless a test stubs MGET
+        lenient().when(jedis.mget(any(String[].class))).thenAnswer(invocation ->
+                Arrays.stream(invocation.getArguments()).map(key -> (String) null).toList());
+        // Pipelined reads answer from the same stubs as direct ones
+        lenient().when(jedis.pipelined()).thenReturn(pipeline);
+        lenient().when(pipeline.get(anyString())).thenAnswer(invocation ->
+                response(jedis.get(invocation.<String>getArgument(0))));
+        lenient().when(pipeline.mget(any(String[].class))).thenAnswer(invocation ->
+                response(jedis.mget(Arrays.stream(invocation.getArguments()).toArray(String[]::new))));
+        lenient().when(pipeline.hmget(anyString(), any(String[].class))).thenAnswer(invocation -> {
+            Map<String, String> hash = usageHashes.getOrDefault(invocation.<String>getArgument(0), Map.of());
+            return response(Arrays.stream(invocation.getArguments()).skip(1).map(field -> hash.get(field.toString())).toList());
+        });
+        lenient().when(pipeline.exists(anyString())).thenAnswer(invocation ->
+                response(usageHashes.containsKey(invocation.<String>getArgument(0))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Response<T> response(T value) {
+        Response<T> response = mock(Response.class, withSettings().strictness(Strictness.LENIENT));
+        when(response.get()).thenReturn(value);
+        return response;
     }
 
     @AfterEach
@@ -90,6 +131,20 @@ class MemoryRepositoryTest {
         return createTestMemory(memoryId);
     }
 
+    /**
+     * Answer MGET from the given memories; ids not in the map come back as null.
+     */
+    private void stubMget(Memory... memories) {
+        Map<String, String> byKey = new HashMap<>();
+        for (Memory memory : memories) {
+            byKey.put("memory:" + memory.getId(), toJson(memory));
+        }
+        when(jedis.mget(any(String[].class))).thenAnswer(invocation ->
+                Arrays.stream(invocation.getArguments())
+                        .map(key -> byKey.get(key.toString()))
+                        .toList());
+    }
+
     private String toJson(Memory memory) {
         try {
             return objectMapper.writeValueAsString(memory);
@@ -115,9 +170,6 @@ class MemoryRepositoryTest {
                     .tags(List.of("tag1"))
                     .build();
 
-            when(jedis.set(anyString(), anyString())).thenReturn("OK");
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
 
             Memory saved = repository.save(memory);
 
@@ -127,8 +179,8 @@ class MemoryRepositoryTest {
             assertThat(saved.getCreatedAt()).isNotNull();
             assertThat(saved.getUpdatedAt()).isNotNull();
 
-            verify(jedis).set(startsWith("memory:"), anyString());
-            verify(jedis).sadd("tenant_memories:" + tenantId, saved.getId());
+            verify(transaction).set(startsWith("memory:"), anyString());
+            verify(transaction).sadd("tenant_memories:" + tenantId, saved.getId());
         }
 
         @Test
@@ -136,13 +188,11 @@ class MemoryRepositoryTest {
         void shouldSaveWithExistingId() {
             Memory memory = createTestMemory();
 
-            when(jedis.set(anyString(), anyString())).thenReturn("OK");
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
 
             Memory saved = repository.save(memory);
 
             assertThat(saved).isEqualTo(memory);
-            verify(jedis).set(eq("memory:" + memoryId), anyString());
+            verify(transaction).set(eq("memory:" + memoryId), anyString());
         }
 
         @Test
@@ -150,14 +200,12 @@ class MemoryRepositoryTest {
         void shouldIndexTagsCorrectly() {
             Memory memory = createTestMemory();
 
-            when(jedis.set(anyString(), anyString())).thenReturn("OK");
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
 
             repository.save(memory);
 
-            verify(jedis).sadd("tag_idx:java", memoryId);
-            verify(jedis).sadd("tag_idx:spring", memoryId);
-            verify(jedis).sadd("tag_idx:redis", memoryId);
+            verify(transaction).sadd("tag_idx:java", memoryId);
+            verify(transaction).sadd("tag_idx:spring", memoryId);
+            verify(transaction).sadd("tag_idx:redis", memoryId);
         }
 
         @Test
@@ -172,13 +220,11 @@ class MemoryRepositoryTest {
                     .tags(List.of())
                     .build();
 
-            when(jedis.set(anyString(), anyString())).thenReturn("OK");
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
 
             Memory saved = repository.save(memory);
 
             assertThat(saved).isNotNull();
-            verify(jedis, never()).sadd(startsWith("tag_idx:"), anyString());
+            verify(transaction, never()).sadd(startsWith("tag_idx:"), anyString());
         }
 
         @Test
@@ -193,13 +239,11 @@ class MemoryRepositoryTest {
                     .tags(null)
                     .build();
 
-            when(jedis.set(anyString(), anyString())).thenReturn("OK");
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
 
             Memory saved = repository.save(memory);
 
             assertThat(saved).isNotNull();
-            verify(jedis, never()).sadd(startsWith("tag_idx:"), anyString());
+            verify(transaction, never()).sadd(startsWith("tag_idx:"), anyString());
         }
 
         @Test
@@ -218,8 +262,6 @@ class MemoryRepositoryTest {
                     .createdAt(null)
                     .build();
 
-            when(jedis.set(anyString(), anyString())).thenReturn("OK");
-            when(jedis.sadd(anyString(), anyString())).thenReturn(1L);
 
             Memory saved = repository.save(memory);
 
@@ -228,13 +270,74 @@ class MemoryRepositoryTest {
             assertThat(saved.getUpdatedAt()).isNotNull();
         }
 
+        @Test
+        @DisplayName("Should write record and indexes in one transaction")
+        void shouldWriteKvInOneTransaction() {
+            Memory memory = createTestMemory();
+
+            repository.save(memory);
+
+            verify(jedis).multi();
+            verify(transaction).exec();
+            verify(jedis, never()).set(anyString(), anyString());
+            verify(jedis, never()).sadd(startsWith("tag_idx:"), anyString());
+        }
+
+        @Test
+        @DisplayName("Should mark memory for graph resync when graph write fails")
+        void shouldMarkGraphPendingWhenGraphFails() {
+            Memory memory = createTestMemory();
+
+            // No FalkorDB server in unit tests, so the graph statement fails
+            repository.save(memory);
+
+            verify(jedis).sadd("graph_pending:" + tenantId, memoryId);
+        }
+
         @Test
         @DisplayName("Should throw exception when Jedis fails")
         void shouldThrowExceptionWhenJedisFails() {
             Memory memory = createTestMemory();
 
-            when(jedis.set(anyString(), anyString()))
-                    .thenThrow(new RuntimeException("Connection failed"));
+            when(transaction.exec()).thenThrow(new RuntimeException("Connection failed"));
+
+            assertThatThrownBy(() -> repository.save(memory))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Failed to save memory");
+        }
+
+        @Test
+        @DisplayName("Should throw exception when a queued command fails")
+        void shouldThrowWhenQueuedCommandFails() {
+            Memory memory = createTestMemory();
+
+            when(transaction.exec()).thenReturn(List.of("OK",
+                    new JedisDataException("WRONGTYPE Operation against a key holding the wrong kind of value")));
+
+            assertThatThrownBy(() -> repository.save(memory))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Failed to save memory")
+                    .hasRootCauseInstanceOf(JedisDataException.class);
+        }
+
+        @Test
+        @DisplayName("Should write blindly without reading the stored record")
+        void shouldNotReadBeforeWriting() {
+            repository.saveAll(List.of(createTestMemory("mem_a"), createTestMemory("mem_b")));
+
+            verify(jedis, never()).watch(any(String[].class));
+            verify(jedis, never()).mget(any(String[].class));
+            verify(jedis).multi();
+            verify(transaction).exec();
+            verify(transaction, never()).hset(anyString(), anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when the transaction is aborted")
+        void shouldThrowWhenTransactionAborted() {
+            Memory memory = createTestMemory();
+
+            when(transaction.exec()).thenReturn(null);
 
             assertThatThrownBy(() -> repository.save(memory))
                     .isInstanceOf(RuntimeException.class)
@@ -262,6 +365,23 @@ class MemoryRepositoryTest {
             assertThat(result.get().getTenantId()).isEqualTo(tenantId);
         }
 
+        @Test
+        @DisplayName("Should take usage counters from the usage hash")
+        void shouldOverlayUsageCounters() {
+            Instant lastAccessedAt = Instant.parse("2026-01-02T03:04:05Z");
+            when(jedis.get("memory:" + memoryId)).thenReturn(toJson(createTestMemory()));
+            usageHashes.put("memory_usage:" + memoryId, Map.of(
+                    "accessCount", "42",
+                    "injectionCount", "7",
+                    "lastAccessedAt", String.valueOf(lastAccessedAt.toEpochMilli())));
+
+            Memory result = repository.findById(memoryId).orElseThrow();
+
+            assertThat(result.getAccessCount()).isEqualTo(42);
+            assertThat(result.getInjectionCount()).isEqualTo(7);
+            assertThat(result.getLastAccessedAt()).isEqualTo(lastAccessedAt);
+        }
+
         @Test
         @DisplayName("Should return empty when memory not found")
         void shouldReturnEmptyWhenNotFound() {
@@ -307,8 +427,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of(memoryId, "mem_test456");
 
             when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            when(jedis.get("memory:" + memoryId)).thenReturn(toJson(memory1));
-            when(jedis.get("memory:mem_test456")).thenReturn(toJson(memory2));
+            stubMget(memory1, memory2);
 
             List<Memory> result = repository.findByTenantId(tenantId);
 
@@ -331,8 +450,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of(memoryId, "mem_missing");
 
             when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            when(jedis.get("memory:" + memoryId)).thenReturn(toJson(createTestMemory()));
-            when(jedis.get("memory:mem_missing")).thenReturn(null);
+            stubMget(createTestMemory());
 
             List<Memory> result = repository.findByTenantId(tenantId);
 
@@ -341,6 +459,62 @@ class MemoryRepositoryTest {
         }
     }
 
+    @Nested
+    @DisplayName("findAllByIds()")
+    class FindAllByIdsTests {
+
+        @Test
+        @DisplayName("Should hydrate with MGET and keep the requested order")
+        void shouldKeepRequestedOrder() {
+            stubMget(createTestMemory("mem_a"), createTestMemory("mem_b"), createTestMemory("mem_c"));
+
+            List<Memory> result = repository.findAllByIds(List.of("mem_c", "mem_a", "mem_b", "mem_a"));
+
+            assertThat(result).extracting(Memory::getId).containsExactly("mem_c", "mem_a", "mem_b");
+            verify(jedis).mget(any(String[].class));
+            verify(jedis, never()).get(anyString());
+            verify(pipeline).sync();
+        }
+
+        @Test
+        @DisplayName("Should read usage counters in the same pipeline as the records")
+        void shouldOverlayUsageCounters() {
+            stubMget(createTestMemory("mem_a"), createTestMemory("mem_b"));
+            usageHashes.put("memory_usage:mem_b", Map.of("accessCount", "12", "injectionCount", "4"));
+
+            List<Memory> result = repository.findAllByIds(List.of("mem_a", "mem_b"));
+
+            // createTestMemory() stores 5 accesses and 3 injections in the record
+            assertThat(result).extracting(Memory::getAccessCount).containsExactly(5, 12);
+            assertThat(result).extracting(Memory::getInjectionCount).containsExactly(3, 4);
+            verify(pipeline).hmget("memory_usage:mem_a", "accessCount", "injectionCount", "lastAccessedAt");
+            verify(pipeline).hmget("memory_usage:mem_b", "accessCount", "injectionCount", "lastAccessedAt");
+            verify(pipeline).sync();
+        }
+
+        @Test
+        @DisplayName("Should split large id sets into chunked MGET calls")
+        void shouldChunkLargeIdSets() {
+            List<String> ids = IntStream.range(0, 1200).mapToObj(i -> "mem_" + i).toList();
+            when(jedis.mget(any(String[].class))).thenAnswer(invocation ->
+                    Arrays.stream(invocation.getArguments())
+                            .map(key -> toJson(createTestMemory(key.toString().replace("memory:", ""))))
+                            .toList());
+
+            List<Memory> result = repository.findAllByIds(ids);
+
+            assertThat(result).hasSize(1200);
+            verify(jedis, times(3)).mget(any(String[].class));
+        }
+
+        @Test
+        @DisplayName("Should return empty list without touching Redis for no ids")
+        void shouldReturnEmptyForNoIds() {
+            assertThat(repository.findAllByIds(List.of())).isEmpty();
+            verify(jedisPool, never()).getResource();
+        }
+    }
+
     @Nested
     @DisplayName("findByCategory()")
     class FindByCategoryTests {
@@ -365,12 +539,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of(memoryId, "mem_decision");
 
             when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            when(jedis.get(anyString())).thenAnswer(invocation -> {
-                String id = invocation.getArgument(0).toString().replace("memory:", "");
-                if (id.equals(memoryId)) return toJson(patternMemory);
-                if (id.equals("mem_decision")) return toJson(decisionMemory);
-                return null;
-            });
+            stubMget(patternMemory, decisionMemory);
 
             List<Memory> result = repository.findByCategory("PATTERN", tenantId);
 
@@ -384,7 +553,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of(memoryId);
 
             lenient().when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            lenient().when(jedis.get(anyString())).thenReturn(toJson(createTestMemory()));
+            lenient().when(jedis.mget(any(String[].class))).thenReturn(List.of(toJson(createTestMemory())));
 
             List<Memory> result = repository.findByCategory("BUG", tenantId);
 
@@ -444,13 +613,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of("mem_critical", "mem_important", "mem_minor");
 
             when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            when(jedis.get(anyString())).thenAnswer(invocation -> {
-                String id = invocation.getArgument(0).toString().replace("memory:", "");
-                if (id.equals("mem_critical")) return toJson(criticalMemory);
-                if (id.equals("mem_important")) return toJson(importantMemory);
-                if (id.equals("mem_minor")) return toJson(minorMemory);
-                return null;
-            });
+            stubMget(criticalMemory, importantMemory, minorMemory);
 
             List<Memory> result = repository.findByImportance("CRITICAL", tenantId);
 
@@ -485,12 +648,7 @@ class MemoryRepositoryTest {
 
             when(jedis.smembers("tag_idx:java")).thenReturn(javaAndSpring);
             when(jedis.smembers("tag_idx:spring")).thenReturn(javaAndSpring);
-            when(jedis.get(anyString())).thenAnswer(invocation -> {
-                String id = invocation.getArgument(0).toString().replace("memory:", "");
-                if (id.equals(memoryId)) return toJson(memory1);
-                if (id.equals("mem_test2")) return toJson(memory2);
-                return null;
-            });
+            stubMget(memory1, memory2);
 
             List<Memory> result = repository.findByTags(List.of("java", "spring"), tenantId);
 
@@ -531,12 +689,7 @@ class MemoryRepositoryTest {
             Set<String> javaMemories = Set.of(memoryId, "mem_other_tenant");
 
             when(jedis.smembers("tag_idx:java")).thenReturn(javaMemories);
-            when(jedis.get(anyString())).thenAnswer(invocation -> {
-                String id = invocation.getArgument(0).toString().replace("memory:", "");
-                if (id.equals(memoryId)) return toJson(memory1);
-                if (id.equals("mem_other_tenant")) return toJson(memory2);
-                return null;
-            });
+            stubMget(memory1, memory2);
 
             List<Memory> result = repository.findByTags(List.of("java"), tenantId);
 
@@ -583,12 +736,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of("mem_1", "mem_2");
 
             when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            when(jedis.get(anyString())).thenAnswer(invocation -> {
-                String id = invocation.getArgument(0).toString().replace("memory:", "");
-                if (id.equals("mem_1")) return toJson(memory1);
-                if (id.equals("mem_2")) return toJson(memory2);
-                return null;
-            });
+            stubMget(memory1, memory2);
 
             float[] embedding = new float[]{0.1f, 0.2f, 0.3f};
             List<Memory> result = repository.vectorSearch(embedding, 10, tenantId);
@@ -603,10 +751,7 @@ class MemoryRepositoryTest {
             Set<String> memoryIds = Set.of("mem_1", "mem_2", "mem_3");
 
             when(jedis.smembers("tenant_memories:" + tenantId)).thenReturn(memoryIds);
-            when(jedis.get(anyString())).thenAnswer(invocation -> {
-                String id = invocation.getArgument(0).toString().replace("memory:", "");
-                return toJson(createTestMemory(id));
-            });
+            stubMget(createTestMemory("mem_1"), createTestMemory("mem_2"), createTestMemory("mem_3"));
 
             float[] embedding = new float[]{0.1f, 0.2f, 0.3f};
             List<Memory> result = repository.vectorSearch(embedding, 2, tenantId);
@@ -708,18 +853,16 @@ class MemoryRepositoryTest {
             Memory memory = createTestMemory();
 
             when(jedis.get("memory:" + memoryId)).thenReturn(toJson(memory));
-            when(jedis.del("memory:" + memoryId)).thenReturn(1L);
-            when(jedis.srem(anyString(), anyString())).thenReturn(1L);
 
             boolean result = repository.deleteById(memoryId);
 
             assertThat(result).isTrue();
 
-            verify(jedis).del("memory:" + memoryId);
-            verify(jedis).srem("tenant_memories:" + tenantId, memoryId);
-            verify(jedis).srem("tag_idx:java", memoryId);
-            verify(jedis).srem("tag_idx:spring", memoryId);
-            verify(jedis).srem("tag_idx:redis", memoryId);
+            verify(transaction).del("memory:" + memoryId, "memory_usage:" + memoryId);
+            verify(transaction).srem("tenant_memories:" + tenantId, memoryId);
+            verify(transaction).srem("tag_idx:java", memoryId);
+            verify(transaction).srem("tag_idx:spring", memoryId);
+            verify(transaction).srem("tag_idx:redis", memoryId);
         }
 
         @Test
@@ -731,8 +874,8 @@ class MemoryRepositoryTest {
 
             assertThat(result).isFalse();
 
-            verify(jedis, never()).del(anyString());
-            verify(jedis, never()).srem(anyString(), anyString());
+            verify(transaction, never()).del(any(String[].class));
+            verify(transaction, never()).srem(anyString(), anyString());
         }
 
         @Test
@@ -752,11 +895,110 @@ class MemoryRepositoryTest {
                     .build();
 
             when(jedis.get("memory:" + memoryId)).thenReturn(toJson(memory));
-            when(jedis.del("memory:" + memoryId)).thenReturn(1L);
 
             repository.deleteById(memoryId);
 
-            verify(jedis, never()).srem(startsWith("tenant_memories:"), anyString());
+            verify(transaction, never()).srem(startsWith("tenant_memories:"), anyString());
+        }
+
+        @Test
+        @DisplayName("Should return false when a queued command fails")
+        void shouldReturnFalseWhenQueuedCommandFails() {
+            Memory memory = createTestMemory();
+
+            when(jedis.get("memory:" + memoryId)).thenReturn(toJson(memory));
+            when(transaction.exec()).thenReturn(List.of(new JedisDataException("READONLY")));
+
+            assertThat(repository.deleteById(memoryId)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("incrementUsage()")
+    class IncrementUsageTests {
+
+        @Test
+        @DisplayName("Should add the deltas to the usage hashes in one transaction")
+        void shouldIncrementUsageHashes() {
+            usageHashes.put("memory_usage:" + memoryId, Map.of("accessCount", "4", "injectionCount", "1"));
+            Instant now = Instant.parse("2026-01-02T03:04:05Z");
+
+            try {
+                repository.incrementUsage(List.of(new MemoryRepository.UsageDelta(memoryId, 3, 2, now)));
+            } catch (RuntimeException e) {
+                // No FalkorDB server in unit tests; the KV counters are still updated
+            }
+
+            verify(transaction).hincrBy("memory_usage:" + memoryId, "accessCount", 3);
+            verify(transaction).hincrBy("memory_usage:" + memoryId, "injectionCount", 2);
+            verify(transaction).hset("memory_usage:" + memoryId, "lastAccessedAt", String.valueOf(now.toEpochMilli()));
+            verify(transaction).exec();
+            verify(transaction, never()).hsetnx(anyString(), anyString(), anyString());
+            verify(transaction, never()).set(anyString(), anyString());
+            verify(jedis, never()).mget(any(String[].class));
+        }
+
+        @Test
+        @DisplayName("Should seed a missing usage hash from the record and skip missing records")
+        void shouldSeedFromRecord() {
+            stubMget(createTestMemory());
+            Instant now = Instant.now();
+
+            try {
+                repository.incrementUsage(List.of(
+                        new MemoryRepository.UsageDelta(memoryId, 3, 2, now),
+                        new MemoryRepository.UsageDelta("mem_missing", 1, 0, now)));
+            } catch (RuntimeException e) {
+                // No FalkorDB server in unit tests
+            }
+
+            // createTestMemory() stores 5 accesses and 3 injections in the record
+            var order = inOrder(transaction);
+            order.verify(transaction).hsetnx("memory_usage:" + memoryId, "accessCount", "5");
+            order.verify(transaction).hsetnx("memory_usage:" + memoryId, "injectionCount", "3");
+            order.verify(transaction).hincrBy("memory_usage:" + memoryId, "accessCount", 3);
+            verify(transaction, never()).hincrBy(eq("memory_usage:mem_missing"), anyString(), anyLong());
+        }
+
+        @Test
+        @DisplayName("Should keep flushed counts when a stale copy is saved afterwards")
+        void shouldKeepCountsWhenSavedAfterFlush() {
+            Memory stale = createTestMemory();
+            Map<String, String> records = new HashMap<>();
+            records.put("memory:" + memoryId, toJson(stale));
+            when(jedis.get(anyString())).thenAnswer(invocation -> records.get(invocation.<String>getArgument(0)));
+            when(jedis.mget(any(String[].class))).thenAnswer(invocation ->
+                    Arrays.stream(invocation.getArguments()).map(key -> records.get(key.toString())).toList());
+            when(transaction.set(anyString(), anyString())).thenAnswer(invocation -> {
+                records.put(invocation.getArgument(0), invocation.getArgument(1));
+                return null;
+            });
+            when(transaction.hsetnx(anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+                usageHashes.computeIfAbsent(invocation.getArgument(0), k -> new HashMap<>())
+                        .putIfAbsent(invocation.getArgument(1), invocation.getArgument(2));
+                return null;
+            });
+            when(transaction.hincrBy(anyString(), anyString(), anyLong())).thenAnswer(invocation -> {
+                usageHashes.computeIfAbsent(invocation.getArgument(0), k -> new HashMap<>())
+                        .merge(invocation.getArgument(1), String.valueOf(invocation.<Long>getArgument(2)),
+                                (a, b) -> String.valueOf(Long.parseLong(a) + Long.parseLong(b)));
+                return null;
+            });
+
+            try {
+                repository.incrementUsage(List.of(
+                        new MemoryRepository.UsageDelta(memoryId, 5, 2, Instant.now())));
+            } catch (RuntimeException e) {
+                // No FalkorDB server in unit tests
+            }
+            stale.setSummary("Edited after the flush");
+            repository.save(stale);
+
+            // createTestMemory() starts at 5 accesses and 3 injections
+            Memory loaded = repository.findById(memoryId).orElseThrow();
+            assertThat(loaded.getAccessCount()).isEqualTo(10);
+            assertThat(loaded.getInjectionCount()).isEqualTo(5);
+            assertThat(loaded.getSummary()).isEqualTo("Edited after the flush");
         }
     }
 
@@ -0,0 +1,150 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.integraltech.brainsentry.config.RetrievalProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MemoryFullTextIndex Unit Tests")
+class MemoryFullTextIndexTest {
+
+    private static final String TENANT = "tenant-abc";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MemoryJpaRepository memoryJpaRepo;
+
+    private MemoryFullTextIndex index(String language) {
+        RetrievalProperties properties = new RetrievalProperties();
+        properties.getLexical().setLanguage(language);
+        return new MemoryFullTextIndex(jdbcTemplate, memoryJpaRepo, properties);
+    }
+
+    private void givenColumnLanguage(String... language) {
+        when(jdbcTemplate.queryForList(MemoryFullTextIndex.COLUMN_LANGUAGE_SQL, String.class))
+            .thenReturn(List.of(language));
+    }
+
+    @Test
+    @DisplayName("Should create the search column and GIN index when missing")
+    void shouldCreateIndex() {
+        // Given
+        givenColumnLanguage();
+
+        // When
+        index("english").ensureIndex();
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(MemoryFullTextIndex.ADD_COLUMN_SQL.formatted("english"));
+        inOrder.verify(jdbcTemplate).execute("COMMENT ON COLUMN memories.search_vector IS 'english'");
+        inOrder.verify(jdbcTemplate).execute(MemoryFullTextIndex.CREATE_INDEX_SQL);
+        verify(jdbcTemplate, never()).execute(MemoryFullTextIndex.DROP_COLUMN_SQL);
+    }
+
+    @Test
+    @DisplayName("Should keep an index built with the same language")
+    void shouldKeepExistingIndex() {
+        // Given
+        givenColumnLanguage("english");
+
+        // When
+        index("english").ensureIndex();
+
+        // Then
+        verify(jdbcTemplate).execute(MemoryFullTextIndex.CREATE_INDEX_SQL);
+        verify(jdbcTemplate, never()).execute(MemoryFullTextIndex.DROP_COLUMN_SQL);
+        verify(jdbcTemplate, never()).execute(startsWith("ALTER TABLE memories ADD COLUMN"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the index when the language changes")
+    void shouldRebuildForNewLanguage() {
+        // Given
+        givenColumnLanguage("english");
+
+        // When
+        index("portuguese").ensureIndex();
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(MemoryFullTextIndex.DROP_COLUMN_SQL);
+        inOrder.verify(jdbcTemplate).execute(MemoryFullTextIndex.ADD_COLUMN_SQL.formatted("portuguese"));
+        inOrder.verify(jdbcTemplate).execute(MemoryFullTextIndex.CREATE_INDEX_SQL);
+    }
+
+    @Test
+    @DisplayName("Should reject a language that is not a configuration name")
+    void shouldRejectInvalidLanguage() {
+        assertThatThrownBy(() -> index("english'; DROP TABLE memories; --"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should return loaded memories in rank order with their snippets")
+    @SuppressWarnings("unchecked")
+    void shouldSearchInRankOrder() throws Exception {
+        // Given
+        ResultSet first = mock(ResultSet.class);
+        when(first.getString("id")).thenReturn("mem-2");
+        when(first.getDouble("rank")).thenReturn(0.8);
+        when(first.getString("snippet")).thenReturn("use <mark>constructor</mark> injection");
+        ResultSet second = mock(ResultSet.class);
+        when(second.getString("id")).thenReturn("mem-1");
+        when(second.getDouble("rank")).thenReturn(0.4);
+        ResultSet deleted = mock(ResultSet.class);
+        when(deleted.getString("id")).thenReturn("mem-gone");
+
+        when(jdbcTemplate.query(eq(MemoryFullTextIndex.SEARCH_SQL), any(RowMapper.class),
+            eq("english"), eq("english"), eq("constructor"), eq("constructor"), eq(TENANT), eq(10)))
+            .thenAnswer(invocation -> {
+                RowMapper<Object> mapper = invocation.getArgument(1);
+                return List.of(mapper.mapRow(first, 0), mapper.mapRow(second, 1), mapper.mapRow(deleted, 2));
+            });
+        when(memoryJpaRepo.findWithTagsByIdIn(List.of("mem-2", "mem-1", "mem-gone")))
+            .thenReturn(List.of(Memory.builder().id("mem-1").build(), Memory.builder().id("mem-2").build()));
+
+        // When
+        List<MemoryFullTextIndex.Match> matches = index("english").search("constructor", TENANT, 10);
+
+        // Then
+        assertThat(matches).extracting(match -> match.memory().getId()).containsExactly("mem-2", "mem-1");
+        assertThat(matches.get(0).rank()).isEqualTo(0.8);
+        assertThat(matches.get(0).snippet()).isEqualTo("use <mark>constructor</mark> injection");
+    }
+
+    @Test
+    @DisplayName("Should not load memories when nothing matches")
+    @SuppressWarnings("unchecked")
+    void shouldSkipLoadWithoutHits() {
+        // Given
+        when(jdbcTemplate.query(eq(MemoryFullTextIndex.SEARCH_SQL), any(RowMapper.class),
+            any(), any(), any(), any(), any(), any()))
+            .thenReturn(List.of());
+
+        // When / Then
+        assertThat(index("english").search("nothing", TENANT, 10)).isEmpty();
+        verifyNoInteractions(memoryJpaRepo);
+    }
+}
@@ -0,0 +1,179 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.falkordb.Graph;
+import com.falkordb.ResultSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Keeping the graph in line with the KV store after graph writes or
+ * deletes failed.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Memory Graph Reconciliation Tests")
+class MemoryGraphReconciliationTest {
+
+    @Mock
+    private JedisPool jedisPool;
+
+    @Mock
+    private Jedis jedis;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private Pipeline pipeline;
+
+    @Mock
+    private Graph graph;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ObjectMapper objectMapper;
+    private MemoryRepositoryImpl repository;
+
+    private final String tenantId = "test-tenant";
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+        repository = new MemoryRepositoryImpl(jedisPool, objectMapper, "test_brainsentry", graph, 3, null);
+
+        when(jedisPool.getResource()).thenReturn(jedis);
+        when(jedis.multi()).thenReturn(transaction);
+        when(transaction.exec()).thenReturn(List.of());
+        when(jedis.mget(any(String[].class))).thenAnswer(invocation ->
+            Arrays.stream(invocation.getArguments()).map(key -> (String) null).toList());
+        when(jedis.smembers(anyString())).thenReturn(Set.of());
+        // Pipelined reads answer from the direct stubs; no usage hashes exist
+        when(jedis.pipelined()).thenReturn(pipeline);
+        when(pipeline.get(anyString())).thenAnswer(invocation -> response(jedis.get(invocation.<String>getArgument(0))));
+        when(pipeline.mget(any(String[].class))).thenAnswer(invocation ->
+            response(jedis.mget(Arrays.stream(invocation.getArguments()).toArray(String[]::new))));
+        when(pipeline.hmget(anyString(), any(String[].class))).thenAnswer(invocation ->
+            response(Arrays.asList(new String[invocation.getArguments().length - 1])));
+        when(pipeline.exists(anyString())).thenAnswer(invocation -> response(false));
+        when(jedis.scan(anyString(), any(ScanParams.class))).thenReturn(new ScanResult<>("0", List.of()));
+        when(resultSet.iterator()).thenReturn(Collections.emptyIterator());
+        when(graph.query(anyString(), anyMap())).thenReturn(resultSet);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Response<T> response(T value) {
+        Response<T> response = mock(Response.class);
+        when(response.get()).thenReturn(value);
+        return response;
+    }
+
+    private Memory memory(String id) {
+        return Memory.builder()
+            .id(id)
+            .tenantId(tenantId)
+            .content("content " + id)
+            .category(MemoryCategory.PATTERN)
+            .importance(ImportanceLevel.IMPORTANT)
+            .tags(List.of("java"))
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should record the id for a later graph delete when the graph delete fails")
+    void shouldRecordPendingDelete() throws Exception {
+        // Given
+        when(jedis.get("memory:mem_1")).thenReturn(objectMapper.writeValueAsString(memory("mem_1")));
+        when(graph.query(eq(MemoryStatements.DELETE_MEMORY), anyMap()))
+            .thenThrow(new IllegalStateException("graph down"));
+
+        // When
+        boolean deleted = repository.deleteById("mem_1");
+
+        // Then: the KV record goes, the orphan node is remembered
+        assertThat(deleted).isTrue();
+        verify(transaction).del("memory:mem_1", "memory_usage:mem_1");
+        verify(transaction).sadd("graph_pending_delete", "mem_1");
+    }
+
+    @Test
+    @DisplayName("Should not rebuild a deleted memory from its orphan graph node")
+    void shouldSkipPendingDeletesInLookups() {
+        // Given
+        when(jedis.smismember("graph_pending_delete", "mem_1")).thenReturn(List.of(true));
+        when(jedis.sismember("graph_pending_delete", "mem_1")).thenReturn(true);
+
+        // When / Then
+        assertThat(repository.findAllByIds(List.of("mem_1"))).isEmpty();
+        assertThat(repository.findById("mem_1")).isEmpty();
+        verify(graph, never()).query(eq(MemoryStatements.FIND_BY_IDS), anyMap());
+        verify(graph, never()).query(eq(MemoryStatements.FIND_BY_ID), anyMap());
+    }
+
+    @Test
+    @DisplayName("Should retry pending graph deletes and keep the ones that fail again")
+    void shouldRetryPendingDeletes() {
+        // Given
+        when(jedis.smembers("graph_pending_delete")).thenReturn(Set.of("mem_1", "mem_2"));
+        when(graph.query(MemoryStatements.DELETE_MEMORY, Map.of("id", "mem_2")))
+            .thenThrow(new IllegalStateException("graph down"));
+
+        // When
+        repository.reconcileGraph();
+
+        // Then
+        verify(jedis).srem("graph_pending_delete", "mem_1");
+    }
+
+    @Test
+    @DisplayName("Should replay pending graph writes of every tenant")
+    void shouldReplayPendingWrites() throws Exception {
+        // Given
+        when(jedis.scan(anyString(), any(ScanParams.class)))
+            .thenReturn(new ScanResult<>("0", List.of("graph_pending:" + tenantId)));
+        when(jedis.smembers("graph_pending:" + tenantId)).thenReturn(Set.of("mem_1"));
+        String json = objectMapper.writeValueAsString(memory("mem_1"));
+        when(jedis.mget(any(String[].class))).thenReturn(Arrays.asList(json));
+
+        // When
+        repository.reconcileGraph();
+
+        // Then
+        verify(graph).query(eq(MemoryStatements.SAVE_MEMORY), anyMap());
+        verify(jedis).srem("graph_pending:" + tenantId, "mem_1");
+    }
+}
@@ -0,0 +1,64 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.falkordb.graph_entities.Node;
+import com.integraltech.brainsentry.domain.Memory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for mapping FalkorDB result nodes to {@link Memory}.
+ *
+ * Graph values arrive boxed (Long, Double, List), so the embedding
+ * unboxing dominates for realistic dimensions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoryNodeMappingBenchmark {
+
+    @Param({"0", "384"})
+    int dimension;
+
+    private Node node;
+
+    @Setup
+    public void setUp() {
+        node = new Node();
+        node.addProperty("id", "mem_0123456789ab");
+        node.addProperty("content", "Use constructor injection in Spring services instead of field injection.");
+        node.addProperty("summary", "Prefer constructor injection");
+        node.addProperty("category", "PATTERN");
+        node.addProperty("importance", "IMPORTANT");
+        node.addProperty("tenantId", "bench-tenant");
+        node.addProperty("createdBy", "bench");
+        node.addProperty("createdAt", 1_700_000_000_000L);
+        node.addProperty("updatedAt", 1_700_000_100_000L);
+        node.addProperty("accessCount", 12L);
+        node.addProperty("injectionCount", 4L);
+        node.addProperty("helpfulCount", 3L);
+        node.addProperty("notHelpfulCount", 0L);
+        node.addProperty("version", 2L);
+        node.addProperty("tags", List.of("spring", "di", "java"));
+
+        if (dimension > 0) {
+            Random random = new Random(42);
+            List<Double> embedding = new ArrayList<>(dimension);
+            for (int i = 0; i < dimension; i++) {
+                embedding.add(random.nextDouble() * 2 - 1);
+            }
+            node.addProperty("embedding", embedding);
+        }
+    }
+
+    @Benchmark
+    public Memory nodeToMemory() {
+        return MemoryRepositoryImpl.nodeToMemory(node);
+    }
+}
@@ -0,0 +1,264 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.falkordb.Graph;
+import com.falkordb.ResultSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.Transaction;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Checks that every $parameter of the Memory graph statements is bound by
+ * the repository, with the shape the statement expects.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MemoryStatements Parameter Binding Tests")
+class MemoryStatementsTest {
+
+    private static final Pattern PARAMETER = Pattern.compile("\\$(\\w+)");
+
+    @Mock
+    private JedisPool jedisPool;
+
+    @Mock
+    private Jedis jedis;
+
+    @Mock
+    private Transaction transaction;
+
+    @Mock
+    private Pipeline pipeline;
+
+    @Mock
+    private Graph graph;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private MemoryRepositoryImpl repository;
+
+    private final String tenantId = "test-tenant";
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+        repository = new MemoryRepositoryImpl(jedisPool, objectMapper, "test_brainsentry", graph, 3, null);
+
+        when(jedisPool.getResource()).thenReturn(jedis);
+        when(jedis.multi()).thenReturn(transaction);
+        when(transaction.exec()).thenReturn(List.of());
+        when(jedis.mget(any(String[].class))).thenAnswer(invocation ->
+            Arrays.stream(invocation.getArguments()).map(key -> (String) null).toList());
+        when(jedis.smembers(anyString())).thenReturn(Set.of());
+        // Pipelined reads answer from the direct stubs; no usage hashes exist
+        when(jedis.pipelined()).thenReturn(pipeline);
+        when(pipeline.get(anyString())).thenAnswer(invocation -> response(jedis.get(invocation.<String>getArgument(0))));
+        when(pipeline.mget(any(String[].class))).thenAnswer(invocation ->
+            response(jedis.mget(Arrays.stream(invocation.getArguments()).toArray(String[]::new))));
+        when(pipeline.hmget(anyString(), any(String[].class))).thenAnswer(invocation ->
+            response(Arrays.asList(new String[invocation.getArguments().length - 1])));
+        when(pipeline.exists(anyString())).thenAnswer(invocation -> response(false));
+        when(resultSet.iterator()).thenReturn(Collections.emptyIterator());
+        when(graph.query(anyString(), anyMap())).thenReturn(resultSet);
+        when(graph.query(anyString())).thenReturn(resultSet);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Response<T> response(T value) {
+        Response<T> response = mock(Response.class);
+        when(response.get()).thenReturn(value);
+        return response;
+    }
+
+    private static Set<String> parameters(String statement) {
+        Set<String> names = new HashSet<>();
+        Matcher matcher = PARAMETER.matcher(statement);
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+        }
+        return names;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> boundTo(String statement) {
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(graph).query(eq(statement), params.capture());
+        return params.getValue();
+    }
+
+    private Memory memory(String id, float... embedding) {
+        return Memory.builder()
+            .id(id)
+            .tenantId(tenantId)
+            .content("content " + id)
+            .category(MemoryCategory.PATTERN)
+            .importance(ImportanceLevel.IMPORTANT)
+            .tags(List.of("java"))
+            .embedding(embedding)
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("SAVE_MEMORY should get every parameter, with the embedding as a list")
+    void shouldBindSaveMemory() {
+        // When
+        repository.save(memory("mem_1", 0.1f, 0.2f, 0.3f));
+
+        // Then
+        Map<String, Object> params = boundTo(MemoryStatements.SAVE_MEMORY);
+        assertThat(params).containsKeys(parameters(MemoryStatements.SAVE_MEMORY).toArray(String[]::new));
+        assertThat(params.get("embedding")).isEqualTo(List.of(0.1f, 0.2f, 0.3f));
+        assertThat(params.get("id")).isEqualTo("mem_1");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("SAVE_MEMORIES should get every parameter as a list with one entry per memory")
+    void shouldBindSaveMemories() {
+        // When
+        repository.saveAll(List.of(memory("mem_1", 1f, 0f, 0f), memory("mem_2")));
+
+        // Then
+        Map<String, Object> params = boundTo(MemoryStatements.SAVE_MEMORIES);
+        Set<String> expected = parameters(MemoryStatements.SAVE_MEMORIES);
+        assertThat(params).containsKeys(expected.toArray(String[]::new));
+        for (String name : expected.stream().filter(name -> !name.equals("now")).collect(Collectors.toSet())) {
+            assertThat((List<?>) params.get(name)).as(name).hasSize(2);
+        }
+        // Without an embedding the statement leaves the property unset
+        assertThat((List<Object>) params.get("embedding")).containsExactly(List.of(1f, 0f, 0f), List.of());
+    }
+
+    @Test
+    @DisplayName("VECTOR_SEARCH should get the over-fetch, the query vector, the tenant and the limit")
+    void shouldBindVectorSearch() {
+        // When
+        repository.vectorSearch(new float[]{1f, 0f, 0f}, 5, tenantId);
+
+        // Then
+        Map<String, Object> params = boundTo(MemoryStatements.VECTOR_SEARCH);
+        assertThat(params.keySet()).isEqualTo(parameters(MemoryStatements.VECTOR_SEARCH));
+        assertThat(params).containsEntry("k", 20).containsEntry("limit", 5).containsEntry("tenantId", tenantId);
+        assertThat(params.get("embedding")).isEqualTo(List.of(1f, 0f, 0f));
+    }
+
+    @Test
+    @DisplayName("INCREMENT_USAGE should get one list entry per delta")
+    void shouldBindIncrementUsage() {
+        // Given
+        Instant now = Instant.now();
+
+        // When
+        repository.incrementUsage(List.of(
+            new MemoryRepository.UsageDelta("mem_1", 2, 1, now),
+            new MemoryRepository.UsageDelta("mem_2", 1, 0, now)));
+
+        // Then
+        Map<String, Object> params = boundTo(MemoryStatements.INCREMENT_USAGE);
+        assertThat(params.keySet()).isEqualTo(parameters(MemoryStatements.INCREMENT_USAGE));
+        assertThat(params).containsEntry("id", List.of("mem_1", "mem_2"))
+            .containsEntry("accessCount", List.of(2L, 1L))
+            .containsEntry("injectionCount", List.of(1L, 0L))
+            .containsEntry("lastAccessedAt", List.of(now.toEpochMilli(), now.toEpochMilli()));
+    }
+
+    @Test
+    @DisplayName("A save after a usage flush should leave the node counters alone")
+    void shouldNotOverwriteCountersOnSave() {
+        // Given: a flush, then a save of a copy loaded before it
+        repository.incrementUsage(List.of(new MemoryRepository.UsageDelta("mem_1", 5, 2, Instant.now())));
+        Memory stale = memory("mem_1", 0.1f, 0.2f, 0.3f);
+        stale.setAccessCount(1);
+        stale.setInjectionCount(0);
+
+        // When
+        repository.save(stale);
+        repository.saveAll(List.of(stale));
+
+        // Then: counters are only initialized when the node is created
+        for (String statement : List.of(MemoryStatements.SAVE_MEMORY, MemoryStatements.SAVE_MEMORIES)) {
+            assertThat(statement).contains("ON CREATE SET m.accessCount = 0, m.injectionCount = 0 SET ")
+                .doesNotContain("$accessCount")
+                .doesNotContain("$injectionCount");
+        }
+        assertThat(boundTo(MemoryStatements.SAVE_MEMORY)).doesNotContainKeys("accessCount", "injectionCount");
+        assertThat(boundTo(MemoryStatements.SAVE_MEMORIES)).doesNotContainKeys("accessCount", "injectionCount");
+    }
+
+    @Test
+    @DisplayName("FIND_RELATED_TEMPLATE should get the depth formatted in and the rest bound")
+    void shouldBindFindRelated() {
+        // When
+        repository.findRelated("mem_1", 2, tenantId);
+
+        // Then
+        String statement = String.format(MemoryStatements.FIND_RELATED_TEMPLATE, 2);
+        assertThat(statement).contains("*1..2]");
+        Map<String, Object> params = boundTo(statement);
+        assertThat(params.keySet()).isEqualTo(parameters(statement));
+        assertThat(params).containsEntry("id", "mem_1").containsEntry("limit", 10);
+    }
+
+    @Test
+    @DisplayName("Should create the vector index with the embedding dimension")
+    void shouldCreateVectorIndex() {
+        // When
+        repository.ensureVectorIndex();
+
+        // Then
+        verify(graph).query(String.format(MemoryStatements.CREATE_VECTOR_INDEX_TEMPLATE, 3));
+        verify(graph).query(MemoryStatements.CONVERT_LIST_EMBEDDINGS);
+        assertThat(MemoryStatements.CREATE_VECTOR_INDEX_TEMPLATE).doesNotContain("$");
+    }
+
+    @Test
+    @DisplayName("Should not rescan stored embeddings when the vector index already exists")
+    void shouldSkipConversionForExistingIndex() {
+        // Given
+        when(graph.query(String.format(MemoryStatements.CREATE_VECTOR_INDEX_TEMPLATE, 3)))
+            .thenThrow(new IllegalStateException("Attribute 'embedding' is already indexed"));
+
+        // When
+        repository.ensureVectorIndex();
+
+        // Then
+        verify(graph, never()).query(MemoryStatements.CONVERT_LIST_EMBEDDINGS);
+    }
+}
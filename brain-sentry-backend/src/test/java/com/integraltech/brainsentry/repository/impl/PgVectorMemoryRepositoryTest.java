@@ -0,0 +1,251 @@
+package com.integraltech.brainsentry.repository.impl;
+
+import com.integraltech.brainsentry.config.FloatArrayConverter;
+import com.integraltech.brainsentry.config.PgVectorProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PgVectorMemoryRepository Unit Tests")
+class PgVectorMemoryRepositoryTest {
+
+    private static final String TENANT = "tenant-abc";
+    private static final float[] EMBEDDING = {0.5f, -1f, 0f};
+
+    @Mock
+    private MemoryRepositoryImpl graphRepository;
+
+    @Mock
+    private MemoryJpaRepository memoryJpaRepo;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PgVectorProperties properties;
+    private PgVectorMemoryRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PgVectorProperties();
+        properties.setEnabled(true);
+        properties.setDimensions(3);
+        repository = new PgVectorMemoryRepository(graphRepository, memoryJpaRepo, jdbcTemplate,
+            transactionManager, properties);
+    }
+
+    private static Memory memory(String id, float[] embedding) {
+        return Memory.builder().id(id).tenantId(TENANT).content("Content of " + id).embedding(embedding).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PgVectorMemoryRepository.EmbeddingRow> upsertedRows() {
+        ArgumentCaptor<Collection<PgVectorMemoryRepository.EmbeddingRow>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(PgVectorMemoryRepository.UPSERT_SQL), rows.capture(),
+            anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        return rows.getAllValues().stream().flatMap(Collection::stream).toList();
+    }
+
+    @Test
+    @DisplayName("Should format embeddings as pgvector literals")
+    void shouldFormatVectorLiteral() {
+        assertThat(repository.toVectorLiteral(EMBEDDING)).isEqualTo("[0.5,-1.0,0.0]");
+        assertThat(repository.toVectorLiteral(new float[]{1f, 2f})).isNull();
+        assertThat(repository.toVectorLiteral(new float[]{1f, Float.NaN, 0f})).isNull();
+        assertThat(repository.toVectorLiteral(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should create the HNSW index with the configured parameters")
+    void shouldCreateHnswIndex() {
+        // When
+        repository.ensureSchema();
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute(PgVectorMemoryRepository.CREATE_EXTENSION_SQL);
+        inOrder.verify(jdbcTemplate).execute(PgVectorMemoryRepository.CREATE_TABLE_SQL.formatted(3));
+        inOrder.verify(jdbcTemplate).execute(PgVectorMemoryRepository.CREATE_HNSW_INDEX_SQL.formatted(16, 64));
+    }
+
+    @Test
+    @DisplayName("Should defer the IVFFlat index until the backfill has run")
+    void shouldDeferIvfflatIndex() {
+        // Given
+        properties.setIndexType(PgVectorProperties.IndexType.IVFFLAT);
+
+        // When
+        repository.ensureSchema();
+
+        // Then
+        verify(jdbcTemplate, never()).execute(PgVectorMemoryRepository.CREATE_IVFFLAT_INDEX_SQL.formatted(100));
+    }
+
+    @Test
+    @DisplayName("Should write embeddings alongside the FalkorDB save")
+    void shouldUpsertEmbeddingOnSave() {
+        // Given
+        Memory memory = memory("mem-1", EMBEDDING);
+        when(graphRepository.save(memory)).thenReturn(memory);
+
+        // When
+        Memory saved = repository.save(memory);
+
+        // Then
+        assertThat(saved).isSameAs(memory);
+        assertThat(upsertedRows())
+            .containsExactly(new PgVectorMemoryRepository.EmbeddingRow("mem-1", TENANT, "[0.5,-1.0,0.0]"));
+    }
+
+    @Test
+    @DisplayName("Should drop the stored embedding of a memory without a valid one")
+    void shouldDeleteInvalidEmbedding() {
+        // Given
+        Memory valid = memory("mem-1", EMBEDDING);
+        Memory wrongSize = memory("mem-2", new float[]{1f, 2f});
+        when(graphRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        repository.saveAll(List.of(valid, wrongSize));
+
+        // Then
+        assertThat(upsertedRows()).extracting(PgVectorMemoryRepository.EmbeddingRow::memoryId).containsExactly("mem-1");
+        verify(jdbcTemplate).update(PgVectorMemoryRepository.DELETE_SQL, "mem-2");
+    }
+
+    @Test
+    @DisplayName("Should return memories in k-NN order within the tenant")
+    void shouldSearchInDistanceOrder() {
+        // Given
+        when(jdbcTemplate.queryForList(PgVectorMemoryRepository.KNN_SQL, String.class, TENANT, "[0.5,-1.0,0.0]", 5))
+            .thenReturn(List.of("mem-2", "mem-gone", "mem-1"));
+        when(memoryJpaRepo.findWithTagsByIdIn(List.of("mem-2", "mem-gone", "mem-1")))
+            .thenReturn(List.of(memory("mem-1", EMBEDDING), memory("mem-2", EMBEDDING)));
+
+        // When
+        List<Memory> results = repository.vectorSearch(EMBEDDING, 5, TENANT);
+
+        // Then
+        assertThat(results).extracting(Memory::getId).containsExactly("mem-2", "mem-1");
+        verify(jdbcTemplate).queryForObject(PgVectorMemoryRepository.SET_CONFIG_SQL, String.class,
+            "hnsw.ef_search", "100");
+        verifyNoInteractions(graphRepository);
+    }
+
+    @Test
+    @DisplayName("Should apply IVFFlat probes and iterative scan settings")
+    void shouldApplyIvfflatSettings() {
+        // Given
+        properties.setIndexType(PgVectorProperties.IndexType.IVFFLAT);
+        properties.setIterativeScan("relaxed_order");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenReturn(List.of());
+
+        // When
+        List<Memory> results = repository.vectorSearch(EMBEDDING, 5, TENANT);
+
+        // Then
+        assertThat(results).isEmpty();
+        verify(jdbcTemplate).queryForObject(PgVectorMemoryRepository.SET_CONFIG_SQL, String.class,
+            "ivfflat.probes", "10");
+        verify(jdbcTemplate).queryForObject(PgVectorMemoryRepository.SET_CONFIG_SQL, String.class,
+            "ivfflat.iterative_scan", "relaxed_order");
+        verifyNoInteractions(memoryJpaRepo);
+    }
+
+    @Test
+    @DisplayName("Should not query with an embedding of the wrong dimension")
+    void shouldRejectWrongDimension() {
+        assertThat(repository.vectorSearch(new float[]{1f}, 5, TENANT)).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should delegate graph operations to FalkorDB")
+    void shouldDelegateGraphOperations() {
+        // Given
+        List<Memory> related = List.of(memory("mem-2", EMBEDDING));
+        when(graphRepository.findRelated("mem-1", 2, TENANT)).thenReturn(related);
+        when(graphRepository.deleteById("mem-1")).thenReturn(true);
+
+        // When / Then
+        assertThat(repository.findRelated("mem-1", 2, TENANT)).isSameAs(related);
+        assertThat(repository.deleteById("mem-1")).isTrue();
+        InOrder inOrder = inOrder(graphRepository, jdbcTemplate);
+        inOrder.verify(graphRepository).deleteById("mem-1");
+        inOrder.verify(jdbcTemplate).update(PgVectorMemoryRepository.DELETE_SQL, "mem-1");
+    }
+
+    @Test
+    @DisplayName("Should keep the embedding row when the graph delete fails")
+    void shouldKeepEmbeddingWhenGraphDeleteFails() {
+        // Given
+        when(graphRepository.deleteById("mem-1")).thenThrow(new RuntimeException("Failed to delete memory"));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.deleteById("mem-1")).isInstanceOf(RuntimeException.class);
+        verify(jdbcTemplate, never()).update(PgVectorMemoryRepository.DELETE_SQL, "mem-1");
+    }
+
+    @Test
+    @DisplayName("Should backfill bytea embeddings in keyset pages")
+    void shouldBackfillInPages() throws Exception {
+        // Given
+        properties.setBackfillBatchSize(2);
+        ResultSet row1 = row("mem-1", FloatArrayConverter.toBytes(EMBEDDING));
+        ResultSet row2 = row("mem-2", new byte[]{1, 2, 3});
+        ResultSet row3 = row("mem-3", FloatArrayConverter.toBytes(EMBEDDING));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row1);
+            handler.processRow(row2);
+            return null;
+        }).when(jdbcTemplate).query(eq(PgVectorMemoryRepository.BACKFILL_PAGE_SQL), any(RowCallbackHandler.class), eq(""), eq(2));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row3);
+            return null;
+        }).when(jdbcTemplate).query(eq(PgVectorMemoryRepository.BACKFILL_PAGE_SQL), any(RowCallbackHandler.class), eq("mem-2"), eq(2));
+
+        // When
+        int copied = repository.backfill();
+
+        // Then
+        assertThat(copied).isEqualTo(2);
+        assertThat(upsertedRows()).extracting(PgVectorMemoryRepository.EmbeddingRow::memoryId)
+            .containsExactly("mem-1", "mem-3");
+    }
+
+    private static ResultSet row(String id, byte[] embedding) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn(id);
+        when(rs.getString("tenant_id")).thenReturn(TENANT);
+        when(rs.getBytes("embedding")).thenReturn(embedding);
+        return rs;
+    }
+}
@@ -0,0 +1,179 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+@DisplayName("HnswIndex Unit Tests")
+class HnswIndexTest {
+
+    private static final int DIMENSIONS = 32;
+
+    private HnswIndex index;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        index = new HnswIndex(DIMENSIONS, 16, 200, 64);
+        random = new Random(7);
+    }
+
+    @Test
+    @DisplayName("Should return exact match as top result")
+    void shouldReturnExactMatchFirst() {
+        float[][] vectors = randomVectors(500);
+        for (int i = 0; i < vectors.length; i++) {
+            index.upsert("mem_" + i, vectors[i]);
+        }
+
+        List<HnswIndex.SearchResult> results = index.search(vectors[42], 5);
+
+        assertThat(results).hasSize(5);
+        assertThat(results.get(0).id()).isEqualTo("mem_42");
+        assertThat(results.get(0).score()).isCloseTo(1.0f, offset(1e-4f));
+        assertThat(results).isSortedAccordingTo(
+            Comparator.comparing(HnswIndex.SearchResult::score).reversed());
+    }
+
+    @Test
+    @DisplayName("Should reach high recall against brute force")
+    void shouldReachHighRecall() {
+        float[][] vectors = randomVectors(2000);
+        for (int i = 0; i < vectors.length; i++) {
+            index.upsert("mem_" + i, vectors[i]);
+        }
+
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVectors(1)[0];
+            Set<String> expected = bruteForceTop(vectors, query, 10);
+            for (HnswIndex.SearchResult result : index.search(query, 10)) {
+                if (expected.contains(result.id())) {
+                    hits++;
+                }
+            }
+        }
+
+        assertThat(hits / (double) (queries * 10)).isGreaterThan(0.9);
+    }
+
+    @Test
+    @DisplayName("Should give concurrent virtual-thread searches the same results as sequential ones")
+    void shouldSearchConcurrently() throws Exception {
+        float[][] vectors = randomVectors(1000);
+        for (int i = 0; i < vectors.length; i++) {
+            index.upsert("mem_" + i, vectors[i]);
+        }
+        float[][] queries = randomVectors(200);
+        List<List<HnswIndex.SearchResult>> expected = Arrays.stream(queries)
+            .map(query -> index.search(query, 10))
+            .toList();
+
+        List<Future<List<HnswIndex.SearchResult>>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (float[] query : queries) {
+                futures.add(executor.submit(() -> index.search(query, 10)));
+            }
+        }
+
+        for (int q = 0; q < queries.length; q++) {
+            assertThat(futures.get(q).get()).isEqualTo(expected.get(q));
+        }
+    }
+
+    @Test
+    @DisplayName("Should not return removed or replaced entries")
+    void shouldHonourRemoveAndReplace() {
+        float[][] vectors = randomVectors(200);
+        for (int i = 0; i < vectors.length; i++) {
+            index.upsert("mem_" + i, vectors[i]);
+        }
+
+        assertThat(index.remove("mem_10")).isTrue();
+        assertThat(index.remove("mem_10")).isFalse();
+        index.upsert("mem_20", vectors[30]);
+
+        assertThat(index.size()).isEqualTo(199);
+        assertThat(index.search(vectors[10], 10))
+            .extracting(HnswIndex.SearchResult::id)
+            .doesNotContain("mem_10");
+        assertThat(index.search(vectors[30], 2))
+            .extracting(HnswIndex.SearchResult::id)
+            .containsExactlyInAnyOrder("mem_20", "mem_30");
+    }
+
+    @Test
+    @DisplayName("Should keep finding live entries after compacting on mass removal")
+    void shouldCompactOnRemove() {
+        float[][] vectors = randomVectors(3000);
+        for (int i = 0; i < vectors.length; i++) {
+            index.upsert("mem_" + i, vectors[i]);
+        }
+
+        for (int i = 0; i < 2500; i++) {
+            index.remove("mem_" + i);
+        }
+
+        assertThat(index.size()).isEqualTo(500);
+        List<HnswIndex.SearchResult> results = index.search(vectors[2900], 10);
+        assertThat(results).hasSize(10);
+        assertThat(results.get(0).id()).isEqualTo("mem_2900");
+        assertThat(results).extracting(HnswIndex.SearchResult::id)
+            .allSatisfy(id -> assertThat(Integer.parseInt(id.substring(4))).isGreaterThanOrEqualTo(2500));
+    }
+
+    @Test
+    @DisplayName("Should reject embeddings with wrong dimensions")
+    void shouldRejectWrongDimensions() {
+        assertThatThrownBy(() -> index.upsert("mem_1", new float[DIMENSIONS + 1]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search(new float[DIMENSIONS - 1], 5))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(index.search(new float[DIMENSIONS], 5)).isEmpty();
+    }
+
+    private float[][] randomVectors(int count) {
+        float[][] vectors = new float[count][DIMENSIONS];
+        for (float[] vector : vectors) {
+            for (int j = 0; j < DIMENSIONS; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+
+    private Set<String> bruteForceTop(float[][] vectors, float[] query, int k) {
+        double[] scores = new double[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            double dot = 0, norm = 0;
+            for (int j = 0; j < DIMENSIONS; j++) {
+                dot += query[j] * vectors[i][j];
+                norm += vectors[i][j] * vectors[i][j];
+            }
+            scores[i] = dot / Math.sqrt(norm);
+        }
+        Set<String> top = new HashSet<>();
+        IntStream.range(0, vectors.length).boxed()
+            .sorted((a, b) -> Double.compare(scores[b], scores[a]))
+            .limit(k)
+            .forEach(i -> top.add("mem_" + i));
+        return top;
+    }
+}
@@ -0,0 +1,129 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import com.integraltech.brainsentry.config.VectorIndexProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MemoryVectorIndex Unit Tests")
+class MemoryVectorIndexTest {
+
+    private static final int DIMENSIONS = 16;
+    private static final String TENANT = "tenant-abc";
+
+    private VectorIndexProperties properties;
+    private MemoryVectorIndex vectorIndex;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        properties = new VectorIndexProperties();
+        properties.setDimensions(DIMENSIONS);
+        vectorIndex = new MemoryVectorIndex(properties);
+        random = new Random(7);
+    }
+
+    @Test
+    @DisplayName("Should not bring back a memory deleted while the index is being built")
+    void shouldHonourDeleteDuringBootstrap() {
+        // Given
+        List<Memory> snapshot = memories(20);
+        Memory deleted = snapshot.get(3);
+
+        // When
+        List<HnswIndex.SearchResult> results = vectorIndex.search(deleted.getEmbedding(), 5, TENANT, () -> {
+            vectorIndex.remove(deleted.getId(), TENANT);
+            return snapshot;
+        });
+
+        // Then
+        assertThat(results).extracting(HnswIndex.SearchResult::id).doesNotContain(deleted.getId());
+        assertThat(vectorIndex.size(TENANT)).isEqualTo(19);
+    }
+
+    @Test
+    @DisplayName("Should keep an embedding saved while the index is being built")
+    void shouldHonourSaveDuringBootstrap() {
+        // Given
+        List<Memory> snapshot = memories(20);
+        Memory updated = memory("mem_5");
+
+        // When
+        vectorIndex.search(updated.getEmbedding(), 1, TENANT, () -> {
+            vectorIndex.index(updated);
+            return snapshot;
+        });
+
+        // Then
+        List<HnswIndex.SearchResult> results = vectorIndex.search(updated.getEmbedding(), 1, TENANT, List::of);
+        assertThat(results).singleElement().satisfies(hit -> {
+            assertThat(hit.id()).isEqualTo("mem_5");
+            assertThat(hit.score()).isGreaterThan(0.999f);
+        });
+    }
+
+    @Test
+    @DisplayName("Should pick up memories written by other instances once the index is stale")
+    void shouldRebuildStaleIndex() throws Exception {
+        // Given
+        properties.setRefreshInterval(Duration.ofMillis(1));
+        List<Memory> stored = new ArrayList<>(memories(10));
+        vectorIndex.search(stored.get(0).getEmbedding(), 5, TENANT, () -> List.copyOf(stored));
+        Memory written = memory("mem_elsewhere");
+        stored.add(written);
+
+        // When: the first stale search triggers a background rebuild
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<HnswIndex.SearchResult> results;
+        do {
+            Thread.sleep(5);
+            results = vectorIndex.search(written.getEmbedding(), 1, TENANT, () -> List.copyOf(stored));
+        } while (results.stream().noneMatch(hit -> hit.id().equals("mem_elsewhere"))
+            && System.currentTimeMillis() < deadline);
+
+        // Then
+        assertThat(results).extracting(HnswIndex.SearchResult::id).containsExactly("mem_elsewhere");
+        assertThat(vectorIndex.size(TENANT)).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Should not rebuild when refreshing is disabled")
+    void shouldNotRebuildWhenDisabled() throws Exception {
+        // Given
+        properties.setRefreshInterval(Duration.ZERO);
+        List<Memory> stored = new ArrayList<>(memories(10));
+        vectorIndex.search(stored.get(0).getEmbedding(), 5, TENANT, () -> List.copyOf(stored));
+        stored.add(memory("mem_elsewhere"));
+
+        // When
+        vectorIndex.search(stored.get(0).getEmbedding(), 5, TENANT, () -> List.copyOf(stored));
+        Thread.sleep(50);
+
+        // Then
+        assertThat(vectorIndex.size(TENANT)).isEqualTo(10);
+    }
+
+    private List<Memory> memories(int count) {
+        List<Memory> memories = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            memories.add(memory("mem_" + i));
+        }
+        return memories;
+    }
+
+    private Memory memory(String id) {
+        float[] embedding = new float[DIMENSIONS];
+        for (int j = 0; j < DIMENSIONS; j++) {
+            embedding[j] = (float) random.nextGaussian();
+        }
+        return Memory.builder().id(id).tenantId(TENANT).embedding(embedding).build();
+    }
+}
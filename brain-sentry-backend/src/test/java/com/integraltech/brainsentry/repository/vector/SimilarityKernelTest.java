@@ -0,0 +1,67 @@
+package com.integraltech.brainsentry.repository.vector;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+@DisplayName("SimilarityKernel Unit Tests")
+class SimilarityKernelTest {
+
+    private final SimilarityKernel scalar = new ScalarSimilarityKernel();
+    private final SimilarityKernel simd = new SimdSimilarityKernel();
+    private final Random random = new Random(11);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 8, 17, 384})
+    @DisplayName("SIMD kernel should match scalar kernel including tail elements")
+    void simdShouldMatchScalar(int dimension) {
+        float[] a = randomVector(dimension);
+        float[] b = randomVector(dimension);
+
+        assertThat(simd.dot(a, b)).isCloseTo(scalar.dot(a, b), offset(1e-3f));
+        assertThat(simd.cosine(a, b)).isCloseTo(scalar.cosine(a, b), offset(1e-5f));
+        assertThat(simd.norm(a)).isCloseTo(scalar.norm(a), offset(1e-4f));
+    }
+
+    @Test
+    @DisplayName("Matrix should rank rows by cosine similarity")
+    void matrixShouldRankByCosine() {
+        EmbeddingMatrix matrix = new EmbeddingMatrix(3, 1);
+        matrix.add(new float[]{1, 0, 0});
+        matrix.add(new float[]{0, 1, 0});
+        matrix.add(new float[]{1, 1, 0});
+        matrix.add(new float[]{5, 0, 0.1f});
+
+        float[] query = {2, 0, 0};
+
+        assertThat(matrix.size()).isEqualTo(4);
+        assertThat(matrix.cosineScores(query)[2]).isCloseTo(0.7071f, offset(1e-4f));
+        assertThat(matrix.topK(query, 3)).containsExactly(0, 3, 2);
+        assertThat(matrix.topK(query, 10)).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("Matrix should reject embeddings with wrong dimensions")
+    void matrixShouldRejectWrongDimensions() {
+        EmbeddingMatrix matrix = new EmbeddingMatrix(3, 4);
+
+        assertThatThrownBy(() -> matrix.add(new float[4]))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(matrix.topK(new float[3], 5)).isEmpty();
+    }
+
+    private float[] randomVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -51,6 +51,7 @@ class SecurityTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("brain-sentry.embedding.provider", () -> "hash");
     }
 
     private static final String TENANT_1 = "tenant-alpha";
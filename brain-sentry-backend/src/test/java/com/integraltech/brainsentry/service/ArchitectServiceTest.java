@@ -1,7 +1,9 @@
 package com.integraltech.brainsentry.service;
 
+import com.integraltech.brainsentry.config.InterceptionProperties;
 import com.integraltech.brainsentry.dto.request.CompressionRequest;
 import com.integraltech.brainsentry.dto.response.CompressedContextResponse;
+import com.integraltech.brainsentry.service.context.TokenCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -30,6 +33,9 @@ class ArchitectServiceTest {
     @Mock
     private OpenRouterService openRouterService;
 
+    @Spy
+    private TokenCounter tokenCounter = new TokenCounter(new InterceptionProperties());
+
     @InjectMocks
     private ArchitectService architectService;
 
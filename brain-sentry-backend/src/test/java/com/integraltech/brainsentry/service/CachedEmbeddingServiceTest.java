@@ -0,0 +1,171 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.EmbeddingProperties;
+import com.integraltech.brainsentry.config.FloatArrayConverter;
+import com.integraltech.brainsentry.service.embedding.EmbeddingEngine;
+import com.integraltech.brainsentry.service.embedding.HashEmbeddingEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("CachedEmbeddingService Unit Tests")
+class CachedEmbeddingServiceTest {
+
+    @Mock
+    private JedisPool jedisPool;
+
+    @Mock
+    private Jedis jedis;
+
+    @Mock
+    private Pipeline pipeline;
+
+    private HashEmbeddingEngine engine;
+    private SimpleMeterRegistry meterRegistry;
+    private CachedEmbeddingService service;
+
+    @BeforeEach
+    void setUp() {
+        EmbeddingProperties properties = new EmbeddingProperties();
+        properties.getCoalescer().setEnabled(false);
+        engine = spy(new HashEmbeddingEngine(8));
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CachedEmbeddingService(engine, properties, jedisPool, meterRegistry);
+
+        when(jedisPool.getResource()).thenReturn(jedis);
+        when(jedis.pipelined()).thenReturn(pipeline);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated text from L1 without touching Redis or the model")
+    void shouldServeFromL1() {
+        float[] first = service.embed("NullPointerException in service");
+        float[] second = service.embed("NullPointerException in service");
+
+        assertThat(second).containsExactly(first);
+        verify(engine, times(1)).embed(anyList());
+        verify(jedis, times(1)).get(any(byte[].class));
+        verify(jedis).setex(any(byte[].class), eq(86400L), eq(FloatArrayConverter.toBytes(first)));
+        assertThat(meterRegistry.get("brainsentry.embedding.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should serve from L2 bytes without calling the model")
+    void shouldServeFromL2() {
+        float[] stored = {1, 0, 0, 0, 0, 0, 0, 0};
+        when(jedis.get(any(byte[].class))).thenReturn(FloatArrayConverter.toBytes(stored));
+
+        assertThat(service.embed("cached text")).containsExactly(stored);
+        verify(engine, never()).embed(anyList());
+    }
+
+    @Test
+    @DisplayName("Should use one MGET and a pipelined write for batch misses")
+    void shouldBatchRedisAccess() {
+        float[] stored = {0, 1, 0, 0, 0, 0, 0, 0};
+        when(jedis.mget(any(byte[][].class))).thenReturn(Arrays.asList(null, FloatArrayConverter.toBytes(stored), null));
+
+        List<float[]> result = service.embedBatch(List.of("a", "b", "c"));
+
+        assertThat(result).hasSize(3);
+        assertThat(result.get(1)).containsExactly(stored);
+        verify(jedis, times(1)).mget(any(byte[][].class));
+        verify(engine).embed(List.of("a", "c"));
+        verify(pipeline, times(2)).setex(any(byte[].class), anyLong(), any(byte[].class));
+        verify(pipeline).sync();
+    }
+
+    @Test
+    @DisplayName("Should key by digest of normalized text and model")
+    void shouldKeyByDigest() {
+        String key = service.cacheKey("hello   world");
+
+        assertThat(key).startsWith("emb:").hasSize(4 + 64);
+        assertThat(service.cacheKey("  hello world\n")).isEqualTo(key);
+        assertThat(service.cacheKey("hello world!")).isNotEqualTo(key);
+        // Classic String.hashCode collision must not share an entry
+        assertThat(service.cacheKey("Aa")).isNotEqualTo(service.cacheKey("BB"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the model when Redis is unavailable")
+    void shouldDegradeWhenRedisFails() {
+        when(jedisPool.getResource()).thenThrow(new JedisConnectionException("down"));
+
+        assertThat(service.embed("text")).hasSize(8);
+        assertThat(service.embedBatch(List.of("x", "y"))).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should cache in L1 only when there is no Redis pool")
+    void shouldUseL1WithoutPool() {
+        EmbeddingProperties properties = new EmbeddingProperties();
+        properties.getCoalescer().setEnabled(false);
+        CachedEmbeddingService l1Only = new CachedEmbeddingService(engine, properties, null, new SimpleMeterRegistry());
+
+        float[] first = l1Only.embed("text");
+
+        assertThat(l1Only.embed("text")).containsExactly(first);
+        assertThat(l1Only.embedBatch(List.of("text", "other"))).hasSize(2);
+        verify(engine, times(2)).embed(anyList());
+        verifyNoInteractions(jedisPool);
+    }
+
+    @Test
+    @DisplayName("Should answer embedAsync from L1 and L2 before calling the model")
+    void shouldCacheAsyncEmbeddings() {
+        float[] stored = {1, 0, 0, 0, 0, 0, 0, 0};
+        when(jedis.get(any(byte[].class))).thenReturn(FloatArrayConverter.toBytes(stored), (byte[]) null);
+
+        // L2 hit, promoted to L1
+        assertThat(service.embedAsync("cached text").join()).containsExactly(stored);
+        assertThat(service.embedAsync("cached text").join()).containsExactly(stored);
+        verify(jedis, times(1)).get(any(byte[].class));
+        verify(engine, never()).embed(anyList());
+
+        // Miss in both tiers: generated once, then written back
+        float[] generated = service.embedAsync("new text").join();
+        assertThat(service.embedAsync("new text").join()).containsExactly(generated);
+        verify(engine, times(1)).embed(anyList());
+        verify(jedis).setex(any(byte[].class), eq(86400L), eq(FloatArrayConverter.toBytes(generated)));
+    }
+
+    @Test
+    @DisplayName("Should resolve EmbeddingService to the single cached bean, with or without Redis")
+    void shouldBeTheOnlyEmbeddingService() {
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(CachedEmbeddingService.class)
+            .withBean(EmbeddingEngine.class, () -> new HashEmbeddingEngine(8))
+            .withBean(EmbeddingProperties.class, EmbeddingProperties::new)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+        // One bean means one coalescer thread
+        runner.run(context -> {
+            assertThat(context.getBeansOfType(EmbeddingService.class)).hasSize(1);
+            assertThat(context.getBean(EmbeddingService.class)).isInstanceOf(CachedEmbeddingService.class);
+        });
+        runner.withBean(JedisPool.class, () -> jedisPool).run(context ->
+            assertThat(context.getBean(EmbeddingService.class)).isInstanceOf(CachedEmbeddingService.class));
+    }
+}
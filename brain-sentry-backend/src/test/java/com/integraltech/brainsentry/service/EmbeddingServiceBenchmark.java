@@ -0,0 +1,70 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.EmbeddingProperties;
+import com.integraltech.brainsentry.service.embedding.HashEmbeddingEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmarks for the embedding hot path: similarity scoring and batched embedding.
+ *
+ * Uses the hash engine so the numbers track the service overhead, not ONNX inference.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmbeddingServiceBenchmark {
+
+    private static final int DIMENSION = 384;
+
+    private EmbeddingService embeddingService;
+    private float[] a;
+    private float[] b;
+
+    @State(Scope.Benchmark)
+    public static class Batch {
+
+        @Param({"1", "8", "32"})
+        int batchSize;
+
+        List<String> texts;
+
+        @Setup
+        public void setUp() {
+            texts = IntStream.range(0, batchSize)
+                .mapToObj(i -> "Use constructor injection in service " + i + " instead of field injection")
+                .toList();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        EmbeddingProperties properties = new EmbeddingProperties();
+        properties.getCoalescer().setEnabled(false);
+        embeddingService = new EmbeddingService(new HashEmbeddingEngine(DIMENSION), properties);
+        a = embeddingService.embed("Repository pattern for data access");
+        b = embeddingService.embed("Service layer with transactional boundaries");
+    }
+
+    @Benchmark
+    public float cosineSimilarity() {
+        return embeddingService.cosineSimilarity(a, b);
+    }
+
+    @Benchmark
+    public float normalizedSimilarity() {
+        return embeddingService.normalizedSimilarity(a, b);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<float[]> embedBatch(Batch batch) {
+        return embeddingService.embedBatch(batch.texts);
+    }
+}
@@ -0,0 +1,139 @@
+package com.integraltech.brainsentry.service;
+
+import com.falkordb.Graph;
+import com.falkordb.ResultSet;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.service.OpenRouterService.EntityExtractionResult;
+import com.integraltech.brainsentry.service.OpenRouterService.ExtractedEntity;
+import com.integraltech.brainsentry.service.OpenRouterService.ExtractedRelationship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("EntityGraphService Unit Tests")
+class EntityGraphServiceTest {
+
+    @Mock
+    private OpenRouterService openRouterService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private Graph graph;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private EntityGraphService entityGraphService;
+
+    private final String tenantId = "test-tenant";
+
+    @BeforeEach
+    void setUp() {
+        entityGraphService = new EntityGraphService(openRouterService, auditService, graph);
+        when(openRouterService.isConfigured()).thenReturn(true);
+        when(graph.query(anyString(), anyMap())).thenReturn(resultSet);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> paramsOf(ArgumentCaptor<String> queries) {
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify(graph, atLeastOnce()).query(queries.capture(), params.capture());
+        return params.getAllValues();
+    }
+
+    @Test
+    @DisplayName("Should bind entity values as parameters and escape the label and property keys")
+    void shouldBindEntityNode() {
+        // Given
+        ExtractedEntity entity = new ExtractedEntity("e1", "Robert'); DROP", "CLI`ENTE");
+        entity.setProperties(new TreeMap<>(Map.of("e-mail", "a@b.c")));
+        when(openRouterService.extractEntitiesAndRelationships(anyString()))
+            .thenReturn(new EntityExtractionResult(List.of(entity), List.of()));
+        Memory memory = Memory.builder().id("mem_1").content("content").build();
+
+        // When
+        entityGraphService.extractAndStoreEntitiesSync(memory, tenantId);
+
+        // Then
+        ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+        List<Map<String, Object>> params = paramsOf(queries);
+        String create = queries.getAllValues().get(0);
+        assertThat(create).startsWith("CREATE (e:Entity:`CLI``ENTE` {")
+            .contains("`e-mail`: $p0")
+            .doesNotContain("Robert");
+        assertThat(params.get(0))
+            .containsEntry("name", "Robert'); DROP")
+            .containsEntry("type", "CLI`ENTE")
+            .containsEntry("tenantId", tenantId)
+            .containsEntry("sourceMemoryId", "mem_1")
+            .containsEntry("p0", "a@b.c");
+
+        // The node is linked to its memory through the constant statement
+        assertThat(queries.getAllValues().get(1)).startsWith("MATCH (m:Memory {id: $memoryId})");
+        assertThat(params.get(1)).containsEntry("memoryId", "mem_1")
+            .containsEntry("entityId", params.get(0).get("id"));
+        verify(auditService).logEntityExtraction("mem_1", 1, 0, tenantId);
+    }
+
+    @Test
+    @DisplayName("Should bind both node ids of a relationship and escape its type")
+    void shouldBindRelationshipEdge() {
+        // Given
+        ExtractedRelationship relationship = new ExtractedRelationship("e1", "e2", "REALIZOU]->(x");
+        when(openRouterService.extractEntitiesAndRelationships(anyString()))
+            .thenReturn(new EntityExtractionResult(
+                List.of(new ExtractedEntity("e1", "Marcos", "CLIENTE"), new ExtractedEntity("e2", "P1", "PEDIDO")),
+                List.of(relationship)));
+        Memory memory = Memory.builder().id("mem_1").content("content").build();
+
+        // When
+        entityGraphService.extractAndStoreEntitiesSync(memory, tenantId);
+
+        // Then
+        ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+        List<Map<String, Object>> params = paramsOf(queries);
+        int edge = queries.getAllValues().size() - 1;
+        assertThat(queries.getAllValues().get(edge))
+            .startsWith("MATCH (source:Entity {id: $sourceId}), (target:Entity {id: $targetId})")
+            .contains("[r:`REALIZOU]->(x` {tenantId: $tenantId");
+        // Entity ids come from the nodes created for e1 and e2, in that order
+        assertThat(params.get(edge))
+            .containsEntry("sourceId", params.get(0).get("id"))
+            .containsEntry("targetId", params.get(2).get("id"))
+            .containsEntry("tenantId", tenantId);
+    }
+
+    @Test
+    @DisplayName("Should bind the search term and limit of entity search")
+    void shouldBindSearchEntities() {
+        // When
+        entityGraphService.searchEntities("Marcos", tenantId, 7);
+
+        // Then
+        ArgumentCaptor<String> queries = ArgumentCaptor.forClass(String.class);
+        List<Map<String, Object>> params = paramsOf(queries);
+        assertThat(queries.getValue()).contains("CONTAINS $term").doesNotContain("Marcos");
+        assertThat(params.get(0)).containsEntry("term", "Marcos")
+            .containsEntry("tenantId", tenantId)
+            .containsEntry("limit", 7);
+    }
+}
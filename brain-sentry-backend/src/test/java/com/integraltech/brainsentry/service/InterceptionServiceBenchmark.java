@@ -0,0 +1,102 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.domain.HindsightNote;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.domain.enums.NoteSeverity;
+import com.integraltech.brainsentry.service.context.ContextAssembler;
+import com.integraltech.brainsentry.service.context.TokenCounter;
+import com.integraltech.brainsentry.service.keyword.KeywordDictionary;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * JMH benchmarks for the CPU-bound parts of prompt interception:
+ * the quick check (one Aho-Corasick pass over the prompt) and
+ * token-budgeted context assembly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptionServiceBenchmark {
+
+    // Contains no relevance keyword; the automaton still reads every character once
+    private static final String IRRELEVANT_PROMPT =
+        "What is the weather like today in the city where I live right now?";
+
+    // Contains a relevance keyword near the end of the prompt
+    private static final String RELEVANT_PROMPT =
+        "Whenever we talk about the weather we should use the metric system.";
+
+    // A pasted stack trace with no relevance keyword, scanned end to end
+    private static final String STACK_TRACE_PROMPT = "Why does this happen?\n" + ("\tat org.example.orders.Order"
+        + "Handler.handle(OrderHandler.java:42)\n").repeat(200);
+
+    @Param({"5", "20"})
+    int memoryCount;
+
+    private InterceptionService interceptionService;
+    private ContextAssembler contextAssembler;
+    private List<Memory> memories;
+    private List<HindsightNote> notes;
+
+    @Setup
+    public void setUp() {
+        // quickCheck touches none of the collaborators
+        InterceptionProperties properties = new InterceptionProperties();
+        interceptionService = new InterceptionService(null, null, null, null, null,
+            properties, new KeywordDictionary(properties), null, null, null);
+        contextAssembler = new ContextAssembler(new TokenCounter(properties));
+
+        memories = IntStream.range(0, memoryCount)
+            .mapToObj(i -> Memory.builder()
+                .id("mem_" + i)
+                .summary("Always use constructor injection in Spring services (" + i + ")")
+                .category(MemoryCategory.PATTERN)
+                .importance(ImportanceLevel.IMPORTANT)
+                .codeExample(i % 2 == 0
+                    ? "@Service\n@RequiredArgsConstructor\npublic class OrderService {\n    private final OrderRepository repo;\n}"
+                    : null)
+                .programmingLanguage("java")
+                .build())
+            .toList();
+
+        notes = IntStream.range(0, 3)
+            .mapToObj(i -> HindsightNote.builder()
+                .title("NPE in order lookup " + i)
+                .severity(NoteSeverity.HIGH)
+                .resolution("Check Optional before calling get()")
+                .lessonsLearned("Repository lookups can return empty results when the tenant filter "
+                    + "excludes the row; never call get() on the Optional without a presence check.")
+                .build())
+            .toList();
+    }
+
+    @Benchmark
+    public boolean quickCheckMiss() {
+        return interceptionService.quickCheck(IRRELEVANT_PROMPT);
+    }
+
+    @Benchmark
+    public boolean quickCheckHit() {
+        return interceptionService.quickCheck(RELEVANT_PROMPT);
+    }
+
+    @Benchmark
+    public boolean quickCheckStackTrace() {
+        return interceptionService.quickCheck(STACK_TRACE_PROMPT);
+    }
+
+    @Benchmark
+    public ContextAssembler.Assembly assembleContext() {
+        return contextAssembler.assemble(memories, notes, 500);
+    }
+}
@@ -1,5 +1,6 @@
 package com.integraltech.brainsentry.service;
 
+import com.integraltech.brainsentry.config.InterceptionProperties;
 import com.integraltech.brainsentry.domain.HindsightNote;
 import com.integraltech.brainsentry.domain.Memory;
 import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
@@ -7,7 +8,14 @@ import com.integraltech.brainsentry.domain.enums.MemoryCategory;
 import com.integraltech.brainsentry.domain.enums.NoteSeverity;
 import com.integraltech.brainsentry.dto.request.InterceptRequest;
 import com.integraltech.brainsentry.dto.response.InterceptResponse;
-import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.service.context.ContextAssembler;
+import com.integraltech.brainsentry.service.context.TokenCounter;
+import com.integraltech.brainsentry.service.keyword.KeywordClass;
+import com.integraltech.brainsentry.service.keyword.KeywordDictionary;
+import com.integraltech.brainsentry.service.relevance.LogisticRegression;
+import com.integraltech.brainsentry.service.relevance.RelevanceClassifier;
+import com.integraltech.brainsentry.service.relevance.RelevanceFeatures;
+import com.integraltech.brainsentry.service.retrieval.HybridRetriever;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,15 +23,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,7 +57,7 @@ class InterceptionServiceTest {
     private EmbeddingService embeddingService;
 
     @Mock
-    private MemoryRepository memoryRepository;
+    private HybridRetriever hybridRetriever;
 
     @Mock
     private AuditService auditService;
@@ -49,9 +65,30 @@ class InterceptionServiceTest {
     @Mock
     private NoteRetrievalService noteRetrievalService;
 
+    @Spy
+    private InterceptionProperties properties = new InterceptionProperties();
+
+    @Spy
+    private KeywordDictionary keywordDictionary = new KeywordDictionary(new InterceptionProperties());
+
+    @Mock
+    private RelevanceClassifier relevanceClassifier;
+
+    @Mock
+    private UsageCounterService usageCounters;
+
+    @Spy
+    private ContextAssembler contextAssembler = new ContextAssembler(new TokenCounter(new InterceptionProperties()));
+
     @InjectMocks
     private InterceptionService interceptionService;
 
+    private static List<HybridRetriever.ScoredMemory> scored(Memory... memories) {
+        return Arrays.stream(memories)
+            .map(m -> new HybridRetriever.ScoredMemory(m, 1.0, Set.of(HybridRetriever.Source.VECTOR), null))
+            .toList();
+    }
+
     @DisplayName("Note Integration Tests (Confucius Spec)")
     @Nested
     class NoteIntegrationTests {
@@ -101,6 +138,7 @@ class InterceptionServiceTest {
             List<Memory> memories = Arrays.asList(
                 Memory.builder()
                     .id("mem-1")
+                    .content("Use Spring Boot starters instead of hand-picked dependency versions")
                     .summary("Use Spring Boot")
                     .category(MemoryCategory.PATTERN)
                     .importance(ImportanceLevel.IMPORTANT)
@@ -120,8 +158,8 @@ class InterceptionServiceTest {
             when(noteRetrievalService.searchHindsightNotes(anyString(), anyString(), anyString()))
                 .thenReturn(Arrays.asList(hindsightNote));
 
-            when(memoryRepository.vectorSearch(any(float[].class), eq(5), eq("tenant-abc")))
-                .thenReturn(Arrays.asList(memories.get(0)));
+            when(hybridRetriever.retrieve(anyString(), any(), eq(5), eq("tenant-abc")))
+                .thenReturn(scored(memories.get(0)));
 
             // When
             InterceptResponse response = interceptionService.interceptAndEnhance(
@@ -136,6 +174,35 @@ class InterceptionServiceTest {
             assertThat(response.getContextInjected()).contains("Past Learnings");
         }
 
+        @Test
+        @DisplayName("Should reference retrieved memories that have no content")
+        void testInterceptAndEnhance_MemoryWithoutContent_HasNoExcerpt() {
+            // Given
+            Memory summaryOnly = Memory.builder()
+                .id("mem-2")
+                .summary("Use Spring Boot")
+                .category(MemoryCategory.PATTERN)
+                .importance(ImportanceLevel.IMPORTANT)
+                .build();
+
+            when(openRouterService.analyzeRelevance(anyString(), any()))
+                .thenReturn(new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.8));
+            when(hybridRetriever.retrieve(anyString(), any(), eq(5), eq("tenant-abc")))
+                .thenReturn(scored(summaryOnly));
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(
+                InterceptRequest.builder()
+                    .prompt("Help with error")
+                    .tenantId("tenant-abc")
+                    .build()
+            );
+
+            // Then
+            assertThat(response.getMemoriesUsed()).singleElement()
+                .satisfies(ref -> assertThat(ref.getExcerpt()).isNull());
+        }
+
         @Test
         @DisplayName("Should not enhance when no memories and no notes found")
         void testInterceptAndEnhance_NoContext_PassesThrough() {
@@ -148,7 +215,7 @@ class InterceptionServiceTest {
             when(openRouterService.analyzeRelevance(anyString(), any()))
                 .thenReturn(new OpenRouterService.RelevanceAnalysis(true, "Maybe relevant", 0.6));
 
-            when(memoryRepository.vectorSearch(any(float[].class), anyInt(), anyString()))
+            when(hybridRetriever.retrieve(anyString(), any(), anyInt(), anyString()))
                 .thenReturn(Collections.emptyList());
 
             when(noteRetrievalService.searchHindsightNotes(anyString(), anyString(), anyString()))
@@ -167,31 +234,326 @@ class InterceptionServiceTest {
         }
     }
 
-    @DisplayName("Error Detection Tests")
+    @DisplayName("Concurrent Pipeline Tests")
     @Nested
-    class ErrorDetectionTests {
+    class ConcurrentPipelineTests {
+
+        private final Memory memory = Memory.builder()
+            .id("mem-1")
+            .content("Always use constructor injection")
+            .summary("Constructor injection")
+            .category(MemoryCategory.PATTERN)
+            .importance(ImportanceLevel.CRITICAL)
+            .injectionCount(0)
+            .build();
+
+        private InterceptRequest request() {
+            return InterceptRequest.builder()
+                .prompt("Which service pattern should we use here?")
+                .tenantId("tenant-abc")
+                .build();
+        }
 
         @Test
-        @DisplayName("Should detect error keywords in prompt")
-        void testContainsErrorKeywords_DetectsErrors() {
+        @DisplayName("Should search memories while relevance analysis is still running")
+        void testInterceptAndEnhance_RunsRetrievalAlongsideRelevance() {
             // Given
-            String errorPrompt = "Fix the NullPointerException timeout error";
+            CountDownLatch searchStarted = new CountDownLatch(1);
+            AtomicBoolean overlapped = new AtomicBoolean();
+
+            when(openRouterService.analyzeRelevance(anyString(), any())).thenAnswer(invocation -> {
+                overlapped.set(searchStarted.await(1, TimeUnit.SECONDS));
+                return new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.9);
+            });
+            when(embeddingService.embed(anyString())).thenReturn(new float[]{1f, 0f});
+            when(hybridRetriever.retrieve(anyString(), any(), eq(5), eq("tenant-abc"))).thenAnswer(invocation -> {
+                searchStarted.countDown();
+                return scored(memory);
+            });
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(overlapped).isTrue();
+            assertThat(response.getEnhanced()).isTrue();
+            assertThat(response.getDeadlineExceeded()).isFalse();
+            assertThat(response.getStageTimingsMs())
+                .containsKeys("quickCheck", "relevance", "embedding", "memorySearch", "format");
+            verify(usageCounters).recordMemoryInjections("tenant-abc", List.of("mem-1"));
+        }
+
+        @Test
+        @DisplayName("Should return the context that is ready when the deadline expires")
+        void testInterceptAndEnhance_DeadlineExpired_UsesCompletedStages() {
+            // Given
+            properties.setDeadline(Duration.ofMillis(200));
+            HindsightNote note = HindsightNote.builder()
+                .id("note-1")
+                .title("Service layering")
+                .severity(NoteSeverity.MEDIUM)
+                .build();
+
+            when(openRouterService.analyzeRelevance(anyString(), any()))
+                .thenReturn(new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.9));
+            when(embeddingService.embed(anyString())).thenAnswer(invocation -> {
+                Thread.sleep(5_000);
+                return new float[]{1f, 0f};
+            });
+            when(hybridRetriever.retrieve(anyString(), any(), anyInt(), anyString())).thenAnswer(invocation -> {
+                invocation.<Callable<float[]>>getArgument(1).call();
+                return scored(memory);
+            });
+            when(noteRetrievalService.getRelevantNotes(anyString(), eq("tenant-abc"), eq(3)))
+                .thenReturn(List.of(note));
+
+            // When
+            long start = System.nanoTime();
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Then
+            assertThat(elapsedMs).isLessThan(2_000);
+            assertThat(response.getEnhanced()).isTrue();
+            assertThat(response.getDeadlineExceeded()).isTrue();
+            assertThat(response.getMemoriesUsed()).isEmpty();
+            assertThat(response.getNotesUsed()).extracting(InterceptResponse.NoteReference::getId)
+                .containsExactly("note-1");
+            assertThat(response.getStageTimingsMs()).containsKey("fallbackNotes")
+                .doesNotContainKeys("embedding", "memorySearch");
+        }
+
+        @Test
+        @DisplayName("Should pass through when relevance analysis says no context is needed")
+        void testInterceptAndEnhance_NotRelevant_PassesThrough() {
+            // Given
+            when(openRouterService.analyzeRelevance(anyString(), any()))
+                .thenReturn(new OpenRouterService.RelevanceAnalysis(false, "Small talk", 0.95));
+            when(embeddingService.embed(anyString())).thenReturn(new float[]{1f, 0f});
+            when(hybridRetriever.retrieve(anyString(), any(), anyInt(), anyString()))
+                .thenReturn(scored(memory));
 
-            // Use reflection to test private method
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(response.getEnhanced()).isFalse();
+            assertThat(response.getReasoning()).isEqualTo("Small talk");
+            assertThat(response.getLlmCalls()).isEqualTo(1);
+            verify(usageCounters, never()).recordMemoryInjections(anyString(), anyCollection());
+            verify(auditService, never()).logInterception(any(), anyList(), anyLong(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should report retrieved memories to a listener before the relevance verdict")
+        void testInterceptAndEnhance_Listener_ReportsMemoriesBeforeVerdict() {
+            // Given
+            CountDownLatch memoriesReported = new CountDownLatch(1);
+            List<String> events = new CopyOnWriteArrayList<>();
+
+            when(openRouterService.analyzeRelevance(anyString(), any())).thenAnswer(invocation -> {
+                memoriesReported.await(1, TimeUnit.SECONDS);
+                return new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.9);
+            });
+            when(embeddingService.embed(anyString())).thenReturn(new float[]{1f, 0f});
+            when(hybridRetriever.retrieve(anyString(), any(), eq(5), eq("tenant-abc")))
+                .thenReturn(scored(memory));
+
+            InterceptionListener listener = new InterceptionListener() {
+                @Override
+                public void onQuickCheck(boolean passed) {
+                    events.add("quickCheck:" + passed);
+                }
+
+                @Override
+                public void onMemories(List<InterceptResponse.MemoryReference> memories) {
+                    events.add("memories:" + memories.get(0).getId());
+                    memoriesReported.countDown();
+                }
+
+                @Override
+                public void onRelevance(boolean needsContext, Double confidence, String reasoning) {
+                    events.add("relevance:" + needsContext);
+                }
+            };
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request(), listener);
+
+            // Then
+            assertThat(events).containsExactly("quickCheck:true", "memories:mem-1", "relevance:true");
+            assertThat(response.getEnhanced()).isTrue();
+            assertThat(response.getMemoriesUsed()).extracting(InterceptResponse.MemoryReference::getId)
+                .containsExactly("mem-1");
+        }
+
+        @Test
+        @DisplayName("Should run stages as the calling tenant")
+        void testInterceptAndEnhance_PropagatesTenantContext() {
+            // Given
+            com.integraltech.brainsentry.config.TenantContext.setTenantId("tenant-abc");
             try {
-                java.lang.reflect.Method method = InterceptionService.class
-                    .getDeclaredMethod("containsErrorKeywords", String.class);
-                method.setAccessible(true);
+                when(openRouterService.analyzeRelevance(anyString(), any()))
+                    .thenReturn(new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.9));
+                when(noteRetrievalService.getRelevantNotes(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+                    assertThat(com.integraltech.brainsentry.config.TenantContext.getTenantId()).isEqualTo("tenant-abc");
+                    return List.of();
+                });
 
                 // When
-                boolean hasError = (boolean) method.invoke(interceptionService, errorPrompt);
+                InterceptResponse response = interceptionService.interceptAndEnhance(request());
 
                 // Then
-                assertThat(hasError).isTrue();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+                assertThat(response.getStageTimingsMs()).containsKey("fallbackNotes");
+            } finally {
+                com.integraltech.brainsentry.config.TenantContext.clear();
             }
         }
+    }
+
+    @DisplayName("Relevance Classifier Gate Tests")
+    @Nested
+    class RelevanceClassifierGateTests {
+
+        private final Memory memory = Memory.builder()
+            .id("mem-1")
+            .content("Always use constructor injection")
+            .summary("Constructor injection")
+            .category(MemoryCategory.PATTERN)
+            .importance(ImportanceLevel.CRITICAL)
+            .injectionCount(0)
+            .build();
+
+        private InterceptRequest request() {
+            return InterceptRequest.builder()
+                .prompt("Which service pattern should we use here?")
+                .tenantId("tenant-abc")
+                .build();
+        }
+
+        /**
+         * A model that ignores the features and predicts sigmoid(bias).
+         */
+        private void givenModel(double bias) {
+            LogisticRegression regression = new LogisticRegression(new float[RelevanceFeatures.dimension(2)], bias);
+            when(relevanceClassifier.activeModel()).thenReturn(new RelevanceClassifier.Model(3, regression, 0.2, 0.8));
+            when(embeddingService.embed(anyString())).thenReturn(new float[]{1f, 0f});
+            when(hybridRetriever.retrieve(anyString(), any(), eq(5), eq("tenant-abc"))).thenReturn(scored(memory));
+        }
+
+        @Test
+        @DisplayName("Should pass through without an LLM call when the classifier is confident")
+        void testInterceptAndEnhance_ConfidentNotRelevant_SkipsLlm() {
+            // Given
+            givenModel(-5);
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(response.getEnhanced()).isFalse();
+            assertThat(response.getLlmCalls()).isZero();
+            assertThat(response.getReasoning()).startsWith("Relevance classifier v3");
+            assertThat(response.getStageTimingsMs()).containsKey("classifier").doesNotContainKey("relevance");
+            verify(openRouterService, never()).analyzeRelevance(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should enhance without an LLM call when the classifier is confident")
+        void testInterceptAndEnhance_ConfidentRelevant_SkipsLlm() {
+            // Given
+            givenModel(5);
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(response.getEnhanced()).isTrue();
+            assertThat(response.getLlmCalls()).isZero();
+            assertThat(response.getMemoriesUsed()).hasSize(1);
+            verify(openRouterService, never()).analyzeRelevance(anyString(), any());
+            // Audited for monitoring, tagged so the trainer never learns from it
+            verify(auditService).logRelevanceVerdict(any(InterceptRequest.class), eq(true), anyDouble(), anyString(),
+                eq(AuditService.RELEVANCE_CLASSIFIER));
+            verify(auditService).logInterception(any(InterceptRequest.class), anyList(), anyLong(),
+                eq(AuditService.RELEVANCE_CLASSIFIER), eq(0));
+        }
+
+        @Test
+        @DisplayName("Should ask the LLM inside the uncertainty band and audit its verdict")
+        void testInterceptAndEnhance_Uncertain_EscalatesToLlm() {
+            // Given
+            givenModel(0);
+            when(openRouterService.analyzeRelevance(anyString(), any()))
+                .thenReturn(new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.9));
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(response.getEnhanced()).isTrue();
+            assertThat(response.getLlmCalls()).isEqualTo(1);
+            verify(auditService).logRelevanceVerdict(any(InterceptRequest.class), eq(true), eq(0.9), eq("Relevant"),
+                eq(AuditService.RELEVANCE_LLM));
+            verify(auditService).logInterception(any(InterceptRequest.class), anyList(), anyLong(),
+                eq(AuditService.RELEVANCE_LLM), eq(1));
+        }
+
+        @Test
+        @DisplayName("Should not count or label a cached LLM verdict as an LLM call")
+        void testInterceptAndEnhance_CachedVerdict_NotCountedAsLlmCall() {
+            // Given
+            when(hybridRetriever.retrieve(anyString(), any(), eq(5), eq("tenant-abc"))).thenReturn(scored(memory));
+            when(openRouterService.analyzeRelevance(anyString(), any()))
+                .thenReturn(new OpenRouterService.RelevanceAnalysis(true, "Relevant", 0.9).fromCache());
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(response.getEnhanced()).isTrue();
+            assertThat(response.getLlmCalls()).isZero();
+            verify(auditService).logRelevanceVerdict(any(InterceptRequest.class), eq(true), eq(0.9), eq("Relevant"),
+                eq(AuditService.RELEVANCE_CACHE));
+            verify(auditService, never()).logRelevanceVerdict(any(), anyBoolean(), any(), any(),
+                eq(AuditService.RELEVANCE_LLM));
+            verify(auditService).logInterception(any(InterceptRequest.class), anyList(), anyLong(),
+                eq(AuditService.RELEVANCE_CACHE), eq(0));
+        }
+
+        @Test
+        @DisplayName("Should not audit failed LLM analyses as verdicts")
+        void testInterceptAndEnhance_FailedAnalysis_NotAudited() {
+            // Given
+            when(openRouterService.analyzeRelevance(anyString(), any()))
+                .thenReturn(OpenRouterService.RelevanceAnalysis.failed("Parse error"));
+
+            // When
+            InterceptResponse response = interceptionService.interceptAndEnhance(request());
+
+            // Then
+            assertThat(response.getEnhanced()).isFalse();
+            verify(auditService, never()).logRelevanceVerdict(any(), anyBoolean(), any(), any(), any());
+        }
+    }
+
+    @DisplayName("Error Detection Tests")
+    @Nested
+    class ErrorDetectionTests {
+
+        @Test
+        @DisplayName("Should detect error keywords in prompt")
+        void testContainsErrorKeywords_DetectsErrors() {
+            // Given
+            String errorPrompt = "Fix the NullPointerException timeout error";
+
+            // When
+            long keywords = keywordDictionary.match("tenant-abc", errorPrompt);
+
+            // Then
+            assertThat(KeywordClass.ERROR.in(keywords)).isTrue();
+            assertThat(KeywordClass.ERROR.in(keywordDictionary.match("tenant-abc", "Explain the service layer"))).isFalse();
+        }
 
         @Test
         @DisplayName("Should extract error type from prompt")
@@ -199,20 +561,11 @@ class InterceptionServiceTest {
             // Given
             String npePrompt = "NullPointerException in UserService";
 
-            // Use reflection to test private method
-            try {
-                java.lang.reflect.Method method = InterceptionService.class
-                    .getDeclaredMethod("extractErrorType", String.class);
-                method.setAccessible(true);
-
-                // When
-                String errorType = (String) method.invoke(interceptionService, npePrompt);
+            // When
+            String errorType = KeywordClass.errorType(keywordDictionary.match("tenant-abc", npePrompt));
 
-                // Then
-                assertThat(errorType).isEqualTo("NullPointerException");
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            // Then
+            assertThat(errorType).isEqualTo("NullPointerException");
         }
     }
 }
@@ -0,0 +1,190 @@
+package com.integraltech.brainsentry.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integraltech.brainsentry.config.BulkIngestProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.PendingEnrichment;
+import com.integraltech.brainsentry.dto.response.BulkIngestEvent;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MemoryBulkIngestService Unit Tests")
+class MemoryBulkIngestServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MemoryRepository memoryGraphRepo;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private MemoryEnrichmentQueue enrichmentQueue;
+
+    private MemoryBulkIngestService service;
+    private final List<BulkIngestEvent> events = new ArrayList<>();
+    private final String tenantId = "test-tenant";
+
+    @BeforeEach
+    void setUp() {
+        BulkIngestProperties properties = new BulkIngestProperties();
+        properties.setBatchSize(2);
+        properties.setMaxLineChars(200);
+
+        service = new MemoryBulkIngestService(entityManager, transactionTemplate, memoryGraphRepo,
+                embeddingService, enrichmentQueue,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper(), properties);
+
+        TenantContext.setTenantId(tenantId);
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(embeddingService.embedBatch(anyList())).thenAnswer(invocation -> {
+            List<String> texts = invocation.getArgument(0);
+            return texts.stream().map(t -> new float[]{1f, 0f}).collect(Collectors.toList());
+        });
+        when(enrichmentQueue.submit(anyString(), anyString(), anyBoolean(), anyBoolean())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private BulkIngestEvent ingest(String ndjson) throws Exception {
+        return service.ingest(new StringReader(ndjson), events::add);
+    }
+
+    private static String line(String content) {
+        return "{\"content\":\"" + content + "\",\"category\":\"Decision\",\"importance\":\"Critical\"}\n";
+    }
+
+    @Nested
+    @DisplayName("ingest()")
+    class IngestTests {
+
+        @Test
+        @DisplayName("Should process lines in batches of the configured size")
+        void shouldProcessInBatches() throws Exception {
+            String ndjson = IntStream.range(0, 5).mapToObj(i -> line("decision " + i)).collect(Collectors.joining());
+
+            BulkIngestEvent complete = ingest(ndjson);
+
+            assertThat(complete.getType()).isEqualTo(BulkIngestEvent.COMPLETE);
+            assertThat(complete.getSucceeded()).isEqualTo(5);
+            assertThat(complete.getFailed()).isZero();
+            verify(embeddingService, times(3)).embedBatch(anyList());
+            verify(memoryGraphRepo, times(3)).saveAll(anyList());
+            verify(entityManager, times(5)).persist(any(Memory.class));
+            assertThat(events).filteredOn(e -> BulkIngestEvent.PROGRESS.equals(e.getType())).hasSize(3);
+        }
+
+        @Test
+        @DisplayName("Should report per-line errors and keep going")
+        void shouldReportPerLineErrors() throws Exception {
+            String ndjson = line("first")
+                    + "not json\n"
+                    + "\n"
+                    + "{\"content\":\"\"}\n"
+                    + line("second");
+
+            BulkIngestEvent complete = ingest(ndjson);
+
+            assertThat(complete.getSucceeded()).isEqualTo(2);
+            assertThat(complete.getFailed()).isEqualTo(2);
+            assertThat(events).filteredOn(e -> BulkIngestEvent.ERROR.equals(e.getType()))
+                    .extracting(BulkIngestEvent::getLine)
+                    .containsExactly(2L, 4L);
+        }
+
+        @Test
+        @DisplayName("Should reject rows for another tenant")
+        void shouldRejectOtherTenant() throws Exception {
+            BulkIngestEvent complete = ingest("{\"content\":\"x\",\"tenantId\":\"other\"}\n");
+
+            assertThat(complete.getFailed()).isEqualTo(1);
+            verify(entityManager, never()).persist(any());
+        }
+
+        @Test
+        @DisplayName("Should fail the whole batch when the insert fails")
+        void shouldFailBatchOnInsertError() throws Exception {
+            doThrow(new RuntimeException("db down")).when(transactionTemplate).executeWithoutResult(any());
+
+            BulkIngestEvent complete = ingest(line("a") + line("b"));
+
+            assertThat(complete.getSucceeded()).isZero();
+            assertThat(complete.getFailed()).isEqualTo(2);
+            verify(memoryGraphRepo, never()).saveAll(anyList());
+            verify(enrichmentQueue, never()).submit(anyString(), anyString(), anyBoolean(), anyBoolean());
+        }
+
+        @Test
+        @DisplayName("Should queue LLM classification only for missing fields")
+        void shouldQueueEnrichmentForMissingFields() throws Exception {
+            ingest("{\"content\":\"no category\",\"importance\":\"Critical\"}\n");
+
+            verify(enrichmentQueue).submit(anyString(), eq(tenantId), eq(true), eq(false));
+            verify(embeddingService, never()).embed(anyString());
+            // Persisted, so the enrichment survives a restart before the queue gets to it
+            verify(entityManager).persist(argThat(m -> ((Memory) m).getPendingEnrichment() == PendingEnrichment.CATEGORY));
+        }
+    }
+
+    @Nested
+    @DisplayName("readLine()")
+    class ReadLineTests {
+
+        @Test
+        @DisplayName("Should flag over-long lines and resume at the next line")
+        void shouldFlagOverlongLines() throws Exception {
+            BufferedReader reader = new BufferedReader(new StringReader("abcdef\r\nok\n"));
+            StringBuilder line = new StringBuilder();
+
+            assertThat(MemoryBulkIngestService.readLine(reader, line, 3)).isEqualTo(1);
+            assertThat(MemoryBulkIngestService.readLine(reader, line, 3)).isEqualTo(0);
+            assertThat(line.toString()).isEqualTo("ok");
+            assertThat(MemoryBulkIngestService.readLine(reader, line, 3)).isEqualTo(-1);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.BulkIngestProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MemoryEnrichmentQueue Unit Tests")
+class MemoryEnrichmentQueueTest {
+
+    @Mock
+    private MemoryJpaRepository memoryJpaRepo;
+
+    @Mock
+    private MemoryRepository memoryGraphRepo;
+
+    @Mock
+    private OpenRouterService openRouterService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final BulkIngestProperties properties = new BulkIngestProperties();
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final String tenantId = "test-tenant";
+    private MemoryEnrichmentQueue enrichmentQueue;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            TransactionCallback<?> action = invocation.getArgument(0);
+            inTransaction.set(true);
+            try {
+                return action.doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        }).when(transactionTemplate).execute(any());
+        when(memoryJpaRepo.save(any(Memory.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(openRouterService.analyzeImportance(anyString())).thenReturn(
+            new OpenRouterService.ImportanceAnalysis(true, "CRITICAL", "DECISION", "", ""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (enrichmentQueue != null) {
+            enrichmentQueue.shutdown();
+        }
+        TenantContext.clear();
+    }
+
+    private MemoryEnrichmentQueue createQueue() {
+        return new MemoryEnrichmentQueue(memoryJpaRepo, memoryGraphRepo, openRouterService,
+            transactionTemplate, properties, null, null);
+    }
+
+    private static MemoryJpaRepository.PendingEnrichmentRow pendingRow(String id, String pending) {
+        return new MemoryJpaRepository.PendingEnrichmentRow() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getTenantId() {
+                return "test-tenant";
+            }
+
+            @Override
+            public String getPendingEnrichment() {
+                return pending;
+            }
+        };
+    }
+
+    private static Memory memory(String id) {
+        return Memory.builder()
+            .id(id)
+            .content("content of " + id)
+            .category(MemoryCategory.PATTERN)
+            .importance(ImportanceLevel.MINOR)
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should call the LLM outside the transaction and apply the result to a reloaded memory")
+    void shouldClassifyOutsideTransaction() {
+        // Given
+        enrichmentQueue = createQueue();
+        Memory reloaded = memory("mem_1");
+        reloaded.setSummary("edited while the LLM ran");
+        when(memoryJpaRepo.findById("mem_1")).thenReturn(Optional.of(memory("mem_1")), Optional.of(reloaded));
+        AtomicBoolean calledInTransaction = new AtomicBoolean();
+        when(openRouterService.analyzeImportance(anyString())).thenAnswer(invocation -> {
+            calledInTransaction.set(inTransaction.get());
+            return new OpenRouterService.ImportanceAnalysis(true, "CRITICAL", "DECISION", "", "");
+        });
+
+        // When
+        enrichmentQueue.enrich(new MemoryEnrichmentQueue.Task("mem_1", tenantId, true, true));
+
+        // Then
+        assertThat(calledInTransaction).isFalse();
+        verify(memoryJpaRepo).save(reloaded);
+        verify(memoryGraphRepo).save(reloaded);
+        assertThat(reloaded.getCategory()).isEqualTo(MemoryCategory.DECISION);
+        assertThat(reloaded.getImportance()).isEqualTo(ImportanceLevel.CRITICAL);
+        assertThat(reloaded.getSummary()).isEqualTo("edited while the LLM ran");
+        verify(memoryJpaRepo).clearPendingEnrichment("mem_1");
+    }
+
+    @Test
+    @DisplayName("Should keep the ingested value for an unknown LLM category and finish the enrichment")
+    void shouldIgnoreUnknownEnumValues() {
+        // Given
+        enrichmentQueue = createQueue();
+        Memory stored = memory("mem_1");
+        when(memoryJpaRepo.findById("mem_1")).thenReturn(Optional.of(stored));
+        when(openRouterService.analyzeImportance(anyString())).thenReturn(
+            new OpenRouterService.ImportanceAnalysis(true, "critical", "ARCHITECTURE_NOTE", "", ""));
+
+        // When
+        enrichmentQueue.enrich(new MemoryEnrichmentQueue.Task("mem_1", tenantId, true, true));
+
+        // Then
+        assertThat(stored.getCategory()).isEqualTo(MemoryCategory.PATTERN);
+        assertThat(stored.getImportance()).isEqualTo(ImportanceLevel.CRITICAL);
+        verify(memoryJpaRepo).clearPendingEnrichment("mem_1");
+    }
+
+    @Test
+    @DisplayName("Should re-queue memories whose enrichment was pending at the last shutdown")
+    void shouldRequeuePendingOnStart() {
+        // Given
+        when(memoryJpaRepo.findPendingEnrichments()).thenReturn(List.of(pendingRow("mem_1", "IMPORTANCE")));
+        when(memoryJpaRepo.findById("mem_1")).thenReturn(Optional.of(memory("mem_1")));
+        enrichmentQueue = createQueue();
+
+        // When
+        enrichmentQueue.start();
+
+        // Then
+        verify(memoryJpaRepo, timeout(5000)).clearPendingEnrichment("mem_1");
+        verify(openRouterService).analyzeImportance("content of mem_1");
+    }
+
+    @Test
+    @DisplayName("Should not open a transaction when the analysis changes nothing")
+    void shouldSkipTransactionWithoutChanges() {
+        // Given
+        enrichmentQueue = createQueue();
+        when(memoryJpaRepo.findById("mem_1")).thenReturn(Optional.of(memory("mem_1")));
+
+        // When: only importance was defaulted, and the analysis returns no importance
+        when(openRouterService.analyzeImportance(anyString())).thenReturn(
+            new OpenRouterService.ImportanceAnalysis(true, null, "DECISION", "", ""));
+        enrichmentQueue.enrich(new MemoryEnrichmentQueue.Task("mem_1", tenantId, false, true));
+
+        // Then
+        verify(transactionTemplate, never()).execute(any());
+        verify(memoryJpaRepo, never()).save(any(Memory.class));
+    }
+
+    @Test
+    @DisplayName("Should enrich on the caller's thread when the queue stays full")
+    void shouldEnrichInlineWhenQueueFull() throws Exception {
+        // Given: one worker busy on a blocked task and a queue of one
+        properties.getEnrichment().setWorkers(1);
+        properties.getEnrichment().setQueueCapacity(1);
+        properties.getEnrichment().setOfferTimeout(Duration.ofMillis(20));
+        CountDownLatch busy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(memoryJpaRepo.findById(anyString()))
+            .thenAnswer(invocation -> Optional.of(memory(invocation.getArgument(0))));
+        when(openRouterService.analyzeImportance("content of blocked")).thenAnswer(invocation -> {
+            busy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return OpenRouterService.ImportanceAnalysis.defaultResult();
+        });
+        // Stubbed before start(): the workers and the pending re-queue read the mocks right away
+        enrichmentQueue = createQueue();
+        enrichmentQueue.start();
+        TenantContext.setTenantId("caller-tenant");
+
+        try {
+            assertThat(enrichmentQueue.submit("blocked", tenantId, true, true)).isTrue();
+            assertThat(busy.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(enrichmentQueue.submit("queued", tenantId, true, true)).isTrue();
+
+            // When
+            boolean accepted = enrichmentQueue.submit("inline", tenantId, true, true);
+
+            // Then
+            assertThat(accepted).isTrue();
+            verify(openRouterService).analyzeImportance("content of inline");
+            verify(memoryGraphRepo).save(argThat(m -> m.getId().equals("inline")));
+            assertThat(enrichmentQueue.pending()).isEqualTo(1);
+            assertThat(TenantContext.getTenantId()).isEqualTo("caller-tenant");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse tasks when the queue is not running")
+    void shouldRefuseWhenNotRunning() {
+        // Given
+        enrichmentQueue = createQueue();
+
+        // When / Then
+        assertThat(enrichmentQueue.submit("mem_1", tenantId, true, true)).isFalse();
+        verifyNoInteractions(openRouterService);
+    }
+}
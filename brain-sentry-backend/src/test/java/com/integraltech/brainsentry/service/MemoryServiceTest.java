@@ -13,11 +13,13 @@ import com.integraltech.brainsentry.dto.response.MemoryResponse;
 import com.integraltech.brainsentry.mapper.MemoryMapper;
 import com.integraltech.brainsentry.repository.MemoryJpaRepository;
 import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.service.retrieval.HybridRetriever;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -31,10 +33,14 @@ import org.springframework.data.domain.PageRequest;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -58,6 +64,12 @@ class MemoryServiceTest {
     @Mock
     private MemoryMapper memoryMapper;
 
+    @Mock
+    private UsageCounterService usageCounters;
+
+    @Mock
+    private HybridRetriever hybridRetriever;
+
     @InjectMocks
     private MemoryService memoryService;
 
@@ -216,9 +228,9 @@ class MemoryServiceTest {
             assertThat(response).isNotNull();
             assertThat(response.getId()).isEqualTo("mem-001");
 
-            verify(memoryJpaRepo).save(argThat(mem ->
-                    mem.getAccessCount() == 1
-            ));
+            assertThat(response.getAccessCount()).isEqualTo(1);
+            verify(usageCounters).recordMemoryAccess(anyString(), eq("mem-001"));
+            verify(memoryJpaRepo, never()).save(any());
         }
 
         @Test
@@ -347,8 +359,9 @@ class MemoryServiceTest {
     class SearchTests {
 
         @Test
-        @DisplayName("Should search memories using vector search")
-        void shouldSearchUsingVectorSearch() {
+        @DisplayName("Should search memories using hybrid retrieval")
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void shouldSearchUsingHybridRetrieval() throws Exception {
             try (MockedStatic<TenantContext> tenantContext = mockStatic(TenantContext.class)) {
                 tenantContext.when(TenantContext::getTenantId).thenReturn(tenantId);
 
@@ -359,16 +372,21 @@ class MemoryServiceTest {
 
                 float[] embedding = new float[]{0.1f, 0.2f};
                 when(embeddingService.embed("test query")).thenReturn(embedding);
-                when(memoryGraphRepo.vectorSearch(eq(embedding), eq(10), eq(tenantId)))
-                        .thenReturn(List.of(testMemory));
+                when(hybridRetriever.retrieve(eq("test query"), any(), eq(10), eq(tenantId)))
+                        .thenReturn(List.of(new HybridRetriever.ScoredMemory(
+                                testMemory, 0.03, Set.of(HybridRetriever.Source.LEXICAL), "<mark>Test</mark> content")));
 
                 List<MemoryResponse> results = memoryService.search(request);
 
                 assertThat(results).hasSize(1);
                 assertThat(results.get(0).getId()).isEqualTo("mem-001");
+                assertThat(results.get(0).getHighlight()).isEqualTo("<mark>Test</mark> content");
 
-                verify(embeddingService).embed("test query");
-                verify(memoryGraphRepo).vectorSearch(eq(embedding), eq(10), eq(tenantId));
+                // The query embedding is computed by the retriever, on demand
+                ArgumentCaptor<Callable<float[]>> embeddingCaptor = ArgumentCaptor.forClass((Class) Callable.class);
+                verify(hybridRetriever).retrieve(eq("test query"), embeddingCaptor.capture(), eq(10), eq(tenantId));
+                verify(embeddingService, never()).embed(anyString());
+                assertThat(embeddingCaptor.getValue().call()).isSameAs(embedding);
             }
         }
 
@@ -382,13 +400,12 @@ class MemoryServiceTest {
                         .query("test query")
                         .build();
 
-                when(embeddingService.embed(anyString())).thenReturn(new float[]{0.1f});
-                when(memoryGraphRepo.vectorSearch(any(), eq(10), any()))
-                        .thenReturn(List.of(testMemory));
+                when(hybridRetriever.retrieve(anyString(), any(), anyInt(), any()))
+                        .thenReturn(List.of());
 
                 memoryService.search(request);
 
-                verify(memoryGraphRepo).vectorSearch(any(), eq(10), any());
+                verify(hybridRetriever).retrieve(anyString(), any(), eq(10), any());
             }
         }
     }
@@ -32,6 +32,9 @@ class NoteRetrievalServiceTest {
     @Mock
     private EmbeddingService embeddingService;
 
+    @Mock
+    private UsageCounterService usageCounters;
+
     @InjectMocks
     private NoteRetrievalService noteRetrievalService;
 
@@ -243,22 +246,12 @@ class NoteRetrievalServiceTest {
             // Given
             String noteId = "note-123";
 
-            HindsightNote note = HindsightNote.builder()
-                .id(noteId)
-                .referenceCount(2)
-                .accessCount(2)
-                .build();
-
-            when(hindsightNoteRepo.findById(noteId))
-                .thenReturn(java.util.Optional.of(note));
-
             // When
             noteRetrievalService.recordNoteAccess(noteId);
 
             // Then
-            verify(hindsightNoteRepo).save(argThat(savedNote -> {
-                return savedNote.getReferenceCount() == 3 && savedNote.getAccessCount() == 3;
-            }));
+            verify(usageCounters).recordNoteReference(anyString(), eq(noteId));
+            verify(hindsightNoteRepo, never()).save(any());
         }
 
         @Test
@@ -196,6 +196,9 @@ class NoteTakingServiceTest {
             // Then
             assertThat(response).isNotNull();
             verify(hindsightNoteRepo).save(existingNote);
+            assertThat(existingNote.getOccurrenceCount()).isEqualTo(2);
+            // A recurrence is not a reference; only retrieval counts those
+            assertThat(existingNote.getReferenceCount()).isZero();
         }
 
         @Test
@@ -0,0 +1,134 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.RelationshipProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.MemoryRelationship;
+import com.integraltech.brainsentry.domain.enums.RelationshipType;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryRelationshipJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RelationshipService Unit Tests")
+class RelationshipServiceTest {
+
+    @Mock
+    private MemoryRelationshipJpaRepository relationshipRepo;
+
+    @Mock
+    private MemoryJpaRepository memoryJpaRepo;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private MemoryRepository memoryRepository;
+
+    @Mock
+    private OpenRouterService openRouterService;
+
+    private RelationshipService relationshipService;
+
+    private final String tenantId = "test-tenant";
+
+    @BeforeEach
+    void setUp() {
+        relationshipService = new RelationshipService(relationshipRepo, memoryJpaRepo, auditService,
+            memoryRepository, openRouterService, new RelationshipProperties());
+
+        when(openRouterService.isConfigured()).thenReturn(true);
+        when(memoryJpaRepo.existsById(anyString())).thenReturn(true);
+        when(relationshipRepo.findByFromAndTo(anyString(), anyString())).thenReturn(Optional.empty());
+        when(relationshipRepo.save(any(MemoryRelationship.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static Memory memory(String id, float... embedding) {
+        return Memory.builder().id(id).content("content of " + id).embedding(embedding).build();
+    }
+
+    private static OpenRouterService.RelationshipAnalysis related(String type, double confidence) {
+        return new OpenRouterService.RelationshipAnalysis(true, type, confidence, "");
+    }
+
+    @Test
+    @DisplayName("Should classify all candidates in one LLM call")
+    void shouldClassifyCandidatesInOneCall() {
+        // Given
+        Memory newMemory = memory("new", 1f, 0f);
+        when(memoryRepository.vectorSearch(any(), anyInt(), eq(tenantId))).thenReturn(List.of(
+            memory("a", 1f, 0.1f), memory("b", 0.9f, 0.2f), memory("c", 1f, 0f)));
+        when(openRouterService.analyzeRelationships(anyString(), anyList())).thenReturn(List.of(
+            related("REQUIRES", 0.9),
+            related("RELATED_TO", 0.5),
+            OpenRouterService.RelationshipAnalysis.noRelationship()));
+
+        // When
+        List<MemoryRelationship> created = relationshipService.detectAndCreateRelationships(newMemory, tenantId);
+
+        // Then
+        verify(openRouterService, times(1)).analyzeRelationships(
+            "content of new", List.of("content of a", "content of b", "content of c"));
+        verify(openRouterService, never()).analyzeRelationship(anyString(), anyString());
+        assertThat(created).hasSize(1);
+        assertThat(created.get(0).getToMemoryId()).isEqualTo("a");
+        assertThat(created.get(0).getType()).isEqualTo(RelationshipType.REQUIRES);
+    }
+
+    @Test
+    @DisplayName("Should only send candidates above the similarity threshold")
+    void shouldFilterCandidatesBySimilarity() {
+        // Given
+        Memory newMemory = memory("new", 1f, 0f);
+        when(memoryRepository.vectorSearch(any(), anyInt(), eq(tenantId))).thenReturn(List.of(
+            memory("new", 1f, 0f),          // the memory itself
+            memory("close", 1f, 0.2f),
+            memory("far", 0f, 1f),          // cosine 0
+            memory("unscored"),             // no comparable embedding
+            memory("other-model", 1f, 0f, 0f)));
+        when(openRouterService.analyzeRelationships(anyString(), anyList()))
+            .thenReturn(List.of(related("RELATED_TO", 0.8)));
+
+        // When
+        List<MemoryRelationship> created = relationshipService.detectAndCreateRelationships(newMemory, tenantId);
+
+        // Then
+        verify(openRouterService).analyzeRelationships("content of new", List.of("content of close"));
+        assertThat(created).extracting(MemoryRelationship::getToMemoryId).containsExactly("close");
+    }
+
+    @Test
+    @DisplayName("Should not call the LLM when no candidate passes the filter")
+    void shouldSkipLlmWithoutCandidates() {
+        // Given
+        Memory newMemory = memory("new", 1f, 0f);
+        when(memoryRepository.vectorSearch(any(), anyInt(), eq(tenantId)))
+            .thenReturn(List.of(memory("far", 0f, 1f)));
+
+        // When
+        List<MemoryRelationship> created = relationshipService.detectAndCreateRelationships(newMemory, tenantId);
+
+        // Then
+        assertThat(created).isEmpty();
+        verify(openRouterService, never()).analyzeRelationships(anyString(), anyList());
+    }
+}
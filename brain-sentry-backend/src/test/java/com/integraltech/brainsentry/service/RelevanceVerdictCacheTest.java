@@ -0,0 +1,89 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.EmbeddingProperties;
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.service.embedding.HashEmbeddingEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RelevanceVerdictCache Unit Tests")
+class RelevanceVerdictCacheTest {
+
+    private static final OpenRouterService.RelevanceAnalysis VERDICT =
+        new OpenRouterService.RelevanceAnalysis(true, "Needs service patterns", 0.9);
+
+    private InterceptionProperties properties;
+    private EmbeddingService embeddingService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterceptionProperties();
+        EmbeddingProperties embeddingProperties = new EmbeddingProperties();
+        embeddingProperties.getCoalescer().setEnabled(false);
+        embeddingService = spy(new EmbeddingService(new HashEmbeddingEngine(2), embeddingProperties));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private RelevanceVerdictCache cache() {
+        return new RelevanceVerdictCache(properties, embeddingService, meterRegistry);
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get("brainsentry.relevance.cache.requests")
+            .tag("tier", tier).tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should hit for the same prompt modulo case and whitespace")
+    void shouldHitOnNormalizedPrompt() {
+        RelevanceVerdictCache cache = cache();
+
+        RelevanceVerdictCache.Lookup miss = cache.lookup("tenant-a", "Create a  new Service", null);
+        assertThat(miss.verdict()).isNull();
+        cache.put(miss, VERDICT);
+
+        assertThat(cache.lookup("tenant-a", "  create a new\tservice ", null).verdict()).isSameAs(VERDICT);
+        assertThat(requests("exact", "hit")).isEqualTo(1);
+        assertThat(requests("exact", "miss")).isEqualTo(1);
+        verify(embeddingService, never()).embed(anyString());
+    }
+
+    @Test
+    @DisplayName("Should scope verdicts by tenant and context")
+    void shouldScopeByTenantAndContext() {
+        RelevanceVerdictCache cache = cache();
+        cache.put(cache.lookup("tenant-a", "Create a new service", Map.of("file", "A.java")), VERDICT);
+
+        assertThat(cache.lookup("tenant-b", "Create a new service", Map.of("file", "A.java")).verdict()).isNull();
+        assertThat(cache.lookup("tenant-a", "Create a new service", Map.of("file", "B.java")).verdict()).isNull();
+        assertThat(cache.lookup("tenant-a", "Create a new service", Map.of("file", "A.java")).verdict()).isSameAs(VERDICT);
+    }
+
+    @Test
+    @DisplayName("Should reuse a verdict for a semantically close prompt when enabled")
+    void shouldHitOnSimilarPrompt() {
+        properties.getRelevanceCache().getSemantic().setEnabled(true);
+        properties.getRelevanceCache().getSemantic().setThreshold(0.95f);
+        doReturn(new float[]{1f, 0f}).when(embeddingService).embed("Create a new service");
+        doReturn(new float[]{0.99f, 0.141f}).when(embeddingService).embed("Please create a new service");
+        doReturn(new float[]{0f, 1f}).when(embeddingService).embed("Explain the weather");
+        RelevanceVerdictCache cache = cache();
+
+        cache.put(cache.lookup("tenant-a", "Create a new service", null), VERDICT);
+
+        assertThat(cache.lookup("tenant-a", "Please create a new service", null).verdict()).isSameAs(VERDICT);
+        assertThat(cache.lookup("tenant-a", "Explain the weather", null).verdict()).isNull();
+        assertThat(cache.lookup("tenant-b", "Please create a new service", null).verdict()).isNull();
+        assertThat(requests("semantic", "hit")).isEqualTo(1);
+        assertThat(requests("semantic", "miss")).isEqualTo(3);
+    }
+}
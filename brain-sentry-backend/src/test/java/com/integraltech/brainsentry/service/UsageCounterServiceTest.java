@@ -0,0 +1,203 @@
+package com.integraltech.brainsentry.service;
+
+import com.integraltech.brainsentry.config.UsageCounterProperties;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("UsageCounterService Unit Tests")
+class UsageCounterServiceTest {
+
+    private static final String TENANT = "tenant-abc";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private MemoryRepository memoryGraphRepo;
+
+    private UsageCounterService usageCounters;
+
+    @BeforeEach
+    void setUp() {
+        usageCounters = new UsageCounterService(jdbcTemplate, memoryGraphRepo, new UsageCounterProperties());
+    }
+
+    /**
+     * The deltas written by every batch of the given statement, in order.
+     */
+    @SuppressWarnings("unchecked")
+    private List<UsageCounterService.Delta> flushedRows(String sql) {
+        ArgumentCaptor<Collection<UsageCounterService.Delta>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeast(0)).batchUpdate(eq(sql), rows.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        List<UsageCounterService.Delta> all = new ArrayList<>();
+        rows.getAllValues().forEach(all::addAll);
+        return all;
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated hits into one row update")
+    void shouldCoalesceHits() throws Exception {
+        // Given
+        IntStream.range(0, 1000).forEach(i -> usageCounters.recordMemoryAccess(TENANT, "mem-1"));
+        usageCounters.recordMemoryInjections(TENANT, List.of("mem-1", "mem-2"));
+
+        // When
+        usageCounters.flush();
+
+        // Then
+        Map<String, UsageCounterService.Delta> rows = flushedRows(UsageCounterService.UPDATE_MEMORIES).stream()
+            .collect(Collectors.toMap(row -> row.key().id(), Function.identity()));
+        assertThat(rows).containsOnlyKeys("mem-1", "mem-2");
+        UsageCounterService.Delta first = rows.get("mem-1");
+        assertThat(first.accesses()).isEqualTo(1000);
+        assertThat(first.injections()).isEqualTo(1);
+        assertThat(rows.get("mem-2").accesses()).isZero();
+        assertThat(rows.get("mem-2").injections()).isEqualTo(1);
+
+        // The statement binds increments, timestamps, id and tenant
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<UsageCounterService.Delta>> setter =
+            ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(UsageCounterService.UPDATE_MEMORIES), anyCollection(), eq(500),
+            setter.capture());
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, first);
+        verify(ps).setLong(1, 1000);
+        verify(ps).setLong(2, 1);
+        verify(ps).setString(5, "mem-1");
+        verify(ps).setString(6, TENANT);
+    }
+
+    @Test
+    @DisplayName("Should mirror memory increments to the graph in one call")
+    void shouldWriteGraphDeltas() {
+        // Given
+        usageCounters.recordMemoryAccess(TENANT, "mem-1");
+        usageCounters.recordMemoryInjections(TENANT, List.of("mem-1"));
+
+        // When
+        usageCounters.flush();
+
+        // Then
+        verify(memoryGraphRepo).incrementUsage(argThat(deltas -> deltas.size() == 1
+            && deltas.get(0).id().equals("mem-1")
+            && deltas.get(0).accessCount() == 1
+            && deltas.get(0).injectionCount() == 1
+            && deltas.get(0).lastAccessedAt() != null));
+    }
+
+    @Test
+    @DisplayName("Should count note references as references and accesses")
+    void shouldWriteNoteReferences() {
+        // Given
+        usageCounters.recordNoteReference(TENANT, "note-1");
+        usageCounters.recordNoteReference(TENANT, "note-1");
+
+        // When
+        usageCounters.flush();
+
+        // Then
+        assertThat(flushedRows(UsageCounterService.UPDATE_HINDSIGHT_NOTES))
+            .singleElement()
+            .satisfies(row -> {
+                assertThat(row.key().id()).isEqualTo("note-1");
+                assertThat(row.accesses()).isEqualTo(2);
+            });
+        assertThat(flushedRows(UsageCounterService.UPDATE_MEMORIES)).isEmpty();
+        verify(memoryGraphRepo, never()).incrementUsage(anyList());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when there were no hits")
+    void shouldSkipIdleFlush() {
+        // When
+        usageCounters.flush();
+        usageCounters.flush();
+
+        // Then
+        verifyNoInteractions(jdbcTemplate, memoryGraphRepo);
+    }
+
+    @Test
+    @DisplayName("Should keep the counts for the next flush when the database write fails")
+    void shouldRequeueFailedRows() {
+        // Given
+        usageCounters.recordMemoryAccess(TENANT, "mem-1");
+        when(jdbcTemplate.batchUpdate(eq(UsageCounterService.UPDATE_MEMORIES), anyCollection(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"))
+            .thenReturn(new int[][]{{1}});
+        usageCounters.flush();
+        verify(memoryGraphRepo, never()).incrementUsage(anyList());
+        usageCounters.recordMemoryAccess(TENANT, "mem-1");
+
+        // When
+        usageCounters.flush();
+
+        // Then
+        List<UsageCounterService.Delta> rows = flushedRows(UsageCounterService.UPDATE_MEMORIES);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(1).accesses()).isEqualTo(2);
+        // The graph and KV copies get the requeued delta once, with the later hit
+        verify(memoryGraphRepo, times(1)).incrementUsage(argThat(deltas -> deltas.size() == 1
+            && deltas.get(0).id().equals("mem-1")
+            && deltas.get(0).accessCount() == 2));
+        verify(memoryGraphRepo, times(1)).incrementUsage(anyList());
+    }
+
+    @Test
+    @DisplayName("Should not lose increments made concurrently with flushes")
+    void shouldCountConcurrentHits() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> IntStream.range(0, 10_000)
+                .forEach(i -> usageCounters.recordMemoryAccess(TENANT, "mem-" + (i % 4))));
+        }
+        for (int i = 0; i < 20; i++) {
+            usageCounters.flush();
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        usageCounters.flush();
+        usageCounters.flush();
+
+        // Then
+        long total = flushedRows(UsageCounterService.UPDATE_MEMORIES).stream()
+            .mapToLong(UsageCounterService.Delta::accesses)
+            .sum();
+        assertThat(total).isEqualTo(80_000);
+    }
+}
@@ -0,0 +1,142 @@
+package com.integraltech.brainsentry.service.context;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.domain.HindsightNote;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.domain.enums.NoteSeverity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ContextAssembler Unit Tests")
+class ContextAssemblerTest {
+
+    private final TokenCounter tokenCounter = new TokenCounter(new InterceptionProperties());
+    private final ContextAssembler assembler = new ContextAssembler(tokenCounter);
+
+    private static Memory memory(String id, ImportanceLevel importance, String code) {
+        return Memory.builder()
+            .id(id)
+            .summary("Use constructor injection in " + id)
+            .content("Always use constructor injection")
+            .category(MemoryCategory.PATTERN)
+            .importance(importance)
+            .codeExample(code)
+            .programmingLanguage("java")
+            .build();
+    }
+
+    private static HindsightNote note(String id, NoteSeverity severity) {
+        return HindsightNote.builder()
+            .id(id)
+            .title("NPE in order lookup " + id)
+            .severity(severity)
+            .resolution("Check Optional before calling get()")
+            .build();
+    }
+
+    private static String code(int lines) {
+        return IntStream.range(0, lines)
+            .mapToObj(i -> "repository.save(new Order(" + i + ", customer, items, Instant.now()));")
+            .collect(Collectors.joining("\n"));
+    }
+
+    @Test
+    @DisplayName("Should include everything that fits, in retrieval order")
+    void shouldKeepEverythingWithinBudget() {
+        List<Memory> memories = List.of(memory("mem-1", ImportanceLevel.IMPORTANT, null),
+            memory("mem-2", ImportanceLevel.CRITICAL, "service.run();"));
+        List<HindsightNote> notes = List.of(note("note-1", NoteSeverity.HIGH));
+
+        ContextAssembler.Assembly assembly = assembler.assemble(memories, notes, 500);
+
+        assertThat(assembly.memories()).extracting(Memory::getId).containsExactly("mem-1", "mem-2");
+        assertThat(assembly.notes()).extracting(HindsightNote::getId).containsExactly("note-1");
+        assertThat(assembly.truncated()).isFalse();
+        assertThat(assembly.context())
+            .startsWith(ContextAssembler.HEADER + "[1] Important - ")
+            .contains("[2] Critical - ", "```java\n    service.run();\n    ```", ContextAssembler.NOTES_HEADER)
+            .endsWith(ContextAssembler.FOOTER);
+        assertThat(assembly.tokens()).isEqualTo(tokenCounter.count(assembly.context()));
+    }
+
+    @Test
+    @DisplayName("Should never exceed the token budget")
+    void shouldRespectBudget() {
+        List<Memory> memories = IntStream.range(0, 10)
+            .mapToObj(i -> memory("mem-" + i, ImportanceLevel.IMPORTANT, code(5)))
+            .toList();
+        List<HindsightNote> notes = IntStream.range(0, 5)
+            .mapToObj(i -> note("note-" + i, NoteSeverity.MEDIUM))
+            .toList();
+
+        for (int budget : new int[]{60, 150, 300, 700}) {
+            ContextAssembler.Assembly assembly = assembler.assemble(memories, notes, budget);
+
+            assertThat(assembly.tokens()).isLessThanOrEqualTo(budget);
+            assertThat(tokenCounter.count(assembly.context())).isEqualTo(assembly.tokens());
+            assertThat(assembly.truncated()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should prefer the most valuable context per token")
+    void shouldPreferValuePerToken() {
+        // Same size, but the critical memory is worth more despite its lower rank
+        Memory minor = memory("mem-a", ImportanceLevel.MINOR, null);
+        Memory critical = memory("mem-b", ImportanceLevel.CRITICAL, null);
+        int oneMemory = assembler.assemble(List.of(critical), List.of(), 500).tokens();
+
+        ContextAssembler.Assembly assembly = assembler.assemble(List.of(minor, critical), List.of(), oneMemory + 2);
+
+        assertThat(assembly.memories()).containsExactly(critical);
+        assertThat(assembly.truncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the leading lines of a code example that does not fit")
+    void shouldTruncateCodeAtLineBoundary() {
+        Memory memory = memory("mem-1", ImportanceLevel.CRITICAL, code(60));
+
+        ContextAssembler.Assembly assembly = assembler.assemble(List.of(memory), List.of(), 300);
+
+        assertThat(assembly.memories()).containsExactly(memory);
+        assertThat(assembly.truncated()).isTrue();
+        assertThat(assembly.tokens()).isLessThanOrEqualTo(300);
+        assertThat(assembly.context())
+            .contains("Order(0, customer", ContextAssembler.TRUNCATION_MARKER + "\n    ```")
+            .doesNotContain("Order(59");
+        // Only whole lines are kept
+        assertThat(assembly.context().lines().filter(line -> line.contains("repository.save(")))
+            .allMatch(line -> line.endsWith("Instant.now()));"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the summary when no useful part of the code fits")
+    void shouldDropCodeWhenTooSmall() {
+        Memory memory = memory("mem-1", ImportanceLevel.CRITICAL, code(60));
+
+        ContextAssembler.Assembly assembly = assembler.assemble(List.of(memory), List.of(), 50);
+
+        assertThat(assembly.memories()).containsExactly(memory);
+        assertThat(assembly.context()).contains("Use constructor injection in mem-1").doesNotContain("```");
+    }
+
+    @Test
+    @DisplayName("Should return an empty assembly when nothing fits")
+    void shouldReturnEmptyWhenBudgetTooSmall() {
+        ContextAssembler.Assembly assembly = assembler.assemble(
+            List.of(memory("mem-1", ImportanceLevel.CRITICAL, null)), List.of(note("note-1", NoteSeverity.HIGH)), 10);
+
+        assertThat(assembly.isEmpty()).isTrue();
+        assertThat(assembly.context()).isEmpty();
+        assertThat(assembly.tokens()).isZero();
+    }
+}
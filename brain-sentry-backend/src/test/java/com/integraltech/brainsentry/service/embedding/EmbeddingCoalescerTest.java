@@ -0,0 +1,104 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("EmbeddingCoalescer Unit Tests")
+class EmbeddingCoalescerTest {
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private EmbeddingCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent requests into batches and return each caller its embedding")
+    void shouldCoalesceConcurrentRequests() {
+        coalescer = new EmbeddingCoalescer(this::lengthEmbedder, 16, 50_000);
+
+        List<CompletableFuture<float[]>> futures = IntStream.range(0, 40)
+            .mapToObj(i -> coalescer.submit("x".repeat(i + 1)))
+            .toList();
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).join()[0]).isEqualTo(i + 1);
+        }
+        assertThat(batchSizes).allMatch(size -> size <= 16);
+        assertThat(batchSizes.size()).isLessThan(40);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Should embed duplicate texts in the same batch only once")
+    void shouldDeduplicateWithinBatch() {
+        coalescer = new EmbeddingCoalescer(this::lengthEmbedder, 16, 50_000);
+
+        CompletableFuture<float[]> first = coalescer.submit("same");
+        CompletableFuture<float[]> second = coalescer.submit("same");
+
+        assertThat(first.join()).containsExactly(second.join());
+        assertThat(first.join()).isNotSameAs(second.join());
+        assertThat(batchSizes).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should propagate embedder failures to every caller in the batch")
+    void shouldPropagateFailures() {
+        coalescer = new EmbeddingCoalescer(texts -> {
+            throw new IllegalStateException("model unavailable");
+        }, 8, 1_000);
+
+        assertThatThrownBy(() -> coalescer.submit("text").join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should complete every caller when the embedder throws an Error")
+    void shouldPropagateErrors() {
+        coalescer = new EmbeddingCoalescer(texts -> {
+            throw new UnsatisfiedLinkError("onnxruntime");
+        }, 8, 1_000);
+
+        CompletableFuture<float[]> first = coalescer.submit("a");
+        CompletableFuture<float[]> second = coalescer.submit("b");
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(UnsatisfiedLinkError.class);
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(UnsatisfiedLinkError.class);
+    }
+
+    @Test
+    @DisplayName("Should reject requests after close")
+    void shouldRejectAfterClose() {
+        coalescer = new EmbeddingCoalescer(this::lengthEmbedder, 8, 1_000);
+        coalescer.close();
+
+        assertThat(coalescer.submit("text")).isCompletedExceptionally();
+    }
+
+    private List<float[]> lengthEmbedder(List<String> texts) {
+        batchSizes.add(texts.size());
+        List<float[]> embeddings = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            embeddings.add(new float[]{text.length()});
+        }
+        return embeddings;
+    }
+}
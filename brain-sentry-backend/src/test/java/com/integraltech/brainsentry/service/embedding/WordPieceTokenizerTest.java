@@ -0,0 +1,57 @@
+package com.integraltech.brainsentry.service.embedding;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("WordPieceTokenizer Unit Tests")
+class WordPieceTokenizerTest {
+
+    // IDs: [PAD]=0 [UNK]=1 [CLS]=2 [SEP]=3 then the words below
+    private static final List<String> VOCAB = List.of(
+        "[PAD]", "[UNK]", "[CLS]", "[SEP]",
+        "use", "spring", "boot", "##s", "embed", "##ding", "!", "cafe", "null"
+    );
+
+    private WordPieceTokenizer tokenizer;
+
+    @BeforeEach
+    void setUp() {
+        tokenizer = new WordPieceTokenizer(VOCAB);
+    }
+
+    @Test
+    @DisplayName("Should wrap tokens in CLS/SEP and split word pieces")
+    void shouldEncodeWithWordPieces() {
+        int[] ids = tokenizer.encode("Use Spring Boots embedding!", 32);
+
+        assertThat(ids).containsExactly(2, 4, 5, 6, 7, 8, 9, 10, 3);
+    }
+
+    @Test
+    @DisplayName("Should lowercase, strip accents and map unknown words to UNK")
+    void shouldNormalizeAndHandleUnknown() {
+        assertThat(tokenizer.encode("CAFÉ xyz", 32)).containsExactly(2, 11, 1, 3);
+        assertThat(tokenizer.basicTokenize("null,pointer")).containsExactly("null", ",", "pointer");
+    }
+
+    @Test
+    @DisplayName("Should truncate to max length keeping SEP")
+    void shouldTruncate() {
+        int[] ids = tokenizer.encode("use spring boot use spring boot", 5);
+
+        assertThat(ids).containsExactly(2, 4, 5, 6, 3);
+    }
+
+    @Test
+    @DisplayName("Should require special tokens in vocabulary")
+    void shouldRequireSpecialTokens() {
+        assertThatThrownBy(() -> new WordPieceTokenizer(List.of("hello")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.integraltech.brainsentry.service.keyword;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("KeywordDictionary Unit Tests")
+class KeywordDictionaryTest {
+
+    private InterceptionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterceptionProperties();
+    }
+
+    @Test
+    @DisplayName("Should classify prompts with the built-in keywords")
+    void shouldUseBuiltInKeywords() {
+        KeywordDictionary dictionary = new KeywordDictionary(properties);
+
+        long matched = dictionary.match(null, "Fix the NullPointerException timeout in UserService");
+
+        assertThat(KeywordClass.RELEVANCE.in(matched)).isTrue();
+        assertThat(KeywordClass.ERROR.in(matched)).isTrue();
+        assertThat(KeywordClass.errorType(matched)).isEqualTo("NullPointerException");
+        assertThat(dictionary.match(null, "What is the weather like today?")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should add global and tenant keywords only where configured")
+    void shouldApplyTenantKeywords() {
+        properties.getKeywords().setExtra(Map.of(KeywordClass.RELEVANCE, List.of("kafka")));
+        properties.getKeywords().setTenants(Map.of(
+            "tenant-a", Map.of(KeywordClass.RELEVANCE, List.of("invoice"))));
+        KeywordDictionary dictionary = new KeywordDictionary(properties);
+
+        assertThat(KeywordClass.RELEVANCE.in(dictionary.match("tenant-b", "kafka lag"))).isTrue();
+        assertThat(KeywordClass.RELEVANCE.in(dictionary.match("tenant-a", "invoice totals"))).isTrue();
+        assertThat(KeywordClass.RELEVANCE.in(dictionary.match("tenant-b", "invoice totals"))).isFalse();
+        assertThat(dictionary.matcherFor("tenant-a")).isSameAs(dictionary.matcherFor("tenant-a"));
+        assertThat(dictionary.matcherFor("tenant-b")).isSameAs(dictionary.matcherFor(null));
+    }
+}
@@ -0,0 +1,73 @@
+package com.integraltech.brainsentry.service.keyword;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("KeywordMatcher Unit Tests")
+class KeywordMatcherTest {
+
+    @Test
+    @DisplayName("Should report every class with a keyword in the text, case-insensitively")
+    void shouldMatchAllClassesInOnePass() {
+        KeywordMatcher matcher = KeywordMatcher.builder()
+            .add(0, List.of("service"))
+            .add(1, List.of("exception", "failed"))
+            .add(2, List.of("timeout"))
+            .build();
+
+        assertThat(matcher.match("The OrderService FAILED with an exception")).isEqualTo(0b011L);
+        assertThat(matcher.match("nothing here")).isZero();
+        assertThat(matcher.match(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find overlapping and nested keywords via failure links")
+    void shouldFindOverlappingKeywords() {
+        KeywordMatcher matcher = KeywordMatcher.builder()
+            .add(0, List.of("he"))
+            .add(1, List.of("she"))
+            .add(2, List.of("hers"))
+            .add(3, List.of("his"))
+            .build();
+
+        assertThat(matcher.match("ushers")).isEqualTo(0b0111L);
+        assertThat(matcher.match("ahishe")).isEqualTo(0b1011L);
+    }
+
+    @Test
+    @DisplayName("Should match multi-word and non-ASCII keywords")
+    void shouldMatchSpacesAndUnicode() {
+        KeywordMatcher matcher = KeywordMatcher.builder()
+            .add(0, List.of("null pointer"))
+            .add(1, List.of("décision"))
+            .build();
+
+        assertThat(matcher.match("a Null Pointer here")).isEqualTo(0b01L);
+        assertThat(matcher.match("Une DÉCISION importante")).isEqualTo(0b10L);
+        assertThat(matcher.match("nullpointer decision")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should ignore blank keywords and reject out-of-range classes")
+    void shouldValidateInput() {
+        KeywordMatcher matcher = KeywordMatcher.builder().add(0, List.of("", " ")).build();
+
+        assertThat(matcher.match("anything")).isZero();
+        assertThatThrownBy(() -> KeywordMatcher.builder().add(64, List.of("x")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should pick the highest-priority error type")
+    void shouldResolveErrorTypeByPriority() {
+        long matched = (1L << KeywordClass.RUNTIME.ordinal()) | (1L << KeywordClass.TIMEOUT.ordinal());
+
+        assertThat(KeywordClass.errorType(matched)).isEqualTo("TimeoutException");
+        assertThat(KeywordClass.errorType(1L << KeywordClass.RELEVANCE.ordinal())).isEqualTo("UNKNOWN");
+    }
+}
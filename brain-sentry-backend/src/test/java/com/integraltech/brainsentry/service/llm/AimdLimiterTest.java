@@ -0,0 +1,66 @@
+package com.integraltech.brainsentry.service.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AimdLimiter Unit Tests")
+class AimdLimiterTest {
+
+    @Test
+    @DisplayName("Should reject calls over the limit")
+    void shouldRejectOverLimit() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 10, 0.5);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.onIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should grow additively up to the bulkhead size")
+    void shouldIncreaseAdditively() {
+        AimdLimiter limiter = new AimdLimiter(2, 1, 3, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.onSuccess();
+            limiter.onSuccess();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not grow while mostly idle")
+    void shouldNotGrowWhenIdle() {
+        AimdLimiter limiter = new AimdLimiter(8, 1, 32, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onSuccess();
+
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should shrink multiplicatively down to the minimum on drops")
+    void shouldDecreaseMultiplicatively() {
+        AimdLimiter limiter = new AimdLimiter(8, 2, 32, 0.5);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,104 @@
+package com.integraltech.brainsentry.service.llm;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CircuitBreaker Unit Tests")
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        // window 4, at least 4 calls, open at 50% failures, 10s open, 2 trial calls
+        breaker = new CircuitBreaker("test", 4, 4, 0.5, Duration.ofSeconds(10), 2, clock::get);
+    }
+
+    private void call(boolean success) {
+        assertThat(breaker.tryAcquire()).isTrue();
+        if (success) {
+            breaker.onSuccess();
+        } else {
+            breaker.onFailure();
+        }
+    }
+
+    private void open() {
+        call(true);
+        call(true);
+        call(false);
+        call(false);
+    }
+
+    @Test
+    @DisplayName("Should stay closed below the minimum number of calls")
+    void shouldWaitForMinimumCalls() {
+        call(false);
+        call(false);
+        call(false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should open at the failure rate threshold and reject calls")
+    void shouldOpen() {
+        open();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should only count the calls in the sliding window")
+    void shouldSlideWindow() {
+        call(false);
+        call(true);
+        call(true);
+        call(true);
+        // The first failure leaves the window; 1 of 4 failed
+        call(false);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should close after the trial calls succeed")
+    void shouldCloseAfterTrialCalls() {
+        // Given
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.tryAcquire()).isFalse();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen when a trial call fails")
+    void shouldReopenOnTrialFailure() {
+        // Given
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        call(false);
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,91 @@
+package com.integraltech.brainsentry.service.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JsonArrayScanner Unit Tests")
+class JsonArrayScannerTest {
+
+    @Test
+    @DisplayName("Should return every object of a complete array")
+    void shouldScanCompleteArray() {
+        // Given
+        JsonArrayScanner scanner = new JsonArrayScanner();
+
+        // When
+        List<String> elements = scanner.feed("[{\"index\": 1}, {\"index\": 2, \"nested\": {\"a\": [1, 2]}}]");
+
+        // Then
+        assertThat(elements).containsExactly("{\"index\": 1}", "{\"index\": 2, \"nested\": {\"a\": [1, 2]}}");
+        assertThat(scanner.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return each object as soon as it is complete when fed in chunks")
+    void shouldScanChunks() {
+        // Given
+        JsonArrayScanner scanner = new JsonArrayScanner();
+
+        // When / Then
+        assertThat(scanner.feed("[{\"ind")).isEmpty();
+        assertThat(scanner.feed("ex\": 1}, {\"index\"")).containsExactly("{\"index\": 1}");
+        assertThat(scanner.feed(": 2}")).containsExactly("{\"index\": 2}");
+        assertThat(scanner.isDone()).isFalse();
+        assertThat(scanner.feed("]")).isEmpty();
+        assertThat(scanner.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the complete objects of a truncated answer")
+    void shouldKeepCompleteObjectsOfTruncatedAnswer() {
+        // When
+        List<String> elements = new JsonArrayScanner().feed("[{\"index\": 1}, {\"index\": 2, \"reasoning\": \"cut");
+
+        // Then
+        assertThat(elements).containsExactly("{\"index\": 1}");
+    }
+
+    @Test
+    @DisplayName("Should skip prose, code fences and wrapper objects before the array")
+    void shouldSkipTextBeforeArray() {
+        // When
+        List<String> elements = new JsonArrayScanner()
+            .feed("Here you go:\n```json\n{\"results\": [{\"index\": 1}]}\n```");
+
+        // Then
+        assertThat(elements).containsExactly("{\"index\": 1}");
+    }
+
+    @Test
+    @DisplayName("Should ignore braces and quotes inside strings")
+    void shouldIgnoreBracesInStrings() {
+        // Given
+        String element = "{\"reasoning\": \"uses } and ] and \\\"{quoted}\\\"\"}";
+
+        // When
+        List<String> elements = new ArrayList<>();
+        JsonArrayScanner scanner = new JsonArrayScanner();
+        for (char c : ("[" + element + "]").toCharArray()) {
+            elements.addAll(scanner.feed(String.valueOf(c)));
+        }
+
+        // Then
+        assertThat(elements).containsExactly(element);
+        assertThat(scanner.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should skip elements that are not objects")
+    void shouldSkipNonObjects() {
+        // When
+        List<String> elements = new JsonArrayScanner().feed("[1, \"tw]o\", [{\"index\": 2}], {\"index\": 3}, null]");
+
+        // Then
+        assertThat(elements).containsExactly("{\"index\": 3}");
+    }
+}
@@ -0,0 +1,74 @@
+package com.integraltech.brainsentry.service.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+@DisplayName("JsonObjectScanner Unit Tests")
+class JsonObjectScannerTest {
+
+    private final JsonObjectScanner scanner = new JsonObjectScanner(List.of("needsContext", "confidence"));
+
+    @Test
+    @DisplayName("Should record every top-level field of a complete object")
+    void shouldScanCompleteObject() {
+        // When
+        boolean complete = scanner.feed("""
+            {"needsContext": true, "confidence": 0.85, "reasoning": "uses {braces}, \\"quotes\\"",
+             "categories": ["PATTERN", "DECISION"], "extra": {"nested": [1, {"a": null}]}, "last": null}
+            """);
+
+        // Then
+        assertThat(complete).isTrue();
+        assertThat(scanner.isDone()).isTrue();
+        assertThat(scanner.getFields()).containsExactly(
+            entry("needsContext", "true"),
+            entry("confidence", "0.85"),
+            entry("reasoning", "\"uses {braces}, \\\"quotes\\\"\""),
+            entry("categories", "[\"PATTERN\", \"DECISION\"]"),
+            entry("extra", "{\"nested\": [1, {\"a\": null}]}"),
+            entry("last", "null"));
+    }
+
+    @Test
+    @DisplayName("Should report the required fields as soon as they are complete")
+    void shouldReportRequiredFieldsWhenStreamed() {
+        // When / Then
+        assertThat(scanner.feed("```json\n{\"needs")).isFalse();
+        assertThat(scanner.feed("Context\": tr")).isFalse();
+        assertThat(scanner.feed("ue, \"confidence\": 0.")).isFalse();
+        assertThat(scanner.getFields()).containsOnlyKeys("needsContext");
+        // More digits could still follow
+        assertThat(scanner.feed("9")).isFalse();
+        assertThat(scanner.feed(", \"reasoning\": \"")).isTrue();
+        assertThat(scanner.getFields()).containsEntry("confidence", "0.9");
+        assertThat(scanner.isDone()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should complete a number closing the object")
+    void shouldCompleteLastNumber() {
+        // When
+        boolean complete = scanner.feed("{\"needsContext\":false,\"confidence\":1}");
+
+        // Then
+        assertThat(complete).isTrue();
+        assertThat(scanner.getFields()).containsEntry("confidence", "1");
+        assertThat(scanner.isDone()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not report fields cut off by the end of the output")
+    void shouldIgnoreTruncatedValues() {
+        // When
+        boolean complete = scanner.feed("{\"needsContext\": true, \"reasoning\": \"cut");
+
+        // Then
+        assertThat(complete).isFalse();
+        assertThat(scanner.getFields()).containsOnlyKeys("needsContext");
+    }
+}
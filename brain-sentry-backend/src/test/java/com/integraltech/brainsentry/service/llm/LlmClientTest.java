@@ -0,0 +1,251 @@
+package com.integraltech.brainsentry.service.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.integraltech.brainsentry.config.OpenRouterConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LlmClient Unit Tests")
+class LlmClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+
+    private HttpServer server;
+    private OpenRouterConfig config;
+    private LlmClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+
+        config = new OpenRouterConfig();
+        config.setApiKey("test-key");
+        config.setModel("test-model");
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/chat/completions");
+        config.setTimeout(2_000);
+        client = new LlmClient(config, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    private void respond(int status, String body, long delayMs) {
+        server.createContext("/chat/completions", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+    }
+
+    /**
+     * Stream the pieces as server-sent events, pausing before the ones after {@code pauseAfter}.
+     */
+    private void stream(int pauseAfter, long pauseMs, String... pieces) {
+        server.createContext("/chat/completions", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(": OPENROUTER PROCESSING\n\n".getBytes(StandardCharsets.UTF_8));
+                for (int i = 0; i < pieces.length; i++) {
+                    if (i == pauseAfter) {
+                        Thread.sleep(pauseMs);
+                    }
+                    String chunk = objectMapper.writeValueAsString(
+                        Map.of("choices", List.of(Map.of("delta", Map.of("content", pieces[i])))));
+                    out.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | InterruptedException e) {
+                // The client stopped reading
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should build a request with the configured model, timeout and headers")
+    void shouldBuildRequest() throws Exception {
+        // When
+        HttpRequest request = client.buildRequest("system", "user", 300, Duration.ofMillis(2_000));
+
+        // Then
+        assertThat(request.method()).isEqualTo("POST");
+        assertThat(request.timeout()).contains(Duration.ofMillis(2_000));
+        assertThat(request.headers().firstValue("Authorization")).contains("Bearer test-key");
+        assertThat(request.headers().firstValue("X-Title")).contains("Brain Sentry");
+    }
+
+    @Test
+    @DisplayName("Should complete with the first choice content")
+    void shouldReturnContent() throws Exception {
+        // Given
+        respond(200, "{\"choices\":[{\"message\":{\"content\":\"{\\\"ok\\\":true}\"}}]}", 0);
+
+        // When
+        String content = client.complete("system", "user", 300).get();
+
+        // Then
+        assertThat(content).isEqualTo("{\"ok\":true}");
+        assertThat(authorization.get()).isEqualTo("Bearer test-key");
+        JsonNode body = objectMapper.readTree(requestBody.get());
+        assertThat(body.path("model").asText()).isEqualTo("test-model");
+        assertThat(body.path("messages").get(1).path("content").asText()).isEqualTo("user");
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally on a non-2xx status")
+    void shouldFailOnErrorStatus() {
+        // Given
+        respond(429, "{\"error\":\"rate limited\"}", 0);
+
+        // When / Then
+        assertThatThrownBy(() -> client.complete("system", "user", 300).join())
+            .isInstanceOf(CompletionException.class)
+            .cause()
+            .isInstanceOfSatisfying(LlmClient.LlmStatusException.class,
+                e -> assertThat(e.getStatus()).isEqualTo(429));
+    }
+
+    @Test
+    @DisplayName("Should give up on a response slower than the timeout")
+    void shouldTimeOut() {
+        // Given
+        config.setTimeout(200);
+        respond(200, "{\"choices\":[]}", 2_000);
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<String> future = client.complete("system", "user", 300);
+
+        // Then: the request timeout and the overall deadline expire together
+        assertThatThrownBy(future::join)
+            .cause()
+            .isInstanceOfAny(HttpTimeoutException.class, TimeoutException.class);
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Should give up on a body that stalls after the headers")
+    void shouldTimeOutStalledBody() {
+        // Given
+        config.setTimeout(200);
+        server.createContext("/chat/completions", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("{\"choices\":[".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+                Thread.sleep(2_000);
+                out.write("]}".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | InterruptedException e) {
+                // The client gave up
+            }
+        });
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<String> future = client.complete("system", "user", 300);
+
+        // Then
+        assertThatThrownBy(future::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Should stream the content of every event")
+    void shouldStreamContent() throws Exception {
+        // Given
+        stream(-1, 0, "{\"needs", "Context\": true", "}");
+        StringBuilder pieces = new StringBuilder();
+
+        // When
+        String content = client.stream("system", "user", 300, Duration.ofSeconds(2), piece -> {
+            pieces.append(piece).append('|');
+            return false;
+        }).get();
+
+        // Then
+        assertThat(content).isEqualTo("{\"needsContext\": true}");
+        assertThat(pieces.toString()).isEqualTo("{\"needs|Context\": true|}|");
+        assertThat(objectMapper.readTree(requestBody.get()).path("stream").asBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should stop reading once the callback has what it needs")
+    void shouldStopStreamEarly() {
+        // Given
+        stream(2, 2_000, "{\"needsContext\": true,", " \"confidence\": 0.9,", " \"reasoning\": \"slow\"}");
+        JsonObjectScanner scanner = new JsonObjectScanner(List.of("needsContext", "confidence"));
+
+        // When
+        long start = System.nanoTime();
+        String content = client.stream("system", "user", 300, Duration.ofSeconds(5), scanner::feed).join();
+
+        // Then
+        assertThat(content).isEqualTo("{\"needsContext\": true, \"confidence\": 0.9,");
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Should give up on a stream slower than the timeout")
+    void shouldTimeOutStream() {
+        // Given
+        stream(1, 2_000, "{", "}");
+
+        // When
+        long start = System.nanoTime();
+        CompletableFuture<String> future = client.stream("system", "user", 300, Duration.ofMillis(200), piece -> false);
+
+        // Then
+        assertThatThrownBy(future::join).hasCauseInstanceOf(TimeoutException.class);
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_500);
+    }
+
+    @Test
+    @DisplayName("Should fail a stream answered with a non-2xx status")
+    void shouldFailStreamOnErrorStatus() {
+        // Given
+        respond(503, "{\"error\":\"unavailable\"}", 0);
+
+        // When / Then
+        assertThatThrownBy(() -> client.stream("system", "user", 300, Duration.ofSeconds(2), piece -> false).join())
+            .cause()
+            .isInstanceOfSatisfying(LlmClient.LlmStatusException.class,
+                e -> assertThat(e.getStatus()).isEqualTo(503));
+    }
+}
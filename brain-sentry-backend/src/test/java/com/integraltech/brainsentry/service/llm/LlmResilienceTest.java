@@ -0,0 +1,191 @@
+package com.integraltech.brainsentry.service.llm;
+
+import com.integraltech.brainsentry.config.LlmResilienceProperties;
+import com.integraltech.brainsentry.config.OpenRouterConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LlmResilience Unit Tests")
+class LlmResilienceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private LlmResilienceProperties properties;
+    private OpenRouterConfig config;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LlmResilienceProperties();
+        properties.getCircuitBreaker().setWindowSize(4);
+        properties.getCircuitBreaker().setMinimumCalls(4);
+        properties.getRetry().setBaseBackoff(Duration.ofMillis(1));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(5));
+        config = new OpenRouterConfig();
+        config.setMaxRetries(2);
+    }
+
+    private LlmResilience resilience() {
+        return new LlmResilience(properties, config, clock::get);
+    }
+
+    /**
+     * A call failing with the given errors, then answering "ok".
+     */
+    private CompletableFuture<String> call(Throwable... errors) {
+        int attempt = calls.getAndIncrement();
+        return attempt < errors.length
+            ? CompletableFuture.failedFuture(errors[attempt])
+            : CompletableFuture.completedFuture("ok");
+    }
+
+    private static Throwable rootCause(CompletableFuture<?> future) {
+        try {
+            future.join();
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    @DisplayName("Should retry 429 and 5xx responses")
+    void shouldRetryRetryableStatus() {
+        // When
+        String result = resilience().execute(LlmOperation.RELEVANCE,
+            timeout -> call(new LlmClient.LlmStatusException(429), new LlmClient.LlmStatusException(503))).join();
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should give up after max retries")
+    void shouldStopAfterMaxRetries() {
+        // Given
+        LlmClient.LlmStatusException unavailable = new LlmClient.LlmStatusException(503);
+
+        // When
+        CompletableFuture<String> result = resilience().execute(LlmOperation.RELEVANCE,
+            timeout -> call(unavailable, unavailable, unavailable));
+
+        // Then
+        assertThat(rootCause(result)).isSameAs(unavailable);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry timeouts or client errors")
+    void shouldNotRetryTimeoutsOrClientErrors() {
+        LlmResilience resilience = resilience();
+
+        assertThat(rootCause(resilience.execute(LlmOperation.RELEVANCE,
+            timeout -> call(new HttpTimeoutException("timed out"))))).isInstanceOf(HttpTimeoutException.class);
+        assertThat(calls).hasValue(1);
+
+        calls.set(0);
+        assertThat(rootCause(resilience.execute(LlmOperation.RELEVANCE,
+            timeout -> call(new LlmClient.LlmStatusException(401))))).isInstanceOf(LlmClient.LlmStatusException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling once the breaker opens")
+    void shouldFailFastWhenOpen() {
+        // Given
+        config.setMaxRetries(0);
+        LlmResilience resilience = resilience();
+        for (int i = 0; i < 4; i++) {
+            calls.set(0);
+            resilience.execute(LlmOperation.RELEVANCE, timeout -> call(new HttpTimeoutException("timed out")));
+        }
+        calls.set(0);
+
+        // When
+        CompletableFuture<String> result = resilience.execute(LlmOperation.RELEVANCE, timeout -> call());
+
+        // Then
+        assertThat(resilience.state(LlmOperation.RELEVANCE)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(rootCause(result)).isInstanceOf(LlmResilience.LlmRejectedException.class);
+        assertThat(calls).hasValue(0);
+        // Other operations keep their own breaker
+        assertThat(resilience.execute(LlmOperation.CHAT, timeout -> call()).join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should not count client errors against the breaker")
+    void shouldIgnoreClientErrors() {
+        // Given
+        LlmResilience resilience = resilience();
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            calls.set(0);
+            resilience.execute(LlmOperation.RELEVANCE, timeout -> call(new LlmClient.LlmStatusException(400)));
+        }
+
+        // Then
+        assertThat(resilience.state(LlmOperation.RELEVANCE)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reject calls over the concurrency limit")
+    void shouldRejectOverLimit() {
+        // Given
+        properties.getLimiter().setInitialLimit(1);
+        LlmResilience resilience = resilience();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        resilience.execute(LlmOperation.IMPORTANCE, timeout -> pending);
+
+        // When
+        CompletableFuture<String> rejected = resilience.execute(LlmOperation.IMPORTANCE, timeout -> call());
+
+        // Then
+        assertThat(rootCause(rejected)).isInstanceOf(LlmResilience.LlmRejectedException.class);
+        assertThat(calls).hasValue(0);
+
+        pending.complete("done");
+        assertThat(resilience.execute(LlmOperation.IMPORTANCE, timeout -> call()).join()).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should shrink the concurrency limit when the provider throttles")
+    void shouldShrinkLimitOnThrottling() {
+        // Given
+        config.setMaxRetries(0);
+        properties.getLimiter().setBackoffRatio(0.5);
+        LlmResilience resilience = resilience();
+
+        // When
+        resilience.execute(LlmOperation.CHAT, timeout -> call(new LlmClient.LlmStatusException(429)));
+
+        // Then
+        assertThat(resilience.limit(LlmOperation.CHAT)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should pass the operation timeout, or the client timeout if none is set")
+    void shouldPassTimeout() {
+        // Given
+        config.setTimeout(60_000);
+        properties.getTimeouts().remove(LlmOperation.CHAT);
+        LlmResilience resilience = resilience();
+
+        // When / Then
+        assertThat(resilience.execute(LlmOperation.RELEVANCE, CompletableFuture::completedFuture).join())
+            .isEqualTo(Duration.ofSeconds(5));
+        assertThat(resilience.execute(LlmOperation.CHAT, CompletableFuture::completedFuture).join())
+            .isEqualTo(Duration.ofSeconds(60));
+    }
+}
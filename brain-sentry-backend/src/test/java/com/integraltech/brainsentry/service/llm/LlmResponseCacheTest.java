@@ -0,0 +1,108 @@
+package com.integraltech.brainsentry.service.llm;
+
+import com.integraltech.brainsentry.config.LlmCacheProperties;
+import com.integraltech.brainsentry.config.OpenRouterConfig;
+import com.integraltech.brainsentry.domain.LlmCachedResponse;
+import com.integraltech.brainsentry.repository.LlmCachedResponseJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("LlmResponseCache Unit Tests")
+class LlmResponseCacheTest {
+
+    @Mock
+    private LlmCachedResponseJpaRepository repository;
+
+    private LlmCacheProperties properties;
+    private OpenRouterConfig config;
+    private LlmResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LlmCacheProperties();
+        config = new OpenRouterConfig();
+        config.setTemperature(0.2);
+        cache = new LlmResponseCache(repository, properties, config);
+    }
+
+    @Test
+    @DisplayName("Should key on everything that determines the response")
+    void shouldKeyOnRequest() {
+        String key = cache.key(LlmOperation.IMPORTANCE, "system", "content", 500);
+
+        assertThat(key).hasSize(64).isEqualTo(cache.key(LlmOperation.IMPORTANCE, "system", "content", 500));
+        assertThat(key).isNotEqualTo(cache.key(LlmOperation.RELATIONSHIP, "system", "content", 500));
+        assertThat(key).isNotEqualTo(cache.key(LlmOperation.IMPORTANCE, "system", "content", 300));
+        assertThat(key).isNotEqualTo(cache.key(LlmOperation.IMPORTANCE, "system", "other content", 500));
+        config.setModel("other-model");
+        assertThat(key).isNotEqualTo(cache.key(LlmOperation.IMPORTANCE, "system", "content", 500));
+    }
+
+    @Test
+    @DisplayName("Should store responses with the TTL of their operation")
+    void shouldStoreWithTtl() {
+        // When
+        cache.put(LlmOperation.ENTITY_EXTRACTION, "key", "{\"entities\":[]}");
+
+        // Then
+        ArgumentCaptor<LlmCachedResponse> saved = ArgumentCaptor.forClass(LlmCachedResponse.class);
+        verify(repository).save(saved.capture());
+        assertThat(saved.getValue().getResponse()).isEqualTo("{\"entities\":[]}");
+        assertThat(Duration.between(saved.getValue().getCreatedAt(), saved.getValue().getExpiresAt()))
+            .isEqualTo(Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("Should not cache operations without a TTL or at high temperature")
+    void shouldSkipNonDeterministicCalls() {
+        cache.put(LlmOperation.CHAT, "key", "answer");
+        config.setTemperature(0.9);
+        cache.put(LlmOperation.IMPORTANCE, "key", "{}");
+
+        assertThat(cache.get(LlmOperation.IMPORTANCE, "key")).isEmpty();
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should ignore expired entries")
+    void shouldIgnoreExpired() {
+        // Given
+        when(repository.findById("fresh")).thenReturn(Optional.of(LlmCachedResponse.builder()
+            .response("{\"fresh\":true}").expiresAt(Instant.now().plusSeconds(60)).build()));
+        when(repository.findById("stale")).thenReturn(Optional.of(LlmCachedResponse.builder()
+            .response("{\"fresh\":false}").expiresAt(Instant.now().minusSeconds(60)).build()));
+
+        // When / Then
+        assertThat(cache.get(LlmOperation.IMPORTANCE, "fresh")).contains("{\"fresh\":true}");
+        assertThat(cache.get(LlmOperation.IMPORTANCE, "stale")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should treat cache failures as misses")
+    void shouldTolerateFailures() {
+        // Given
+        when(repository.findById(any())).thenThrow(new IllegalStateException("database down"));
+        when(repository.save(any())).thenThrow(new IllegalStateException("database down"));
+
+        // When / Then
+        assertThat(cache.get(LlmOperation.IMPORTANCE, "key")).isEmpty();
+        cache.put(LlmOperation.IMPORTANCE, "key", "{}");
+    }
+}
@@ -0,0 +1,95 @@
+package com.integraltech.brainsentry.service.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Unit Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CompletableFuture<String> start(CompletableFuture<String> response) {
+        calls.incrementAndGet();
+        return response;
+    }
+
+    @Test
+    @DisplayName("Should share one call between concurrent callers with the same key")
+    void shouldShareInFlightCall() {
+        // Given
+        CompletableFuture<String> response = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> first = singleFlight.execute("key", () -> start(response));
+        CompletableFuture<String> second = singleFlight.execute("key", () -> start(response));
+        response.complete("answer");
+
+        // Then
+        assertThat(calls).hasValue(1);
+        assertThat(first.join()).isEqualTo("answer");
+        assertThat(second.join()).isEqualTo("answer");
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not coalesce different keys")
+    void shouldKeepKeysApart() {
+        singleFlight.execute("a", () -> start(new CompletableFuture<>()));
+        singleFlight.execute("b", () -> start(new CompletableFuture<>()));
+
+        assertThat(calls).hasValue(2);
+        assertThat(singleFlight.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should start a new call once the previous one completed")
+    void shouldNotReuseCompletedCall() {
+        singleFlight.execute("key", () -> start(CompletableFuture.completedFuture("first"))).join();
+
+        String second = singleFlight.execute("key", () -> start(CompletableFuture.completedFuture("second"))).join();
+
+        assertThat(second).isEqualTo("second");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should pass a failure to every waiting caller")
+    void shouldShareFailure() {
+        // Given
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> start(response));
+        CompletableFuture<String> second = singleFlight.execute("key", () -> start(response));
+
+        // When
+        response.completeExceptionally(new IllegalStateException("boom"));
+
+        // Then
+        assertThatThrownBy(first::join).isInstanceOf(CompletionException.class).hasRootCauseMessage("boom");
+        assertThatThrownBy(second::join).isInstanceOf(CompletionException.class).hasRootCauseMessage("boom");
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not let one caller cancel the shared call")
+    void shouldIsolateCancellation() {
+        // Given
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("key", () -> start(response));
+        CompletableFuture<String> second = singleFlight.execute("key", () -> start(response));
+
+        // When
+        first.cancel(true);
+        response.complete("answer");
+
+        // Then
+        assertThat(second.join()).isEqualTo("answer");
+    }
+}
@@ -0,0 +1,72 @@
+package com.integraltech.brainsentry.service.relevance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LogisticRegression Unit Tests")
+class LogisticRegressionTest {
+
+    /**
+     * Two noisy clusters; the positive one is the minority.
+     */
+    private static float[][] features(boolean[] labels, long seed) {
+        Random random = new Random(seed);
+        float[][] features = new float[labels.length][];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = i % 4 == 0;
+            float center = labels[i] ? 1f : -1f;
+            features[i] = new float[]{
+                center + (float) random.nextGaussian() * 0.3f,
+                (float) random.nextGaussian(),
+                -center + (float) random.nextGaussian() * 0.3f
+            };
+        }
+        return features;
+    }
+
+    @Test
+    @DisplayName("Should separate the classes despite imbalance")
+    void shouldSeparateImbalancedClasses() {
+        boolean[] labels = new boolean[400];
+        float[][] features = features(labels, 1);
+
+        LogisticRegression model = LogisticRegression.train(features, labels, 20, 0.1, 1e-4, 42);
+
+        int correct = 0;
+        for (int i = 0; i < features.length; i++) {
+            if ((model.predict(features[i]) >= 0.5) == labels[i]) {
+                correct++;
+            }
+        }
+        assertThat(correct).isGreaterThanOrEqualTo(390);
+        assertThat(model.predict(new float[]{1f, 0f, -1f})).isGreaterThan(0.9);
+        assertThat(model.predict(new float[]{-1f, 0f, 1f})).isLessThan(0.1);
+    }
+
+    @Test
+    @DisplayName("Should train the same model for the same data and seed")
+    void shouldBeDeterministic() {
+        boolean[] labels = new boolean[100];
+        float[][] features = features(labels, 2);
+
+        LogisticRegression first = LogisticRegression.train(features, labels, 5, 0.1, 1e-4, 7);
+        LogisticRegression second = LogisticRegression.train(features, labels, 5, 0.1, 1e-4, 7);
+
+        assertThat(second.getWeights()).containsExactly(first.getWeights());
+        assertThat(second.getBias()).isEqualTo(first.getBias());
+    }
+
+    @Test
+    @DisplayName("Should reject feature vectors of another length")
+    void shouldRejectWrongDimension() {
+        LogisticRegression model = new LogisticRegression(new float[]{1f, 2f}, 0);
+
+        assertThatThrownBy(() -> model.predict(new float[]{1f}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
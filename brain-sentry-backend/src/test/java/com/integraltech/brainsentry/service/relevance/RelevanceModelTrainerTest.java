@@ -0,0 +1,261 @@
+package com.integraltech.brainsentry.service.relevance;
+
+import com.integraltech.brainsentry.config.InterceptionProperties;
+import com.integraltech.brainsentry.config.TenantContext;
+import com.integraltech.brainsentry.domain.AuditLog;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.RelevanceModel;
+import com.integraltech.brainsentry.repository.AuditLogJpaRepository;
+import com.integraltech.brainsentry.repository.MemoryJpaRepository;
+import com.integraltech.brainsentry.repository.RelevanceModelJpaRepository;
+import com.integraltech.brainsentry.service.AuditService;
+import com.integraltech.brainsentry.service.EmbeddingService;
+import com.integraltech.brainsentry.service.keyword.KeywordDictionary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("RelevanceModelTrainer Unit Tests")
+class RelevanceModelTrainerTest {
+
+    private static final String TENANT = "tenant-abc";
+
+    @Mock
+    private AuditLogJpaRepository auditLogRepo;
+
+    @Mock
+    private MemoryJpaRepository memoryJpaRepo;
+
+    @Mock
+    private RelevanceModelJpaRepository modelRepo;
+
+    @Mock
+    private EmbeddingService embeddingService;
+
+    @Mock
+    private RelevanceClassifier classifier;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private InterceptionProperties properties;
+    private RelevanceModelTrainer trainer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new InterceptionProperties();
+        properties.getClassifier().getTraining().setMinSamples(20);
+        trainer = new RelevanceModelTrainer(auditLogRepo, memoryJpaRepo, modelRepo, embeddingService,
+            new KeywordDictionary(properties), classifier, properties, transactionTemplate);
+
+        TenantContext.setTenantId(TENANT);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(modelRepo.save(any(RelevanceModel.class))).thenAnswer(returnsFirstArg());
+        when(embeddingService.getModelId()).thenReturn("test-model");
+        when(embeddingService.getDimension()).thenReturn(2);
+        // Prompts about services embed on one axis, everything else on the other
+        when(embeddingService.embedBatch(anyList())).thenAnswer(invocation -> {
+            List<String> prompts = invocation.getArgument(0);
+            return prompts.stream()
+                .map(p -> p.contains("service") ? new float[]{1f, 0f} : new float[]{0f, 1f})
+                .toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static AuditLog verdict(String prompt, boolean needsContext) {
+        return AuditLog.builder()
+            .eventType("relevance_verdict")
+            .userRequest(prompt)
+            .decision(Map.of("needsContext", needsContext))
+            .tenantId(TENANT)
+            .build();
+    }
+
+    private static AuditLog injection(String prompt, List<String> memoryIds) {
+        return AuditLog.builder()
+            .eventType("context_injection")
+            .userRequest(prompt)
+            .memoriesAccessed(memoryIds)
+            .tenantId(TENANT)
+            .build();
+    }
+
+    private void givenVerdicts(List<AuditLog> verdicts) {
+        when(auditLogRepo.findByTenantIdAndEventType(TENANT, "relevance_verdict")).thenReturn(verdicts);
+    }
+
+    private static List<AuditLog> separableVerdicts() {
+        List<AuditLog> verdicts = new ArrayList<>();
+        IntStream.range(0, 30).forEach(i -> {
+            verdicts.add(verdict("Which service pattern fits module " + i, true));
+            verdicts.add(verdict("Thanks, talk to you tomorrow " + i, false));
+        });
+        return verdicts;
+    }
+
+    @Nested
+    @DisplayName("collectExamples()")
+    class CollectExamplesTests {
+
+        @Test
+        @DisplayName("Should let memory feedback override the LLM verdict")
+        void shouldPreferFeedbackOverVerdict() {
+            Memory unhelpful = Memory.builder().id("mem-1").helpfulCount(1).notHelpfulCount(4).build();
+            Memory tied = Memory.builder().id("mem-2").helpfulCount(2).notHelpfulCount(2).build();
+            givenVerdicts(List.of(verdict("Create a new service", true)));
+            when(auditLogRepo.findByTenantIdAndEventType(TENANT, "context_injection")).thenReturn(List.of(
+                injection("Create a new service", List.of("mem-1")),
+                injection("Refactor the repository layer", List.of("mem-2"))));
+            when(memoryJpaRepo.findAllById(any())).thenReturn(List.of(unhelpful, tied));
+
+            List<RelevanceModelTrainer.Example> examples = trainer.collectExamples(TENANT);
+
+            // The tied injection has no feedback and is no label
+            assertThat(examples).containsExactly(
+                new RelevanceModelTrainer.Example("Create a new service", false, false));
+        }
+
+        @Test
+        @DisplayName("Should not learn from the classifier's own decisions")
+        void shouldExcludeClassifierDecisions() {
+            AuditLog classifierVerdict = verdict("Create a new service", true);
+            classifierVerdict.setDecision(Map.of("needsContext", true, "source", AuditService.RELEVANCE_CLASSIFIER));
+            AuditLog llmVerdict = verdict("Hello there", false);
+            llmVerdict.setDecision(Map.of("needsContext", false, "source", AuditService.RELEVANCE_LLM));
+            givenVerdicts(List.of(classifierVerdict, llmVerdict));
+            AuditLog classifierInjection = injection("Create a new service", List.of("mem-1"));
+            classifierInjection.setDecision(Map.of("relevanceSource", AuditService.RELEVANCE_CLASSIFIER));
+            when(auditLogRepo.findByTenantIdAndEventType(TENANT, "context_injection"))
+                .thenReturn(List.of(classifierInjection));
+            when(memoryJpaRepo.findAllById(any())).thenReturn(List.of(Memory.builder().id("mem-1").build()));
+
+            List<RelevanceModelTrainer.Example> examples = trainer.collectExamples(TENANT);
+
+            assertThat(examples).containsExactly(new RelevanceModelTrainer.Example("Hello there", false, false));
+        }
+
+        @Test
+        @DisplayName("Should prefer explicit feedback on the interception")
+        void shouldPreferExplicitFeedback() {
+            AuditLog entry = injection("Create a new service", List.of("mem-1"));
+            entry.setUserFeedback(Map.of("helpful", false));
+            Memory helpful = Memory.builder().id("mem-1").helpfulCount(5).notHelpfulCount(0).build();
+
+            assertThat(RelevanceModelTrainer.feedbackLabel(entry, Map.of("mem-1", helpful))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("train()")
+    class TrainTests {
+
+        @Test
+        @DisplayName("Should activate a confident model and deactivate the previous version")
+        void shouldActivateNewVersion() {
+            RelevanceModel previous = RelevanceModel.builder().version(1).active(true).tenantId(TENANT).build();
+            when(modelRepo.findByTenantIdOrderByVersionDesc(TENANT)).thenReturn(List.of(previous));
+            givenVerdicts(separableVerdicts());
+
+            RelevanceModel model = trainer.train();
+
+            assertThat(model.getVersion()).isEqualTo(2);
+            assertThat(model.getActive()).isTrue();
+            assertThat(model.getHoldoutAccuracy()).isEqualTo(1.0);
+            assertThat(model.getSampleCount()).isEqualTo(60);
+            assertThat(model.getPositiveCount()).isEqualTo(30);
+            assertThat(model.getWeights()).hasSize(RelevanceFeatures.dimension(2));
+            assertThat(model.getEmbeddingModel()).isEqualTo("test-model");
+            assertThat(previous.getActive()).isFalse();
+            verify(classifier).evict(TENANT);
+        }
+
+        @Test
+        @DisplayName("Should keep the previous version active when the new one is not confident")
+        void shouldNotActivateUncertainModel() {
+            RelevanceModel previous = RelevanceModel.builder().version(1).active(true).tenantId(TENANT).build();
+            when(modelRepo.findByTenantIdOrderByVersionDesc(TENANT)).thenReturn(List.of(previous));
+            // Same prompt text for both labels: nothing to learn from
+            List<AuditLog> verdicts = new ArrayList<>();
+            IntStream.range(0, 40).forEach(i -> verdicts.add(verdict("Which service " + i, i % 2 == 0)));
+            givenVerdicts(verdicts);
+            when(embeddingService.embedBatch(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(p -> new float[]{1f, 0f}).toList());
+
+            RelevanceModel model = trainer.train();
+
+            assertThat(model.getActive()).isFalse();
+            assertThat(model.getEscalationRate()).isEqualTo(1.0);
+            assertThat(previous.getActive()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject training with too few labeled prompts")
+        void shouldRejectTooFewSamples() {
+            givenVerdicts(List.of(verdict("Create a new service", true), verdict("Hello there", false)));
+
+            assertThatThrownBy(() -> trainer.train())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Not enough labeled interceptions");
+            verify(modelRepo, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("activate()")
+    class ActivateTests {
+
+        @Test
+        @DisplayName("Should roll back to an earlier version")
+        void shouldActivateEarlierVersion() {
+            RelevanceModel v2 = RelevanceModel.builder().version(2).active(true).tenantId(TENANT).build();
+            RelevanceModel v1 = RelevanceModel.builder().version(1).active(false).tenantId(TENANT).build();
+            when(modelRepo.findByTenantIdOrderByVersionDesc(TENANT)).thenReturn(List.of(v2, v1));
+
+            RelevanceModel activated = trainer.activate(1);
+
+            assertThat(activated).isSameAs(v1);
+            assertThat(v1.getActive()).isTrue();
+            assertThat(v2.getActive()).isFalse();
+            verify(modelRepo).saveAll(eq(List.of(v2, v1)));
+            verify(classifier).evict(TENANT);
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown version")
+        void shouldRejectUnknownVersion() {
+            when(modelRepo.findByTenantIdOrderByVersionDesc(TENANT)).thenReturn(List.of());
+
+            assertThatThrownBy(() -> trainer.activate(3)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.integraltech.brainsentry.service.retrieval;
+
+import com.integraltech.brainsentry.config.RetrievalProperties;
+import com.integraltech.brainsentry.domain.Memory;
+import com.integraltech.brainsentry.domain.enums.ImportanceLevel;
+import com.integraltech.brainsentry.domain.enums.MemoryCategory;
+import com.integraltech.brainsentry.repository.MemoryRepository;
+import com.integraltech.brainsentry.repository.impl.MemoryFullTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("HybridRetriever Unit Tests")
+class HybridRetrieverTest {
+
+    private static final String TENANT = "tenant-abc";
+    private static final float[] EMBEDDING = {1f, 0f};
+
+    @Mock
+    private MemoryRepository memoryRepository;
+
+    @Mock
+    private MemoryFullTextIndex fullTextIndex;
+
+    private RetrievalProperties properties;
+    private HybridRetriever retriever;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RetrievalProperties();
+        retriever = new HybridRetriever(memoryRepository, fullTextIndex, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        retriever.shutdown();
+    }
+
+    private static Memory memory(String id, ImportanceLevel importance) {
+        return Memory.builder()
+            .id(id)
+            .content("Content of " + id)
+            .category(MemoryCategory.PATTERN)
+            .importance(importance)
+            .build();
+    }
+
+    private static List<MemoryFullTextIndex.Match> matches(Memory... memories) {
+        return Arrays.stream(memories)
+            .map(m -> new MemoryFullTextIndex.Match(m, 0.5, "<mark>" + m.getId() + "</mark>"))
+            .toList();
+    }
+
+    private List<String> retrieveIds(int limit) {
+        return retriever.retrieve("constructor injection", () -> EMBEDDING, limit, TENANT).stream()
+            .map(scored -> scored.memory().getId())
+            .toList();
+    }
+
+    @Test
+    @DisplayName("Should rank memories found by several retrievers first")
+    void shouldFuseRankings() {
+        // Given
+        Memory a = memory("mem-a", ImportanceLevel.MINOR);
+        Memory b = memory("mem-b", ImportanceLevel.MINOR);
+        Memory c = memory("mem-c", ImportanceLevel.MINOR);
+        when(memoryRepository.vectorSearch(EMBEDDING, 15, TENANT)).thenReturn(List.of(a, b, c));
+        when(fullTextIndex.search("constructor injection", TENANT, 15))
+            .thenReturn(matches(c, memory("mem-d", ImportanceLevel.MINOR)));
+
+        // When
+        List<HybridRetriever.ScoredMemory> results = retriever.retrieve("constructor injection", () -> EMBEDDING, 5, TENANT);
+
+        // Then: mem-b and mem-d tie at rank 2 of one retriever each
+        assertThat(results).extracting(scored -> scored.memory().getId())
+            .containsExactly("mem-c", "mem-a", "mem-b", "mem-d");
+        assertThat(results.get(0).sources())
+            .containsExactlyInAnyOrder(HybridRetriever.Source.VECTOR, HybridRetriever.Source.LEXICAL);
+        assertThat(results.get(0).score()).isEqualTo(1.0 / 63 + 1.0 / 61, within(1e-9));
+        assertThat(results.get(0).highlight()).isEqualTo("<mark>mem-c</mark>");
+        assertThat(results.get(1).highlight()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should add graph neighbours of the top vector hits")
+    void shouldExpandGraphNeighbourhood() {
+        // Given
+        properties.getGraph().setSeeds(1);
+        Memory seed = memory("mem-seed", ImportanceLevel.MINOR);
+        Memory other = memory("mem-other", ImportanceLevel.MINOR);
+        when(memoryRepository.vectorSearch(any(float[].class), anyInt(), eq(TENANT))).thenReturn(List.of(seed, other));
+        when(memoryRepository.findRelated("mem-seed", 1, TENANT))
+            .thenReturn(List.of(seed, memory("mem-neighbour", ImportanceLevel.MINOR)));
+
+        // When
+        List<HybridRetriever.ScoredMemory> results = retriever.retrieve("constructor injection", () -> EMBEDDING, 2, TENANT);
+
+        // Then
+        assertThat(results).extracting(scored -> scored.memory().getId()).containsExactly("mem-seed", "mem-other");
+        assertThat(retrieveIds(3)).contains("mem-neighbour");
+        verify(memoryRepository, never()).findRelated(eq("mem-other"), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should boost important memories")
+    void shouldBoostImportance() {
+        // Given
+        Memory minor = memory("mem-minor", ImportanceLevel.MINOR);
+        Memory critical = memory("mem-critical", ImportanceLevel.CRITICAL);
+        when(memoryRepository.vectorSearch(any(float[].class), anyInt(), anyString())).thenReturn(List.of(minor));
+        when(fullTextIndex.search(anyString(), anyString(), anyInt())).thenReturn(matches(critical));
+
+        // When / Then
+        assertThat(retrieveIds(5)).containsExactly("mem-critical", "mem-minor");
+    }
+
+    @Test
+    @DisplayName("Should boost recently used memories")
+    void shouldBoostRecency() {
+        // Given
+        Memory stale = memory("mem-stale", ImportanceLevel.MINOR);
+        stale.setLastAccessedAt(Instant.now().minus(Duration.ofDays(365)));
+        Memory fresh = memory("mem-fresh", ImportanceLevel.MINOR);
+        fresh.setLastAccessedAt(Instant.now());
+        when(memoryRepository.vectorSearch(any(float[].class), anyInt(), anyString())).thenReturn(List.of(stale));
+        when(fullTextIndex.search(anyString(), anyString(), anyInt())).thenReturn(matches(fresh));
+
+        // When / Then
+        assertThat(retrieveIds(5)).containsExactly("mem-fresh", "mem-stale");
+    }
+
+    @Test
+    @DisplayName("Should not wait for a retriever past its timeout")
+    void shouldSkipSlowRetriever() {
+        // Given
+        properties.getLexical().setTimeout(Duration.ofMillis(100));
+        when(memoryRepository.vectorSearch(any(float[].class), anyInt(), anyString()))
+            .thenReturn(List.of(memory("mem-a", ImportanceLevel.MINOR)));
+        when(fullTextIndex.search(anyString(), anyString(), anyInt())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return matches(memory("mem-slow", ImportanceLevel.CRITICAL));
+        });
+
+        // When
+        long start = System.nanoTime();
+        List<String> ids = retrieveIds(5);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(elapsedMs).isLessThan(2_000);
+        assertThat(ids).containsExactly("mem-a");
+    }
+
+    @Test
+    @DisplayName("Should leave out a retriever that fails")
+    void shouldSkipFailedRetriever() {
+        // Given
+        when(memoryRepository.vectorSearch(any(float[].class), anyInt(), anyString()))
+            .thenThrow(new IllegalStateException("FalkorDB unavailable"));
+        when(fullTextIndex.search(anyString(), anyString(), anyInt()))
+            .thenReturn(matches(memory("mem-text", ImportanceLevel.MINOR)));
+
+        // When / Then
+        assertThat(retrieveIds(5)).containsExactly("mem-text");
+        verify(memoryRepository, never()).findRelated(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip disabled retrievers")
+    void shouldSkipDisabledRetrievers() {
+        // Given
+        properties.getLexical().setWeight(0);
+        properties.getGraph().setWeight(0);
+        when(memoryRepository.vectorSearch(any(float[].class), anyInt(), anyString()))
+            .thenReturn(List.of(memory("mem-a", ImportanceLevel.MINOR)));
+
+        // When / Then
+        assertThat(retrieveIds(5)).containsExactly("mem-a");
+        verifyNoInteractions(fullTextIndex);
+        verify(memoryRepository, never()).findRelated(anyString(), anyInt(), anyString());
+    }
+}